@@ -3,7 +3,12 @@ package com.chuz.reservex.account.auth;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
 import com.chuz.reservex.account.auth.dto.AuthResponse;
+import com.chuz.reservex.common.ratelimit.RateLimitKey;
+import com.chuz.reservex.common.ratelimit.RateLimited;
 import com.chuz.reservex.account.auth.dto.LoginRequest;
 import com.chuz.reservex.account.auth.dto.RefreshTokenRequest;
 import com.chuz.reservex.account.auth.dto.SignupRequest;
@@ -30,6 +35,7 @@ public class AuthController {
   /**
    * 로그인
    */
+  @RateLimited(permits = 20, period = 1, unit = TimeUnit.MINUTES, key = RateLimitKey.IP)
   @PostMapping("/login")
   public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
     AuthResponse response = authService.login(request);
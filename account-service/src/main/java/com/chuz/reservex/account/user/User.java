@@ -73,6 +73,8 @@ public class User {
   // 사용자 권한
   public enum UserRole {
     USER, // 일반 사용자
+    VIP, // VIP 회원 (대기열 우선 레인)
+    PRESALE, // 선예매 회원 (대기열 우선 레인)
     ADMIN // 관리자
   }
 }
@@ -0,0 +1,43 @@
+package com.chuz.reservex.common.capacity;
+
+/**
+ * 하위 서비스 처리 여력 신호 (ticket-service가 보고, queue-service 입장 제어기가 사용)
+ * Redis HASH {@link #TICKET_KEY}에 노드 ID별로 "inFlight,p99Ms,consumerLag,reportedAt" 형식으로 저장
+ *
+ * @param inFlight    결제 대기 중인 예매 수
+ * @param p99Ms       예매 생성 API p99 지연 (ms)
+ * @param consumerLag SAGA Kafka 컨슈머 최대 lag (레코드 수)
+ * @param reportedAt  보고 시각 (ms)
+ */
+public record CapacitySignal(long inFlight, double p99Ms, long consumerLag, long reportedAt) {
+
+  public static final String TICKET_KEY = "cap:ticket";
+
+  public String encode() {
+    return inFlight + "," + p99Ms + "," + consumerLag + "," + reportedAt;
+  }
+
+  /**
+   * @return 형식이 맞지 않으면 null
+   */
+  public static CapacitySignal decode(String value) {
+    String[] parts = value.split(",");
+    if (parts.length != 4) {
+      return null;
+    }
+    try {
+      return new CapacitySignal(Long.parseLong(parts[0]), Double.parseDouble(parts[1]), Long.parseLong(parts[2]),
+          Long.parseLong(parts[3]));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 노드별 신호 병합 (각 항목의 최댓값, 예매 수는 DB 기준이라 노드마다 같은 값)
+   */
+  public CapacitySignal merge(CapacitySignal other) {
+    return new CapacitySignal(Math.max(inFlight, other.inFlight), Math.max(p99Ms, other.p99Ms),
+        Math.max(consumerLag, other.consumerLag), Math.max(reportedAt, other.reportedAt));
+  }
+}
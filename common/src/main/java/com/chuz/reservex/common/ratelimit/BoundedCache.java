@@ -0,0 +1,88 @@
+package com.chuz.reservex.common.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 크기 제한 + 만료 캐시 (노드 내 속도 제한 상태 보관)
+ * - 키 해시로 나눈 세그먼트마다 접근 순서 LinkedHashMap, 새 값을 넣기 전 가장 오래 쓰지 않은 쪽의 만료된 값을 몇 개 제거하고
+ *   넣은 뒤 가득 찼으면 가장 오래 쓰지 않은 값 제거 → 키가 많아져도 전체 스캔 없이 세그먼트 잠금 안에서 처리
+ * - 만료된 값은 새 값과 같은 상태이므로 조회 시 새 값으로 교체 (가득 차서 제거된 값만 제한 상태를 잃음)
+ */
+final class BoundedCache<V> {
+
+  private static final int SEGMENT_BITS = 6;
+  private static final int SEGMENTS = 1 << SEGMENT_BITS;
+  /** 새 값을 넣을 때 제거를 시도하는 만료 값 수 */
+  private static final int EXPIRE_PER_PUT = 2;
+
+  private final Segment<V>[] segments;
+  private final Predicate<V> live;
+
+  /**
+   * @param live 아직 유지해야 하는 값인지 (false면 만료)
+   */
+  @SuppressWarnings("unchecked")
+  BoundedCache(int maxKeys, Predicate<V> live) {
+    this.live = live;
+    this.segments = new Segment[SEGMENTS];
+    int capacity = Math.max(1, maxKeys / SEGMENTS);
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment<>(capacity);
+    }
+  }
+
+  /**
+   * 유지 중인 값, 없거나 만료됐으면 factory로 만든 새 값
+   */
+  V get(String key, Supplier<V> factory) {
+    // 비슷한 키(IP, 사용자 ID)가 한 세그먼트에 몰리지 않도록 곱셈 해시의 상위 비트 사용
+    Segment<V> segment = segments[(key.hashCode() * 0x9E3779B9) >>> (32 - SEGMENT_BITS)];
+    synchronized (segment) {
+      V value = segment.get(key);
+      if (value == null || !live.test(value)) {
+        segment.expireEldest(live);
+        value = factory.get();
+        segment.put(key, value);
+      }
+      return value;
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  private static final class Segment<V> extends LinkedHashMap<String, V> {
+    private final int capacity;
+
+    Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    void expireEldest(Predicate<V> live) {
+      Iterator<V> it = values().iterator();
+      for (int i = 0; i < EXPIRE_PER_PUT && it.hasNext(); i++) {
+        if (live.test(it.next())) {
+          return;
+        }
+        it.remove();
+      }
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+      return size() > capacity;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.chuz.reservex.common.ratelimit;
+
+/**
+ * 허용량 임대 결과
+ *
+ * @param granted      부여된 허용량 (0이면 거부)
+ * @param retryAfterMs 거부 시 다음 허용까지 남은 시간
+ */
+public record Lease(long granted, long retryAfterMs) {
+}
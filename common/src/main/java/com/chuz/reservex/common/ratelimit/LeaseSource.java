@@ -0,0 +1,12 @@
+package com.chuz.reservex.common.ratelimit;
+
+/**
+ * GCRA 허용량 저장소
+ */
+public interface LeaseSource {
+
+  /**
+   * 요청한 개수 중 현재 허용 가능한 만큼 부여
+   */
+  Lease acquire(String key, RateLimitRule rule, int wanted);
+}
@@ -0,0 +1,30 @@
+package com.chuz.reservex.common.ratelimit;
+
+/**
+ * JVM 내 GCRA 허용량 저장소 (Redis가 없거나 장애일 때 노드 단위로 제한)
+ */
+class LocalLeaseSource implements LeaseSource {
+
+  /** 지난 TAT는 새 키와 같으므로 만료 (막 만든 값이 다른 요청에 교체되지 않도록 1초 유예) */
+  private final BoundedCache<double[]> tats;
+
+  LocalLeaseSource(int maxKeys) {
+    this.tats = new BoundedCache<>(maxKeys, tat -> tat[0] + 1000 > System.currentTimeMillis());
+  }
+
+  @Override
+  public Lease acquire(String key, RateLimitRule rule, int wanted) {
+    double now = System.currentTimeMillis();
+    double[] tat = tats.get(key, () -> new double[] { now });
+    synchronized (tat) {
+      double interval = rule.intervalMs();
+      double from = Math.max(tat[0], now);
+      long granted = Math.min(wanted, (long) Math.floor((now + rule.burst() * interval - from) / interval));
+      if (granted <= 0) {
+        return new Lease(0, (long) Math.ceil(from + interval - rule.burst() * interval - now));
+      }
+      tat[0] = from + granted * interval;
+      return new Lease(granted, 0);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.chuz.reservex.common.ratelimit;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * @RateLimited 필터 등록 (META-INF/spring/...AutoConfiguration.imports)
+ * - Redis(StringRedisTemplate)가 있는 서블릿 서비스에만 등록 (Redis가 없는 payment-service 등은 제외)
+ * - reactive 프로필(WebFlux)은 대상이 아님: 서블릿 필터이므로 @RateLimited가 적용되지 않음
+ * - app.ratelimit.enabled=false면 등록하지 않음
+ */
+@AutoConfiguration(after = RedisAutoConfiguration.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(StringRedisTemplate.class)
+@ConditionalOnBean(StringRedisTemplate.class)
+@ConditionalOnProperty(prefix = "app.ratelimit", name = "enabled", matchIfMissing = true)
+@Import({ RedisLeaseSource.class, RateLimiter.class, RateLimitFilter.class })
+public class RateLimitAutoConfiguration {
+}
@@ -0,0 +1,150 @@
+package com.chuz.reservex.common.ratelimit;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.chuz.reservex.common.security.JwtTokenProvider;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * @RateLimited 검사 필터 (RateLimitAutoConfiguration이 등록)
+ * Spring Security 필터 체인보다 먼저 실행되어 인증/서비스 코드 전에 초과 요청을 429로 차단
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+  /** 만료 시각이 없는 토큰의 검증 결과 보관 시간 */
+  private static final long NO_EXPIRY_CACHE_MS = 60_000;
+
+  private final RateLimiter rateLimiter;
+  private final JwtTokenProvider jwtTokenProvider;
+  private final ObjectProvider<HandlerMapping> handlerMapping;
+  private final Map<Method, Optional<RateLimitRule>> rules = new ConcurrentHashMap<>();
+  /** 서명을 검증한 토큰 → 사용자 ID (토큰 만료 시각까지, 같은 토큰의 반복 요청은 서명 검증 없이 429 판단) */
+  private final BoundedCache<Verified> verified;
+
+  public RateLimitFilter(RateLimiter rateLimiter, JwtTokenProvider jwtTokenProvider,
+      @Qualifier("requestMappingHandlerMapping") ObjectProvider<HandlerMapping> handlerMapping,
+      @Value("${app.ratelimit.maxVerifiedTokens:10000}") int maxVerifiedTokens) {
+    this.rateLimiter = rateLimiter;
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.handlerMapping = handlerMapping;
+    this.verified = new BoundedCache<>(maxVerifiedTokens, entry -> entry.expiresAt() > System.currentTimeMillis());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain)
+      throws ServletException, IOException {
+
+    RateLimitRule rule = resolveRule(request);
+    if (rule != null) {
+      long retryAfterMs = rateLimiter.tryAcquire("rl:" + rule.name() + ":" + identity(request, rule.key()), rule);
+      if (retryAfterMs > 0) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMs + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+        return;
+      }
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * 요청이 매핑될 컨트롤러 메서드의 제한 규칙 (메서드별로 캐시)
+   */
+  private RateLimitRule resolveRule(HttpServletRequest request) {
+    HandlerMapping mapping = handlerMapping.getIfAvailable();
+    if (mapping == null) {
+      return null;
+    }
+
+    boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(request);
+    if (!parsed) {
+      ServletRequestPathUtils.parseAndCache(request);
+    }
+    try {
+      HandlerExecutionChain chain = mapping.getHandler(request);
+      if (chain == null || !(chain.getHandler() instanceof HandlerMethod handler)) {
+        return null;
+      }
+      return rules.computeIfAbsent(handler.getMethod(), RateLimitRule::of).orElse(null);
+    } catch (Exception e) {
+      return null;
+    } finally {
+      if (!parsed) {
+        ServletRequestPathUtils.clearParsedRequestPath(request);
+      }
+    }
+  }
+
+  /**
+   * 제한 단위별 식별자
+   * USER는 서명을 검증한 JWT의 사용자 ID, 토큰이 없거나 검증/파싱에 실패하면 IP
+   * (임의의 토큰마다 새 한도를 받지 못하도록 검증되지 않은 토큰은 사용자로 구분하지 않음)
+   */
+  private String identity(HttpServletRequest request, RateLimitKey key) {
+    return switch (key) {
+      case ROUTE -> "*";
+      case IP -> request.getRemoteAddr();
+      case USER -> {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String token = header != null && header.startsWith(BEARER_PREFIX)
+            ? header.substring(BEARER_PREFIX.length())
+            : null;
+        Long userId = token != null ? verified.get(token, () -> verify(token)).userId() : null;
+        yield userId != null ? "u" + userId : request.getRemoteAddr();
+      }
+    };
+  }
+
+  /**
+   * 서명 검증 1회 (실패한 토큰은 바로 만료되는 값으로 두어 보관하지 않음)
+   */
+  private Verified verify(String token) {
+    Claims claims = jwtTokenProvider.findClaims(token);
+    if (claims == null) {
+      return Verified.INVALID;
+    }
+    Long userId;
+    try {
+      userId = Long.parseLong(claims.getSubject());
+    } catch (NumberFormatException e) {
+      return Verified.INVALID;
+    }
+    long expiresAt = claims.getExpiration() != null
+        ? claims.getExpiration().getTime()
+        : System.currentTimeMillis() + NO_EXPIRY_CACHE_MS;
+    return new Verified(userId, expiresAt);
+  }
+
+  private record Verified(Long userId, long expiresAt) {
+    private static final Verified INVALID = new Verified(null, 0);
+  }
+}
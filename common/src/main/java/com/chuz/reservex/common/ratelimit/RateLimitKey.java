@@ -0,0 +1,13 @@
+package com.chuz.reservex.common.ratelimit;
+
+/**
+ * 속도 제한 단위
+ */
+public enum RateLimitKey {
+  /** 사용자별 (검증된 Bearer 토큰의 사용자 ID 기준, 토큰이 없거나 검증에 실패하면 IP) */
+  USER,
+  /** 클라이언트 IP별 */
+  IP,
+  /** API 전체 */
+  ROUTE
+}
@@ -0,0 +1,37 @@
+package com.chuz.reservex.common.ratelimit;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * @RateLimited 설정값 (GCRA 파라미터로 변환)
+ *
+ * @param intervalMs 토큰 1개가 생성되는 간격 (period / permits)
+ * @param burst      연속 허용 횟수
+ * @param lease      노드가 한 번에 받아둘 허용량
+ */
+public record RateLimitRule(String name, RateLimitKey key, double intervalMs, int burst, int lease) {
+
+  /**
+   * 메서드 또는 클래스의 @RateLimited를 읽음 (메서드 우선)
+   */
+  static Optional<RateLimitRule> of(Method method) {
+    RateLimited limited = AnnotatedElementUtils.findMergedAnnotation(method, RateLimited.class);
+    if (limited == null) {
+      limited = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RateLimited.class);
+    }
+    if (limited == null) {
+      return Optional.empty();
+    }
+
+    String name = limited.name().isEmpty()
+        ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+        : limited.name();
+    double intervalMs = (double) limited.unit().toMillis(limited.period()) / limited.permits();
+    int burst = limited.burst() > 0 ? limited.burst() : (int) Math.max(1, limited.permits());
+    int lease = limited.lease() > 0 ? Math.min(limited.lease(), burst) : Math.max(1, burst / 4);
+    return Optional.of(new RateLimitRule(name, limited.key(), intervalMs, burst, lease));
+  }
+}
@@ -0,0 +1,41 @@
+package com.chuz.reservex.common.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 속도 제한 (RateLimitFilter가 인증/서비스 코드 실행 전에 검사)
+ *
+ * <pre>
+ * &#64;RateLimited(permits = 1, period = 1, burst = 5)             // 사용자당 초당 1회, 최대 5회 연속
+ * &#64;RateLimited(permits = 20, period = 1, unit = TimeUnit.MINUTES, key = RateLimitKey.IP)
+ * </pre>
+ */
+@Documented
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+  /** 제한 이름 (Redis 키 구분, 기본값: 컨트롤러.메서드) */
+  String name() default "";
+
+  /** period 동안 허용 횟수 */
+  long permits();
+
+  long period() default 1;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /** 연속 허용 횟수 (기본값: permits) */
+  int burst() default 0;
+
+  /** 제한 단위 */
+  RateLimitKey key() default RateLimitKey.USER;
+
+  /** 노드가 한 번에 미리 받아둘 허용량 (기본값: burst / 4, 최소 1) */
+  int lease() default 0;
+}
@@ -0,0 +1,87 @@
+package com.chuz.reservex.common.ratelimit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 분산 속도 제한기
+ * - 허용량은 Redis GCRA에서 rule.lease 개씩 미리 임대해 leaseMs 동안 로컬에서 차감 (대부분의 검사는 JVM 안에서 끝남)
+ * - 거부되면 재시도 가능 시각까지 로컬에서 바로 거부 (과도한 요청이 Redis까지 가지 않음)
+ * - 임대 후 쓰지 못한 허용량은 만료되므로 실제 허용량은 설정값 이하로만 오차가 남
+ * - Redis 호출이 실패하면 노드 단위 GCRA로 대신 제한
+ * - 키별 상태는 maxLocalKeys개까지만 보관 (BoundedCache, 임대/거부 기간이 지난 상태는 만료)
+ */
+@Slf4j
+public class RateLimiter {
+
+  private final LeaseSource shared;
+  private final LeaseSource local;
+  private final BoundedCache<Entry> entries;
+  private final long leaseMs;
+
+  public RateLimiter(ObjectProvider<RedisLeaseSource> redis,
+      @Value("${app.ratelimit.leaseMs:1000}") long leaseMs,
+      @Value("${app.ratelimit.maxLocalKeys:100000}") int maxKeys) {
+    this.local = new LocalLeaseSource(maxKeys);
+    LeaseSource shared = redis.getIfAvailable();
+    this.shared = shared != null ? shared : local;
+    this.leaseMs = leaseMs;
+    // 임대/거부 기간이 끝난 상태는 새 상태와 같으므로 만료 (막 만든 상태가 다른 요청에 교체되지 않도록 leaseMs 유예)
+    this.entries = new BoundedCache<>(maxKeys, entry -> entry.idleAt() + leaseMs > System.currentTimeMillis());
+  }
+
+  /**
+   * @return 허용이면 0, 거부이면 재시도까지 남은 시간(ms, 1 이상)
+   */
+  public long tryAcquire(String key, RateLimitRule rule) {
+    long now = System.currentTimeMillis();
+    Entry entry = entries.get(key, () -> new Entry(now));
+    synchronized (entry) {
+      if (entry.deniedUntil > now) {
+        return entry.deniedUntil - now;
+      }
+      if (entry.remaining > 0 && entry.leaseUntil > now) {
+        entry.remaining--;
+        return 0;
+      }
+
+      Lease lease = lease(key, rule);
+      if (lease.granted() > 0) {
+        entry.remaining = lease.granted() - 1;
+        entry.leaseUntil = now + leaseMs;
+        return 0;
+      }
+      long retryAfter = Math.max(1, lease.retryAfterMs());
+      entry.remaining = 0;
+      entry.deniedUntil = now + retryAfter;
+      return retryAfter;
+    }
+  }
+
+  private Lease lease(String key, RateLimitRule rule) {
+    if (shared != local) {
+      try {
+        return shared.acquire(key, rule, rule.lease());
+      } catch (RuntimeException e) {
+        log.warn("속도 제한 Redis 호출 실패, 노드 단위로 제한: key={}, error={}", key, e.getMessage());
+      }
+    }
+    return local.acquire(key, rule, rule.lease());
+  }
+
+  private static final class Entry {
+    private long remaining;
+    private long leaseUntil;
+    private long deniedUntil;
+
+    private Entry(long now) {
+      this.leaseUntil = now;
+    }
+
+    private long idleAt() {
+      return Math.max(leaseUntil, deniedUntil);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.chuz.reservex.common.ratelimit;
+
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis GCRA 허용량 저장소 (노드 간 공유)
+ * Redis 서버 시각 기준으로 계산하여 노드 간 시계 차이의 영향을 받지 않음
+ */
+@RequiredArgsConstructor
+public class RedisLeaseSource implements LeaseSource {
+
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> GCRA = RedisScript.of(new ClassPathResource("ratelimit/gcra.lua"), List.class);
+
+  private final StringRedisTemplate redis;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Lease acquire(String key, RateLimitRule rule, int wanted) {
+    List<Long> res = redis.execute(GCRA, List.of(key),
+        Double.toString(rule.intervalMs()),
+        Integer.toString(rule.burst()),
+        Integer.toString(wanted));
+    return new Lease(res.get(0), res.get(1));
+  }
+}
@@ -33,6 +33,33 @@ public class JwtTokenProvider {
     return Long.parseLong(claims.getSubject());
   }
 
+  /**
+   * 검증된 토큰의 클레임 (서명/만료/형식이 잘못되었으면 null)
+   */
+  public Claims findClaims(String token) {
+    try {
+      return Jwts.parser()
+          .verifyWith(secretKey)
+          .build()
+          .parseSignedClaims(token)
+          .getPayload();
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 검증된 토큰의 사용자 ID (서명/만료/형식이 잘못되었으면 null)
+   */
+  public Long findUserId(String token) {
+    Claims claims = findClaims(token);
+    try {
+      return claims == null ? null : Long.parseLong(claims.getSubject());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
   /**
    * 토큰에서 이메일 추출
    */
@@ -0,0 +1,73 @@
+package com.chuz.reservex.common.security;
+
+/**
+ * 서명된 Pass Token 내용 (queue-service가 발급, ticket-service가 원격 호출 없이 검증)
+ * Redis Pass Token 키에는 서명 전 nonce 문자열({@link #raw()})만 저장되고, 상태 조회 응답 시점에 서명됨
+ *
+ * @param shard     Pass Token 키 샤드 (SHARDED 모드, 아니면 -1) → 소비 마커를 같은 슬롯에 둠
+ * @param expiresAt 만료 시각 (ms)
+ */
+public record PassToken(long eventId, long userId, int shard, long expiresAt, long nonce) {
+
+  /**
+   * 소비 마커를 토큰 만료 후에도 유지하는 시간
+   * queue-service가 만료 토큰을 정리할 때 마커를 보고 "소비 후 구매 중"과 "미소비 만료"를 구분하므로 정리 주기보다 충분히 길게
+   */
+  public static final long USED_GRACE_MS = 60_000;
+
+  /**
+   * Redis에 저장하는 nonce 문자열 (만료 시각.난수, 36진수)
+   */
+  public static String raw(long expiresAt, long nonce) {
+    return Long.toString(expiresAt, 36) + "." + Long.toUnsignedString(nonce, 36);
+  }
+
+  public String raw() {
+    return raw(expiresAt, nonce);
+  }
+
+  /**
+   * nonce 문자열 + 발급 대상으로 토큰 구성
+   *
+   * @return 형식이 맞지 않으면 null (이전 형식 토큰 등)
+   */
+  public static PassToken of(long eventId, long userId, int shard, String raw) {
+    int dot = raw.indexOf('.');
+    if (dot <= 0) {
+      return null;
+    }
+    try {
+      return new PassToken(eventId, userId, shard, Long.parseLong(raw, 0, dot, 36),
+          Long.parseUnsignedLong(raw.substring(dot + 1), 36));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public boolean isExpired(long now) {
+    return expiresAt <= now;
+  }
+
+  public String usedKey() {
+    return usedKey(eventId, shard, userId);
+  }
+
+  /**
+   * Pass Token 키 (STRING, 값 = {@link #raw()}, 입장 펌프가 발급, 해제/정리/이벤트 종료 시 삭제)
+   */
+  public String passKey() {
+    return tag(eventId, shard) + "pass:" + userId;
+  }
+
+  /**
+   * 소비 마커 키 (STRING, 값 = 소비 시각 ms)
+   * Pass Token 키와 같은 해시 태그({eventId} 또는 {eventId.shard})에 두어 queue-service 스크립트가 함께 조회
+   */
+  public static String usedKey(long eventId, int shard, long userId) {
+    return tag(eventId, shard) + "used:" + userId;
+  }
+
+  private static String tag(long eventId, int shard) {
+    return shard < 0 ? "q:{" + eventId + "}:" : "q:{" + eventId + "." + shard + "}:";
+  }
+}
@@ -0,0 +1,87 @@
+package com.chuz.reservex.common.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Pass Token 서명/검증 (HMAC-SHA256, queue-service와 ticket-service가 같은 app.pass.secret 사용)
+ * 형식: v1.{base64url(eventId, userId, shard, expiresAt, nonce)}.{base64url(HMAC 앞 16바이트)} (72자)
+ * 같은 내용은 항상 같은 토큰이 되므로 상태 조회를 반복해도 토큰이 바뀌지 않음
+ */
+public class PassTokenCodec {
+
+  private static final String PREFIX = "v1.";
+  private static final int PAYLOAD_BYTES = 8 + 8 + 2 + 8 + 8;
+  private static final int MAC_BYTES = 16;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final ThreadLocal<Mac> mac;
+
+  public PassTokenCodec(String secret) {
+    byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+    if (key.length < 32) {
+      throw new IllegalArgumentException("app.pass.secret은 32바이트 이상이어야 함");
+    }
+    SecretKeySpec spec = new SecretKeySpec(key, "HmacSHA256");
+    this.mac = ThreadLocal.withInitial(() -> {
+      try {
+        Mac m = Mac.getInstance("HmacSHA256");
+        m.init(spec);
+        return m;
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  public String encode(PassToken token) {
+    byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+        .putLong(token.eventId())
+        .putLong(token.userId())
+        .putShort((short) token.shard())
+        .putLong(token.expiresAt())
+        .putLong(token.nonce())
+        .array();
+    return PREFIX + ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+  }
+
+  /**
+   * 서명 확인 후 내용 반환 (만료 여부는 호출자가 확인)
+   *
+   * @return 형식/서명이 맞지 않으면 null
+   */
+  public PassToken decode(String token) {
+    if (token == null || !token.startsWith(PREFIX)) {
+      return null;
+    }
+    int dot = token.indexOf('.', PREFIX.length());
+    if (dot < 0) {
+      return null;
+    }
+    byte[] payload;
+    byte[] signature;
+    try {
+      payload = DECODER.decode(token.substring(PREFIX.length(), dot));
+      signature = DECODER.decode(token.substring(dot + 1));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (payload.length != PAYLOAD_BYTES || !MessageDigest.isEqual(sign(payload), signature)) {
+      return null;
+    }
+    ByteBuffer buf = ByteBuffer.wrap(payload);
+    return new PassToken(buf.getLong(), buf.getLong(), buf.getShort(), buf.getLong(), buf.getLong());
+  }
+
+  private byte[] sign(byte[] payload) {
+    return Arrays.copyOf(mac.get().doFinal(payload), MAC_BYTES);
+  }
+}
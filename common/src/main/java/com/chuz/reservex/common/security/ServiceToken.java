@@ -0,0 +1,27 @@
+package com.chuz.reservex.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 서비스 간 호출 인증 (공유 비밀 헤더)
+ * queue-service의 Pass Token 검증/슬롯 해제 API는 이 헤더가 일치해야 호출 가능 (ROLE_SERVICE)
+ */
+public final class ServiceToken {
+
+  public static final String HEADER = "X-Service-Token";
+  public static final String ROLE = "ROLE_SERVICE";
+
+  private ServiceToken() {
+  }
+
+  /**
+   * 비밀이 비어 있으면 항상 거부 (설정 누락 시 열리지 않음)
+   */
+  public static boolean matches(String secret, String presented) {
+    if (secret == null || secret.isBlank() || presented == null) {
+      return false;
+    }
+    return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+  }
+}
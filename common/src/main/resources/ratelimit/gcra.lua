@@ -0,0 +1,24 @@
+-- GCRA 허용량 임대 (요청한 개수 중 버스트 한도 안에서 허용 가능한 만큼 부여)
+-- KEYS[1] = TAT(다음 토큰의 이론적 도착 시각, ms) 키
+-- ARGV[1] = 토큰 간격(ms, 소수 허용), ARGV[2] = 버스트 허용량, ARGV[3] = 요청 개수
+-- 반환: { 부여 개수, 거부 시 재시도까지 남은 시간(ms) }
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + tonumber(t[2]) / 1000
+local interval = tonumber(ARGV[1])
+local burst = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+if tat < now then
+  tat = now
+end
+
+local available = math.floor((now + burst * interval - tat) / interval)
+local granted = math.min(wanted, available)
+if granted <= 0 then
+  return { 0, math.ceil(tat + interval - burst * interval - now) }
+end
+
+local newTat = tat + granted * interval
+redis.call('SET', KEYS[1], string.format('%.3f', newTat), 'PX', math.ceil(newTat - now))
+return { granted, 0 }
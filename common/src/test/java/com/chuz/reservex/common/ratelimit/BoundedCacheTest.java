@@ -0,0 +1,49 @@
+package com.chuz.reservex.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  @Test
+  void keepAtMostMaxKeys() {
+    BoundedCache<long[]> cache = new BoundedCache<>(128, value -> true);
+
+    for (int i = 0; i < 10_000; i++) {
+      cache.get("k" + i, () -> new long[1]);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(128);
+  }
+
+  @Test
+  void keepLiveValueAndReplaceExpiredOne() {
+    AtomicLong now = new AtomicLong(0);
+    BoundedCache<long[]> cache = new BoundedCache<>(128, value -> value[0] > now.get());
+    long[] first = cache.get("k", () -> new long[] { 10 });
+
+    assertThat(cache.get("k", () -> new long[] { 20 })).isSameAs(first);
+
+    now.set(10);
+    assertThat(cache.get("k", () -> new long[] { 20 })).isNotSameAs(first);
+  }
+
+  @Test
+  void dropExpiredValuesWhenOthersArrive() {
+    AtomicLong now = new AtomicLong(0);
+    BoundedCache<long[]> cache = new BoundedCache<>(1 << 16, value -> value[0] > now.get());
+    for (int i = 0; i < 1000; i++) {
+      cache.get("old" + i, () -> new long[] { 10 });
+    }
+
+    now.set(10);
+    for (int i = 0; i < 1000; i++) {
+      cache.get("new" + i, () -> new long[] { 20 });
+    }
+
+    assertThat(cache.size()).isLessThan(1100);
+  }
+}
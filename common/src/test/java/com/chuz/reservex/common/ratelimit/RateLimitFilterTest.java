@@ -0,0 +1,103 @@
+package com.chuz.reservex.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.chuz.reservex.common.security.JwtTokenProvider;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class RateLimitFilterTest {
+
+  private static final String SECRET = "rate-limit-filter-test-secret-0123456789abcdef";
+
+  private final WebApplicationContextRunner servlet = new WebApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(RateLimitAutoConfiguration.class))
+      .withBean(JwtTokenProvider.class, () -> new JwtTokenProvider(SECRET));
+
+  @Test
+  void registerOnlyWhenRedisIsAvailable() {
+    servlet.run(context -> assertThat(context).doesNotHaveBean(RateLimitFilter.class));
+    servlet.withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+        .run(context -> assertThat(context).hasSingleBean(RateLimitFilter.class));
+    servlet.withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+        .withPropertyValues("app.ratelimit.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(RateLimitFilter.class));
+  }
+
+  @Test
+  void skipReactiveApplications() {
+    new ReactiveWebApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(RateLimitAutoConfiguration.class))
+        .withBean(JwtTokenProvider.class, () -> new JwtTokenProvider(SECRET))
+        .withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+        .run(context -> assertThat(context).doesNotHaveBean(RateLimitFilter.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void verifyEachTokenOnceAndLimitByUser() throws Exception {
+    JwtTokenProvider jwt = spy(new JwtTokenProvider(SECRET));
+    HandlerMethod handler = new HandlerMethod(new Limited(), Limited.class.getMethod("call"));
+    ObjectProvider<HandlerMapping> mapping = mock(ObjectProvider.class);
+    when(mapping.getIfAvailable()).thenReturn(request -> new HandlerExecutionChain(handler));
+    RateLimitFilter filter = new RateLimitFilter(
+        new RateLimiter(mock(ObjectProvider.class), 1000, 1024), jwt, mapping, 1024);
+    String token = token(7L);
+
+    assertThat(call(filter, token)).isEqualTo(200);
+    assertThat(call(filter, token)).isEqualTo(200);
+    assertThat(call(filter, token)).isEqualTo(429);
+    assertThat(call(filter, token(8L))).isEqualTo(200);
+
+    // 같은 토큰의 반복 요청은 서명을 다시 검증하지 않음
+    verify(jwt, times(2)).findClaims(anyString());
+  }
+
+  private static int call(RateLimitFilter filter, String token) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/limited");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response.getStatus();
+  }
+
+  private static String token(Long userId) {
+    return Jwts.builder()
+        .subject(userId.toString())
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+        .compact();
+  }
+
+  static class Limited {
+    /** 사용자당 분당 1회, 최대 2회 연속 */
+    @RateLimited(permits = 1, period = 1, unit = TimeUnit.MINUTES, burst = 2, lease = 1)
+    public void call() {
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.chuz.reservex.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class RateLimiterTest {
+
+  /** 100ms마다 1개, 최대 4회 연속, 1개씩 임대 */
+  private static final RateLimitRule RULE = new RateLimitRule("test", RateLimitKey.USER, 100, 4, 1);
+
+  @SuppressWarnings("unchecked")
+  private final RateLimiter limiter = new RateLimiter(mock(ObjectProvider.class), 1000, 1024);
+
+  @Test
+  void allowBurstThenDenyUntilNextToken() throws InterruptedException {
+    for (int i = 0; i < 4; i++) {
+      assertThat(limiter.tryAcquire("rl:test:u1", RULE)).isZero();
+    }
+    long retryAfter = limiter.tryAcquire("rl:test:u1", RULE);
+    assertThat(retryAfter).isBetween(1L, 100L);
+    assertThat(limiter.tryAcquire("rl:test:u1", RULE)).isPositive();
+
+    Thread.sleep(retryAfter + 20);
+    assertThat(limiter.tryAcquire("rl:test:u1", RULE)).isZero();
+  }
+
+  @Test
+  void limitKeysIndependently() {
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire("rl:test:u1", RULE);
+    }
+    assertThat(limiter.tryAcquire("rl:test:u1", RULE)).isPositive();
+    assertThat(limiter.tryAcquire("rl:test:u2", RULE)).isZero();
+  }
+
+  @Test
+  void grantAtMostWantedAndNeverMoreThanBurst() {
+    LocalLeaseSource source = new LocalLeaseSource(1024);
+
+    assertThat(source.acquire("k", RULE, 3).granted()).isEqualTo(3);
+    Lease rest = source.acquire("k", RULE, 3);
+    assertThat(rest.granted()).isEqualTo(1);
+    Lease denied = source.acquire("k", RULE, 1);
+    assertThat(denied.granted()).isZero();
+    assertThat(denied.retryAfterMs()).isBetween(1L, 100L);
+  }
+}
@@ -0,0 +1,48 @@
+package com.chuz.reservex.common.test;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Redis 스크립트 테스트 공용 연결 (queue-service / ticket-service 테스트)
+ * - test.redis.host / test.redis.port가 있으면 그 Redis 사용 (./gradlew test -Ptest.redis.port=6380, docker-compose redis)
+ * - 없으면 Testcontainers redis 컨테이너를 JVM당 1개 띄워 모든 테스트 클래스가 공유 (JVM 종료 시 정리)
+ * - Redis에 연결할 수 없으면 건너뛰지 않고 실패 (빌드에서 Redis 테스트가 조용히 빠지지 않도록)
+ */
+public final class RedisTestSupport {
+
+  private static final DockerImageName IMAGE = DockerImageName.parse("redis:7-alpine");
+  private static final int REDIS_PORT = 6379;
+
+  private static GenericContainer<?> container;
+
+  private RedisTestSupport() {
+  }
+
+  /**
+   * 시작된 연결 팩토리 (테스트가 끝나면 destroy)
+   */
+  public static LettuceConnectionFactory connect() {
+    LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration());
+    factory.afterPropertiesSet();
+    factory.start();
+    return factory;
+  }
+
+  private static synchronized RedisStandaloneConfiguration configuration() {
+    String host = System.getProperty("test.redis.host");
+    String port = System.getProperty("test.redis.port");
+    if (host != null || port != null) {
+      return new RedisStandaloneConfiguration(host != null ? host : "localhost",
+          port != null ? Integer.parseInt(port) : REDIS_PORT);
+    }
+    if (container == null) {
+      GenericContainer<?> redis = new GenericContainer<>(IMAGE).withExposedPorts(REDIS_PORT);
+      redis.start();
+      container = redis;
+    }
+    return new RedisStandaloneConfiguration(container.getHost(), container.getMappedPort(REDIS_PORT));
+  }
+}
@@ -0,0 +1,78 @@
+#!/bin/bash
+
+# 서블릿 vs 리액티브 queue-service 비교 (상태 조회 폴링 부하)
+# 측정: 초당 요청 수(wrk), 코어당 초당 요청 수(RPS / 사용 코어), 유지 중인 TCP 연결 수, JVM 스레드 수
+#
+# 준비 (두 스택을 같은 Redis에 동시에 띄움, 속도 제한은 끔):
+#   ./gradlew :queue-service:bootRun --args='--app.ratelimit.enabled=false'
+#   ./gradlew :queue-service:bootRun --args='--spring.profiles.active=reactive --server.port=8084'
+#
+# 사용: ./docs/bench-web-stack.sh [연결 수=1000] [시간(초)=30]
+# 필요 도구: wrk, jq, ss
+
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+ACCOUNT_SERVICE="http://localhost:8081"
+SERVLET_PORT=8083
+REACTIVE_PORT=8084
+EVENT_ID=1
+CONNECTIONS=${1:-1000}
+DURATION=${2:-30}
+
+TEST_EMAIL="alice@example.com"
+TEST_PASSWORD="password123"
+
+JWT_TOKEN=$(curl -s -X POST "$ACCOUNT_SERVICE/api/auth/login" \
+  -H "Content-Type: application/json" \
+  -d "{\"email\":\"$TEST_EMAIL\",\"password\":\"$TEST_PASSWORD\"}" | jq -r '.accessToken')
+
+if [ "$JWT_TOKEN" = "null" ] || [ -z "$JWT_TOKEN" ]; then
+  echo -e "${RED}❌ 로그인 실패 (test-queue.sh의 회원가입 안내 참고)${NC}"
+  exit 1
+fi
+
+run() {
+  local name=$1 port=$2
+  local pid
+  pid=$(ss -ltnp "( sport = :$port )" | grep -o 'pid=[0-9]*' | head -1 | cut -d= -f2)
+  if [ -z "$pid" ]; then
+    echo -e "${RED}❌ $name ($port) 실행 중이 아님${NC}"
+    return
+  fi
+
+  curl -s -X POST "http://localhost:$port/queue/$EVENT_ID/enqueue" -H "Authorization: Bearer $JWT_TOKEN" > /dev/null
+
+  local cpu_before cpu_after ticks
+  ticks=$(getconf CLK_TCK)
+  cpu_before=$(awk '{print $14 + $15}' /proc/$pid/stat)
+
+  wrk -t4 -c"$CONNECTIONS" -d"${DURATION}s" --latency \
+    -H "Authorization: Bearer $JWT_TOKEN" \
+    "http://localhost:$port/queue/$EVENT_ID/status" > /tmp/bench-$name.txt &
+  local wrk_pid=$!
+
+  sleep $((DURATION / 2))
+  local conns threads
+  conns=$(ss -tn state established "( sport = :$port )" | tail -n +2 | wc -l)
+  threads=$(ls /proc/$pid/task | wc -l)
+  wait $wrk_pid
+
+  cpu_after=$(awk '{print $14 + $15}' /proc/$pid/stat)
+  local rps cores
+  rps=$(awk '/Requests\/sec/ {print $2}' /tmp/bench-$name.txt)
+  cores=$(echo "scale=2; ($cpu_after - $cpu_before) / $ticks / $DURATION" | bc)
+
+  echo -e "${GREEN}[$name]${NC}"
+  grep -E 'Latency|99%|Requests/sec|Non-2xx|Socket errors' /tmp/bench-$name.txt
+  echo "  유지 연결: $conns, JVM 스레드: $threads, 사용 코어: $cores"
+  echo "  코어당 RPS: $(echo "scale=0; $rps / $cores" | bc)"
+  echo ""
+}
+
+echo -e "${BLUE}연결 ${CONNECTIONS}개, ${DURATION}초, GET /queue/$EVENT_ID/status${NC}"
+echo ""
+run servlet $SERVLET_PORT
+run reactive $REACTIVE_PORT
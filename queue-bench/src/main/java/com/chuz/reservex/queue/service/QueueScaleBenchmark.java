@@ -0,0 +1,270 @@
+package com.chuz.reservex.queue.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.security.PassTokenCodec;
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.line.LanedWaitingLine;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.line.ShardedWaitingLine;
+import com.chuz.reservex.queue.line.TicketWaitingLine;
+import com.chuz.reservex.queue.line.WaitingLines;
+import com.chuz.reservex.queue.line.ZSetWaitingLine;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+import com.chuz.reservex.queue.service.ScaleReport.Admission;
+import com.chuz.reservex.queue.service.ScaleReport.Memory;
+import com.chuz.reservex.queue.service.ScaleReport.Phase;
+import com.chuz.reservex.queue.service.ScaleReport.Settings;
+import com.chuz.reservex.queue.store.RedisQueueStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 대기열 규모 벤치마크 (대기자 100만 명 이상, 로컬 Redis 대상)
+ * 1. 진입: users명을 threads개 스레드로 QueueService.enqueue
+ * 2. 메모리: 진입 전후 INFO used_memory 차이 / 대기자 수 (대기열 + 생존 인덱스 + 진입 마커)
+ * 3. 상태 조회: statusCalls회 무작위 대기자 QueueService.status
+ * 4. 입장: AdmissionPump를 tickMs 주기로 admissionSeconds 동안 실행, 토큰 버킷 상한(용량 + 분당 인원 x 경과 시간) 대비 입장 인원
+ * 결과는 bench.out/{label}-{시각}.json/.md 로 저장하고, bench.baseline(이전 json) 지정 시 변화율을 함께 기록
+ * 지연은 closed-loop 측정 (스레드마다 응답을 받은 뒤 다음 요청) → 스레드 수를 넘는 동시 요청의 대기 시간은 포함하지 않음
+ *
+ * ./gradlew :queue-bench:run -Pbench.users=1000000 -Pbench.label=v1.2.0 [-Pbench.redis.port=6380 -Pbench.baseline=...]
+ */
+public final class QueueScaleBenchmark {
+
+  private static final long EVENT_ID = 900_020L;
+  /** 히스토그램 상한 (10초, µs) */
+  private static final long MAX_LATENCY_US = TimeUnit.SECONDS.toMicros(10);
+
+  private final Settings settings;
+  private final LettuceConnectionFactory factory;
+  private final StringRedisTemplate redis;
+  private final RedisQueueStore store;
+  private final PassTokens passTokens;
+  private final QueueService service;
+  private final QueueMetrics metrics = new QueueMetrics(new SimpleMeterRegistry());
+
+  private QueueScaleBenchmark(Settings settings) {
+    this.settings = settings;
+    this.factory = connect();
+    this.redis = new StringRedisTemplate(factory);
+    redis.afterPropertiesSet();
+
+    QueueProperties properties = new QueueProperties();
+    properties.setMode(QueueMode.valueOf(settings.mode()));
+    properties.setShards(settings.shards());
+    WaitingLines lines = new WaitingLines(List.of(new ZSetWaitingLine(redis), new TicketWaitingLine(redis),
+        new ShardedWaitingLine(redis, properties), new LanedWaitingLine(redis, properties)), properties);
+    NearCache nearCache = NearCache.disabled(redis);
+    this.store = new RedisQueueStore(redis, new ActiveEvents(redis, nearCache), lines, nearCache);
+    this.passTokens = new PassTokens(new PassTokenCodec("bench-pass-token-secret-0123456789"), store);
+    this.service = new QueueService(store, metrics, new PreRegistration(store, properties), properties, passTokens);
+  }
+
+  public static void main(String[] args) throws Exception {
+    Settings settings = Settings.fromSystemProperties();
+    QueueScaleBenchmark bench = new QueueScaleBenchmark(settings);
+    try {
+      ScaleReport report = bench.run();
+      Path out = report.write(Path.of(settings.out()), new ObjectMapper().findAndRegisterModules(),
+          System.getProperty("bench.baseline"));
+      System.out.println(report.toMarkdown(null));
+      System.out.println("report: " + out);
+    } finally {
+      bench.factory.destroy();
+    }
+  }
+
+  private ScaleReport run() throws Exception {
+    Instant startedAt = Instant.now();
+    new QueueScripts(redis).preload();
+    clear();
+
+    long before = usedMemory();
+    log("enqueue %,d users (%d threads, mode=%s)", settings.users(), settings.threads(), settings.mode());
+    AtomicLong nextUser = new AtomicLong();
+    Phase enqueue = measure(settings.users(), nextUser::incrementAndGet,
+        userId -> service.enqueue(EVENT_ID, userId));
+    long after = usedMemory();
+    Memory memory = new Memory(before, after, settings.users(), (after - before) / Math.max(1, settings.users()));
+    log("enqueue done: %.0f ops/s, %d bytes/waiter", enqueue.throughput(), memory.bytesPerWaiter());
+
+    log("status %,d calls", settings.statusCalls());
+    Phase status = measure(settings.statusCalls(), () -> 1 + ThreadLocalRandom.current().nextLong(settings.users()),
+        userId -> service.status(EVENT_ID, userId));
+    log("status done: %.0f ops/s", status.throughput());
+
+    log("admission %d s at %d permits/min", settings.admissionSeconds(), settings.permitsPerMinute());
+    Admission admission = admit();
+    log("admission done: %,d admitted (accuracy %.3f)", admission.admitted(), admission.accuracy());
+
+    if (!settings.keep()) {
+      clear();
+    }
+    return new ScaleReport(settings.label(), startedAt, settings, redisVersion(), memory, enqueue, status,
+        admission);
+  }
+
+  /**
+   * count회 호출을 threads개 스레드로 나눠 실행하며 호출별 지연(µs) 기록
+   */
+  private Phase measure(long count, UserSource users, LongConsumer call) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+    AtomicLong issued = new AtomicLong();
+    AtomicLong errors = new AtomicLong();
+    long progressEvery = Math.max(1, count / 10);
+    List<Future<Histogram>> results = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int t = 0; t < settings.threads(); t++) {
+      results.add(pool.submit(() -> {
+        Histogram histogram = new Histogram(MAX_LATENCY_US, 3);
+        long n;
+        while ((n = issued.incrementAndGet()) <= count) {
+          long userId = users.next();
+          long t0 = System.nanoTime();
+          try {
+            call.accept(userId);
+          } catch (RuntimeException e) {
+            errors.incrementAndGet();
+          }
+          histogram.recordValue(Math.min(MAX_LATENCY_US, (System.nanoTime() - t0) / 1000));
+          if (n % progressEvery == 0) {
+            log("  %,d / %,d", n, count);
+          }
+        }
+        return histogram;
+      }));
+    }
+    Histogram total = new Histogram(MAX_LATENCY_US, 3);
+    for (Future<Histogram> result : results) {
+      total.add(result.get());
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    pool.shutdown();
+    return Phase.of(total, seconds, errors.get());
+  }
+
+  /**
+   * 실제 AdmissionPump를 tick 주기로 실행 (리더 1대, 적응형 속도 조절 없음)
+   * 상한 = 버킷 용량(burstSeconds분) + 분당 인원 x 첫~마지막 tick 경과 시간, 정상 상태 속도는 첫 tick(버킷 소진)을 제외하고 계산
+   */
+  private Admission admit() throws InterruptedException {
+    AdmissionController controller = new AdmissionController(redis, store, settings.permitsPerMinute(), false,
+        1, settings.permitsPerMinute(), 0, 1, 0, 0, 0, 0, 0, 0);
+    QueueStreamHub hub = new QueueStreamHub(redis, service, store, new ObjectMapper(), passTokens);
+    AdmissionPump pump = new AdmissionPump(store, hub, metrics, controller);
+    pump.passTtlSec = 300;
+    pump.tickMs = settings.tickMs();
+    pump.burstSeconds = 5;
+    pump.maxBatch = settings.maxBatch();
+    pump.maxSkip = 1000;
+    pump.idleTimeoutMs = TimeUnit.DAYS.toMillis(1);
+
+    long ticks = Math.max(1, settings.admissionSeconds() * 1000 / settings.tickMs());
+    long admitted = 0;
+    long firstTick = 0;
+    long start = System.currentTimeMillis();
+    long lastTick = start;
+    for (long tick = 0; tick < ticks; tick++) {
+      lastTick = System.currentTimeMillis();
+      int n = pump.pump(EVENT_ID).size();
+      admitted += n;
+      if (tick == 0) {
+        firstTick = n;
+      }
+      long next = start + (tick + 1) * settings.tickMs();
+      Thread.sleep(Math.max(0, next - System.currentTimeMillis()));
+    }
+    // 마지막 tick 이후 대기 시간은 입장 기회가 없으므로 제외
+    double seconds = (lastTick - start) / 1000.0;
+    double capacity = Math.max(1.0, settings.permitsPerMinute() * 5 / 60.0);
+    double bound = capacity + settings.permitsPerMinute() * seconds / 60.0;
+    return new Admission(settings.permitsPerMinute(), seconds, admitted, bound, admitted / bound,
+        (admitted - firstTick) * 60 / Math.max(1e-3, seconds));
+  }
+
+  /**
+   * 벤치마크 이벤트 키 삭제 (이벤트 태그 + 샤드 태그)
+   */
+  private void clear() {
+    redis.opsForSet().remove(QueueKeys.activeEventsKey(), Long.toString(EVENT_ID));
+    for (String pattern : List.of(QueueKeys.tag(EVENT_ID) + "*", "q:{" + EVENT_ID + ".*")) {
+      redis.execute((RedisCallback<Void>) conn -> {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        List<byte[]> batch = new ArrayList<>(1000);
+        try (Cursor<byte[]> keys = conn.keyCommands().scan(options)) {
+          while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() == 1000) {
+              conn.keyCommands().unlink(batch.toArray(byte[][]::new));
+              batch.clear();
+            }
+          }
+        }
+        if (!batch.isEmpty()) {
+          conn.keyCommands().unlink(batch.toArray(byte[][]::new));
+        }
+        return null;
+      });
+    }
+  }
+
+  private long usedMemory() {
+    return Long.parseLong(info("memory").getProperty("used_memory"));
+  }
+
+  private String redisVersion() {
+    return info("server").getProperty("redis_version");
+  }
+
+  private Properties info(String section) {
+    return redis.execute((RedisCallback<Properties>) conn -> conn.serverCommands().info(section));
+  }
+
+  /**
+   * -Dbench.redis.host / -Dbench.redis.port 또는 -Dbench.redis.cluster=host1:port1,... (jmh 벤치마크와 동일)
+   */
+  private static LettuceConnectionFactory connect() {
+    String cluster = System.getProperty("bench.redis.cluster");
+    LettuceConnectionFactory factory = cluster != null
+        ? new LettuceConnectionFactory(new RedisClusterConfiguration(List.of(cluster.split(","))))
+        : new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getProperty("bench.redis.host", "localhost"),
+            Integer.getInteger("bench.redis.port", 6380)));
+    factory.afterPropertiesSet();
+    factory.start();
+    return factory;
+  }
+
+  private static void log(String format, Object... args) {
+    System.out.printf("[QueueScale] " + format + "%n", args);
+  }
+
+  @FunctionalInterface
+  private interface UserSource {
+    long next();
+  }
+}
@@ -0,0 +1,147 @@
+package com.chuz.reservex.queue.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 대기열 규모 벤치마크 결과 (릴리스 간 비교용 json + md)
+ * json 필드 이름은 비교 기준이므로 바꾸지 않고 추가만 함
+ */
+public record ScaleReport(String label, Instant startedAt, Settings settings, String redisVersion, Memory memory,
+    Phase enqueue, Phase status, Admission admission) {
+
+  private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+      .withZone(ZoneOffset.UTC);
+
+  /**
+   * 실행 설정 (-Dbench.* / -Pbench.*)
+   */
+  public record Settings(String label, long users, int threads, String mode, int shards, long statusCalls,
+      long permitsPerMinute, long admissionSeconds, long tickMs, long maxBatch, boolean keep, String out) {
+
+    static Settings fromSystemProperties() {
+      long users = Long.getLong("bench.users", 1_000_000);
+      return new Settings(
+          System.getProperty("bench.label", "local"),
+          users,
+          Integer.getInteger("bench.threads", 64),
+          System.getProperty("bench.mode", "ZSET"),
+          Integer.getInteger("bench.shards", 4),
+          Long.getLong("bench.statusCalls", users),
+          Long.getLong("bench.permitsPerMinute", 6000),
+          Long.getLong("bench.admissionSeconds", 60),
+          Long.getLong("bench.tickMs", 1000),
+          Long.getLong("bench.maxBatch", 500),
+          Boolean.getBoolean("bench.keep"),
+          System.getProperty("bench.out", "build/reports/queue-scale"));
+    }
+  }
+
+  /**
+   * @param bytesPerWaiter 진입 전후 used_memory 차이 / 대기자 수
+   */
+  public record Memory(long usedBefore, long usedAfter, long waiters, long bytesPerWaiter) {
+  }
+
+  /**
+   * 지연 단위: µs
+   */
+  public record Phase(long calls, double seconds, double throughput, long p50Us, long p99Us, long p999Us, long maxUs,
+      long errors) {
+
+    static Phase of(Histogram histogram, double seconds, long errors) {
+      long calls = histogram.getTotalCount();
+      return new Phase(calls, seconds, calls / Math.max(1e-9, seconds),
+          histogram.getValueAtPercentile(50),
+          histogram.getValueAtPercentile(99),
+          histogram.getValueAtPercentile(99.9),
+          histogram.getMaxValue(),
+          errors);
+    }
+  }
+
+  /**
+   * @param bound          토큰 버킷이 허용하는 최대 입장 인원 (용량 + 분당 인원 x 경과 시간)
+   * @param accuracy       admitted / bound (1에 가까울수록 설정 속도대로 입장)
+   * @param steadyPerMinute 첫 tick(버킷 용량 소진)을 제외한 분당 입장 인원
+   */
+  public record Admission(long permitsPerMinute, double seconds, long admitted, double bound, double accuracy,
+      double steadyPerMinute) {
+  }
+
+  /**
+   * {out}/{label}-{시각}.json 과 .md 저장
+   *
+   * @param baseline 비교할 이전 결과 json 경로 (null이면 비교 없음)
+   * @return 저장한 json 경로
+   */
+  Path write(Path out, ObjectMapper mapper, String baseline) throws IOException {
+    Files.createDirectories(out);
+    String name = label + "-" + FILE_TIME.format(startedAt);
+    Path json = out.resolve(name + ".json");
+    mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .writeValue(json.toFile(), this);
+    ScaleReport previous = baseline == null ? null : mapper.readValue(Path.of(baseline).toFile(), ScaleReport.class);
+    Files.writeString(out.resolve(name + ".md"), toMarkdown(previous));
+    return json;
+  }
+
+  String toMarkdown(ScaleReport baseline) {
+    StringBuilder md = new StringBuilder();
+    md.append("## Queue scale: ").append(label).append(" (").append(startedAt).append(")\n\n");
+    md.append("- mode=%s, users=%,d, threads=%d, statusCalls=%,d, redis=%s%n".formatted(
+        settings.mode(), settings.users(), settings.threads(), settings.statusCalls(), redisVersion));
+    if (baseline != null) {
+      md.append("- baseline: ").append(baseline.label()).append(" (").append(baseline.startedAt()).append(")\n");
+    }
+    md.append('\n');
+
+    Map<String, Double> current = metrics();
+    Map<String, Double> previous = baseline == null ? null : baseline.metrics();
+    md.append(previous == null ? "| metric | value |\n| --- | ---: |\n"
+        : "| metric | value | baseline | change |\n| --- | ---: | ---: | ---: |\n");
+    current.forEach((name, value) -> {
+      md.append("| ").append(name).append(" | ").append(format(value));
+      if (previous != null) {
+        Double before = previous.get(name);
+        md.append(" | ").append(before == null ? "-" : format(before))
+            .append(" | ").append(before == null || before == 0 ? "-" : "%+.1f%%".formatted((value / before - 1) * 100));
+      }
+      md.append(" |\n");
+    });
+    return md.toString();
+  }
+
+  private Map<String, Double> metrics() {
+    Map<String, Double> m = new LinkedHashMap<>();
+    m.put("enqueue ops/s", enqueue.throughput());
+    m.put("enqueue p50 (us)", (double) enqueue.p50Us());
+    m.put("enqueue p99 (us)", (double) enqueue.p99Us());
+    m.put("enqueue p999 (us)", (double) enqueue.p999Us());
+    m.put("status ops/s", status.throughput());
+    m.put("status p50 (us)", (double) status.p50Us());
+    m.put("status p99 (us)", (double) status.p99Us());
+    m.put("status p999 (us)", (double) status.p999Us());
+    m.put("errors", (double) (enqueue.errors() + status.errors()));
+    m.put("bytes/waiter", (double) memory.bytesPerWaiter());
+    m.put("admitted", (double) admission.admitted());
+    m.put("admission accuracy", admission.accuracy());
+    m.put("steady admits/min", admission.steadyPerMinute());
+    return m;
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value) && Math.abs(value) < 1e15 ? "%,d".formatted((long) value) : "%.3f".formatted(value);
+  }
+}
@@ -0,0 +1,46 @@
+package com.chuz.reservex.queue.service;
+
+import java.util.List;
+
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.security.PassTokenCodec;
+import com.chuz.reservex.queue.store.QueueStore;
+
+/**
+ * 벤치마크용 Redis 연결
+ * - 단일 노드: -Dbench.redis.host / -Dbench.redis.port
+ * - 클러스터: -Dbench.redis.cluster=host1:port1,host2:port2,...
+ */
+final class BenchRedis {
+  private BenchRedis() {
+  }
+
+  static LettuceConnectionFactory connect() {
+    String cluster = System.getProperty("bench.redis.cluster");
+    LettuceConnectionFactory factory = cluster != null
+        ? new LettuceConnectionFactory(new RedisClusterConfiguration(List.of(cluster.split(","))))
+        : new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getProperty("bench.redis.host", "localhost"),
+            Integer.getInteger("bench.redis.port", 6380)));
+    factory.afterPropertiesSet();
+    factory.start();
+    return factory;
+  }
+
+  /**
+   * 벤치마크 전용 서명 키로 Pass Token 서명
+   */
+  static PassTokens passTokens(QueueStore store) {
+    return new PassTokens(new PassTokenCodec("bench-pass-token-secret-0123456789"), store);
+  }
+
+  static StringRedisTemplate template(LettuceConnectionFactory factory) {
+    StringRedisTemplate template = new StringRedisTemplate(factory);
+    template.afterPropertiesSet();
+    return template;
+  }
+}
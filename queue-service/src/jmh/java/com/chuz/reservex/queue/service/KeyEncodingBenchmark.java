@@ -0,0 +1,109 @@
+package com.chuz.reservex.queue.service;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.passKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.zKey;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.ZSetWaitingLine;
+import com.chuz.reservex.queue.redis.QueueKeyCodec;
+import com.chuz.reservex.queue.redis.QueueKeyCodec.EventKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+/**
+ * status 호출당 할당량 비교 (gc 프로파일러의 gc.alloc.rate.norm = B/op 확인)
+ * - stringKeys / binaryKeys: 키/인자 조립 + 직렬화만 (Redis 불필요)
+ * - statusString: 이전 경로 (String.formatted 키 + StringRedisTemplate 직렬화)
+ * - statusBinary: QueueKeyCodec + byte[] EVALSHA 경로
+ *
+ * ./gradlew :queue-service:jmh -Pjmh.includes=KeyEncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeyEncodingBenchmark {
+
+  private static final long EVENT_ID = 900_011L;
+  private static final int USERS = 10_000;
+
+  private final RedisSerializer<String> serializer = RedisSerializer.string();
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private ZSetWaitingLine line;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    factory = BenchRedis.connect();
+    redis = BenchRedis.template(factory);
+    new QueueScripts(redis).preload();
+    line = new ZSetWaitingLine(redis);
+    for (long userId = 1; userId <= USERS; userId++) {
+      line.enqueue(EVENT_ID, userId, 45);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    redis.delete(List.of(zKey(EVENT_ID), liveKey(EVENT_ID)));
+    factory.destroy();
+  }
+
+  @Benchmark
+  public void stringKeys(Blackhole bh) {
+    long userId = nextUser();
+    bh.consume(serializer.serialize(passKey(EVENT_ID, userId)));
+    bh.consume(serializer.serialize(zKey(EVENT_ID)));
+    bh.consume(serializer.serialize(liveKey(EVENT_ID)));
+    bh.consume(serializer.serialize(Long.toString(userId)));
+    bh.consume(serializer.serialize(Long.toString(Instant.now().toEpochMilli())));
+  }
+
+  @Benchmark
+  public void binaryKeys(Blackhole bh) {
+    long userId = nextUser();
+    EventKeys keys = QueueKeyCodec.of(EVENT_ID);
+    bh.consume(QueueKeyCodec.userKey(keys.passPrefix(), userId));
+    bh.consume(keys.z());
+    bh.consume(keys.live());
+    bh.consume(QueueKeyCodec.ascii(userId));
+    bh.consume(QueueKeyCodec.ascii(System.currentTimeMillis()));
+  }
+
+  @Benchmark
+  public Object statusString() {
+    long userId = nextUser();
+    return redis.execute(QueueScripts.STATUS,
+        List.of(passKey(EVENT_ID, userId), zKey(EVENT_ID), liveKey(EVENT_ID)),
+        Long.toString(userId),
+        Long.toString(Instant.now().toEpochMilli()));
+  }
+
+  @Benchmark
+  public StatusRes statusBinary() {
+    return line.status(EVENT_ID, nextUser());
+  }
+
+  private static long nextUser() {
+    return 1 + ThreadLocalRandom.current().nextInt(USERS);
+  }
+}
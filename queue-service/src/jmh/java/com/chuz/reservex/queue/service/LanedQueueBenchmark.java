@@ -0,0 +1,128 @@
+package com.chuz.reservex.queue.service;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.laneZKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.line.LanedWaitingLine;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.line.WaitingLines;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueScripts;
+import com.chuz.reservex.queue.store.RedisQueueStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LANES 모드 대기 인원별 진입/상태 조회 처리량 (vip:presale:general = 5:3:1, 대기자는 1:2:7로 미리 적재)
+ * 레인 수만큼 ZCARD가 추가될 뿐 대기 인원에는 log N으로만 비례하는지 확인
+ *
+ * ./gradlew :queue-service:jmh -Pjmh.includes=LanedQueueBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class LanedQueueBenchmark {
+
+  private static final long EVENT_ID = 900_014L;
+  private static final List<String> VIP = List.of("ROLE_VIP");
+
+  @Param({ "100000", "1000000" })
+  int waiters;
+
+  private final AtomicLong userSeq = new AtomicLong();
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private QueueService service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    factory = BenchRedis.connect();
+    redis = BenchRedis.template(factory);
+    new QueueScripts(redis).preload();
+
+    QueueProperties properties = new QueueProperties();
+    QueueProperties.EventSettings settings = new QueueProperties.EventSettings();
+    settings.setMode(QueueMode.LANES);
+    settings.getLanes().put("vip", lane(5, "VIP"));
+    settings.getLanes().put("presale", lane(3, "PRESALE"));
+    settings.getLanes().put("general", lane(1, null));
+    properties.getEvents().put(EVENT_ID, settings);
+
+    WaitingLines lines = new WaitingLines(List.of(new LanedWaitingLine(redis, properties)), properties);
+    NearCache nearCache = NearCache.disabled(redis);
+    RedisQueueStore store = new RedisQueueStore(redis, new ActiveEvents(redis, nearCache), lines, nearCache);
+    service = new QueueService(store, new QueueMetrics(new SimpleMeterRegistry()),
+        new PreRegistration(store, properties), properties, BenchRedis.passTokens(store));
+
+    // 진입 스크립트 대신 ZADD로 미리 채움 (상태 조회는 레인 ZSET만 사용)
+    Map<String, Integer> share = Map.of("vip", 1, "presale", 2, "general", 7);
+    long userId = 0;
+    for (Map.Entry<String, Integer> entry : share.entrySet()) {
+      long count = (long) waiters * entry.getValue() / 10;
+      for (long from = 0; from < count; from += 10_000) {
+        Set<TypedTuple<String>> batch = new HashSet<>();
+        for (long i = from; i < Math.min(count, from + 10_000); i++) {
+          userId++;
+          batch.add(new DefaultTypedTuple<>(Long.toString(userId), (double) userId));
+        }
+        redis.opsForZSet().add(laneZKey(EVENT_ID, entry.getKey()), batch);
+      }
+    }
+    userSeq.set(userId);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    List<String> keys = new ArrayList<>(List.of(liveKey(EVENT_ID)));
+    for (String lane : List.of("vip", "presale", "general")) {
+      keys.add(laneZKey(EVENT_ID, lane));
+    }
+    redis.unlink(keys);
+    factory.destroy();
+  }
+
+  @Benchmark
+  public Object enqueueVip() {
+    return service.enqueue(EVENT_ID, userSeq.incrementAndGet(), VIP);
+  }
+
+  @Benchmark
+  public Object status() {
+    return service.status(EVENT_ID, 1 + ThreadLocalRandom.current().nextLong(waiters));
+  }
+
+  private static QueueProperties.LaneSettings lane(int weight, String role) {
+    QueueProperties.LaneSettings lane = new QueueProperties.LaneSettings();
+    lane.setWeight(weight);
+    lane.setRoles(role == null ? List.of() : List.of(role));
+    return lane;
+  }
+}
@@ -0,0 +1,151 @@
+package com.chuz.reservex.queue.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import com.chuz.reservex.queue.line.WaitingLine;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+/**
+ * 진입 마커/표시 오프셋 저장 구조별 대기자 1명당 Redis 메모리
+ * - strings: 이전 구조 (대기자마다 q:{e}:s:{u}, q:{e}:offset:{u} String 키 2개, 키마다 TTL)
+ * - buckets: 현재 구조 (QueueKeys.memberKey, 128명당 HASH 1개, 버킷 단위 TTL)
+ * - stride: userId 간격 (1 = 연속 발급 ID, 클수록 버킷당 인원이 줄어 이점이 작아짐)
+ * 적재 전후 INFO used_memory 차이를 대기자 수로 나눠 출력 (측정 시간은 파이프라인 적재 시간)
+ *
+ * ./gradlew :queue-service:jmh -Pjmh.includes=MemberLayoutBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class MemberLayoutBenchmark {
+
+  private static final long EVENT_ID = 900_016L;
+  private static final int BATCH = 10_000;
+
+  @Param({ "strings", "buckets" })
+  String layout;
+
+  @Param({ "1000000" })
+  int waiters;
+
+  @Param({ "1", "64" })
+  int stride;
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    factory = BenchRedis.connect();
+    redis = BenchRedis.template(factory);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    factory.destroy();
+  }
+
+  @Setup(Level.Iteration)
+  @TearDown(Level.Iteration)
+  public void clear() {
+    redis.execute((RedisCallback<Void>) conn -> {
+      ScanOptions options = ScanOptions.scanOptions().match(QueueKeys.tag(EVENT_ID) + "*").count(1000).build();
+      List<byte[]> batch = new ArrayList<>(1000);
+      try (Cursor<byte[]> keys = conn.keyCommands().scan(options)) {
+        while (keys.hasNext()) {
+          batch.add(keys.next());
+          if (batch.size() == 1000) {
+            conn.keyCommands().unlink(batch.toArray(byte[][]::new));
+            batch.clear();
+          }
+        }
+      }
+      if (!batch.isEmpty()) {
+        conn.keyCommands().unlink(batch.toArray(byte[][]::new));
+      }
+      return null;
+    });
+  }
+
+  @Benchmark
+  public long fill() {
+    long before = usedMemory();
+    long now = System.currentTimeMillis();
+    for (int from = 0; from < waiters; from += BATCH) {
+      int to = Math.min(from + BATCH, waiters);
+      int first = from;
+      redis.executePipelined((RedisCallback<Object>) conn -> {
+        for (int i = first; i < to; i++) {
+          long userId = 1 + (long) i * stride;
+          if ("strings".equals(layout)) {
+            writeStrings(conn, userId, now);
+          } else {
+            long bucket = userId / QueueKeys.MEMBER_BUCKET;
+            writeBucket(conn, userId, now, i == first || (userId - stride) / QueueKeys.MEMBER_BUCKET != bucket);
+          }
+        }
+        return null;
+      });
+    }
+    long bytesPerWaiter = (usedMemory() - before) / waiters;
+    System.out.printf("%n[MemberLayout] layout=%s, waiters=%d, stride=%d -> %d bytes/waiter%n",
+        layout, waiters, stride, bytesPerWaiter);
+    return bytesPerWaiter;
+  }
+
+  private static void writeStrings(RedisConnection conn, long userId, long now) {
+    Expiration ttl = Expiration.seconds(WaitingLine.MARKER_TTL_SEC);
+    conn.stringCommands().set(bytes("q:{%d}:s:%d".formatted(EVENT_ID, userId)), bytes(Long.toString(now)), ttl,
+        SetOption.upsert());
+    conn.stringCommands().set(bytes("q:{%d}:offset:%d".formatted(EVENT_ID, userId)), bytes("45"), ttl,
+        SetOption.upsert());
+  }
+
+  /**
+   * enqueue 스크립트와 같은 값/TTL로 기록 (TTL은 파이프라인 배치마다 버킷당 1회 설정)
+   */
+  private static void writeBucket(RedisConnection conn, long userId, long now, boolean newBucket) {
+    byte[] key = bytes(QueueKeys.memberKey(EVENT_ID, userId));
+    conn.hashCommands().hSet(key, bytes(Long.toString(userId % QueueKeys.MEMBER_BUCKET)),
+        bytes(Long.toString(now * 64 + 45)));
+    if (newBucket) {
+      conn.keyCommands().expire(key, WaitingLine.MARKER_TTL_SEC);
+    }
+  }
+
+  private long usedMemory() {
+    Properties info = redis.execute((RedisCallback<Properties>) conn -> conn.serverCommands().info("memory"));
+    return Long.parseLong(info.getProperty("used_memory"));
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
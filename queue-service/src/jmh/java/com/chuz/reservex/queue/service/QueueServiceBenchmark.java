@@ -0,0 +1,185 @@
+package com.chuz.reservex.queue.service;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.passKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.seqKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketUserKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.zKey;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.line.TicketWaitingLine;
+import com.chuz.reservex.queue.line.WaitingLines;
+import com.chuz.reservex.queue.line.ZSetWaitingLine;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueScripts;
+import com.chuz.reservex.queue.store.RedisQueueStore;
+import com.chuz.reservex.queue.store.embedded.EmbeddedQueueStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 대기열 enqueue/status 경로 비교 벤치마크
+ * - legacy*: 기존 StringRedisTemplate 명령 나열 방식 (왕복 5~7회)
+ * - script*: Lua 스크립트 EVALSHA 1회 방식
+ * - ticket*: 번호표(TICKET) 모드
+ * - embedded*: 내장 off-heap 저장소 (네트워크 왕복 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class QueueServiceBenchmark {
+
+  private static final long EVENT_ID = 900_001L;
+  private static final long TICKET_EVENT_ID = 900_002L;
+
+  private final AtomicLong userSeq = new AtomicLong();
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private QueueService service;
+  private Path journal;
+  private EmbeddedQueueStore embeddedStore;
+  private QueueService embedded;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    factory = BenchRedis.connect();
+    redis = BenchRedis.template(factory);
+    QueueProperties properties = new QueueProperties();
+    QueueProperties.EventSettings ticket = new QueueProperties.EventSettings();
+    ticket.setMode(QueueMode.TICKET);
+    properties.getEvents().put(TICKET_EVENT_ID, ticket);
+    WaitingLines lines = new WaitingLines(
+        List.of(new ZSetWaitingLine(redis), new TicketWaitingLine(redis)), properties);
+    QueueMetrics metrics = new QueueMetrics(new SimpleMeterRegistry());
+    NearCache nearCache = NearCache.disabled(redis);
+    RedisQueueStore store = new RedisQueueStore(redis, new ActiveEvents(redis, nearCache), lines, nearCache);
+    service = new QueueService(store, metrics, new PreRegistration(store, properties), properties,
+        BenchRedis.passTokens(store));
+
+    journal = Files.createTempFile("queue-bench", ".journal");
+    embeddedStore = new EmbeddedQueueStore(1 << 24, journal.toString(), 64 << 20);
+    embedded = new QueueService(embeddedStore, metrics, new PreRegistration(embeddedStore, properties), properties,
+        BenchRedis.passTokens(embeddedStore));
+    new QueueScripts(redis).preload();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    redis.delete(List.of(zKey(EVENT_ID), seqKey(TICKET_EVENT_ID), ticketKey(TICKET_EVENT_ID),
+        ticketUserKey(TICKET_EVENT_ID)));
+    factory.destroy();
+    embeddedStore.destroy();
+    Files.deleteIfExists(journal);
+  }
+
+  @Benchmark
+  public Object scriptEnqueue() {
+    return service.enqueue(EVENT_ID, userSeq.incrementAndGet());
+  }
+
+  @Benchmark
+  public Object scriptEnqueueAndStatus() {
+    long userId = userSeq.incrementAndGet();
+    service.enqueue(EVENT_ID, userId);
+    return service.status(EVENT_ID, userId);
+  }
+
+  @Benchmark
+  public Object ticketEnqueueAndStatus() {
+    long userId = userSeq.incrementAndGet();
+    service.enqueue(TICKET_EVENT_ID, userId);
+    return service.status(TICKET_EVENT_ID, userId);
+  }
+
+  @Benchmark
+  public Object embeddedEnqueueAndStatus() {
+    long userId = userSeq.incrementAndGet();
+    embedded.enqueue(EVENT_ID, userId);
+    return embedded.status(EVENT_ID, userId);
+  }
+
+  @Benchmark
+  public Object legacyEnqueue() {
+    return legacyEnqueue(userSeq.incrementAndGet());
+  }
+
+  @Benchmark
+  public Object legacyEnqueueAndStatus() {
+    long userId = userSeq.incrementAndGet();
+    legacyEnqueue(userId);
+    return legacyStatus(userId);
+  }
+
+  /** 기존 QueueService.enqueue 명령 순서 재현 */
+  private long legacyEnqueue(long userId) {
+    String userKey = Long.toString(userId);
+    String s = "q:{%d}:s:%d".formatted(EVENT_ID, userId);
+    String offsetK = "q:{%d}:offset:%d".formatted(EVENT_ID, userId);
+
+    if (Boolean.TRUE.equals(redis.hasKey(s))) {
+      return legacyPosition(userKey);
+    }
+
+    redis.opsForZSet().add(zKey(EVENT_ID), userKey, Instant.now().toEpochMilli());
+    redis.opsForValue().set(s, "1");
+    redis.expire(s, Duration.ofMinutes(30));
+    redis.opsForValue().set(offsetK, "45");
+    redis.expire(offsetK, Duration.ofMinutes(30));
+
+    return legacyPosition(userKey);
+  }
+
+  /** 기존 QueueService.status 명령 순서 재현 */
+  private String legacyStatus(long userId) {
+    String userKey = Long.toString(userId);
+    String pkey = passKey(EVENT_ID, userId);
+    String pass = redis.opsForValue().get(pkey);
+    if (pass != null) {
+      return pass;
+    }
+
+    if (legacyPosition(userKey) == 0) {
+      String passToken = "pass_" + UUID.randomUUID();
+      redis.opsForValue().set(pkey, passToken);
+      redis.expire(pkey, Duration.ofSeconds(300));
+      redis.opsForZSet().remove(zKey(EVENT_ID), userKey);
+      return passToken;
+    }
+    return null;
+  }
+
+  private long legacyPosition(String userKey) {
+    Double score = redis.opsForZSet().score(zKey(EVENT_ID), userKey);
+    if (score == null) {
+      return -1;
+    }
+    Long rank = redis.opsForZSet().rank(zKey(EVENT_ID), userKey);
+    return rank == null ? -1 : rank;
+  }
+}
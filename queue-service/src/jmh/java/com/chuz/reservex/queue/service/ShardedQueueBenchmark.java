@@ -0,0 +1,94 @@
+package com.chuz.reservex.queue.service;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.shardZKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.line.ShardedWaitingLine;
+import com.chuz.reservex.queue.line.WaitingLines;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.store.RedisQueueStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * SHARDED 모드 샤드 수별 처리량
+ * 샤드가 서로 다른 노드에 배치되어야 확장 효과가 보이므로 Redis Cluster에서 실행
+ * ./gradlew :queue-service:jmh -Pbench.redis.cluster=host1:7000,host2:7001,...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class ShardedQueueBenchmark {
+
+  private static final long EVENT_ID = 900_005L;
+
+  @Param({ "1", "2", "4", "8", "16" })
+  int shards;
+
+  private final AtomicLong userSeq = new AtomicLong();
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private QueueService service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    factory = BenchRedis.connect();
+    redis = BenchRedis.template(factory);
+
+    QueueProperties properties = new QueueProperties();
+    QueueProperties.EventSettings settings = new QueueProperties.EventSettings();
+    settings.setMode(QueueMode.SHARDED);
+    settings.setShards(shards);
+    properties.getEvents().put(EVENT_ID, settings);
+
+    WaitingLines lines = new WaitingLines(List.of(new ShardedWaitingLine(redis, properties)), properties);
+    NearCache nearCache = NearCache.disabled(redis);
+    RedisQueueStore store = new RedisQueueStore(redis, new ActiveEvents(redis, nearCache), lines, nearCache);
+    service = new QueueService(store, new QueueMetrics(new SimpleMeterRegistry()),
+        new PreRegistration(store, properties), properties, BenchRedis.passTokens(store));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    List<String> keys = new ArrayList<>();
+    for (int shard = 0; shard < shards; shard++) {
+      keys.add(shardZKey(EVENT_ID, shard));
+    }
+    redis.delete(keys);
+    factory.destroy();
+  }
+
+  @Benchmark
+  public Object enqueue() {
+    return service.enqueue(EVENT_ID, userSeq.incrementAndGet());
+  }
+
+  @Benchmark
+  public Object enqueueAndStatus() {
+    long userId = userSeq.incrementAndGet();
+    service.enqueue(EVENT_ID, userId);
+    return service.status(EVENT_ID, userId);
+  }
+}
@@ -0,0 +1,23 @@
+package com.chuz.reservex.queue.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+
+/**
+ * 지표 설정
+ * - 이벤트별 지표 상한은 QueueMetrics에서 관리 (종료 이벤트 제거 시 자리 반환)
+ * - Redis 명령 지연은 Lettuce 명령 유형별 타이머(lettuce.command.completion)로 수집
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public MicrometerOptions lettuceMicrometerOptions() {
+    return MicrometerOptions.builder()
+        .histogram(true)
+        .targetPercentiles(new double[] { 0.5, 0.99, 0.999 })
+        .build();
+  }
+}
@@ -0,0 +1,142 @@
+package com.chuz.reservex.queue.config;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.line.QueueMode;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 대기열 이벤트별 설정 (app.queue.*)
+ *
+ * <pre>
+ * app:
+ *   queue:
+ *     mode: ZSET          # 기본 저장 방식
+ *     shards: 4           # SHARDED 모드 기본 샤드 수
+ *     events:
+ *       1:
+ *         mode: TICKET    # 이벤트 1번만 번호표 방식
+ *       2:
+ *         mode: SHARDED
+ *         shards: 16
+ *         saleOpenAt: 2026-11-01T11:00:00Z   # 이전 진입은 사전 등록 후 이 시각에 무작위 순서로 일괄 적재
+ *         pollMaxQps: 5000                   # 노드당 초당 상태 조회 상한 (기본 app.queue.poll.maxQps)
+ *       3:
+ *         mode: LANES
+ *         lanes:          # 선언 순서 = 라운드 순서, roles가 없는 레인이 기본 레인
+ *           vip: { weight: 5, roles: [VIP] }
+ *           presale: { weight: 3, roles: [PRESALE] }
+ *           general: { weight: 1 }
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.queue")
+public class QueueProperties {
+
+  /** 기본 대기열 저장 방식 */
+  private QueueMode mode = QueueMode.ZSET;
+
+  /** SHARDED 모드 기본 샤드 수 */
+  private int shards = 4;
+
+  /** 이벤트별 재정의 */
+  private Map<Long, EventSettings> events = new HashMap<>();
+
+  public QueueMode modeOf(Long eventId) {
+    EventSettings settings = events.get(eventId);
+    return settings != null && settings.getMode() != null ? settings.getMode() : mode;
+  }
+
+  public int shardsOf(Long eventId) {
+    EventSettings settings = events.get(eventId);
+    int n = settings != null && settings.getShards() != null ? settings.getShards() : shards;
+    return Math.max(1, n);
+  }
+
+  /**
+   * 판매 시작 시각 (설정되지 않은 이벤트는 null = 사전 등록 없음)
+   */
+  public Instant saleOpenAtOf(Long eventId) {
+    EventSettings settings = events.get(eventId);
+    return settings != null ? settings.getSaleOpenAt() : null;
+  }
+
+  /**
+   * 이벤트별 노드당 초당 상태 조회 상한 (설정되지 않으면 null = app.queue.poll.maxQps 사용)
+   */
+  public Integer pollMaxQpsOf(Long eventId) {
+    EventSettings settings = events.get(eventId);
+    return settings != null ? settings.getPollMaxQps() : null;
+  }
+
+  /**
+   * LANES 모드 레인 목록 (설정이 없으면 가중치 1인 default 레인 1개)
+   */
+  public List<Lane> lanesOf(Long eventId) {
+    EventSettings settings = events.get(eventId);
+    if (settings == null || settings.getLanes().isEmpty()) {
+      return List.of(Lane.DEFAULT);
+    }
+    return settings.getLanes().entrySet().stream()
+        .map(e -> new Lane(e.getKey(), Math.max(1, e.getValue().getWeight()), e.getValue().getRoles()))
+        .toList();
+  }
+
+  /**
+   * 사용자 권한에 맞는 레인 (선언 순서상 처음 일치하는 레인, 없으면 roles가 없는 기본 레인 또는 마지막 레인)
+   *
+   * @param roles 사용자 권한 (ROLE_ 접두어 유무 무관)
+   */
+  public String laneOf(Long eventId, Collection<String> roles) {
+    List<Lane> lanes = lanesOf(eventId);
+    Lane fallback = null;
+    for (Lane lane : lanes) {
+      if (lane.roles().isEmpty()) {
+        fallback = fallback == null ? lane : fallback;
+        continue;
+      }
+      for (String role : roles) {
+        if (lane.roles().contains(role.startsWith("ROLE_") ? role.substring(5) : role)) {
+          return lane.name();
+        }
+      }
+    }
+    return (fallback != null ? fallback : lanes.get(lanes.size() - 1)).name();
+  }
+
+  /**
+   * @param weight 라운드당 입장 인원 비율 (1 이상)
+   */
+  public record Lane(String name, int weight, List<String> roles) {
+    public static final Lane DEFAULT = new Lane("default", 1, List.of());
+  }
+
+  @Getter
+  @Setter
+  public static class EventSettings {
+    private QueueMode mode;
+    private Integer shards;
+    private Instant saleOpenAt;
+    private Integer pollMaxQps;
+    private Map<String, LaneSettings> lanes = new LinkedHashMap<>();
+  }
+
+  @Getter
+  @Setter
+  public static class LaneSettings {
+    private int weight = 1;
+    private List<String> roles = List.of();
+  }
+}
@@ -0,0 +1,28 @@
+package com.chuz.reservex.queue.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.service.QueueStreamHub;
+
+/**
+ * Redis Pub/Sub 설정 (노드당 구독 1개로 모든 이벤트 진행 상황 수신)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "redis", matchIfMissing = true)
+public class RedisPubSubConfig {
+
+  @Bean
+  public RedisMessageListenerContainer queueProgressListenerContainer(
+      RedisConnectionFactory connectionFactory, QueueStreamHub queueStreamHub) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(queueStreamHub, new PatternTopic(QueueKeys.progressChannelPattern()));
+    return container;
+  }
+}
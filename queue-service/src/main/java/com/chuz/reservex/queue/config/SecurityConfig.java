@@ -1,7 +1,11 @@
 package com.chuz.reservex.queue.config;
 
 import com.chuz.reservex.common.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,26 +15,34 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
- * Spring Security 설정
+ * Spring Security 설정 (서블릿 스택, 리액티브 스택은 ReactiveSecurityConfig)
  */
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+  @Value("${app.service.secret:}")
+  String serviceSecret;
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     http
         .csrf(csrf -> csrf.disable())
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()  // SSE 비동기 디스패치
             .requestMatchers("/actuator/health").permitAll()  // 헬스체크는 허용
-            .requestMatchers("/queue/*/validate-pass-token").permitAll()  // 서비스 간 통신 허용
+            .requestMatchers("/actuator/prometheus", "/queue/*/validate-pass-token", "/queue/*/release-pass")
+                .hasRole("SERVICE")  // 지표 수집, 서비스 간 통신 (X-Service-Token)
+            .requestMatchers("/queue/admin/**").hasRole("ADMIN")  // 운영 API
             .anyRequest().authenticated()  // 나머지는 인증 필요
         )
-        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(new ServiceAuthenticationFilter(serviceSecret), JwtAuthenticationFilter.class);
 
     return http.build();
   }
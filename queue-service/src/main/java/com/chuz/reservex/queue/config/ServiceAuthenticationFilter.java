@@ -0,0 +1,37 @@
+package com.chuz.reservex.queue.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.chuz.reservex.common.security.ServiceToken;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 서비스 간 호출 인증 필터 (X-Service-Token 일치 시 ROLE_SERVICE)
+ * 빈으로 등록하면 보안 체인 밖에서도 실행되므로 SecurityConfig에서만 생성
+ */
+@RequiredArgsConstructor
+class ServiceAuthenticationFilter extends OncePerRequestFilter {
+
+  private final String secret;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (ServiceToken.matches(secret, request.getHeader(ServiceToken.HEADER))) {
+      SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+          "service", null, List.of(new SimpleGrantedAuthority(ServiceToken.ROLE))));
+    }
+    filterChain.doFilter(request, response);
+  }
+}
@@ -0,0 +1,45 @@
+package com.chuz.reservex.queue.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chuz.reservex.queue.dto.TeardownRes;
+import com.chuz.reservex.queue.service.EventTeardown;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대기열 운영 API (ADMIN 권한, redis 저장소 전용)
+ */
+@RestController
+@RequestMapping("/queue/admin")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "redis", matchIfMissing = true)
+public class QueueAdminController {
+  private final EventTeardown teardown;
+
+  /**
+   * 종료 이벤트 키 정리 시작 (실제 삭제는 EventTeardown이 주기적으로 나눠서 진행)
+   */
+  @PostMapping("/{eventId}/teardown")
+  public TeardownRes startTeardown(@PathVariable Long eventId) {
+    return teardown.start(eventId);
+  }
+
+  /**
+   * 종료 이벤트 키 정리 진행 상황
+   */
+  @GetMapping("/{eventId}/teardown")
+  public ResponseEntity<TeardownRes> teardownProgress(@PathVariable Long eventId) {
+    TeardownRes progress = teardown.progress(eventId);
+    return progress == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progress);
+  }
+}
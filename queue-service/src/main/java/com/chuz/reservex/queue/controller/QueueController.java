@@ -1,53 +1,90 @@
 package com.chuz.reservex.queue.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.chuz.reservex.common.ratelimit.RateLimited;
 import com.chuz.reservex.queue.dto.EnqueueRes;
 import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.service.PollBudget;
 import com.chuz.reservex.queue.service.QueueService;
+import com.chuz.reservex.queue.service.QueueStreamHub;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/queue")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class QueueController {
   private final QueueService service;
+  private final QueueStreamHub streamHub;
+  private final PollBudget pollBudget;
 
   /**
    * 대기열 진입 - JWT 인증된 사용자만 가능
    */
+  @RateLimited(permits = 1, burst = 3)
   @PostMapping("/{eventId}/enqueue")
   public EnqueueRes enqueue(@PathVariable Long eventId, Authentication authentication) {
     Long userId = (Long) authentication.getPrincipal();
-    return service.enqueue(eventId, userId);
+    return service.enqueue(eventId, userId, AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
   }
 
   /**
    * 대기열 상태 조회 - JWT 인증된 사용자만 가능
+   * 대기 중이면 다음 조회 시각(nextPollAt)을 함께 응답
    */
+  @RateLimited(permits = 1, burst = 5)
   @GetMapping("/{eventId}/status")
   public StatusRes status(@PathVariable Long eventId, Authentication authentication) {
     Long userId = (Long) authentication.getPrincipal();
-    return service.status(eventId, userId);
+    return pollBudget.schedule(eventId, service.status(eventId, userId));
+  }
+
+  /**
+   * 대기열 상태 스트림 (SSE) - JWT 인증된 사용자만 가능
+   * 입장 펌프 tick마다 순번을 push하고, 입장 시 Pass Token을 push한 뒤 종료
+   */
+  @GetMapping(value = "/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(@PathVariable Long eventId, Authentication authentication) {
+    Long userId = (Long) authentication.getPrincipal();
+    return streamHub.subscribe(eventId, userId);
   }
 
   /**
    * Pass Token 검증 (ticket-service에서 호출)
-   * 서비스 간 통신이므로 인증 불필요
+   * 서비스 간 통신 (X-Service-Token 필요)
    */
   @PostMapping("/{eventId}/validate-pass-token")
   public boolean validatePassToken(
       @PathVariable Long eventId,
-      @PathVariable Long userId,
-      @PathVariable String passToken) {
+      @RequestParam("clientId") Long userId,
+      @RequestParam String passToken) {
     return service.validateAndConsumePassToken(eventId, userId, passToken);
   }
 
+  /**
+   * 입장 슬롯 조기 해제 (ticket-service에서 예매 완료/포기 시 호출)
+   * 서비스 간 통신 (X-Service-Token 필요)
+   */
+  @PostMapping("/{eventId}/release-pass")
+  public boolean releasePass(
+      @PathVariable Long eventId,
+      @RequestParam Long userId,
+      @RequestParam(defaultValue = "false") boolean abandoned) {
+    return service.releasePass(eventId, userId, abandoned);
+  }
+
 }
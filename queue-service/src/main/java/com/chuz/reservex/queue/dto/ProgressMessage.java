@@ -0,0 +1,12 @@
+package com.chuz.reservex.queue.dto;
+
+import java.util.Map;
+
+/**
+ * 입장 진행 상황 브로드캐스트 (입장 펌프 리더 -> 모든 queue-service 노드)
+ *
+ * @param admittedTotal 누적 입장 인원
+ * @param passes        이번 tick에 입장한 userId -> Pass Token
+ */
+public record ProgressMessage(Long eventId, long admittedTotal, Map<String, String> passes) {
+}
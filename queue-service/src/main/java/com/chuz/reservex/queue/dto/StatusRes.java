@@ -1,4 +1,23 @@
 package com.chuz.reservex.queue.dto;
 
-public record StatusRes(long position, boolean passReady, String passToken) {
+/**
+ * @param position   대기 순번 (0부터, -1 = 대기열에 없음, PRE_REGISTERED = 판매 시작 전 사전 등록됨)
+ * @param nextPollAt 다음 상태 조회 권장 시각 (epoch ms, 서버가 이벤트별 조회 예산 안에서 배정, 대기 중일 때만)
+ */
+public record StatusRes(long position, boolean passReady, String passToken, Long nextPollAt) {
+
+  /** 판매 시작 전 사전 등록 상태 (판매 시작 시 무작위 순서로 대기열에 배치됨) */
+  public static final long PRE_REGISTERED = -2;
+
+  public StatusRes(long position, boolean passReady, String passToken) {
+    this(position, passReady, passToken, null);
+  }
+
+  public static StatusRes registered() {
+    return new StatusRes(PRE_REGISTERED, false, null);
+  }
+
+  public StatusRes withNextPollAt(long nextPollAt) {
+    return new StatusRes(position, passReady, passToken, nextPollAt);
+  }
 }
@@ -0,0 +1,17 @@
+package com.chuz.reservex.queue.dto;
+
+/**
+ * 종료 이벤트 키 정리 진행 상황
+ *
+ * @param scope      현재 정리 중인 범위 (0 = 이벤트 해시 태그, 1..N = SHARDED 샤드)
+ * @param scopes     전체 범위 수
+ * @param deleted    지금까지 삭제한 키 수
+ * @param finishedAt 완료 시각(ms, 진행 중이면 null)
+ */
+public record TeardownRes(Long eventId, Status status, int scope, int scopes, long deleted, long startedAt,
+    Long finishedAt) {
+
+  public enum Status {
+    RUNNING, DONE
+  }
+}
@@ -0,0 +1,25 @@
+package com.chuz.reservex.queue.line;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 입장 처리 결과
+ *
+ * @param passes     입장 처리된 userId -> 발급된 Pass Token (처리 순서 유지)
+ * @param enqueuedAt 입장 처리된 사용자의 진입 시각(ms), 알 수 없으면 0 (대기 시간 분포 기록용)
+ */
+public record Admission(Map<String, String> passes, List<Long> enqueuedAt) {
+
+  public static Admission empty() {
+    return new Admission(Map.of(), List.of());
+  }
+
+  public int size() {
+    return passes.size();
+  }
+
+  public boolean isEmpty() {
+    return passes.isEmpty();
+  }
+}
@@ -0,0 +1,228 @@
+package com.chuz.reservex.queue.line;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.admittedKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.drrKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.laneZKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.memberKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.tag;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.config.QueueProperties.Lane;
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 가중치 레인 대기열 (app.queue.events.{eventId}.lanes)
+ * - 레인마다 Sorted Set(q:{eventId}:z:{lane}), 마커/Pass Token/생존 인덱스는 이벤트 공용 (모두 같은 슬롯)
+ * - 레인은 진입 시 사용자 권한으로 결정되며 이후 재진입해도 바뀌지 않음
+ * - 입장은 Deficit Round Robin: 대기자가 있는 레인끼리 가중치 비율로 입장 (적자는 q:{eventId}:drr에 유지)
+ * - 순번 = 내 레인 rank + 레인별 min(대기 인원, (rank + 1) x 가중치 비) (레인 수만큼 ZCARD, O(레인 수 + log N))
+ * - 사전 등록자 일괄 적재는 기본 레인으로 적재
+ */
+@Component
+@RequiredArgsConstructor
+public class LanedWaitingLine implements WaitingLine {
+
+  private final StringRedisTemplate redis;
+  private final QueueProperties properties;
+
+  @Override
+  public QueueMode mode() {
+    return QueueMode.LANES;
+  }
+
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    return enqueue(eventId, userId, null, candidateOffset);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public EnqueueRes enqueue(Long eventId, Long userId, String lane, int candidateOffset) {
+    List<Lane> lanes = properties.lanesOf(eventId);
+    List<Object> res = redis.execute(QueueScripts.LANE_ENQUEUE,
+        keys(eventId, lanes, memberKey(eventId, userId), liveKey(eventId)),
+        enqueueArgs(lanes, userId, Long.toString(Instant.now().toEpochMilli()), candidateOffset,
+            indexOf(eventId, lanes, lane), ""));
+
+    return new EnqueueRes(userId.toString(), (Long) res.get(0), ((Long) res.get(1)).intValue());
+  }
+
+  @Override
+  public void enqueueAll(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    List<Lane> lanes = properties.lanesOf(eventId);
+    int lane = indexOf(eventId, lanes, null);
+    String now = Long.toString(Instant.now().toEpochMilli());
+    WaitingLine.pipelined(redis, QueueScripts.LANE_ENQUEUE, () -> {
+      for (int i = 0; i < userIds.size(); i++) {
+        Long userId = userIds.get(i);
+        redis.execute(QueueScripts.LANE_ENQUEUE,
+            keys(eventId, lanes, memberKey(eventId, userId), liveKey(eventId)),
+            enqueueArgs(lanes, userId, now, candidateOffset.getAsInt(), lane, Long.toString(firstScore + i)));
+      }
+    });
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public StatusRes status(Long eventId, Long userId) {
+    List<Lane> lanes = properties.lanesOf(eventId);
+    List<Object> args = new ArrayList<>(lanes.size() + 2);
+    args.add(userId.toString());
+    args.add(Long.toString(Instant.now().toEpochMilli()));
+    lanes.forEach(lane -> args.add(Integer.toString(lane.weight())));
+
+    List<Object> res = redis.execute(QueueScripts.LANE_STATUS,
+        keys(eventId, lanes, passKey(eventId, userId), liveKey(eventId)), args.toArray());
+    return ZSetWaitingLine.toStatus(res);
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    WaitingLine.touch(redis, liveKey(eventId), userIds, Instant.now().toEpochMilli());
+  }
+
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    return WaitingLine.purgeIdle(redis, tag(eventId), liveKey(eventId), keys(eventId, properties.lanesOf(eventId)),
+        aliveSince, batch);
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    long total = 0;
+    for (Lane lane : properties.lanesOf(eventId)) {
+      Long size = redis.opsForZSet().zCard(laneZKey(eventId, lane.name()));
+      total += size == null ? 0 : size;
+    }
+    return total;
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    String admitted = redis.opsForValue().get(admittedKey(eventId));
+    return admitted == null ? 0 : Long.parseLong(admitted);
+  }
+
+  /**
+   * 레인마다 선두 후보를 남은 토큰 수만큼 읽어 후보별 키와 함께 lane_admit.lua 실행
+   * 레인의 후보를 다 써서 중단했거나 이탈자로 모자란 인원은 건너뛴 수가 maxSkip 이하인 동안 다시 읽어 채움
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    List<Lane> lanes = properties.lanesOf(eventId);
+    String tag = tag(eventId);
+    Map<String, String> passes = new LinkedHashMap<>();
+    List<Long> enqueuedAt = new ArrayList<>();
+    long skipped = 0;
+    while (passes.size() < passTokens.size() && skipped <= maxSkip) {
+      List<String> tokens = passTokens.subList(passes.size(), passTokens.size());
+      List<Set<String>> heads = new ArrayList<>(lanes.size());
+      int candidates = 0;
+      for (Lane lane : lanes) {
+        Set<String> head = redis.opsForZSet().range(laneZKey(eventId, lane.name()), 0, tokens.size() - 1);
+        heads.add(head == null ? Set.of() : head);
+        candidates += heads.get(heads.size() - 1).size();
+      }
+      if (candidates == 0) {
+        break;
+      }
+
+      List<String> keys = keys(eventId, lanes, admittedKey(eventId), liveKey(eventId), QueueKeys.passesKey(eventId),
+          drrKey(eventId));
+      List<Object> args = new ArrayList<>(5 + lanes.size() * 3 + candidates + tokens.size());
+      args.add(Long.toString(passTtlSec));
+      args.add(Integer.toString(candidates));
+      args.add(Long.toString(aliveSince));
+      args.add(Long.toString(maxSkip - skipped));
+      args.add(Integer.toString(lanes.size()));
+      lanes.forEach(lane -> args.add(Integer.toString(lane.weight())));
+      lanes.forEach(lane -> args.add(lane.name()));
+      heads.forEach(head -> args.add(Integer.toString(head.size())));
+      for (Set<String> head : heads) {
+        for (String userId : head) {
+          WaitingLine.addUserKeys(keys, tag, userId);
+          args.add(userId);
+        }
+      }
+      args.addAll(tokens);
+
+      List<Object> res = redis.execute(QueueScripts.LANE_ADMIT, keys, args.toArray());
+      Admission admission = WaitingLine.toAdmission(res, tokens);
+      long skippedNow = (Long) res.get(2);
+      if (admission.passes().isEmpty() && skippedNow == 0) {
+        // 읽은 후보가 그 사이 모두 빠짐 → 다음 주기에 다시 읽음
+        break;
+      }
+      passes.putAll(admission.passes());
+      enqueuedAt.addAll(admission.enqueuedAt());
+      skipped += skippedNow;
+    }
+    return new Admission(passes, enqueuedAt);
+  }
+
+  @Override
+  public long expirePasses(Long eventId, long holdMs) {
+    return WaitingLine.expirePasses(redis, tag(eventId), QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId),
+        holdMs);
+  }
+
+  @Override
+  public long outstanding(Long eventId) {
+    return WaitingLine.outstanding(redis, QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId));
+  }
+
+  /**
+   * 앞쪽 고정 키 + 레인 ZSET 키 (설정 순서)
+   */
+  private static List<String> keys(Long eventId, List<Lane> lanes, String... head) {
+    List<String> keys = new ArrayList<>(head.length + lanes.size());
+    keys.addAll(List.of(head));
+    lanes.forEach(lane -> keys.add(laneZKey(eventId, lane.name())));
+    return keys;
+  }
+
+  private static Object[] enqueueArgs(List<Lane> lanes, Long userId, String now, int candidateOffset, int lane,
+      String score) {
+    List<Object> args = new ArrayList<>(6 + lanes.size());
+    args.add(userId.toString());
+    args.add(now);
+    args.add(Long.toString(MARKER_TTL_SEC));
+    args.add(Integer.toString(candidateOffset));
+    args.add(Integer.toString(lane));
+    args.add(score);
+    lanes.forEach(l -> args.add(Integer.toString(l.weight())));
+    return args.toArray();
+  }
+
+  /**
+   * 스크립트용 레인 번호 (1부터, 알 수 없는 레인이면 기본 레인)
+   */
+  private int indexOf(Long eventId, List<Lane> lanes, String lane) {
+    String name = lane != null ? lane : properties.laneOf(eventId, List.of());
+    for (int i = 0; i < lanes.size(); i++) {
+      if (lanes.get(i).name().equals(name)) {
+        return i + 1;
+      }
+    }
+    return lane != null ? indexOf(eventId, lanes, null) : lanes.size();
+  }
+}
@@ -0,0 +1,11 @@
+package com.chuz.reservex.queue.line;
+
+/**
+ * 대기열 저장 방식
+ */
+public enum QueueMode {
+  ZSET,   // 진입 시각 score의 Sorted Set, 순번 = ZRANK (O(log N))
+  TICKET, // INCR 번호표 + serving 카운터, 순번 = 번호표 - serving (O(1))
+  SHARDED, // 이벤트당 N개 Sorted Set으로 분산 (샤드별 해시 태그), 입장 시 k-way 병합
+  LANES   // 가중치가 다른 레인별 Sorted Set (같은 이벤트 슬롯), 입장 시 Deficit Round Robin
+}
@@ -0,0 +1,311 @@
+package com.chuz.reservex.queue.line;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.shardAdmittedKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardHoldingKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardLiveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardMemberKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardPassKeyPrefix;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardPassesKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardTag;
+import static com.chuz.reservex.queue.redis.QueueKeys.shardZKey;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 샤드 대기열
+ * - 이벤트당 N개 Sorted Set(q:{eventId.shard}:z)에 분산, 사용자 키(마커/오프셋/Pass Token)도 같은 샤드 슬롯에 배치
+ * - 샤드 = userId mod N (진입 시 결정, 조회 시 재계산)
+ * - 순번 = 내 샤드 rank + 다른 샤드에서 나보다 먼저 진입한 인원 (파이프라인 ZCOUNT 1회 왕복)
+ * - 입장은 샤드별 선두를 score 기준 k-way 병합하여 전역 FIFO 유지
+ *   (샤드마다 병합에 뽑힌 후보만 입장시키고, 이탈자로 모자란 인원은 선두를 다시 병합해 채움)
+ *   (score는 진입 노드 시각이므로 순서 오차는 노드 간 시계 차이 이내)
+ * - 샤드 수 변경은 대기자가 없을 때만 가능 (기존 대기자의 샤드가 바뀜)
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardedWaitingLine implements WaitingLine {
+
+  private final StringRedisTemplate redis;
+  private final QueueProperties properties;
+
+  @Override
+  public QueueMode mode() {
+    return QueueMode.SHARDED;
+  }
+
+  @Override
+  public String passKey(Long eventId, Long userId) {
+    return shardPassKeyPrefix(eventId, shardOf(eventId, userId)) + userId;
+  }
+
+  @Override
+  public String passesKey(Long eventId, Long userId) {
+    return shardPassesKey(eventId, shardOf(eventId, userId));
+  }
+
+  @Override
+  public String holdingKey(Long eventId, Long userId) {
+    return shardHoldingKey(eventId, shardOf(eventId, userId));
+  }
+
+  @Override
+  public int passShard(Long eventId, Long userId) {
+    return shardOf(eventId, userId);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    String userKey = userId.toString();
+    int shards = properties.shardsOf(eventId);
+    int shard = shardOf(userId, shards);
+
+    List<Object> res = redis.execute(QueueScripts.SHARD_ENQUEUE,
+        List.of(shardZKey(eventId, shard), shardMemberKey(eventId, shard, userId), shardLiveKey(eventId, shard)),
+        userKey,
+        Long.toString(Instant.now().toEpochMilli()),
+        Long.toString(MARKER_TTL_SEC),
+        Integer.toString(candidateOffset));
+
+    long rank = (Long) res.get(0);
+    int offset = ((Long) res.get(1)).intValue();
+    if (rank < 0) {
+      return new EnqueueRes(userKey, -1, offset);
+    }
+
+    double score = Double.parseDouble((String) res.get(2));
+    return new EnqueueRes(userKey, rank + aheadInOtherShards(eventId, shards, shard, score), offset);
+  }
+
+  @Override
+  public void enqueueAll(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    int shards = properties.shardsOf(eventId);
+    String now = Long.toString(Instant.now().toEpochMilli());
+    WaitingLine.pipelined(redis, QueueScripts.SHARD_ENQUEUE, () -> {
+      for (int i = 0; i < userIds.size(); i++) {
+        Long userId = userIds.get(i);
+        int shard = shardOf(userId, shards);
+        redis.execute(QueueScripts.SHARD_ENQUEUE,
+            List.of(shardZKey(eventId, shard), shardMemberKey(eventId, shard, userId),
+                shardLiveKey(eventId, shard)),
+            userId.toString(),
+            now,
+            Long.toString(MARKER_TTL_SEC),
+            Integer.toString(candidateOffset.getAsInt()),
+            Long.toString(firstScore + i));
+      }
+    });
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public StatusRes status(Long eventId, Long userId) {
+    int shards = properties.shardsOf(eventId);
+    int shard = shardOf(userId, shards);
+
+    List<Object> res = redis.execute(QueueScripts.SHARD_STATUS,
+        List.of(shardPassKeyPrefix(eventId, shard) + userId, shardZKey(eventId, shard), shardLiveKey(eventId, shard)),
+        userId.toString(),
+        Long.toString(Instant.now().toEpochMilli()));
+
+    if (res.size() == 1) {
+      return new StatusRes(-1, false, null);
+    }
+    if (res.size() == 3) {
+      return new StatusRes(0, true, (String) res.get(2));
+    }
+
+    long rank = (Long) res.get(0);
+    double score = Double.parseDouble((String) res.get(1));
+    return new StatusRes(rank + aheadInOtherShards(eventId, shards, shard, score), false, null);
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    int shards = properties.shardsOf(eventId);
+    long now = Instant.now().toEpochMilli();
+    userIds.stream()
+        .collect(Collectors.groupingBy(userId -> shardOf(userId, shards)))
+        .forEach((shard, ids) -> WaitingLine.touch(redis, shardLiveKey(eventId, shard), ids, now));
+  }
+
+  /**
+   * 샤드마다 배치 1회씩 정리 (샤드당 최대 batch / N명)
+   */
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    int shards = properties.shardsOf(eventId);
+    int perShard = Math.max(1, batch / shards);
+    long total = 0;
+    for (int shard = 0; shard < shards; shard++) {
+      total += WaitingLine.purgeIdle(redis, shardTag(eventId, shard), shardLiveKey(eventId, shard),
+          List.of(shardZKey(eventId, shard)), aliveSince, perShard);
+    }
+    return total;
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    long total = 0;
+    for (int shard = 0; shard < properties.shardsOf(eventId); shard++) {
+      Long size = redis.opsForZSet().zCard(shardZKey(eventId, shard));
+      total += size == null ? 0 : size;
+    }
+    return total;
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    long total = 0;
+    for (int shard = 0; shard < properties.shardsOf(eventId); shard++) {
+      String admitted = redis.opsForValue().get(shardAdmittedKey(eventId, shard));
+      total += admitted == null ? 0 : Long.parseLong(admitted);
+    }
+    return total;
+  }
+
+  /**
+   * 샤드별 선두 k명을 score 순으로 병합해 앞의 k명을 뽑고, 샤드마다 뽑힌 후보만 admit.lua로 입장 + 토큰 발급
+   * 샤드 안에서 병합 밖의 대기자를 더 꺼내지 않음 (이탈자 뒤 대기자가 다른 샤드의 앞선 대기자를 앞지르지 않도록)
+   * 이탈자로 남은 토큰은 건너뛴 수가 maxSkip 이하인 동안 선두를 다시 병합해 배분
+   */
+  @Override
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    int shards = properties.shardsOf(eventId);
+    List<String> tokens = new ArrayList<>(passTokens);
+    Map<String, String> passes = new LinkedHashMap<>();
+    List<Long> enqueuedAt = new ArrayList<>();
+    long skipped = 0;
+    while (!tokens.isEmpty() && skipped <= maxSkip) {
+      List<List<String>> picked = mergeHeads(eventId, shards, tokens.size());
+      if (picked.stream().allMatch(List::isEmpty)) {
+        break;
+      }
+
+      boolean progressed = false;
+      for (int shard = 0; shard < shards; shard++) {
+        List<String> candidates = picked.get(shard);
+        if (candidates.isEmpty()) {
+          continue;
+        }
+        List<String> slice = tokens.subList(0, candidates.size());
+        List<Object> res = WaitingLine.admitCandidates(redis, shardTag(eventId, shard),
+            List.of(shardZKey(eventId, shard), shardAdmittedKey(eventId, shard), shardLiveKey(eventId, shard),
+                shardPassesKey(eventId, shard)),
+            candidates, slice, passTtlSec, aliveSince);
+        Admission admission = WaitingLine.toAdmission(res, slice);
+        long skippedNow = (Long) res.get(2);
+        passes.putAll(admission.passes());
+        enqueuedAt.addAll(admission.enqueuedAt());
+        skipped += skippedNow;
+        progressed |= !admission.passes().isEmpty() || skippedNow > 0;
+        // i번째 입장자는 slice[i] 토큰을 받으므로 앞에서부터 쓴 만큼 제거 (남은 토큰은 다음 샤드/다음 병합으로)
+        tokens.subList(0, admission.passes().size()).clear();
+      }
+      if (!progressed) {
+        // 병합한 후보가 그 사이 모두 빠짐 → 다음 주기에 다시 읽음
+        break;
+      }
+    }
+    return new Admission(passes, enqueuedAt);
+  }
+
+  /**
+   * 샤드별 선두 k명을 score 순(같으면 샤드 번호순)으로 병합해 앞의 k명을 샤드별로 나눔
+   */
+  private List<List<String>> mergeHeads(Long eventId, int shards, int k) {
+    List<Head> heads = new ArrayList<>();
+    for (int shard = 0; shard < shards; shard++) {
+      Set<TypedTuple<String>> top = redis.opsForZSet().rangeWithScores(shardZKey(eventId, shard), 0, k - 1);
+      if (top == null) {
+        continue;
+      }
+      for (TypedTuple<String> tuple : top) {
+        heads.add(new Head(shard, tuple.getValue(), tuple.getScore() == null ? 0 : tuple.getScore()));
+      }
+    }
+    heads.sort(Comparator.comparingDouble(Head::score).thenComparingInt(Head::shard));
+
+    List<List<String>> picked = new ArrayList<>(shards);
+    for (int shard = 0; shard < shards; shard++) {
+      picked.add(new ArrayList<>());
+    }
+    heads.stream().limit(k).forEach(head -> picked.get(head.shard()).add(head.userId()));
+    return picked;
+  }
+
+  @Override
+  public long expirePasses(Long eventId, long holdMs) {
+    long total = 0;
+    for (int shard = 0; shard < properties.shardsOf(eventId); shard++) {
+      total += WaitingLine.expirePasses(redis, shardTag(eventId, shard), shardPassesKey(eventId, shard),
+          shardHoldingKey(eventId, shard), holdMs);
+    }
+    return total;
+  }
+
+  @Override
+  public long outstanding(Long eventId) {
+    long total = 0;
+    for (int shard = 0; shard < properties.shardsOf(eventId); shard++) {
+      total += WaitingLine.outstanding(redis, shardPassesKey(eventId, shard), shardHoldingKey(eventId, shard));
+    }
+    return total;
+  }
+
+  /**
+   * 다른 샤드에서 나보다 먼저 줄 선 인원 (score가 같으면 샤드 번호가 작은 쪽이 먼저, 병합 순서와 동일)
+   * score는 ms 정수이므로 "score 미만"은 "score - 1 이하"로 계산
+   */
+  private long aheadInOtherShards(Long eventId, int shards, int myShard, double score) {
+    if (shards == 1) {
+      return 0;
+    }
+
+    List<Object> counts = redis.executePipelined((RedisCallback<Object>) connection -> {
+      StringRedisConnection conn = (StringRedisConnection) connection;
+      for (int shard = 0; shard < shards; shard++) {
+        if (shard == myShard) {
+          continue;
+        }
+        conn.zCount(shardZKey(eventId, shard), Double.NEGATIVE_INFINITY, shard < myShard ? score : score - 1);
+      }
+      return null;
+    });
+
+    return counts.stream().mapToLong(count -> count == null ? 0 : (Long) count).sum();
+  }
+
+  private int shardOf(Long eventId, Long userId) {
+    return shardOf(userId, properties.shardsOf(eventId));
+  }
+
+  static int shardOf(Long userId, int shards) {
+    return (int) Math.floorMod(userId, (long) shards);
+  }
+
+  private record Head(int shard, String userId, double score) {
+  }
+}
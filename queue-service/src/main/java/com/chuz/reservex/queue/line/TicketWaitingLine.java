@@ -0,0 +1,208 @@
+package com.chuz.reservex.queue.line;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.memberKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.seqKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.servingKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.tag;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketUserKey;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueKeyCodec;
+import com.chuz.reservex.queue.redis.QueueKeyCodec.EventKeys;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 번호표 대기열
+ * - 진입 시 INCR로 단조 증가 번호표 발급 (같은 ms 진입자도 도착 순서 보장)
+ * - 입장 펌프는 serving 카운터만 전진
+ * - 순번 = 내 번호표 - serving - 1 (Sorted Set 조회 없음)
+ * - 이탈자 정리 시 번호표 자리는 비워두고 입장 펌프가 건너뜀 (빈 자리는 serving이 지나갈 때까지 순번에 포함)
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketWaitingLine implements WaitingLine {
+
+  private final StringRedisTemplate redis;
+
+  @Override
+  public QueueMode mode() {
+    return QueueMode.TICKET;
+  }
+
+  /**
+   * 진입/상태 조회는 QueueKeyCodec 바이너리 경로로 호출 (요청당 키 문자열/직렬화 할당 없음)
+   */
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    EventKeys keys = QueueKeyCodec.of(eventId);
+    List<Long> res = QueueScripts.evalSha(redis, QueueScripts.TICKET_ENQUEUE, ReturnType.MULTI, 6,
+        QueueKeyCodec.memberKey(keys.memberPrefix(), userId), keys.seq(), keys.serving(), keys.ticket(), keys.ticketUser(), keys.live(),
+        QueueKeyCodec.ascii(userId),
+        MARKER_TTL_ARG,
+        QueueKeyCodec.ascii(candidateOffset),
+        QueueKeyCodec.ascii(System.currentTimeMillis()));
+
+    return new EnqueueRes(userId.toString(), res.get(0), res.get(1).intValue());
+  }
+
+  @Override
+  public void enqueueAll(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    String now = Long.toString(Instant.now().toEpochMilli());
+    WaitingLine.pipelined(redis, QueueScripts.TICKET_ENQUEUE, () -> {
+      for (Long userId : userIds) {
+        redis.execute(QueueScripts.TICKET_ENQUEUE,
+            List.of(memberKey(eventId, userId), seqKey(eventId), servingKey(eventId),
+                ticketKey(eventId), ticketUserKey(eventId), liveKey(eventId)),
+            userId.toString(),
+            Long.toString(MARKER_TTL_SEC),
+            Integer.toString(candidateOffset.getAsInt()),
+            now);
+      }
+    });
+  }
+
+  @Override
+  public StatusRes status(Long eventId, Long userId) {
+    EventKeys keys = QueueKeyCodec.of(eventId);
+    List<Object> res = QueueScripts.evalSha(redis, QueueScripts.TICKET_STATUS, ReturnType.MULTI, 4,
+        QueueKeyCodec.userKey(keys.passPrefix(), userId), keys.serving(), keys.ticket(), keys.live(),
+        QueueKeyCodec.ascii(userId),
+        QueueKeyCodec.ascii(System.currentTimeMillis()));
+
+    return ZSetWaitingLine.toStatus(res);
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    WaitingLine.touch(redis, liveKey(eventId), userIds, Instant.now().toEpochMilli());
+  }
+
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    Set<String> idle = redis.opsForZSet().rangeByScore(liveKey(eventId), Double.NEGATIVE_INFINITY, aliveSince - 1,
+        0, batch);
+    if (idle == null || idle.isEmpty()) {
+      return 0;
+    }
+    List<String> keys = new ArrayList<>(3 + idle.size());
+    keys.addAll(List.of(liveKey(eventId), ticketKey(eventId), ticketUserKey(eventId)));
+    List<Object> args = new ArrayList<>(1 + idle.size());
+    args.add(Long.toString(aliveSince));
+    for (String userId : idle) {
+      keys.add(WaitingLine.memberKey(tag(eventId), userId));
+      args.add(userId);
+    }
+    Long purged = redis.execute(QueueScripts.TICKET_PURGE, keys, args.toArray());
+    return purged == null ? 0 : purged;
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    List<String> counters = redis.opsForValue().multiGet(List.of(seqKey(eventId), servingKey(eventId)));
+    if (counters == null) {
+      return 0;
+    }
+    return Math.max(0, parse(counters.get(0)) - parse(counters.get(1)));
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    return parse(redis.opsForValue().get(servingKey(eventId)));
+  }
+
+  /**
+   * serving 다음 번호표를 남은 토큰 수만큼 읽어 주인과 사용자별 키를 스크립트에 전달
+   * 빈 번호표/이탈자로 모자란 인원은 건너뛴 수가 maxSkip 이하인 동안 다음 번호표를 읽어 채움
+   * 읽은 뒤 serving이 바뀌었으면(-1) 이번 주기는 중단하고 다음 주기에 다시 읽음
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    String tag = tag(eventId);
+    Map<String, String> passes = new LinkedHashMap<>();
+    List<Long> enqueuedAt = new ArrayList<>();
+    long skipped = 0;
+    while (passes.size() < passTokens.size() && skipped <= maxSkip) {
+      List<String> tokens = passTokens.subList(passes.size(), passTokens.size());
+      List<String> counters = redis.opsForValue().multiGet(List.of(seqKey(eventId), servingKey(eventId)));
+      long seq = counters == null ? 0 : parse(counters.get(0));
+      long serving = counters == null ? 0 : parse(counters.get(1));
+      if (serving >= seq) {
+        break;
+      }
+      long last = Math.min(seq, serving + tokens.size());
+      List<Object> tickets = new ArrayList<>((int) (last - serving));
+      for (long ticket = serving + 1; ticket <= last; ticket++) {
+        tickets.add(Long.toString(ticket));
+      }
+      List<Object> owners = redis.opsForHash().multiGet(ticketUserKey(eventId), tickets);
+
+      List<String> keys = new ArrayList<>(5 + tickets.size() * 3);
+      keys.addAll(List.of(servingKey(eventId), ticketKey(eventId), ticketUserKey(eventId), liveKey(eventId),
+          QueueKeys.passesKey(eventId)));
+      List<Object> candidates = new ArrayList<>(tickets.size() * 2);
+      for (int i = 0; i < tickets.size(); i++) {
+        Object owner = owners == null ? null : owners.get(i);
+        if (owner != null) {
+          WaitingLine.addUserKeys(keys, tag, (String) owner);
+          candidates.add(tickets.get(i));
+          candidates.add(owner);
+        }
+      }
+      List<Object> args = new ArrayList<>(6 + candidates.size() + tokens.size());
+      args.add(Long.toString(passTtlSec));
+      args.add(Long.toString(aliveSince));
+      args.add(Long.toString(maxSkip - skipped));
+      args.add(Long.toString(serving));
+      args.add(Long.toString(last));
+      args.add(Integer.toString(candidates.size() / 2));
+      args.addAll(candidates);
+      args.addAll(tokens);
+
+      List<Object> res = redis.execute(QueueScripts.TICKET_ADMIT, keys, args.toArray());
+      long skippedNow = (Long) res.get(2);
+      if (skippedNow < 0) {
+        break;
+      }
+      Admission admission = WaitingLine.toAdmission(res, tokens);
+      passes.putAll(admission.passes());
+      enqueuedAt.addAll(admission.enqueuedAt());
+      skipped += skippedNow;
+    }
+    return new Admission(passes, enqueuedAt);
+  }
+
+  @Override
+  public long expirePasses(Long eventId, long holdMs) {
+    return WaitingLine.expirePasses(redis, tag(eventId), QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId),
+        holdMs);
+  }
+
+  @Override
+  public long outstanding(Long eventId) {
+    return WaitingLine.outstanding(redis, QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId));
+  }
+
+  private static long parse(String counter) {
+    return counter == null ? 0 : Long.parseLong(counter);
+  }
+}
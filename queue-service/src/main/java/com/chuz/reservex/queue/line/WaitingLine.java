@@ -0,0 +1,324 @@
+package com.chuz.reservex.queue.line;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+/**
+ * 이벤트 대기열 저장 방식별 구현
+ * Pass Token 키 위치는 구현별로 다를 수 있으므로 검증/소비는 passKey()를 사용
+ */
+public interface WaitingLine {
+
+  /** 진입 마커/오프셋 유지 시간 (30분) */
+  long MARKER_TTL_SEC = 30 * 60;
+
+  /** MARKER_TTL_SEC 스크립트 인자 (바이너리 경로) */
+  byte[] MARKER_TTL_ARG = Long.toString(MARKER_TTL_SEC).getBytes(StandardCharsets.UTF_8);
+
+  /** Pass Token 만료 정리 1회당 최대 후보 수 (스크립트 KEYS 수 상한) */
+  int EXPIRE_BATCH = 1000;
+
+  QueueMode mode();
+
+  /**
+   * 사용자 Pass Token 키
+   */
+  default String passKey(Long eventId, Long userId) {
+    return QueueKeys.passKey(eventId, userId);
+  }
+
+  /**
+   * 미소비 Pass Token 만료 인덱스 키 (Pass Token 키와 같은 슬롯)
+   */
+  default String passesKey(Long eventId, Long userId) {
+    return QueueKeys.passesKey(eventId);
+  }
+
+  /**
+   * 소비 후 구매 진행 중인 보유자 인덱스 키 (Pass Token 키와 같은 슬롯)
+   */
+  default String holdingKey(Long eventId, Long userId) {
+    return QueueKeys.holdingKey(eventId);
+  }
+
+  /**
+   * Pass Token 키 샤드 (서명 토큰에 담아 ticket-service가 같은 슬롯에 소비 마커를 기록, 샤드가 없으면 -1)
+   */
+  default int passShard(Long eventId, Long userId) {
+    return -1;
+  }
+
+  /**
+   * ticket-service 로컬 검증의 소비 마커 키 (Pass Token 키와 같은 슬롯)
+   */
+  default String usedKey(Long eventId, Long userId) {
+    return PassToken.usedKey(eventId, passShard(eventId, userId), userId);
+  }
+
+  /**
+   * 대기열 진입 (멱등)
+   *
+   * @param candidateOffset 신규 진입 시 저장할 표시 오프셋
+   */
+  EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset);
+
+  /**
+   * 레인 지정 진입 (LANES 모드만 사용, 나머지는 레인 무시)
+   *
+   * @param lane 진입할 레인 (null이면 기본 레인)
+   */
+  default EnqueueRes enqueue(Long eventId, Long userId, String lane, int candidateOffset) {
+    return enqueue(eventId, userId, candidateOffset);
+  }
+
+  /**
+   * 주어진 순서대로 일괄 진입 (사전 등록자 적재, 파이프라인으로 전송하며 각 진입은 enqueue와 동일하게 멱등)
+   *
+   * @param firstScore 첫 사용자의 정렬 score (이후 1씩 증가, 번호표 방식은 전송 순서가 곧 순번이므로 무시)
+   */
+  void enqueueAll(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset);
+
+  /**
+   * 상태 조회 (대기 중이면 생존 인덱스 갱신)
+   */
+  StatusRes status(Long eventId, Long userId);
+
+  /**
+   * 상태 조회 없이 생존 시각만 갱신 (SSE 구독자 하트비트, 대기열에 남아 있는 사용자만 대상)
+   */
+  void touch(Long eventId, Collection<Long> userIds);
+
+  /**
+   * 마지막 조회가 aliveSince 이전인 대기자를 최대 batch명 제거
+   *
+   * @return 제거한 인원 (0이면 더 이상 정리할 대기자 없음)
+   */
+  long purgeIdle(Long eventId, long aliveSince, int batch);
+
+  /**
+   * 현재 대기 인원
+   */
+  long waiting(Long eventId);
+
+  /**
+   * 누적 입장 처리 인원 (SSE 구독자가 로컬에서 순번을 계산하는 기준값)
+   */
+  long admittedSoFar(Long eventId);
+
+  /**
+   * 선두부터 passTokens 개수만큼 입장 처리 (AdmissionPump 전용)
+   * 마지막 조회가 aliveSince 이전인 선두는 최대 maxSkip명까지 제거하고 다음 대기자로 넘어감
+   *
+   * @return 입장 처리된 userId -> 발급된 Pass Token (대기자가 부족하면 passTokens보다 적을 수 있음) + 진입 시각
+   */
+  Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip);
+
+  /**
+   * 만료된 Pass Token을 만료 인덱스에서 제거 (보유 기한이 지난 보유자도 함께 정리)
+   * 소비 마커가 있는 토큰은 소비 시각 + holdMs까지 보유 인덱스로 옮김
+   *
+   * @return 이번에 만료 처리된 미소비 Pass Token 개수
+   */
+  long expirePasses(Long eventId, long holdMs);
+
+  /**
+   * 입장 후 구매가 끝나지 않은 인원 (미소비 Pass Token + 소비 후 보유 중)
+   */
+  long outstanding(Long eventId);
+
+  /**
+   * 만료 인덱스 + 보유 인덱스 크기 (파이프라인 1회)
+   */
+  static long outstanding(StringRedisTemplate redis, String passesKey, String holdingKey) {
+    List<Object> sizes = redis.executePipelined((RedisCallback<Object>) conn -> {
+      conn.zSetCommands().zCard(passesKey.getBytes(StandardCharsets.UTF_8));
+      conn.zSetCommands().zCard(holdingKey.getBytes(StandardCharsets.UTF_8));
+      return null;
+    });
+    return sizes.stream().mapToLong(size -> size == null ? 0 : (Long) size).sum();
+  }
+
+  /**
+   * 입장 후보 1명의 스크립트 KEYS: Pass Token, 소비 마커, 진입 마커 버킷
+   * 스크립트가 선언된 키만 접근하도록 호출자가 조립 (tag = 이벤트 또는 샤드 해시 태그, 같은 슬롯)
+   */
+  static void addUserKeys(List<String> keys, String tag, String userId) {
+    keys.add(tag + "pass:" + userId);
+    keys.add(tag + "used:" + userId);
+    keys.add(memberKey(tag, userId));
+  }
+
+  /** 진입 마커 버킷 (QueueKeys.memberKey와 동일, tag = 이벤트 또는 샤드 해시 태그) */
+  static String memberKey(String tag, String userId) {
+    return tag + "m:" + Long.parseLong(userId) / QueueKeys.MEMBER_BUCKET;
+  }
+
+  /**
+   * 선두 후보를 읽어 후보별 키와 함께 admit.lua 실행 (ZSET 대기열 또는 SHARDED 샤드 1개)
+   * 이탈자를 건너뛰어 모자란 인원은 건너뛴 수가 maxSkip 이하인 동안 다시 읽어 채움
+   */
+  static Admission admitHeads(StringRedisTemplate redis, String tag, List<String> lineKeys, List<String> passTokens,
+      long passTtlSec, long aliveSince, int maxSkip) {
+    Map<String, String> passes = new LinkedHashMap<>();
+    List<Long> enqueuedAt = new ArrayList<>();
+    long skipped = 0;
+    while (passes.size() < passTokens.size() && skipped <= maxSkip) {
+      List<String> tokens = passTokens.subList(passes.size(), passTokens.size());
+      Set<String> heads = redis.opsForZSet().range(lineKeys.get(0), 0, tokens.size() - 1);
+      if (heads == null || heads.isEmpty()) {
+        break;
+      }
+      List<Object> res = admitCandidates(redis, tag, lineKeys, heads, tokens, passTtlSec, aliveSince);
+      Admission admission = toAdmission(res, tokens);
+      long skippedNow = (Long) res.get(2);
+      if (admission.passes().isEmpty() && skippedNow == 0) {
+        // 읽은 후보가 그 사이 모두 빠짐 → 다음 주기에 다시 읽음
+        break;
+      }
+      passes.putAll(admission.passes());
+      enqueuedAt.addAll(admission.enqueuedAt());
+      skipped += skippedNow;
+    }
+    return new Admission(passes, enqueuedAt);
+  }
+
+  /**
+   * 지정한 후보만 순서대로 admit.lua 1회 실행 (후보가 모자라도 더 읽지 않음)
+   * 반환: 스크립트 결과 { 입장 userId 목록, 진입 시각 목록, 건너뛴 이탈자 수 } (i번째 입장자는 passTokens[i])
+   *
+   * @param lineKeys 대기열 ZSET, 누적 입장 인원, 생존 인덱스, 미소비 Pass Token 만료 인덱스
+   */
+  @SuppressWarnings("unchecked")
+  static List<Object> admitCandidates(StringRedisTemplate redis, String tag, List<String> lineKeys,
+      Collection<String> candidates, List<String> passTokens, long passTtlSec, long aliveSince) {
+    List<String> keys = new ArrayList<>(lineKeys.size() + candidates.size() * 3);
+    keys.addAll(lineKeys);
+    List<Object> args = new ArrayList<>(3 + candidates.size() + passTokens.size());
+    args.add(Long.toString(passTtlSec));
+    args.add(Long.toString(aliveSince));
+    args.add(Integer.toString(candidates.size()));
+    for (String userId : candidates) {
+      addUserKeys(keys, tag, userId);
+      args.add(userId);
+    }
+    args.addAll(passTokens);
+    return redis.execute(QueueScripts.ADMIT, keys, args.toArray());
+  }
+
+  /**
+   * 생존 인덱스에서 마지막 조회가 aliveSince 이전인 대기자를 최대 batch명 읽어 purge.lua 실행
+   *
+   * @param queueKeys 대기열 ZSET (LANES 모드는 레인 전체)
+   */
+  static long purgeIdle(StringRedisTemplate redis, String tag, String liveKey, List<String> queueKeys,
+      long aliveSince, int batch) {
+    // score는 ms 정수이므로 "aliveSince 미만"은 "aliveSince - 1 이하"
+    Set<String> idle = redis.opsForZSet().rangeByScore(liveKey, Double.NEGATIVE_INFINITY, aliveSince - 1, 0, batch);
+    if (idle == null || idle.isEmpty()) {
+      return 0;
+    }
+    List<String> keys = new ArrayList<>(1 + queueKeys.size() + idle.size());
+    keys.add(liveKey);
+    keys.addAll(queueKeys);
+    List<Object> args = new ArrayList<>(2 + idle.size());
+    args.add(Long.toString(aliveSince));
+    args.add(Integer.toString(queueKeys.size()));
+    for (String userId : idle) {
+      keys.add(memberKey(tag, userId));
+      args.add(userId);
+    }
+    Long purged = redis.execute(QueueScripts.PURGE, keys, args.toArray());
+    return purged == null ? 0 : purged;
+  }
+
+  /**
+   * 만료 인덱스에서 만료 후보를 최대 EXPIRE_BATCH명 읽어 후보별 소비 마커와 함께 expire_passes.lua 실행
+   * 만료 여부는 스크립트가 Redis 서버 시각으로 다시 확인 (남은 후보는 다음 주기에 처리)
+   */
+  static long expirePasses(StringRedisTemplate redis, String tag, String passesKey, String holdingKey, long holdMs) {
+    Set<String> expired = redis.opsForZSet().rangeByScore(passesKey, Double.NEGATIVE_INFINITY,
+        System.currentTimeMillis(), 0, EXPIRE_BATCH);
+    List<String> keys = new ArrayList<>(2 + (expired == null ? 0 : expired.size()));
+    keys.add(passesKey);
+    keys.add(holdingKey);
+    List<Object> args = new ArrayList<>(keys.size());
+    args.add(Long.toString(holdMs));
+    if (expired != null) {
+      for (String userId : expired) {
+        keys.add(tag + "used:" + userId);
+        args.add(userId);
+      }
+    }
+    Long unused = redis.execute(QueueScripts.EXPIRE_PASSES, keys, args.toArray());
+    return unused == null ? 0 : unused;
+  }
+
+  /**
+   * 콜백 안의 스크립트 호출을 파이프라인 1회로 전송 (응답은 사용하지 않음)
+   * 파이프라인 안의 EVALSHA는 NOSCRIPT 시 EVAL 재시도가 없으므로 같은 연결에서 SCRIPT LOAD를 먼저 보냄
+   * (한 연결의 명령은 순서대로 실행 → 스크립트 캐시가 비워져도 뒤의 EVALSHA는 항상 성공)
+   */
+  static void pipelined(StringRedisTemplate redis, RedisScript<?> script, Runnable commands) {
+    byte[] body = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+    redis.executePipelined(new SessionCallback<Object>() {
+      @Override
+      public <K, V> Object execute(RedisOperations<K, V> operations) {
+        redis.execute((RedisCallback<String>) conn -> conn.scriptingCommands().scriptLoad(body));
+        commands.run();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * 생존 인덱스에 이미 있는 사용자만 시각 갱신 (ZADD XX, 입장/정리된 사용자는 다시 추가하지 않음)
+   */
+  static void touch(StringRedisTemplate redis, String liveKey, Collection<Long> userIds, long now) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    Set<Tuple> tuples = new LinkedHashSet<>();
+    for (Long userId : userIds) {
+      tuples.add(new DefaultTuple(userId.toString().getBytes(StandardCharsets.UTF_8), (double) now));
+    }
+    byte[] key = liveKey.getBytes(StandardCharsets.UTF_8);
+    redis.execute((RedisCallback<Long>) conn -> conn.zSetCommands().zAdd(key, tuples, ZAddArgs.ifExists()));
+  }
+
+  /**
+   * 입장 스크립트 반환값({ userId 목록, 진입 시각 목록 })을 발급 토큰과 순서대로 짝지음
+   */
+  @SuppressWarnings("unchecked")
+  static Admission toAdmission(List<Object> res, List<String> passTokens) {
+    List<String> admitted = (List<String>) res.get(0);
+    List<Long> enqueuedAt = (List<Long>) res.get(1);
+
+    Map<String, String> passes = new LinkedHashMap<>();
+    for (int i = 0; i < admitted.size(); i++) {
+      passes.put(admitted.get(i), passTokens.get(i));
+    }
+    return new Admission(passes, enqueuedAt);
+  }
+}
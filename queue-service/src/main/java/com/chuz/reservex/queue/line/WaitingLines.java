@@ -0,0 +1,33 @@
+package com.chuz.reservex.queue.line;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+
+/**
+ * 이벤트별 대기열 구현 선택 (app.queue.events.{eventId}.mode)
+ */
+@Component
+public class WaitingLines {
+
+  private final Map<QueueMode, WaitingLine> byMode = new EnumMap<>(QueueMode.class);
+  private final QueueProperties properties;
+
+  public WaitingLines(List<WaitingLine> lines, QueueProperties properties) {
+    lines.forEach(line -> byMode.put(line.mode(), line));
+    this.properties = properties;
+  }
+
+  public WaitingLine of(Long eventId) {
+    QueueMode mode = properties.modeOf(eventId);
+    WaitingLine line = byMode.get(mode);
+    if (line == null) {
+      throw new IllegalStateException("지원하지 않는 대기열 방식: " + mode);
+    }
+    return line;
+  }
+}
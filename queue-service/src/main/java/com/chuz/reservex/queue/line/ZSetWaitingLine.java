@@ -0,0 +1,137 @@
+package com.chuz.reservex.queue.line;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.admittedKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.memberKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.tag;
+import static com.chuz.reservex.queue.redis.QueueKeys.zKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueKeyCodec;
+import com.chuz.reservex.queue.redis.QueueKeyCodec.EventKeys;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sorted Set 대기열 (score = 진입 시각 ms)
+ */
+@Component
+@RequiredArgsConstructor
+public class ZSetWaitingLine implements WaitingLine {
+
+  private final StringRedisTemplate redis;
+
+  @Override
+  public QueueMode mode() {
+    return QueueMode.ZSET;
+  }
+
+  /**
+   * 진입/상태 조회는 QueueKeyCodec 바이너리 경로로 호출 (요청당 키 문자열/직렬화 할당 없음)
+   */
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    EventKeys keys = QueueKeyCodec.of(eventId);
+    List<Long> res = QueueScripts.evalSha(redis, QueueScripts.ENQUEUE, ReturnType.MULTI, 3,
+        keys.z(), QueueKeyCodec.memberKey(keys.memberPrefix(), userId), keys.live(),
+        QueueKeyCodec.ascii(userId),
+        QueueKeyCodec.ascii(System.currentTimeMillis()),
+        MARKER_TTL_ARG,
+        QueueKeyCodec.ascii(candidateOffset));
+
+    return new EnqueueRes(userId.toString(), res.get(0), res.get(1).intValue());
+  }
+
+  @Override
+  public void enqueueAll(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    String now = Long.toString(Instant.now().toEpochMilli());
+    WaitingLine.pipelined(redis, QueueScripts.ENQUEUE, () -> {
+      for (int i = 0; i < userIds.size(); i++) {
+        Long userId = userIds.get(i);
+        redis.execute(QueueScripts.ENQUEUE,
+            List.of(zKey(eventId), memberKey(eventId, userId), liveKey(eventId)),
+            userId.toString(),
+            now,
+            Long.toString(MARKER_TTL_SEC),
+            Integer.toString(candidateOffset.getAsInt()),
+            Long.toString(firstScore + i));
+      }
+    });
+  }
+
+  @Override
+  public StatusRes status(Long eventId, Long userId) {
+    EventKeys keys = QueueKeyCodec.of(eventId);
+    List<Object> res = QueueScripts.evalSha(redis, QueueScripts.STATUS, ReturnType.MULTI, 3,
+        QueueKeyCodec.userKey(keys.passPrefix(), userId), keys.z(), keys.live(),
+        QueueKeyCodec.ascii(userId),
+        QueueKeyCodec.ascii(System.currentTimeMillis()));
+
+    return toStatus(res);
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    WaitingLine.touch(redis, liveKey(eventId), userIds, Instant.now().toEpochMilli());
+  }
+
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    return WaitingLine.purgeIdle(redis, tag(eventId), liveKey(eventId), List.of(zKey(eventId)), aliveSince, batch);
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    Long size = redis.opsForZSet().zCard(zKey(eventId));
+    return size == null ? 0 : size;
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    String admitted = redis.opsForValue().get(admittedKey(eventId));
+    return admitted == null ? 0 : Long.parseLong(admitted);
+  }
+
+  @Override
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    return WaitingLine.admitHeads(redis, tag(eventId),
+        List.of(zKey(eventId), admittedKey(eventId), liveKey(eventId), QueueKeys.passesKey(eventId)),
+        passTokens, passTtlSec, aliveSince, maxSkip);
+  }
+
+  @Override
+  public long expirePasses(Long eventId, long holdMs) {
+    return WaitingLine.expirePasses(redis, tag(eventId), QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId),
+        holdMs);
+  }
+
+  @Override
+  public long outstanding(Long eventId) {
+    return WaitingLine.outstanding(redis, QueueKeys.passesKey(eventId), QueueKeys.holdingKey(eventId));
+  }
+
+  /**
+   * 상태 스크립트 반환값 변환 (Pass Token은 문자열 경로면 String, 바이너리 경로면 byte[])
+   */
+  static StatusRes toStatus(List<Object> res) {
+    long pos = (Long) res.get(0);
+    if (res.size() > 1) {
+      Object token = res.get(1);
+      return new StatusRes(0, true, token instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) token);
+    }
+    return new StatusRes(pos, false, null);
+  }
+}
@@ -0,0 +1,55 @@
+package com.chuz.reservex.queue.reactive;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.chuz.reservex.common.security.JwtTokenProvider;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * JWT 인증 필터 (리액티브, JwtAuthenticationFilter와 같은 토큰/권한 규칙)
+ * WebFilter 빈으로 등록하면 보안 체인 밖에서도 실행되므로 ReactiveSecurityConfig에서만 생성
+ */
+@RequiredArgsConstructor
+class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final JwtTokenProvider jwtTokenProvider;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    String token = getToken(exchange);
+    if (token == null || !jwtTokenProvider.validateToken(token)) {
+      return chain.filter(exchange);
+    }
+
+    Long userId = jwtTokenProvider.getUserIdFromToken(token);
+    String role = jwtTokenProvider.getRoleFromToken(token);
+    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+        userId,
+        null,
+        List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+
+    return chain.filter(exchange)
+        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+  }
+
+  private String getToken(ServerWebExchange exchange) {
+    String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+      return bearerToken.substring(BEARER_PREFIX.length());
+    }
+    return null;
+  }
+}
@@ -0,0 +1,44 @@
+package com.chuz.reservex.queue.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chuz.reservex.queue.dto.TeardownRes;
+import com.chuz.reservex.queue.service.EventTeardown;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 대기열 운영 API (리액티브 스택, QueueAdminController와 같은 경로/응답)
+ * 호출 빈도가 낮으므로 EventTeardown을 boundedElastic에서 호출
+ */
+@RestController
+@RequestMapping("/queue/admin")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "redis", matchIfMissing = true)
+public class ReactiveQueueAdminController {
+  private final EventTeardown teardown;
+
+  @PostMapping("/{eventId}/teardown")
+  public Mono<TeardownRes> startTeardown(@PathVariable Long eventId) {
+    return Mono.fromSupplier(() -> teardown.start(eventId)).subscribeOn(Schedulers.boundedElastic());
+  }
+
+  @GetMapping("/{eventId}/teardown")
+  public Mono<ResponseEntity<TeardownRes>> teardownProgress(@PathVariable Long eventId) {
+    return Mono.fromSupplier(() -> teardown.progress(eventId))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+}
@@ -0,0 +1,73 @@
+package com.chuz.reservex.queue.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.service.PollBudget;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 대기열 API (리액티브 스택, QueueController와 같은 경로/응답)
+ * SSE 스트림은 서블릿 스택에서만 제공 (리액티브 노드의 클라이언트는 상태 조회 폴링 사용)
+ */
+@RestController
+@RequestMapping("/queue")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveQueueController {
+  private final ReactiveQueueService service;
+  private final PollBudget pollBudget;
+
+  /**
+   * 대기열 진입 - JWT 인증된 사용자만 가능
+   */
+  @PostMapping("/{eventId}/enqueue")
+  public Mono<EnqueueRes> enqueue(@PathVariable Long eventId, Authentication authentication) {
+    return service.enqueue(eventId, (Long) authentication.getPrincipal(),
+        AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+  }
+
+  /**
+   * 대기열 상태 조회 - JWT 인증된 사용자만 가능
+   * 대기 중이면 다음 조회 시각(nextPollAt)을 함께 응답
+   */
+  @GetMapping("/{eventId}/status")
+  public Mono<StatusRes> status(@PathVariable Long eventId, Authentication authentication) {
+    return service.status(eventId, (Long) authentication.getPrincipal())
+        .map(status -> pollBudget.schedule(eventId, status));
+  }
+
+  /**
+   * Pass Token 검증 (ticket-service에서 호출)
+   */
+  @PostMapping("/{eventId}/validate-pass-token")
+  public Mono<Boolean> validatePassToken(
+      @PathVariable Long eventId,
+      @RequestParam("clientId") Long userId,
+      @RequestParam String passToken) {
+    return service.validateAndConsumePassToken(eventId, userId, passToken);
+  }
+
+  /**
+   * 입장 슬롯 조기 해제 (ticket-service에서 예매 완료/포기 시 호출)
+   */
+  @PostMapping("/{eventId}/release-pass")
+  public Mono<Boolean> releasePass(
+      @PathVariable Long eventId,
+      @RequestParam Long userId,
+      @RequestParam(defaultValue = "false") boolean abandoned) {
+    return service.releasePass(eventId, userId, abandoned);
+  }
+}
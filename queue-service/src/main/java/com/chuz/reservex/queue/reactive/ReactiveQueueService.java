@@ -0,0 +1,168 @@
+package com.chuz.reservex.queue.reactive;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.holdingKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.liveKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.memberKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.passKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.passesKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.seqKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.servingKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.ticketUserKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.zKey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.line.WaitingLine;
+import com.chuz.reservex.queue.redis.QueueScripts;
+import com.chuz.reservex.queue.service.ActiveEvents;
+import com.chuz.reservex.queue.service.PassTokens;
+import com.chuz.reservex.queue.service.PreRegistration;
+import com.chuz.reservex.queue.service.QueueMetrics;
+import com.chuz.reservex.queue.service.QueueService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 리액티브 대기열 서비스 (spring.main.web-application-type=reactive)
+ * - redis 저장소의 ZSET/TICKET 모드는 ReactiveStringRedisTemplate으로 스크립트를 호출 (요청 스레드가 Redis 응답을 기다리지 않음)
+ * - SHARDED/LANES 모드, embedded 저장소, 사전 등록 진행 중인 이벤트는 기존 QueueService를 boundedElastic 스케줄러에서 실행
+ * - 스크립트/키/응답 형식은 서블릿 스택과 동일하므로 두 스택의 노드가 같은 Redis를 함께 사용할 수 있음
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveQueueService {
+
+  private final ReactiveStringRedisTemplate redis;
+  private final QueueService blocking;
+  private final QueueProperties properties;
+  private final PreRegistration preRegistration;
+  private final ActiveEvents activeEvents;
+  private final QueueMetrics metrics;
+  private final PassTokens passTokens;
+
+  @Value("${app.queue.store:redis}")
+  String store;
+  @Value("${app.queue.pass.holdMs:600000}")
+  long holdMs;
+
+  public Mono<EnqueueRes> enqueue(Long eventId, Long userId, Collection<String> roles) {
+    if (!reactive(eventId)) {
+      return offload(() -> blocking.enqueue(eventId, userId, roles));
+    }
+
+    String offset = Integer.toString(QueueService.candidateOffset());
+    String now = Long.toString(System.currentTimeMillis());
+    String ttl = Long.toString(WaitingLine.MARKER_TTL_SEC);
+    Mono<List<Object>> res = properties.modeOf(eventId) == QueueMode.TICKET
+        ? script(QueueScripts.TICKET_ENQUEUE,
+            List.of(memberKey(eventId, userId), seqKey(eventId), servingKey(eventId),
+                ticketKey(eventId), ticketUserKey(eventId), liveKey(eventId)),
+            List.of(userId.toString(), ttl, offset, now))
+        : script(QueueScripts.ENQUEUE,
+            List.of(zKey(eventId), memberKey(eventId, userId), liveKey(eventId)),
+            List.of(userId.toString(), now, ttl, offset));
+
+    return metrics.enqueue(res
+        .map(r -> new EnqueueRes(userId.toString(), (Long) r.get(0), ((Long) r.get(1)).intValue()))
+        .flatMap(r -> registerActive(eventId).thenReturn(r)));
+  }
+
+  public Mono<StatusRes> status(Long eventId, Long userId) {
+    if (!reactive(eventId)) {
+      return offload(() -> blocking.status(eventId, userId));
+    }
+
+    String now = Long.toString(System.currentTimeMillis());
+    Mono<List<Object>> res = properties.modeOf(eventId) == QueueMode.TICKET
+        ? script(QueueScripts.TICKET_STATUS,
+            List.of(passKey(eventId, userId), servingKey(eventId), ticketKey(eventId), liveKey(eventId)),
+            List.of(userId.toString(), now))
+        : script(QueueScripts.STATUS,
+            List.of(passKey(eventId, userId), zKey(eventId), liveKey(eventId)),
+            List.of(userId.toString(), now));
+
+    return metrics.status(res.map(r -> r.size() > 1
+        ? new StatusRes(0, true, passTokens.sign(eventId, userId, (String) r.get(1)))
+        : new StatusRes((Long) r.get(0), false, null)));
+  }
+
+  public Mono<Boolean> validateAndConsumePassToken(Long eventId, Long userId, String passToken) {
+    if (passToken == null) {
+      return Mono.just(false);
+    }
+    if (!reactive(eventId)) {
+      return offload(() -> blocking.validateAndConsumePassToken(eventId, userId, passToken));
+    }
+    String nonce = passTokens.nonceOf(eventId, userId, passToken);
+    if (nonce == null) {
+      return metrics.validate(Mono.just(false));
+    }
+    return metrics.validate(redis.execute(QueueScripts.CONSUME,
+            List.of(passKey(eventId, userId), passesKey(eventId), holdingKey(eventId)),
+            List.of(nonce, userId.toString(), Long.toString(holdMs)))
+        .next()
+        .map(consumed -> consumed == 1L)
+        .defaultIfEmpty(false));
+  }
+
+  /**
+   * 입장 슬롯 조기 해제 (호출 빈도가 낮으므로 모든 모드에서 QueueService 사용)
+   */
+  public Mono<Boolean> releasePass(Long eventId, Long userId, boolean abandoned) {
+    return offload(() -> blocking.releasePass(eventId, userId, abandoned));
+  }
+
+  /**
+   * redis 저장소 + ZSET/TICKET 모드 + 사전 등록이 끝난 이벤트만 리액티브 경로로 처리
+   */
+  private boolean reactive(Long eventId) {
+    return "redis".equals(store)
+        && (properties.modeOf(eventId) == QueueMode.ZSET || properties.modeOf(eventId) == QueueMode.TICKET)
+        && !preRegistration.isActive(eventId);
+  }
+
+  /**
+   * 노드당 이벤트별 최초 1회만 Redis 등록 (이후는 로컬 확인)
+   */
+  private Mono<Void> registerActive(Long eventId) {
+    if (activeEvents.isRegistered(eventId)) {
+      return Mono.empty();
+    }
+    return Mono.fromRunnable(() -> activeEvents.register(eventId)).subscribeOn(Schedulers.boundedElastic()).then();
+  }
+
+  /**
+   * 스크립트 MULTI 응답은 List 하나로 방출됨
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private Mono<List<Object>> script(RedisScript<List> script, List<String> keys, List<String> args) {
+    return redis.execute(script, keys, args)
+        .reduceWith(ArrayList<Object>::new, (acc, part) -> {
+          acc.addAll((List<Object>) part);
+          return acc;
+        })
+        .map(acc -> (List<Object>) acc);
+  }
+
+  private static <T> Mono<T> offload(Supplier<T> call) {
+    return Mono.fromSupplier(call).subscribeOn(Schedulers.boundedElastic());
+  }
+}
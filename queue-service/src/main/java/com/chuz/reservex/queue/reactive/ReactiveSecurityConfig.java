@@ -0,0 +1,50 @@
+package com.chuz.reservex.queue.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.chuz.reservex.common.security.JwtTokenProvider;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Spring Security 설정 (리액티브 스택, SecurityConfig와 같은 허용 규칙)
+ */
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+  private final JwtTokenProvider jwtTokenProvider;
+
+  @Value("${app.service.secret:}")
+  String serviceSecret;
+
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    return http
+        .csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())  // 세션 없음
+        .authorizeExchange(exchange -> exchange
+            .pathMatchers("/actuator/health").permitAll()
+            .pathMatchers("/actuator/prometheus", "/queue/*/validate-pass-token", "/queue/*/release-pass")
+                .hasRole("SERVICE")  // 지표 수집, 서비스 간 통신 (X-Service-Token)
+            .pathMatchers("/queue/admin/**").hasRole("ADMIN")  // 운영 API
+            .anyExchange().authenticated())
+        .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtTokenProvider), SecurityWebFiltersOrder.AUTHENTICATION)
+        .addFilterAfter(new ReactiveServiceAuthenticationFilter(serviceSecret), SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+}
@@ -0,0 +1,36 @@
+package com.chuz.reservex.queue.reactive;
+
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.chuz.reservex.common.security.ServiceToken;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 서비스 간 호출 인증 필터 (리액티브, ServiceAuthenticationFilter와 같은 규칙)
+ * JWT 필터보다 뒤에 두어 서비스 헤더가 있으면 서비스 인증이 우선
+ */
+@RequiredArgsConstructor
+class ReactiveServiceAuthenticationFilter implements WebFilter {
+
+  private final String secret;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    if (!ServiceToken.matches(secret, exchange.getRequest().getHeaders().getFirst(ServiceToken.HEADER))) {
+      return chain.filter(exchange);
+    }
+    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+        "service", null, List.of(new SimpleGrantedAuthority(ServiceToken.ROLE)));
+    return chain.filter(exchange)
+        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+  }
+}
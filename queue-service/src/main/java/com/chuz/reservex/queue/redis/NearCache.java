@@ -0,0 +1,275 @@
+package com.chuz.reservex.queue.redis;
+
+import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 자주 읽는 키의 노드 로컬 캐시 (app.queue.nearCache.enabled, 기본 꺼짐)
+ * - 전용 RESP3 연결에 CLIENT TRACKING ON → 이 연결로 읽은 키가 바뀌거나 만료되면 Redis가 invalidate 푸시
+ * - 푸시를 받으면 해당 키만 제거하므로 값이 바뀌지 않은 키는 다시 읽어도 Redis에 가지 않음
+ * - 읽는 도중 도착한 무효화를 놓치지 않도록 자리표시 값을 먼저 넣고, 읽은 뒤 자리표시가 남아 있을 때만 저장
+ * - 연결이 끊기면 무효화를 받을 수 없으므로 전체 비우고, 재연결 후 추적을 다시 켤 때까지 캐시 없이 읽음
+ * - maxEntries 초과 시 임의 항목 제거 (Redis 추적 테이블은 무효화 시 정리됨)
+ * - 단일 Redis(standalone) 전용, 클러스터 설정이면 꺼진 상태로 동작
+ */
+@Slf4j
+@Component
+public class NearCache implements MeterBinder, DisposableBean {
+
+  /** 값이 없는 키 (없다는 사실도 추적되므로 캐시함) */
+  private static final Object ABSENT = new Object();
+
+  private final StringRedisTemplate redis;
+  private final RedisConnectionFactory connectionFactory;
+  private final Map<String, Object> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  @Value("${app.queue.nearCache.enabled:false}")
+  boolean enabled;
+  @Value("${app.queue.nearCache.maxEntries:100000}")
+  int maxEntries;
+
+  private RedisClient client;
+  private StatefulRedisConnection<String, String> connection;
+  private volatile boolean tracking;
+
+  public NearCache(StringRedisTemplate redis, RedisConnectionFactory connectionFactory) {
+    this.redis = redis;
+    this.connectionFactory = connectionFactory;
+  }
+
+  /**
+   * 캐시 없이 템플릿으로만 읽는 인스턴스 (벤치마크/테스트용)
+   */
+  public static NearCache disabled(StringRedisTemplate redis) {
+    return new NearCache(redis, null);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    RedisStandaloneConfiguration standalone = connectionFactory instanceof LettuceConnectionFactory lettuce
+        && !lettuce.isClusterAware() && !lettuce.isRedisSentinelAware() ? lettuce.getStandaloneConfiguration() : null;
+    if (standalone == null) {
+      log.warn("near cache는 단일 Redis(Lettuce)에서만 지원, 캐시 없이 동작");
+      return;
+    }
+
+    RedisURI.Builder uri = RedisURI.builder()
+        .withHost(standalone.getHostName())
+        .withPort(standalone.getPort())
+        .withDatabase(standalone.getDatabase());
+    RedisPassword password = standalone.getPassword();
+    if (password.isPresent()) {
+      if (standalone.getUsername() != null) {
+        uri.withAuthentication(standalone.getUsername(), password.get());
+      } else {
+        uri.withPassword(password.get());
+      }
+    }
+
+    try {
+      client = RedisClient.create(uri.build());
+      client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+      client.addListener(new Reconnect());
+      connection = client.connect();
+      connection.addListener(this::onPush);
+      connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+      tracking = true;
+      log.info("near cache 활성화: maxEntries={}", maxEntries);
+    } catch (RuntimeException e) {
+      log.warn("near cache 연결 실패, 캐시 없이 동작", e);
+      destroy();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    tracking = false;
+    entries.clear();
+    if (client != null) {
+      client.shutdown();
+      client = null;
+    }
+  }
+
+  /**
+   * GET (추적 중이면 로컬 캐시 우선)
+   */
+  public String get(String key) {
+    Object value = read(key, commands -> commands.get(key), () -> redis.opsForValue().get(key));
+    return (String) value;
+  }
+
+  /**
+   * SMEMBERS (추적 중이면 로컬 캐시 우선)
+   */
+  @SuppressWarnings("unchecked")
+  public Set<String> members(String key) {
+    Object value = read(key, commands -> Set.copyOf(commands.smembers(key)), () -> redis.opsForSet().members(key));
+    return value == null ? Set.of() : (Set<String>) value;
+  }
+
+  /**
+   * 로컬 캐시만 조회 (없거나 추적 중이 아니면 null, Redis 접근 없음)
+   */
+  public String peek(String key) {
+    Object value = tracking ? entries.get(key) : null;
+    if (value instanceof String cached) {
+      hits.increment();
+      return cached;
+    }
+    return null;
+  }
+
+  public boolean isTracking() {
+    return tracking;
+  }
+
+  private Object read(String key, Function<RedisCommands<String, String>, Object> tracked, Supplier<Object> direct) {
+    if (!tracking) {
+      return direct.get();
+    }
+    Object cached = entries.get(key);
+    if (cached != null && !(cached instanceof Loading)) {
+      hits.increment();
+      return cached == ABSENT ? null : cached;
+    }
+    misses.increment();
+
+    // 다른 스레드가 읽는 중이면 캐시하지 않고 읽기만 함
+    Loading loading = new Loading();
+    boolean owner = cached == null && entries.putIfAbsent(key, loading) == null;
+    Object value;
+    try {
+      value = tracked.apply(connection.sync());
+    } catch (RuntimeException e) {
+      if (owner) {
+        entries.remove(key, loading);
+      }
+      throw e;
+    }
+    if (owner) {
+      // 읽는 사이 무효화가 왔으면 자리표시가 지워져 저장하지 않음
+      entries.replace(key, loading, value == null ? ABSENT : value);
+      if (entries.size() > maxEntries) {
+        evict(entries.size() - maxEntries);
+      }
+    }
+    return value;
+  }
+
+  private void evict(int count) {
+    Iterator<String> keys = entries.keySet().iterator();
+    for (int i = 0; i < count && keys.hasNext(); i++) {
+      keys.next();
+      keys.remove();
+    }
+  }
+
+  /**
+   * invalidate 푸시: [ "invalidate", [key...] ], 키 목록이 null이면 FLUSHALL 등으로 전체 무효화
+   */
+  private void onPush(PushMessage message) {
+    if (!"invalidate".equals(message.getType())) {
+      return;
+    }
+    List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+    Object keys = content.size() > 1 ? content.get(1) : null;
+    if (keys instanceof List<?> list) {
+      for (Object key : list) {
+        entries.remove(key);
+      }
+      invalidations.add(list.size());
+    } else {
+      invalidations.add(entries.size());
+      entries.clear();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("queue.nearcache.hits", hits, LongAdder::sum)
+        .description("near cache 적중").register(registry);
+    FunctionCounter.builder("queue.nearcache.misses", misses, LongAdder::sum)
+        .description("near cache 미적중 (Redis 조회)").register(registry);
+    FunctionCounter.builder("queue.nearcache.invalidations", invalidations, LongAdder::sum)
+        .description("Redis 무효화 푸시로 제거된 항목").register(registry);
+    Gauge.builder("queue.nearcache.size", entries, Map::size)
+        .description("near cache 항목 수").register(registry);
+  }
+
+  /**
+   * 읽는 중 자리표시 (인스턴스마다 달라 다른 읽기와 구분됨)
+   */
+  private static final class Loading {
+  }
+
+  /**
+   * 끊기면 무효화를 놓치므로 비우고, 재연결되면 추적을 다시 켠 뒤 캐시 사용 재개
+   * (이벤트 루프에서 호출되므로 비동기 명령만 사용)
+   */
+  private final class Reconnect implements RedisConnectionStateListener {
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+      tracking = false;
+      entries.clear();
+    }
+
+    @Override
+    public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+      StatefulRedisConnection<String, String> current = connection;
+      if (current == null || handler != current) {
+        return;
+      }
+      current.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((ok, e) -> {
+        if (e != null) {
+          log.warn("near cache 추적 재개 실패", e);
+          return;
+        }
+        entries.clear();
+        tracking = true;
+      });
+    }
+  }
+}
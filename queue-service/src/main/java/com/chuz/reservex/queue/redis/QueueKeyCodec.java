@@ -0,0 +1,116 @@
+package com.chuz.reservex.queue.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대기열 Redis 키 바이너리 인코딩 (진입/상태 조회 경로 전용)
+ * - 이벤트 단위 키와 사용자 키 prefix는 이벤트별로 한 번만 인코딩하여 재사용
+ * - 사용자 키와 숫자 인자는 정확한 길이의 byte[]에 숫자를 직접 기록 (중간 String/포맷 객체 없음)
+ * - 결과는 QueueKeys 문자열 키의 UTF-8 인코딩과 동일
+ */
+public final class QueueKeyCodec {
+
+  /** 캐시할 최대 이벤트 수 (초과 시 매번 인코딩) */
+  private static final int MAX_CACHED_EVENTS = 1024;
+  private static final Map<Long, EventKeys> EVENTS = new ConcurrentHashMap<>();
+
+  private QueueKeyCodec() {
+  }
+
+  /**
+   * 이벤트 1개의 미리 인코딩된 키
+   *
+   * @param memberPrefix 진입 마커 버킷 키 prefix (q:{eventId}:m:)
+   * @param passPrefix   Pass Token 키 prefix
+   */
+  public record EventKeys(byte[] z, byte[] live, byte[] serving, byte[] seq, byte[] ticket, byte[] ticketUser,
+      byte[] memberPrefix, byte[] passPrefix) {
+  }
+
+  public static EventKeys of(Long eventId) {
+    EventKeys keys = EVENTS.get(eventId);
+    if (keys == null) {
+      keys = encode(eventId);
+      if (EVENTS.size() < MAX_CACHED_EVENTS) {
+        EVENTS.putIfAbsent(eventId, keys);
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * prefix + userId (예: q:{1}:pass: + 42)
+   */
+  public static byte[] userKey(byte[] prefix, long userId) {
+    byte[] key = new byte[prefix.length + length(userId)];
+    System.arraycopy(prefix, 0, key, 0, prefix.length);
+    writeDigits(key, key.length, userId);
+    return key;
+  }
+
+  /**
+   * 진입 마커 버킷 키 (QueueKeys.memberKey와 동일)
+   */
+  public static byte[] memberKey(byte[] memberPrefix, long userId) {
+    return userKey(memberPrefix, userId / QueueKeys.MEMBER_BUCKET);
+  }
+
+  /**
+   * 10진수 ASCII 인코딩 (Long.toString(value).getBytes()와 동일)
+   */
+  public static byte[] ascii(long value) {
+    byte[] bytes = new byte[length(value)];
+    writeDigits(bytes, bytes.length, value);
+    return bytes;
+  }
+
+  private static EventKeys encode(Long eventId) {
+    return new EventKeys(
+        bytes(QueueKeys.zKey(eventId)),
+        bytes(QueueKeys.liveKey(eventId)),
+        bytes(QueueKeys.servingKey(eventId)),
+        bytes(QueueKeys.seqKey(eventId)),
+        bytes(QueueKeys.ticketKey(eventId)),
+        bytes(QueueKeys.ticketUserKey(eventId)),
+        bytes(QueueKeys.memberKeyPrefix(eventId)),
+        bytes(QueueKeys.passKeyPrefix(eventId)));
+  }
+
+  private static byte[] bytes(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int length(long value) {
+    if (value < 0) {
+      return value == Long.MIN_VALUE ? 20 : 1 + length(-value);
+    }
+    int digits = 1;
+    for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+      digits++;
+    }
+    return digits;
+  }
+
+  /**
+   * buf[..end) 끝에서부터 숫자를 채움
+   */
+  private static void writeDigits(byte[] buf, int end, long value) {
+    if (value == Long.MIN_VALUE) {
+      byte[] min = bytes(Long.toString(value));
+      System.arraycopy(min, 0, buf, end - min.length, min.length);
+      return;
+    }
+    boolean negative = value < 0;
+    long v = negative ? -value : value;
+    int pos = end;
+    do {
+      buf[--pos] = (byte) ('0' + v % 10);
+      v /= 10;
+    } while (v != 0);
+    if (negative) {
+      buf[pos - 1] = '-';
+    }
+  }
+}
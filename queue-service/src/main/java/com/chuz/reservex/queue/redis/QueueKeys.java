@@ -0,0 +1,181 @@
+package com.chuz.reservex.queue.redis;
+
+/**
+ * 대기열 Redis 키 정의
+ * 이벤트 ID를 해시 태그({})로 감싸 한 이벤트의 키가 같은 슬롯에 배치되도록 함 (Lua 스크립트 멀티 키 접근)
+ */
+public final class QueueKeys {
+  /**
+   * 진입 마커 버킷당 인원 (스크립트의 128과 동일)
+   * 버킷 HASH의 field 수가 listpack 인코딩 기본 상한(hash-max-listpack-entries 128) 이내가 되도록 정함
+   */
+  public static final int MEMBER_BUCKET = 128;
+
+  private QueueKeys() {
+  }
+
+  /** 이벤트 해시 태그 prefix (입장/정리 스크립트에 넘길 사용자별 m:/pass:/used: 키를 조립할 때 사용) */
+  public static String tag(Long eventId) {
+    return "q:{%d}:".formatted(eventId);
+  }
+
+  public static String zKey(Long eventId) {
+    return "q:{%d}:z".formatted(eventId);
+  }
+
+  /**
+   * 진입 마커 + 표시 오프셋 버킷 (HASH, field = userId % MEMBER_BUCKET, 값 = 진입 시각(ms) * 64 + 오프셋)
+   * 대기자마다 String 키 2개를 두는 대신 128명을 HASH 1개에 모아 키당 오버헤드를 나눠 가짐
+   */
+  public static String memberKey(Long eventId, Long userId) {
+    return memberKeyPrefix(eventId) + userId / MEMBER_BUCKET;
+  }
+
+  public static String memberKeyPrefix(Long eventId) {
+    return "q:{%d}:m:".formatted(eventId);
+  }
+
+  public static String passKey(Long eventId, Long userId) {
+    return passKeyPrefix(eventId) + userId;
+  }
+
+  /** Pass Token 키 prefix (userId를 붙여 사용) */
+  public static String passKeyPrefix(Long eventId) {
+    return "q:{%d}:pass:".formatted(eventId);
+  }
+
+  /** 대기자 생존 인덱스 (ZSET, score = 마지막 상태 조회 시각 ms) */
+  public static String liveKey(Long eventId) {
+    return "q:{%d}:live".formatted(eventId);
+  }
+
+  /** 미소비 Pass Token 만료 인덱스 (ZSET, score = 만료 시각 ms) */
+  public static String passesKey(Long eventId) {
+    return "q:{%d}:passes".formatted(eventId);
+  }
+
+  /** 소비 후 구매 진행 중인 Pass Token 보유자 (ZSET, score = 보유 기한 ms) */
+  public static String holdingKey(Long eventId) {
+    return "q:{%d}:holding".formatted(eventId);
+  }
+
+  /** ZSET 모드: 누적 입장 인원 (TICKET 모드는 serving 카운터가 같은 역할) */
+  public static String admittedKey(Long eventId) {
+    return "q:{%d}:admitted".formatted(eventId);
+  }
+
+  /** TICKET 모드: 번호표 시퀀스 (INCR) */
+  public static String seqKey(Long eventId) {
+    return "q:{%d}:seq".formatted(eventId);
+  }
+
+  /** TICKET 모드: 마지막으로 입장 처리된 번호표 */
+  public static String servingKey(Long eventId) {
+    return "q:{%d}:serving".formatted(eventId);
+  }
+
+  /** TICKET 모드: userId -> 번호표 */
+  public static String ticketKey(Long eventId) {
+    return "q:{%d}:t".formatted(eventId);
+  }
+
+  /** TICKET 모드: 번호표 -> userId */
+  public static String ticketUserKey(Long eventId) {
+    return "q:{%d}:tu".formatted(eventId);
+  }
+
+  /** SHARDED 모드: 샤드별 해시 태그 ({eventId.shard}) */
+  public static String shardTag(Long eventId, int shard) {
+    return "q:{%d.%d}:".formatted(eventId, shard);
+  }
+
+  public static String shardZKey(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "z";
+  }
+
+  public static String shardMemberKey(Long eventId, int shard, Long userId) {
+    return shardTag(eventId, shard) + "m:" + userId / MEMBER_BUCKET;
+  }
+
+  public static String shardPassKeyPrefix(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "pass:";
+  }
+
+  public static String shardLiveKey(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "live";
+  }
+
+  public static String shardPassesKey(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "passes";
+  }
+
+  public static String shardHoldingKey(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "holding";
+  }
+
+  public static String shardAdmittedKey(Long eventId, int shard) {
+    return shardTag(eventId, shard) + "admitted";
+  }
+
+  /** LANES 모드: 레인별 대기열 (같은 이벤트 해시 태그) */
+  public static String laneZKey(Long eventId, String lane) {
+    return "q:{%d}:z:%s".formatted(eventId, lane);
+  }
+
+  /** LANES 모드: 레인별 DRR 적자 카운터 + 다음 라운드 시작 레인 (HASH) */
+  public static String drrKey(Long eventId) {
+    return "q:{%d}:drr".formatted(eventId);
+  }
+
+  /** 판매 시작 전 사전 등록자 (SET) */
+  public static String registeredKey(Long eventId) {
+    return "q:{%d}:pre".formatted(eventId);
+  }
+
+  /** 사전 등록자 적재 노드 임대 키 */
+  public static String loaderKey(Long eventId) {
+    return "q:{%d}:pre:loader".formatted(eventId);
+  }
+
+  /** 입장 펌프 리더 임대 키 */
+  public static String leaderKey(Long eventId) {
+    return "q:{%d}:leader".formatted(eventId);
+  }
+
+  /** 입장 토큰 버킷 (tokens, ts) */
+  public static String bucketKey(Long eventId) {
+    return "q:{%d}:bucket".formatted(eventId);
+  }
+
+  /** 대기자가 있는 이벤트 목록 (노드 공용) */
+  public static String activeEventsKey() {
+    return "q:events";
+  }
+
+  /** 키 정리 중인 종료 이벤트 목록 (노드 공용) */
+  public static String teardownsKey() {
+    return "q:teardowns";
+  }
+
+  /**
+   * 종료 이벤트 키 정리 진행 상황 (HASH)
+   * 정리 대상 패턴(q:{eventId}:*)에 걸리지 않도록 이벤트 해시 태그 밖에 둠
+   */
+  public static String teardownKey(Long eventId) {
+    return "q:teardown:%d".formatted(eventId);
+  }
+
+  /** 종료 이벤트 키 정리 노드 임대 키 */
+  public static String teardownLeaseKey(Long eventId) {
+    return "q:teardown:%d:lease".formatted(eventId);
+  }
+
+  /** 입장 진행 상황 Pub/Sub 채널 */
+  public static String progressChannel(Long eventId) {
+    return "q:progress:%d".formatted(eventId);
+  }
+
+  public static String progressChannelPattern() {
+    return "q:progress:*";
+  }
+}
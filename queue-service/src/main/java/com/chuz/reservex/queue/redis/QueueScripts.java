@@ -0,0 +1,120 @@
+package com.chuz.reservex.queue.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대기열 Lua 스크립트 레지스트리
+ * 기동 시 SCRIPT LOAD로 미리 적재하고, 호출은 EVALSHA 1회로 처리 (NOSCRIPT 시 EVAL 자동 재시도)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueScripts {
+
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> ENQUEUE = script("enqueue", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> STATUS = script("status", List.class);
+  public static final RedisScript<Long> CONSUME = script("consume", Long.class);
+  public static final RedisScript<Long> ACQUIRE = script("acquire", Long.class);
+  public static final RedisScript<String> RATE = script("rate", String.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> ADMIT = script("admit", List.class);
+  public static final RedisScript<Long> PURGE = script("purge", Long.class);
+  public static final RedisScript<Long> EXPIRE_PASSES = script("expire_passes", Long.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> RELEASE_PASS = script("release_pass", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> TICKET_ENQUEUE = script("ticket_enqueue", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> TICKET_STATUS = script("ticket_status", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> TICKET_ADMIT = script("ticket_admit", List.class);
+  public static final RedisScript<Long> TICKET_PURGE = script("ticket_purge", Long.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> SHARD_ENQUEUE = script("shard_enqueue", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> SHARD_STATUS = script("shard_status", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> LANE_ENQUEUE = script("lane_enqueue", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> LANE_STATUS = script("lane_status", List.class);
+  @SuppressWarnings("rawtypes")
+  public static final RedisScript<List> LANE_ADMIT = script("lane_admit", List.class);
+  public static final RedisScript<Long> TEARDOWN = script("teardown", Long.class);
+
+  private final StringRedisTemplate redis;
+
+  /**
+   * 스크립트 목록 (preload 대상)
+   */
+  public List<RedisScript<?>> all() {
+    return List.of(ENQUEUE, STATUS, CONSUME, ACQUIRE, RATE, ADMIT, PURGE, EXPIRE_PASSES, RELEASE_PASS, TICKET_ENQUEUE,
+        TICKET_STATUS, TICKET_ADMIT, TICKET_PURGE, SHARD_ENQUEUE, SHARD_STATUS, LANE_ENQUEUE, LANE_STATUS, LANE_ADMIT,
+        TEARDOWN);
+  }
+
+  /**
+   * 기동 완료 후 Redis 스크립트 캐시에 적재
+   * Redis가 아직 준비되지 않았어도 기동은 계속되며, 첫 호출 시 EVAL로 적재됨
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    try {
+      for (RedisScript<?> script : all()) {
+        byte[] body = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        String sha = redis.execute((RedisCallback<String>) conn -> conn.scriptingCommands().scriptLoad(body));
+        log.debug("Lua 스크립트 적재: sha={}", sha);
+      }
+      log.info("대기열 Lua 스크립트 {}개 적재 완료", all().size());
+    } catch (Exception e) {
+      log.warn("대기열 Lua 스크립트 사전 적재 실패 (첫 호출 시 EVAL로 적재): {}", e.getMessage());
+    }
+  }
+
+  /**
+   * byte[] 키/인자로 EVALSHA 실행 (QueueKeyCodec 경로, 문자열 직렬화 없음)
+   * MULTI 응답의 문자열 요소는 byte[]로 반환되며, NOSCRIPT 시 EVAL로 재시도
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T evalSha(StringRedisTemplate redis, RedisScript<?> script, ReturnType type, int numKeys,
+      byte[]... keysAndArgs) {
+    return (T) redis.execute((RedisCallback<Object>) conn -> {
+      try {
+        return conn.scriptingCommands().evalSha(script.getSha1(), type, numKeys, keysAndArgs);
+      } catch (RuntimeException e) {
+        if (!isNoScript(e)) {
+          throw e;
+        }
+        byte[] body = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        return conn.scriptingCommands().eval(body, type, numKeys, keysAndArgs);
+      }
+    });
+  }
+
+  private static boolean isNoScript(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t.getMessage() != null && t.getMessage().contains("NOSCRIPT")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+    return RedisScript.of(new ClassPathResource("scripts/" + name + ".lua"), resultType);
+  }
+}
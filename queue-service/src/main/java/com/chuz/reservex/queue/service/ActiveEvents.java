@@ -0,0 +1,68 @@
+package com.chuz.reservex.queue.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대기열이 열린 이벤트 목록 (입장 펌프 순회 대상)
+ * 노드별로 한 번만 SADD 하도록 로컬에 등록 여부를 기억함
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveEvents {
+
+  private final StringRedisTemplate redis;
+  private final NearCache nearCache;
+  private final Set<Long> registered = ConcurrentHashMap.newKeySet();
+
+  public void register(Long eventId) {
+    if (!registered.add(eventId)) {
+      return;
+    }
+    try {
+      redis.opsForSet().add(QueueKeys.activeEventsKey(), eventId.toString());
+    } catch (RuntimeException e) {
+      registered.remove(eventId);
+      throw e;
+    }
+  }
+
+  /**
+   * 펌프/정리 순회 대상에서 제외 (종료 이벤트 키 정리 시작 시)
+   */
+  public void unregister(Long eventId) {
+    redis.opsForSet().remove(QueueKeys.activeEventsKey(), eventId.toString());
+    registered.remove(eventId);
+  }
+
+  /**
+   * 로컬 등록 여부만 제거 (정리 시작 노드가 아닌 노드도 종료 이벤트를 기억하지 않도록 정리 주기마다 호출)
+   */
+  public void forget(Long eventId) {
+    registered.remove(eventId);
+  }
+
+  /**
+   * 이 노드가 이미 등록한 이벤트 (true이면 register 호출 시 Redis 접근 없음)
+   */
+  public boolean isRegistered(Long eventId) {
+    return registered.contains(eventId);
+  }
+
+  /**
+   * 펌프/정리/회수 작업이 주기마다 호출 (near cache 사용 시 목록이 바뀔 때만 Redis 조회)
+   */
+  public List<Long> all() {
+    Set<String> members = nearCache.members(QueueKeys.activeEventsKey());
+    return members.stream().map(Long::valueOf).toList();
+  }
+}
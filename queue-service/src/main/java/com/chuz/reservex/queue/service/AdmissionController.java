@@ -0,0 +1,155 @@
+package com.chuz.reservex.queue.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.common.capacity.CapacitySignal;
+import com.chuz.reservex.queue.store.QueueStore;
+import com.chuz.reservex.queue.store.RatePolicy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입장 속도 제어기 (AIMD)
+ * - ticket-service가 보고한 처리 여력 신호(결제 대기 예매 수, 예매 p99, SAGA 컨슈머 lag)를 controlMs 주기로 확인
+ * - 하나라도 목표를 넘으면 속도를 decreaseFactor배로 줄이고 (cooldownMs 동안 추가 감소 없음), 아니면 increasePerTick만큼 늘림
+ * - 속도는 [minPermitsPerMinute, maxPermitsPerMinute] 범위로 제한, 신호가 없거나 오래되면 현재 속도 유지
+ * - 속도는 이벤트 토큰 버킷(q:{eventId}:bucket)에 저장하고 펌프 리더만 갱신 → 리더가 바뀌어도 이어짐
+ * - 다른 노드는 펌프 tick마다 저장된 값을 읽어 로컬에 두고 상태 조회 간격 계산(PollBudget)에 사용
+ * - adaptive.enabled=false 이면 permitsPerMinute 고정
+ */
+@Slf4j
+@Component
+public class AdmissionController {
+
+  private final StringRedisTemplate redis;
+  private final QueueStore store;
+  private final Map<Long, Double> rates = new ConcurrentHashMap<>();
+
+  private final long permitsPerMinute;
+  private final boolean enabled;
+  private final RatePolicy policy;
+  private final long maxInFlight;
+  private final double maxP99Ms;
+  private final long maxConsumerLag;
+  private final long signalTtlMs;
+
+  private volatile CapacitySignal lastSignal;
+
+  public AdmissionController(StringRedisTemplate redis, QueueStore store,
+      @Value("${app.queue.permitsPerMinute}") long permitsPerMinute,
+      @Value("${app.queue.admission.adaptive.enabled:false}") boolean enabled,
+      @Value("${app.queue.admission.adaptive.minPermitsPerMinute:10}") double min,
+      @Value("${app.queue.admission.adaptive.maxPermitsPerMinute:${app.queue.permitsPerMinute}}") double max,
+      @Value("${app.queue.admission.adaptive.increasePerTick:10}") double increasePerTick,
+      @Value("${app.queue.admission.adaptive.decreaseFactor:0.7}") double decreaseFactor,
+      @Value("${app.queue.admission.adaptive.cooldownMs:5000}") long cooldownMs,
+      @Value("${app.queue.admission.adaptive.controlMs:1000}") long controlMs,
+      @Value("${app.queue.admission.adaptive.maxInFlight:500}") long maxInFlight,
+      @Value("${app.queue.admission.adaptive.maxP99Ms:1000}") double maxP99Ms,
+      @Value("${app.queue.admission.adaptive.maxConsumerLag:1000}") long maxConsumerLag,
+      @Value("${app.queue.admission.adaptive.signalTtlMs:5000}") long signalTtlMs) {
+    this.redis = redis;
+    this.store = store;
+    this.permitsPerMinute = permitsPerMinute;
+    this.enabled = enabled;
+    double lower = Math.max(1, min);
+    double upper = Math.max(lower, max);
+    this.policy = new RatePolicy(Math.min(upper, Math.max(lower, permitsPerMinute)), lower, upper, increasePerTick,
+        decreaseFactor, cooldownMs, controlMs);
+    this.maxInFlight = maxInFlight;
+    this.maxP99Ms = maxP99Ms;
+    this.maxConsumerLag = maxConsumerLag;
+    this.signalTtlMs = signalTtlMs;
+  }
+
+  /**
+   * 이벤트의 현재 입장 속도 (분당 인원, 마지막 펌프 tick에 읽은 값)
+   */
+  public long permitsPerMinute(Long eventId) {
+    if (!enabled) {
+      return permitsPerMinute;
+    }
+    return Math.round(rates.getOrDefault(eventId, policy.initial()));
+  }
+
+  /**
+   * 펌프 tick마다 호출: 리더면 AIMD 1단계 적용 후, 아니면 저장된 속도를 읽어 반환
+   */
+  public long adjust(Long eventId, String nodeId) {
+    if (!enabled) {
+      return permitsPerMinute;
+    }
+    double rate = store.adjustRate(eventId, nodeId, signal(), policy);
+    Double previous = rates.put(eventId, rate);
+    if (previous != null && rate < previous) {
+      log.info("입장 속도 감소: eventId={}, permitsPerMinute={}, signal={}", eventId, Math.round(rate), lastSignal);
+    }
+    return Math.round(rate);
+  }
+
+  /**
+   * 종료된 이벤트의 로컬 속도 제거 (저장된 속도는 버킷 키와 함께 정리됨)
+   */
+  public void forget(Long eventId) {
+    rates.remove(eventId);
+  }
+
+  @Scheduled(fixedDelayString = "${app.queue.admission.adaptive.controlMs:1000}")
+  public void control() {
+    if (!enabled) {
+      return;
+    }
+    lastSignal = readSignal();
+  }
+
+  /**
+   * 마지막으로 읽은 신호 (없거나 오래되었으면 null)
+   */
+  public CapacitySignal lastSignal() {
+    return lastSignal;
+  }
+
+  /**
+   * 노드별 신호를 병합 (signalTtlMs보다 오래된 신호는 무시, 그 10배보다 오래된 노드 필드는 삭제)
+   */
+  private CapacitySignal readSignal() {
+    Map<Object, Object> entries;
+    try {
+      entries = redis.opsForHash().entries(CapacitySignal.TICKET_KEY);
+    } catch (Exception e) {
+      log.warn("처리 여력 신호 조회 실패 (현재 속도 유지): {}", e.getMessage());
+      return null;
+    }
+
+    long now = System.currentTimeMillis();
+    CapacitySignal merged = null;
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      CapacitySignal signal = CapacitySignal.decode((String) entry.getValue());
+      if (signal == null || now - signal.reportedAt() > signalTtlMs * 10) {
+        redis.opsForHash().delete(CapacitySignal.TICKET_KEY, entry.getKey());
+        continue;
+      }
+      if (now - signal.reportedAt() <= signalTtlMs) {
+        merged = merged == null ? signal : merged.merge(signal);
+      }
+    }
+    return merged;
+  }
+
+  private int signal() {
+    CapacitySignal signal = lastSignal;
+    if (signal == null) {
+      return RatePolicy.UNKNOWN;
+    }
+    boolean congested = signal.inFlight() > maxInFlight
+        || signal.p99Ms() > maxP99Ms
+        || signal.consumerLag() > maxConsumerLag;
+    return congested ? RatePolicy.CONGESTED : RatePolicy.CLEAR;
+  }
+}
@@ -0,0 +1,128 @@
+package com.chuz.reservex.queue.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.line.Admission;
+import com.chuz.reservex.queue.store.QueueStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입장 펌프
+ * - 이벤트별 리더 노드 1대만 펌프 실행 (redis 저장소: q:{eventId}:leader 임대)
+ * - 토큰 버킷으로 tick마다 입장 인원 결정 (속도는 AdmissionController가 하위 서비스 여력에 따라 조정)
+ * - maxOutstanding 설정 시 입장 후 구매가 끝나지 않은 인원이 그 수를 넘지 않도록 추가 제한 (완료/포기 즉시 자리 생김)
+ * - 선두 N명을 대기열에서 꺼내 Pass Token 일괄 발급 (idleTimeoutMs 동안 조회가 없던 선두는 건너뜀)
+ * - 발급 결과는 QueueStreamHub로 모든 노드에 브로드캐스트
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionPump {
+
+  private final QueueStore store;
+  private final QueueStreamHub streamHub;
+  private final QueueMetrics metrics;
+  private final AdmissionController controller;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  @Value("${app.queue.passTokenTtlSeconds}")
+  long passTtlSec;
+  @Value("${app.queue.admission.tickMs:1000}")
+  long tickMs;
+  @Value("${app.queue.admission.burstSeconds:5}")
+  long burstSeconds;
+  @Value("${app.queue.admission.maxBatch:500}")
+  long maxBatch;
+  @Value("${app.queue.admission.maxSkip:1000}")
+  int maxSkip;
+  @Value("${app.queue.admission.maxOutstanding:0}")
+  long maxOutstanding;
+  @Value("${app.queue.liveness.idleTimeoutMs:120000}")
+  long idleTimeoutMs;
+
+  @Scheduled(fixedDelayString = "${app.queue.admission.tickMs:1000}")
+  public void pump() {
+    for (Long eventId : store.events()) {
+      try {
+        pump(eventId);
+      } catch (Exception e) {
+        log.warn("입장 펌프 실패: eventId={}", eventId, e);
+      }
+    }
+  }
+
+  /**
+   * 이벤트 1개에 대해 1 tick 실행
+   *
+   * @return 이번 tick에 입장 처리된 userId -> Pass Token (리더가 아니면 빈 맵)
+   */
+  public Map<String, String> pump(Long eventId) {
+    long waiting = store.waiting(eventId);
+    long permitsPerMinute = Math.max(1, controller.adjust(eventId, nodeId));
+    metrics.waiting(eventId, waiting);
+    metrics.admissionRate(eventId, permitsPerMinute);
+    if (waiting <= 0) {
+      return Map.of();
+    }
+
+    long max = Math.min(waiting, maxBatch);
+    if (maxOutstanding > 0) {
+      long outstanding = store.outstandingPasses(eventId);
+      metrics.outstanding(eventId, outstanding);
+      max = Math.min(max, maxOutstanding - outstanding);
+      if (max <= 0) {
+        return Map.of();
+      }
+    }
+
+    long granted = store.acquirePermits(eventId, nodeId, leaseMs(), permitsPerMinute, capacity(permitsPerMinute),
+        max);
+
+    if (granted <= 0) {
+      return Map.of();
+    }
+
+    // 사용자가 정해지기 전이므로 nonce만 발급하고 서명은 상태 조회/SSE 응답 시점에 (PassTokens)
+    long now = System.currentTimeMillis();
+    long expiresAt = now + passTtlSec * 1000;
+    List<String> passTokens = new ArrayList<>((int) granted);
+    for (int i = 0; i < granted; i++) {
+      passTokens.add(PassTokens.newNonce(expiresAt));
+    }
+
+    Admission admission = store.admit(eventId, passTokens, passTtlSec, now - idleTimeoutMs, maxSkip);
+    metrics.admitted(eventId, admission, now);
+
+    // 그 사이 대기자가 줄었거나 이탈자만 남아 쓰지 않은 허용량은 버킷에 환불
+    long unused = granted - admission.size();
+    if (unused > 0) {
+      store.refundPermits(eventId, unused);
+    }
+
+    if (!admission.isEmpty()) {
+      streamHub.publish(eventId, store.admittedSoFar(eventId), admission.passes());
+    }
+
+    log.debug("입장 처리: eventId={}, count={}", eventId, admission.size());
+    return admission.passes();
+  }
+
+  /** 리더 임대는 tick 3회분 유지 (리더 장애 시 3 tick 이내 다른 노드가 인계) */
+  private long leaseMs() {
+    return tickMs * 3;
+  }
+
+  /** 버킷 용량: burstSeconds 동안 허용되는 인원 (최소 1명) */
+  private double capacity(long permitsPerMinute) {
+    return Math.max(1.0, permitsPerMinute * burstSeconds / 60.0);
+  }
+}
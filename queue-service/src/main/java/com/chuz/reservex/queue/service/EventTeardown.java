@@ -0,0 +1,252 @@
+package com.chuz.reservex.queue.service;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.teardownKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.teardownLeaseKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.teardownsKey;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceClusterConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.dto.TeardownRes;
+import com.chuz.reservex.queue.dto.TeardownRes.Status;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.redis.QueueScripts;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisKeyCommands;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 종료 이벤트 키 정리 (redis 저장소)
+ * - 시작 시 펌프/정리 순회 대상에서 빼고 q:teardowns에 등록, 진행 상황은 q:teardown:{eventId} HASH에 기록
+ * - intervalMs 주기로 이벤트마다 노드 1대(임대)가 SCAN + UNLINK 배치를 최대 maxBatchesPerTick회 실행
+ *   SCAN은 해당 슬롯 노드에 직접 보내고, 찾은 키를 batch개씩 KEYS로 teardown.lua에 전달
+ *   (커서를 매 주기 저장하므로 노드가 바뀌어도 이어서 진행)
+ * - 배치 1회가 slowBatchMs를 넘으면 Redis가 바쁜 것으로 보고 이번 주기는 중단 (진행 중인 이벤트 요청 우선)
+ * - 정리 범위: 이벤트 해시 태그 q:{eventId}:* + SHARDED 모드면 샤드 태그 q:{eventId.shard}:*
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "redis", matchIfMissing = true)
+public class EventTeardown {
+
+  private static final String STATUS = "status";
+  private static final String SCOPE = "scope";
+  private static final String SCOPES = "scopes";
+  private static final String CURSOR = "cursor";
+  private static final String DELETED = "deleted";
+  private static final String STARTED_AT = "startedAt";
+  private static final String FINISHED_AT = "finishedAt";
+
+  private final StringRedisTemplate redis;
+  private final ActiveEvents activeEvents;
+  private final AdmissionController admissionController;
+  private final QueueMetrics metrics;
+  private final QueueProperties properties;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  @Value("${app.queue.teardown.batch:500}")
+  int batch;
+  @Value("${app.queue.teardown.maxBatchesPerTick:20}")
+  int maxBatchesPerTick;
+  @Value("${app.queue.teardown.slowBatchMs:5}")
+  long slowBatchMs;
+  @Value("${app.queue.teardown.leaseMs:10000}")
+  long leaseMs;
+
+  /**
+   * 정리 시작 (이미 진행 중이면 현재 상태 반환, 완료된 이벤트는 처음부터 다시 정리)
+   * 판매가 끝난 이벤트에만 사용 (정리 도중 새로 생긴 키는 남을 수 있음)
+   */
+  public TeardownRes start(Long eventId) {
+    TeardownRes current = progress(eventId);
+    if (current != null && current.status() == Status.RUNNING) {
+      return current;
+    }
+
+    int scopes = properties.modeOf(eventId) == QueueMode.SHARDED ? 1 + properties.shardsOf(eventId) : 1;
+    redis.opsForHash().putAll(teardownKey(eventId), Map.of(
+        STATUS, Status.RUNNING.name(),
+        SCOPE, "0",
+        SCOPES, Integer.toString(scopes),
+        CURSOR, "0",
+        DELETED, "0",
+        STARTED_AT, Long.toString(System.currentTimeMillis())));
+    redis.opsForHash().delete(teardownKey(eventId), FINISHED_AT);
+    activeEvents.unregister(eventId);
+    redis.opsForSet().add(teardownsKey(), eventId.toString());
+    log.info("종료 이벤트 키 정리 시작: eventId={}, scopes={}", eventId, scopes);
+    return progress(eventId);
+  }
+
+  /**
+   * @return 진행 상황 (정리한 적 없으면 null)
+   */
+  public TeardownRes progress(Long eventId) {
+    Map<Object, Object> state = redis.opsForHash().entries(teardownKey(eventId));
+    if (state.isEmpty()) {
+      return null;
+    }
+    Object finishedAt = state.get(FINISHED_AT);
+    return new TeardownRes(eventId,
+        Status.valueOf((String) state.get(STATUS)),
+        Integer.parseInt((String) state.get(SCOPE)),
+        Integer.parseInt((String) state.get(SCOPES)),
+        Long.parseLong((String) state.get(DELETED)),
+        Long.parseLong((String) state.get(STARTED_AT)),
+        finishedAt == null ? null : Long.valueOf((String) finishedAt));
+  }
+
+  @Scheduled(fixedDelayString = "${app.queue.teardown.intervalMs:200}")
+  public void drain() {
+    Set<String> events = redis.opsForSet().members(teardownsKey());
+    if (events == null) {
+      return;
+    }
+    for (String eventId : events) {
+      try {
+        // 로컬 상태는 임대와 무관하게 모든 노드가 각자 제거
+        admissionController.forget(Long.valueOf(eventId));
+        metrics.forget(Long.valueOf(eventId));
+        activeEvents.forget(Long.valueOf(eventId));
+        drain(Long.valueOf(eventId));
+      } catch (Exception e) {
+        log.warn("종료 이벤트 키 정리 실패: eventId={}", eventId, e);
+      }
+    }
+  }
+
+  /**
+   * 이벤트 1개에 대해 1 주기 실행
+   *
+   * @return 이번 주기에 삭제한 키 수 (임대를 얻지 못하면 0)
+   */
+  public long drain(Long eventId) {
+    if (!lease(eventId)) {
+      return 0;
+    }
+    String key = teardownKey(eventId);
+    Map<Object, Object> state = redis.opsForHash().entries(key);
+    if (state.isEmpty() || !Status.RUNNING.name().equals(state.get(STATUS))) {
+      redis.opsForSet().remove(teardownsKey(), eventId.toString());
+      return 0;
+    }
+
+    int scope = Integer.parseInt((String) state.get(SCOPE));
+    int scopes = Integer.parseInt((String) state.get(SCOPES));
+    String cursor = (String) state.get(CURSOR);
+    long deleted = 0;
+    for (int i = 0; i < maxBatchesPerTick && scope < scopes; i++) {
+      long started = System.nanoTime();
+      ScanPage page = scan(eventId, scope, cursor);
+      deleted += unlink(page.keys());
+      cursor = page.cursor();
+      if ("0".equals(cursor)) {
+        scope++;
+      }
+      if (Duration.ofNanos(System.nanoTime() - started).toMillis() > slowBatchMs) {
+        break;
+      }
+    }
+
+    redis.opsForHash().putAll(key, Map.of(SCOPE, Integer.toString(scope), CURSOR, cursor));
+    long total = redis.opsForHash().increment(key, DELETED, deleted);
+    if (scope >= scopes) {
+      redis.opsForHash().putAll(key, Map.of(
+          STATUS, Status.DONE.name(),
+          FINISHED_AT, Long.toString(System.currentTimeMillis())));
+      redis.opsForSet().remove(teardownsKey(), eventId.toString());
+      redis.delete(teardownLeaseKey(eventId));
+      log.info("종료 이벤트 키 정리 완료: eventId={}, deleted={}", eventId, total);
+    } else {
+      log.debug("종료 이벤트 키 정리 중: eventId={}, scope={}/{}, deleted={}", eventId, scope, scopes, total);
+    }
+    return deleted;
+  }
+
+  /**
+   * 정리 대상 슬롯의 노드에서 SCAN 1회
+   * 저장된 커서에서 이어가야 하므로 커서를 직접 다루는 Lettuce 명령으로 실행 (클러스터는 라우팅 키의 노드 연결 사용)
+   */
+  @SuppressWarnings("unchecked")
+  private ScanPage scan(Long eventId, int scope, String cursor) {
+    ScanArgs args = ScanArgs.Builder.matches(pattern(eventId, scope).getBytes(UTF_8)).limit(batch);
+    return redis.execute((RedisCallback<ScanPage>) conn -> {
+      RedisKeyCommands<byte[], byte[]> commands;
+      if (conn instanceof LettuceClusterConnection cluster) {
+        String node = cluster.clusterGetNodeForKey(routingKey(eventId, scope).getBytes(UTF_8)).getId();
+        commands = ((RedisAdvancedClusterAsyncCommands<byte[], byte[]>) cluster.getNativeConnection())
+            .getStatefulConnection().getConnection(node).sync();
+      } else {
+        commands = ((RedisAsyncCommands<byte[], byte[]>) conn.getNativeConnection()).getStatefulConnection().sync();
+      }
+      KeyScanCursor<byte[]> res = commands.scan(ScanCursor.of(cursor), args);
+      return new ScanPage(res.getCursor(), res.getKeys());
+    });
+  }
+
+  /**
+   * 찾은 키를 batch개씩 teardown.lua의 KEYS로 전달해 삭제 (COUNT는 힌트라 SCAN 1회 결과가 batch를 넘을 수 있음)
+   */
+  private long unlink(List<byte[]> keys) {
+    long deleted = 0;
+    for (int from = 0; from < keys.size(); from += batch) {
+      byte[][] chunk = new ArrayList<>(keys.subList(from, Math.min(keys.size(), from + batch))).toArray(byte[][]::new);
+      Long res = QueueScripts.evalSha(redis, QueueScripts.TEARDOWN, ReturnType.INTEGER, chunk.length, chunk);
+      deleted += res;
+    }
+    return deleted;
+  }
+
+  /**
+   * 정리 노드 임대 (보유 노드가 매 주기 연장, 장애 시 만료 후 다른 노드가 저장된 커서부터 이어서 진행)
+   */
+  private boolean lease(Long eventId) {
+    String key = teardownLeaseKey(eventId);
+    Duration lease = Duration.ofMillis(leaseMs);
+    if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(key, nodeId, lease))) {
+      return true;
+    }
+    if (!nodeId.equals(redis.opsForValue().get(key))) {
+      return false;
+    }
+    redis.expire(key, lease);
+    return true;
+  }
+
+  /** scope 0 = 이벤트 해시 태그, 1..N = 샤드 (shard = scope - 1) */
+  private static String pattern(Long eventId, int scope) {
+    return (scope == 0 ? QueueKeys.tag(eventId) : QueueKeys.shardTag(eventId, scope - 1)) + "*";
+  }
+
+  private static String routingKey(Long eventId, int scope) {
+    return scope == 0 ? QueueKeys.zKey(eventId) : QueueKeys.shardZKey(eventId, scope - 1);
+  }
+
+  /** SCAN 1회 결과 (다음 커서 '0' = 완료) */
+  private record ScanPage(String cursor, List<byte[]> keys) {
+  }
+}
@@ -0,0 +1,63 @@
+package com.chuz.reservex.queue.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.store.QueueStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이탈 대기자 정리 (만료 Pass Token은 PassReclaimer 담당)
+ * - 마지막 상태 조회(또는 SSE 하트비트)가 idleTimeoutMs 이전인 대기자를 대기열에서 제거
+ * - 한 번에 batch명씩 짧은 스크립트로 나눠 실행하여 Redis를 오래 점유하지 않음
+ * - 정리는 멱등이므로 노드마다 실행해도 무방
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdleWaiterSweeper {
+
+  private final QueueStore store;
+  private final QueueMetrics metrics;
+
+  @Value("${app.queue.liveness.idleTimeoutMs:120000}")
+  long idleTimeoutMs;
+  @Value("${app.queue.liveness.batch:500}")
+  int batch;
+  @Value("${app.queue.liveness.maxBatchesPerSweep:20}")
+  int maxBatchesPerSweep;
+
+  @Scheduled(fixedDelayString = "${app.queue.liveness.sweepMs:10000}")
+  public void sweep() {
+    long aliveSince = System.currentTimeMillis() - idleTimeoutMs;
+    for (Long eventId : store.events()) {
+      try {
+        long purged = sweep(eventId, aliveSince);
+        metrics.purged(eventId, purged);
+        if (purged > 0) {
+          log.info("이탈 대기자 정리: eventId={}, count={}", eventId, purged);
+        }
+      } catch (Exception e) {
+        log.warn("이탈 대기자 정리 실패: eventId={}", eventId, e);
+      }
+    }
+  }
+
+  /**
+   * 정리할 대기자가 없거나 배치 횟수 상한에 도달할 때까지 반복 (남은 인원은 다음 주기에 이어서 처리)
+   */
+  public long sweep(Long eventId, long aliveSince) {
+    long total = 0;
+    for (int i = 0; i < maxBatchesPerSweep; i++) {
+      long purged = store.purgeIdle(eventId, aliveSince, batch);
+      total += purged;
+      if (purged == 0) {
+        break;
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,43 @@
+package com.chuz.reservex.queue.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.store.QueueStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료 Pass Token 회수
+ * - reclaimMs 주기로 만료 인덱스(score = 만료 시각)에서 소비되지 않고 만료된 토큰을 제거하고 같은 수만큼 입장 허용량 반환
+ * - 만료 인덱스 제거는 원자적이므로 여러 노드가 실행해도 토큰 1개당 한 번만 반환됨
+ * - 반환된 허용량은 다음 펌프 tick에 다음 대기자 입장에 사용 (버킷 용량 이내)
+ * - 입장 후 구매가 끝나지 않은 인원을 게이지로 갱신 (queue.pass.outstanding)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PassReclaimer {
+
+  private final QueueStore store;
+  private final QueueMetrics metrics;
+
+  @Scheduled(fixedDelayString = "${app.queue.pass.reclaimMs:1000}")
+  public void reclaim() {
+    for (Long eventId : store.events()) {
+      try {
+        long expired = store.expirePasses(eventId);
+        if (expired > 0) {
+          store.refundPermits(eventId, expired);
+          metrics.expired(eventId, expired);
+          metrics.reclaimed(eventId, expired);
+          log.debug("만료 Pass Token 회수: eventId={}, count={}", eventId, expired);
+        }
+        metrics.outstanding(eventId, store.outstandingPasses(eventId));
+      } catch (Exception e) {
+        log.warn("만료 Pass Token 회수 실패: eventId={}", eventId, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.chuz.reservex.queue.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.common.security.PassTokenCodec;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.store.QueueStore;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Pass Token 서명 (ticket-service가 서명/만료만 확인하고 원격 호출 없이 소비하도록)
+ * - 입장 펌프는 사용자가 정해지기 전에 토큰을 만들므로 만료 시각이 담긴 nonce만 Redis에 저장
+ * - 상태 조회/SSE 응답 시점에 eventId, userId, 샤드와 함께 서명 (같은 nonce는 항상 같은 토큰)
+ * - 원격 검증 경로(/validate-pass-token)는 서명 확인 후 nonce로 기존 소비 스크립트 실행
+ */
+@Component
+@RequiredArgsConstructor
+public class PassTokens {
+
+  private final PassTokenCodec codec;
+  private final QueueStore store;
+
+  /**
+   * 입장 펌프가 Redis에 저장할 nonce
+   */
+  public static String newNonce(long expiresAt) {
+    return PassToken.raw(expiresAt, ThreadLocalRandom.current().nextLong());
+  }
+
+  /**
+   * 저장된 nonce → 서명 토큰 (이전 형식 값은 그대로 반환)
+   */
+  public String sign(Long eventId, Long userId, String nonce) {
+    if (nonce == null) {
+      return null;
+    }
+    PassToken token = PassToken.of(eventId, userId, store.passShard(eventId, userId), nonce);
+    return token == null ? nonce : codec.encode(token);
+  }
+
+  public StatusRes sign(Long eventId, Long userId, StatusRes status) {
+    if (status.passToken() == null) {
+      return status;
+    }
+    return new StatusRes(status.position(), status.passReady(), sign(eventId, userId, status.passToken()),
+        status.nextPollAt());
+  }
+
+  /**
+   * 서명 토큰 → 저장된 nonce
+   *
+   * @return 서명/대상이 맞지 않거나 만료되었으면 null
+   */
+  public String nonceOf(Long eventId, Long userId, String passToken) {
+    PassToken token = codec.decode(passToken);
+    if (token == null || token.eventId() != eventId || token.userId() != userId
+        || token.isExpired(System.currentTimeMillis())) {
+      return null;
+    }
+    return token.raw();
+  }
+}
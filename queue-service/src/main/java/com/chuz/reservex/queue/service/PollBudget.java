@@ -0,0 +1,121 @@
+package com.chuz.reservex.queue.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.dto.StatusRes;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상태 조회 예산 (StatusRes.nextPollAt 배정)
+ * - 희망 간격 = 예상 입장까지 남은 시간(순번 / 현재 입장 속도) x waitFraction, [minIntervalMs, maxIntervalMs] 범위
+ *   (사전 등록자는 판매 시작까지 남은 시간 기준) → 멀리 있으면 드물게, 차례가 가까우면 자주 조회
+ * - 이벤트별 1초 단위 슬롯에 maxQps명까지만 배정하고, 찬 슬롯은 건너뛰어 다음 빈 슬롯에 배정
+ *   → 노드의 이벤트별 상태 조회가 초당 maxQps를 넘지 않도록 분산 (전체 상한 = 노드 수 x maxQps)
+ * - 슬롯 안에서도 무작위 ms로 흩어 초 경계에 몰리지 않게 함
+ * - 슬롯이 모두 차면 가장 늦은 슬롯에 배정 (응답은 항상 시각을 포함)
+ */
+@Component
+@RequiredArgsConstructor
+public class PollBudget {
+
+  private final AdmissionController admissionController;
+  private final QueueProperties properties;
+  private final Map<Long, Wheel> wheels = new ConcurrentHashMap<>();
+
+  @Value("${app.queue.poll.maxQps:2000}")
+  int maxQps;
+  @Value("${app.queue.poll.minIntervalMs:2000}")
+  long minIntervalMs;
+  @Value("${app.queue.poll.maxIntervalMs:30000}")
+  long maxIntervalMs;
+  @Value("${app.queue.poll.waitFraction:0.5}")
+  double waitFraction;
+
+  /**
+   * 대기 중(순번 있음/사전 등록)이면 다음 조회 시각을 배정, 입장했거나 대기열에 없으면 그대로 반환
+   */
+  public StatusRes schedule(Long eventId, StatusRes status) {
+    boolean registered = status.position() == StatusRes.PRE_REGISTERED;
+    if (status.passReady() || (status.position() < 0 && !registered)) {
+      return status;
+    }
+    long now = System.currentTimeMillis();
+    long remainingMs = registered ? untilSaleOpen(eventId, now) : expectedWaitMs(eventId, status.position());
+    long interval = Math.max(minIntervalMs, Math.min(maxIntervalMs, (long) (remainingMs * waitFraction)));
+    return status.withNextPollAt(wheels.computeIfAbsent(eventId, id -> new Wheel(slots())).reserve(now, now + interval,
+        capacity(eventId)));
+  }
+
+  /**
+   * 순번 position(0부터)인 대기자의 예상 대기 시간
+   */
+  private long expectedWaitMs(Long eventId, long position) {
+    long permitsPerMinute = Math.max(1, admissionController.permitsPerMinute(eventId));
+    return (position + 1) * 60_000 / permitsPerMinute;
+  }
+
+  private long untilSaleOpen(Long eventId, long now) {
+    Instant openAt = properties.saleOpenAtOf(eventId);
+    return openAt == null ? maxIntervalMs : Math.max(0, openAt.toEpochMilli() - now);
+  }
+
+  private int capacity(Long eventId) {
+    Integer override = properties.pollMaxQpsOf(eventId);
+    return Math.max(1, override != null ? override : maxQps);
+  }
+
+  /**
+   * 최대 간격의 2배까지 미룰 수 있도록 슬롯 수 결정
+   */
+  private int slots() {
+    return (int) (2 * maxIntervalMs / 1000) + 1;
+  }
+
+  /**
+   * 1초 슬롯 링 (seconds[i] = 슬롯 i가 현재 나타내는 epoch 초, 다르면 빈 슬롯)
+   * 배정은 [현재 초, 현재 초 + 슬롯 수) 안에서만 하므로 같은 인덱스를 두 초가 공유하지 않음
+   */
+  private static final class Wheel {
+    private final long[] seconds;
+    private final int[] used;
+
+    private Wheel(int size) {
+      this.seconds = new long[size];
+      this.used = new int[size];
+      Arrays.fill(seconds, -1);
+    }
+
+    synchronized long reserve(long now, long at, int capacity) {
+      long last = now / 1000 + seconds.length - 1;
+      long first = Math.min(at / 1000, last);
+      long second = first;
+      while (second < last && count(second) >= capacity) {
+        second++;
+      }
+      int i = (int) (second % seconds.length);
+      if (seconds[i] != second) {
+        seconds[i] = second;
+        used[i] = 0;
+      }
+      used[i]++;
+
+      long from = second == first ? Math.max(at, second * 1000) : second * 1000;
+      long to = second * 1000 + 1000;
+      return from + ThreadLocalRandom.current().nextLong(to - from);
+    }
+
+    private int count(long second) {
+      int i = (int) (second % seconds.length);
+      return seconds[i] == second ? used[i] : 0;
+    }
+  }
+}
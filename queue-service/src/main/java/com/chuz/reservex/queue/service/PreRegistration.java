@@ -0,0 +1,129 @@
+package com.chuz.reservex.queue.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.store.QueueStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 판매 시작 전 사전 등록 (app.queue.events.{id}.saleOpenAt 이 설정된 이벤트)
+ * - 판매 시작 전 진입은 노드 메모리에 모았다가 flushMs 주기로 저장소에 일괄 등록 (요청당 Redis 쓰기 없음)
+ * - 판매 시작 시 노드 1대가 등록자 전체를 한 번 섞어 loadBatch명씩 파이프라인으로 대기열에 적재
+ * - 적재 score는 판매 시작 시각 직전 값이므로 사전 등록자는 판매 시작 후 진입자보다 항상 앞에 섬
+ * - 적재가 끝날 때까지 사전 등록자의 진입/상태 조회는 사전 등록 상태로 응답 (직접 진입으로 순서를 앞당길 수 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreRegistration {
+
+  private final QueueStore store;
+  private final QueueProperties properties;
+  private final SecureRandom random = new SecureRandom();
+  private final String nodeId = UUID.randomUUID().toString();
+  /** 이벤트별 아직 저장소에 보내지 않은 등록자 */
+  private final Map<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+  /** 이 노드 기준 적재가 끝난 이벤트 */
+  private final Set<Long> loaded = ConcurrentHashMap.newKeySet();
+
+  @Value("${app.queue.presale.loadBatch:1000}")
+  int loadBatch;
+  @Value("${app.queue.presale.leaseMs:30000}")
+  long leaseMs;
+  @Value("${app.queue.presale.graceMs:5000}")
+  long graceMs;
+
+  /**
+   * 판매 시작 전이거나 사전 등록자 적재가 끝나지 않은 이벤트
+   */
+  public boolean isActive(Long eventId) {
+    return properties.saleOpenAtOf(eventId) != null && !loaded.contains(eventId);
+  }
+
+  public boolean isOpen(Long eventId) {
+    Instant openAt = properties.saleOpenAtOf(eventId);
+    return openAt == null || !Instant.now().isBefore(openAt);
+  }
+
+  public void register(Long eventId, Long userId) {
+    pending.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+  }
+
+  public boolean isRegistered(Long eventId, Long userId) {
+    Set<Long> users = pending.get(eventId);
+    return (users != null && users.contains(userId)) || store.isRegistered(eventId, userId);
+  }
+
+  @Scheduled(fixedDelayString = "${app.queue.presale.flushMs:200}")
+  public void tick() {
+    pending.forEach((eventId, users) -> {
+      try {
+        flush(eventId, users);
+      } catch (Exception e) {
+        log.warn("사전 등록 전송 실패: eventId={}", eventId, e);
+      }
+    });
+
+    properties.getEvents().keySet().forEach(eventId -> {
+      if (isActive(eventId) && isOpen(eventId)) {
+        try {
+          load(eventId);
+        } catch (Exception e) {
+          log.warn("사전 등록자 적재 실패: eventId={}", eventId, e);
+        }
+      }
+    });
+  }
+
+  /**
+   * 보내는 동안 추가된 등록자는 다음 주기에 전송 (저장소 등록은 중복을 무시하므로 재전송해도 무방)
+   */
+  private void flush(Long eventId, Set<Long> users) {
+    if (users.isEmpty()) {
+      return;
+    }
+    List<Long> batch = new ArrayList<>(users);
+    store.register(eventId, batch);
+    batch.forEach(users::remove);
+  }
+
+  /**
+   * 등록자를 섞어 판매 시작 시각 직전 score로 적재
+   * 다른 노드가 늦게 보낸 등록자는 다음 주기에 이어서 적재되며, graceMs 동안 새 등록자가 없으면 종료
+   */
+  private void load(Long eventId) {
+    long openAt = properties.saleOpenAtOf(eventId).toEpochMilli();
+    List<Long> userIds = store.claimRegistered(eventId, nodeId, leaseMs);
+    if (userIds.isEmpty()) {
+      Set<Long> users = pending.get(eventId);
+      if ((users == null || users.isEmpty()) && System.currentTimeMillis() > openAt + graceMs) {
+        loaded.add(eventId);
+        pending.remove(eventId);
+      }
+      return;
+    }
+
+    Collections.shuffle(userIds, random);
+    long firstScore = openAt - userIds.size();
+    for (int from = 0; from < userIds.size(); from += loadBatch) {
+      List<Long> batch = userIds.subList(from, Math.min(from + loadBatch, userIds.size()));
+      store.load(eventId, batch, firstScore + from, QueueService::candidateOffset);
+    }
+    log.info("사전 등록자 적재: eventId={}, count={}", eventId, userIds.size());
+  }
+}
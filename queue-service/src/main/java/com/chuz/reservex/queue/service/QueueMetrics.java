@@ -0,0 +1,222 @@
+package com.chuz.reservex.queue.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.line.Admission;
+import com.chuz.reservex.queue.line.WaitingLine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * 대기열 지표 (actuator /actuator/prometheus)
+ * - 요청 지연: queue.enqueue / queue.status / queue.validate (p50/p99/p999 + 히스토그램)
+ * - 이벤트별: queue.waiting, queue.admission.rate (게이지, 노드마다 같은 값이므로 max로 집계)
+ *            queue.pass.outstanding (게이지, 입장 후 구매가 끝나지 않은 인원)
+ *            queue.admitted, queue.pass.expired, queue.pass.reclaimed, queue.idle.purged
+ *            (카운터, 처리한 노드만 증가하므로 sum으로 집계)
+ *            queue.wait (진입 ~ Pass Token 발급 대기 시간 분포)
+ * - 이벤트별 지표는 app.queue.metrics.maxEvents개 이벤트까지만 등록 (초과분은 기록하지 않음)
+ *   종료 이벤트 정리 시 forget으로 제거 → 상한 자리도 반환
+ */
+@Component
+public class QueueMetrics {
+
+  static final String EVENT_TAG = "event";
+  private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+  /** 상한을 넘은 이벤트용 (하위 레지스트리가 없는 CompositeMeterRegistry의 미터는 아무것도 기록하지 않음) */
+  private static final EventMeters DROPPED = new EventMeters(new CompositeMeterRegistry(), "dropped");
+
+  private final MeterRegistry registry;
+  private final int maxEvents;
+  private final Timer enqueueTimer;
+  private final Timer statusTimer;
+  private final Timer validateAccepted;
+  private final Timer validateRejected;
+  private final Map<Long, EventMeters> events = new ConcurrentHashMap<>();
+
+  public QueueMetrics(MeterRegistry registry) {
+    this(registry, 50);
+  }
+
+  @Autowired
+  public QueueMetrics(MeterRegistry registry, @Value("${app.queue.metrics.maxEvents:50}") int maxEvents) {
+    this.registry = registry;
+    this.maxEvents = maxEvents;
+    this.enqueueTimer = latency("queue.enqueue").register(registry);
+    this.statusTimer = latency("queue.status").register(registry);
+    this.validateAccepted = latency("queue.validate").tag("result", "accepted").register(registry);
+    this.validateRejected = latency("queue.validate").tag("result", "rejected").register(registry);
+  }
+
+  public <T> T enqueue(Supplier<T> call) {
+    return enqueueTimer.record(call);
+  }
+
+  public <T> T status(Supplier<T> call) {
+    return statusTimer.record(call);
+  }
+
+  public boolean validate(BooleanSupplier call) {
+    long start = System.nanoTime();
+    boolean accepted = call.getAsBoolean();
+    Timer timer = accepted ? validateAccepted : validateRejected;
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return accepted;
+  }
+
+  /**
+   * 리액티브 경로용 (구독 시점부터 완료까지 측정)
+   */
+  public <T> Mono<T> enqueue(Mono<T> call) {
+    return timed(enqueueTimer, call);
+  }
+
+  public <T> Mono<T> status(Mono<T> call) {
+    return timed(statusTimer, call);
+  }
+
+  public Mono<Boolean> validate(Mono<Boolean> call) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return call.doOnNext(accepted -> (accepted ? validateAccepted : validateRejected)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  public void waiting(Long eventId, long waiting) {
+    meters(eventId).waiting.set(waiting);
+  }
+
+  public void admissionRate(Long eventId, long permitsPerMinute) {
+    meters(eventId).admissionRate.set(permitsPerMinute);
+  }
+
+  public void outstanding(Long eventId, long outstanding) {
+    meters(eventId).outstanding.set(outstanding);
+  }
+
+  /**
+   * 입장 인원 + 대기 시간 기록 (진입 마커가 없거나 마커 TTL보다 오래된 값은 제외)
+   */
+  public void admitted(Long eventId, Admission admission, long now) {
+    EventMeters meters = meters(eventId);
+    meters.admitted.increment(admission.size());
+
+    List<Long> enqueuedAt = admission.enqueuedAt();
+    for (Long since : enqueuedAt) {
+      long waited = now - since;
+      if (since > 0 && waited >= 0 && waited <= WaitingLine.MARKER_TTL_SEC * 1000) {
+        meters.wait.record(waited, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  public void expired(Long eventId, long count) {
+    if (count > 0) {
+      meters(eventId).expired.increment(count);
+    }
+  }
+
+  public void reclaimed(Long eventId, long count) {
+    if (count > 0) {
+      meters(eventId).reclaimed.increment(count);
+    }
+  }
+
+  public void purged(Long eventId, long count) {
+    if (count > 0) {
+      meters(eventId).purged.increment(count);
+    }
+  }
+
+  /**
+   * 종료된 이벤트의 지표 제거 (EventTeardown이 모든 노드에서 호출)
+   */
+  public void forget(Long eventId) {
+    EventMeters meters = events.remove(eventId);
+    if (meters != null) {
+      meters.registered.forEach(registry::remove);
+    }
+  }
+
+  private EventMeters meters(Long eventId) {
+    EventMeters meters = events.get(eventId);
+    if (meters != null) {
+      return meters;
+    }
+    if (events.size() >= maxEvents) {
+      return DROPPED;
+    }
+    return events.computeIfAbsent(eventId, id -> new EventMeters(registry, id.toString()));
+  }
+
+  private static <T> Mono<T> timed(Timer timer, Mono<T> call) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return call.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  private static Timer.Builder latency(String name) {
+    return Timer.builder(name)
+        .publishPercentiles(PERCENTILES)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofNanos(100_000))
+        .maximumExpectedValue(Duration.ofSeconds(5));
+  }
+
+  private static final class EventMeters {
+    private final AtomicLong waiting = new AtomicLong();
+    private final AtomicLong admissionRate = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final Counter admitted;
+    private final Counter expired;
+    private final Counter reclaimed;
+    private final Counter purged;
+    private final Timer wait;
+    private final List<Meter> registered = new ArrayList<>();
+
+    private EventMeters(MeterRegistry registry, String event) {
+      registered.add(Gauge.builder("queue.waiting", waiting, AtomicLong::get)
+          .tag(EVENT_TAG, event).description("대기 인원").register(registry));
+      registered.add(Gauge.builder("queue.admission.rate", admissionRate, AtomicLong::get)
+          .tag(EVENT_TAG, event).description("분당 입장 허용 인원").baseUnit("permits/min").register(registry));
+      registered.add(Gauge.builder("queue.pass.outstanding", outstanding, AtomicLong::get)
+          .tag(EVENT_TAG, event).description("입장 후 구매가 끝나지 않은 인원").register(registry));
+      this.admitted = Counter.builder("queue.admitted")
+          .tag(EVENT_TAG, event).description("Pass Token 발급 인원").register(registry);
+      this.expired = Counter.builder("queue.pass.expired")
+          .tag(EVENT_TAG, event).description("소비되지 않고 만료된 Pass Token").register(registry);
+      this.reclaimed = Counter.builder("queue.pass.reclaimed")
+          .tag(EVENT_TAG, event).description("만료/해제로 펌프에 반환된 입장 허용량").register(registry);
+      this.purged = Counter.builder("queue.idle.purged")
+          .tag(EVENT_TAG, event).description("이탈로 정리된 대기자").register(registry);
+      this.wait = Timer.builder("queue.wait")
+          .tag(EVENT_TAG, event).description("진입부터 Pass Token 발급까지 대기 시간")
+          .publishPercentiles(PERCENTILES)
+          .publishPercentileHistogram()
+          .minimumExpectedValue(Duration.ofSeconds(1))
+          .maximumExpectedValue(Duration.ofMinutes(WaitingLine.MARKER_TTL_SEC / 60))
+          .register(registry);
+      registered.addAll(List.of(admitted, expired, reclaimed, purged, wait));
+    }
+  }
+}
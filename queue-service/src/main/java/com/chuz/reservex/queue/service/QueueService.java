@@ -1,139 +1,92 @@
 package com.chuz.reservex.queue.service;
 
-import java.time.Instant;
-import java.util.Random;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import com.chuz.reservex.queue.config.QueueProperties;
 import com.chuz.reservex.queue.dto.EnqueueRes;
 import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.store.QueueStore;
 
-import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class QueueService {
-  private final StringRedisTemplate redis;
-  private final Random random = new Random();
-
-  @Value("${app.queue.passTokenTtlSeconds}")
-  long passTtlSec;
-  @Value("${app.queue.permitsPerMinute}")
-  long permitsPerMinute;
-
-  private String zKey(Long eventId) {
-  return "q:%d:z".formatted(eventId);
-  }
-
-  private String sKey(Long eventId, Long userId) {
-  return "q:%d:s:%d".formatted(eventId, userId);
-  }
-
-  private String passKey(Long eventId, Long userId) {
-  return "q:%d:pass:%d".formatted(eventId, userId);
-  }
-
-  private String offsetKey(Long eventId, Long userId) {
-  return "q:%d:offset:%d".formatted(eventId, userId);
-  }
+  private final QueueStore store;
+  private final QueueMetrics metrics;
+  private final PreRegistration preRegistration;
+  private final QueueProperties properties;
+  private final PassTokens passTokens;
 
   public EnqueueRes enqueue(Long eventId, Long userId) {
-  String userKey = userId.toString();
-  String z = zKey(eventId);
-  String s = sKey(eventId, userId);
-  String offsetK = offsetKey(eventId, userId);
-
-  if (Boolean.TRUE.equals(redis.hasKey(s))) {
-    long pos = position(eventId, userKey);
-    int offset = readOrGenOffset(offsetK);
-    return new EnqueueRes(userKey, pos, offset);
+    return enqueue(eventId, userId, List.of());
   }
 
-  long now = Instant.now().toEpochMilli();
-
-  redis.opsForZSet().add(z, userKey, now);
-
-  redis.opsForValue().set(s, "1");
-  redis.expire(s, java.time.Duration.ofMinutes(30));
-
-  int offset = 30 + random.nextInt(31);
-
-  redis.opsForValue().set(offsetK, Integer.toString(offset));
-  redis.expire(offsetK, java.time.Duration.ofMinutes(30));
-
-  long pos = position(eventId, userKey);
-
-  return new EnqueueRes(userKey, pos, offset);
+  /**
+   * 대기열 진입 (중복 진입 시 기존 위치 반환)
+   * 저장소(redis/embedded)와 저장 방식(ZSET/TICKET/SHARDED/LANES)은 설정에 따름
+   * 판매 시작 전이면 사전 등록만 하고 PRE_REGISTERED 반환
+   *
+   * @param roles 사용자 권한 (LANES 모드 레인 결정)
+   */
+  public EnqueueRes enqueue(Long eventId, Long userId, Collection<String> roles) {
+    int candidateOffset = candidateOffset();
+    if (preRegistration.isActive(eventId)) {
+      if (!preRegistration.isOpen(eventId)) {
+        preRegistration.register(eventId, userId);
+        return new EnqueueRes(userId.toString(), StatusRes.PRE_REGISTERED, candidateOffset);
+      }
+      if (preRegistration.isRegistered(eventId, userId)) {
+        return new EnqueueRes(userId.toString(), StatusRes.PRE_REGISTERED, candidateOffset);
+      }
+    }
+    String lane = properties.laneOf(eventId, roles);
+    return metrics.enqueue(() -> store.enqueue(eventId, userId, lane, candidateOffset));
   }
 
+  /**
+   * 대기열 상태 조회 (읽기 전용)
+   * 입장 여부는 AdmissionPump가 결정하며, 여기서는 발급된 Pass Token 또는 현재 순번만 반환
+   */
   public StatusRes status(Long eventId, Long userId) {
-  String userKey = userId.toString();
-
-  String pkey = passKey(eventId, userId);
-  String pass = redis.opsForValue().get(pkey);
-
-  if (pass != null) {
-    return new StatusRes(0, true, pass);
-  }
-
-  long pos = position(eventId, userKey);
-
-  long epochSec = Instant.now().getEpochSecond();
-  long allowedSoFar = epochSec * Math.max(1, permitsPerMinute) / 60;
-
-  if (pos == 0 && allowedSoFar >= grantedCountSoFar(eventId)) {
-    String passToken = "pass_" + UUID.randomUUID();
-
-    redis.opsForValue().set(pkey, passToken);
-    redis.expire(pkey, java.time.Duration.ofSeconds(passTtlSec));
-
-    redis.opsForZSet().remove(zKey(eventId), userKey);
-
-    return new StatusRes(0, true, passToken);
-
-  }
-
-  return new StatusRes(pos, false, null);
-  }
-
-  private long position(Long eventId, String userKey) {
-  Double score = redis.opsForZSet().score(zKey(eventId), userKey);
-
-  if (score == null)
-    return -1;
-
-  Long rank = redis.opsForZSet().rank(zKey(eventId), userKey);
-  return rank == null ? -1 : rank;
-  }
-
-  private int readOrGenOffset(String offsetK) {
-  String s = redis.opsForValue().get(offsetK);
-  return s == null ? 45 : Integer.parseInt(s);
-  }
-
-  private long grantedCountSoFar(Long eventId) {
-  return 0L;
+    if (preRegistration.isActive(eventId) && preRegistration.isRegistered(eventId, userId)) {
+      return StatusRes.registered();
+    }
+    return passTokens.sign(eventId, userId, metrics.status(() -> store.status(eventId, userId)));
   }
 
   /**
-   * Pass Token 검증 및 소비 (ticket-service에서 호출)
+   * Pass Token 검증 및 소비 (ticket-service app.pass.verify=remote일 때 호출)
+   * 서명/대상/만료를 확인한 뒤 저장된 nonce와 비교하여 소비
    */
   public boolean validateAndConsumePassToken(Long eventId, Long userId, String passToken) {
-    String pkey = passKey(eventId, userId);
-
-    // Redis에서 저장된 Pass Token 조회
-    String storedToken = redis.opsForValue().get(pkey);
+    return metrics.validate(() -> {
+      String nonce = passToken == null ? null : passTokens.nonceOf(eventId, userId, passToken);
+      return nonce != null && store.consume(eventId, userId, nonce);
+    });
+  }
 
-    if (storedToken == null || !storedToken.equals(passToken)) {
-      return false;
+  /**
+   * 입장 슬롯 조기 해제 (ticket-service에서 예매 완료/포기 시 호출)
+   * 미소비 토큰을 폐기했거나 예매를 포기했으면 입장 허용량을 버킷에 즉시 반환
+   */
+  public boolean releasePass(Long eventId, Long userId, boolean abandoned) {
+    boolean reclaim = store.releasePass(eventId, userId, abandoned);
+    if (reclaim) {
+      store.refundPermits(eventId, 1);
+      metrics.reclaimed(eventId, 1);
     }
+    return reclaim;
+  }
 
-    // 검증 성공 시 토큰 삭제 (일회성 처리)
-    redis.delete(pkey);
-
-    return true;
+  /**
+   * 신규 진입 시 저장할 표시 오프셋 (30~60)
+   */
+  public static int candidateOffset() {
+    return 30 + ThreadLocalRandom.current().nextInt(31);
   }
 }
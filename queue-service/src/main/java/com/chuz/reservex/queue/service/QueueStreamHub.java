@@ -0,0 +1,179 @@
+package com.chuz.reservex.queue.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.chuz.reservex.queue.dto.ProgressMessage;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.redis.QueueKeys;
+import com.chuz.reservex.queue.store.QueueStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대기열 상태 SSE 스트림
+ * - 입장 펌프 리더가 tick마다 이벤트별 진행 상황(누적 입장 인원 + 발급 토큰)을 Pub/Sub으로 1회 발행
+ * - 각 노드는 로컬 구독자에게 순번을 메모리에서 계산해 전달 (구독자 수와 무관하게 Redis 부하는 노드 수 비례)
+ * - 입장한 사용자에게는 Pass Token을 바로 push 후 스트림 종료
+ * - 구독 중인 사용자는 폴링하지 않으므로 주기적으로 생존 시각을 대신 갱신
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueStreamHub implements MessageListener {
+
+  private final StringRedisTemplate redis;
+  private final QueueService queueService;
+  private final QueueStore store;
+  private final ObjectMapper objectMapper;
+  private final PassTokens passTokens;
+
+  /** eventId -> userId -> 구독자 */
+  private final Map<Long, Map<Long, Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+  @Value("${app.queue.stream.timeoutMs:1800000}")
+  long timeoutMs;
+  /** embedded 저장소는 단일 노드이므로 Pub/Sub 없이 로컬 전달 */
+  @Value("${app.queue.store:redis}")
+  String storeType;
+
+  /**
+   * 구독 시작: 현재 상태를 1회 조회해 기준값으로 삼음
+   */
+  public SseEmitter subscribe(Long eventId, Long userId) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+
+    long base = store.admittedSoFar(eventId);
+    StatusRes status = queueService.status(eventId, userId);
+
+    if (!send(emitter, status) || status.passReady() || status.position() < 0) {
+      emitter.complete();
+      return emitter;
+    }
+
+    Subscriber subscriber = new Subscriber(eventId, userId, emitter, status.position(), base);
+    Subscriber previous = subscribers.computeIfAbsent(eventId, k -> new ConcurrentHashMap<>()).put(userId, subscriber);
+    if (previous != null) {
+      previous.emitter().complete();
+    }
+
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(() -> remove(subscriber));
+    emitter.onError(e -> remove(subscriber));
+
+    return emitter;
+  }
+
+  /**
+   * 입장 진행 상황 발행 (AdmissionPump 리더 노드에서 호출)
+   */
+  public void publish(Long eventId, long admittedTotal, Map<String, String> passes) {
+    ProgressMessage progress = new ProgressMessage(eventId, admittedTotal, passes);
+    if ("embedded".equals(storeType)) {
+      onProgress(progress);
+      return;
+    }
+
+    try {
+      String payload = objectMapper.writeValueAsString(progress);
+      redis.convertAndSend(QueueKeys.progressChannel(eventId), payload);
+    } catch (IOException e) {
+      log.warn("입장 진행 상황 발행 실패: eventId={}", eventId, e);
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      onProgress(objectMapper.readValue(message.getBody(), ProgressMessage.class));
+    } catch (IOException e) {
+      log.warn("입장 진행 상황 수신 실패", e);
+    }
+  }
+
+  void onProgress(ProgressMessage progress) {
+    Map<Long, Subscriber> local = subscribers.get(progress.eventId());
+    if (local == null || local.isEmpty()) {
+      return;
+    }
+
+    for (Subscriber subscriber : local.values()) {
+      String pass = progress.passes().get(subscriber.userId().toString());
+      if (pass != null) {
+        send(subscriber.emitter(), new StatusRes(0, true,
+            passTokens.sign(progress.eventId(), subscriber.userId(), pass)));
+        subscriber.emitter().complete();
+        continue;
+      }
+
+      long position = subscriber.position() - (progress.admittedTotal() - subscriber.base());
+      if (position < 0) {
+        // 구독 직후 입장 등으로 계산이 어긋난 경우에만 실제 상태로 재동기화
+        resync(subscriber);
+        continue;
+      }
+      send(subscriber.emitter(), new StatusRes(position, false, null));
+    }
+  }
+
+  /**
+   * 로컬 구독자 생존 시각 갱신 (이벤트당 1회 호출)
+   */
+  @Scheduled(fixedDelayString = "${app.queue.stream.heartbeatMs:30000}")
+  public void heartbeat() {
+    subscribers.forEach((eventId, local) -> {
+      if (local.isEmpty()) {
+        return;
+      }
+      try {
+        store.touch(eventId, List.copyOf(local.keySet()));
+      } catch (RuntimeException e) {
+        log.warn("구독자 생존 시각 갱신 실패: eventId={}", eventId, e);
+      }
+    });
+  }
+
+  private void resync(Subscriber subscriber) {
+    StatusRes status = queueService.status(subscriber.eventId(), subscriber.userId());
+    send(subscriber.emitter(), status);
+    if (status.passReady() || status.position() < 0) {
+      subscriber.emitter().complete();
+    }
+  }
+
+  private boolean send(SseEmitter emitter, StatusRes status) {
+    try {
+      emitter.send(SseEmitter.event().name("status").data(status));
+      return true;
+    } catch (IOException | IllegalStateException e) {
+      emitter.completeWithError(e);
+      return false;
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    Map<Long, Subscriber> local = subscribers.get(subscriber.eventId());
+    if (local != null) {
+      local.remove(subscriber.userId(), subscriber);
+    }
+  }
+
+  /**
+   * @param position 구독 시점 순번
+   * @param base     구독 시점 누적 입장 인원
+   */
+  private record Subscriber(Long eventId, Long userId, SseEmitter emitter, long position, long base) {
+  }
+}
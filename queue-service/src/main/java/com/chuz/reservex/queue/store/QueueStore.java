@@ -0,0 +1,144 @@
+package com.chuz.reservex.queue.store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.Admission;
+
+/**
+ * 대기열 저장소 SPI (app.queue.store)
+ * - redis: Redis 대기열 (기본값, 다중 노드)
+ * - embedded: JVM 내장 off-heap 대기열 (단일 노드 / 벤치마크 / Redis 없는 테스트)
+ */
+public interface QueueStore {
+
+  /**
+   * 대기자가 있는 이벤트 목록 (입장 펌프 순회 대상)
+   */
+  List<Long> events();
+
+  /**
+   * 대기열 진입 (멱등)
+   *
+   * @param candidateOffset 신규 진입 시 저장할 표시 오프셋
+   */
+  EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset);
+
+  /**
+   * 레인 지정 진입 (redis 저장소의 LANES 모드만 사용, 그 외에는 레인 무시)
+   */
+  default EnqueueRes enqueue(Long eventId, Long userId, String lane, int candidateOffset) {
+    return enqueue(eventId, userId, candidateOffset);
+  }
+
+  /**
+   * 판매 시작 전 사전 등록 (중복 무시, 대기열에는 판매 시작 시 load로 적재)
+   */
+  void register(Long eventId, Collection<Long> userIds);
+
+  boolean isRegistered(Long eventId, Long userId);
+
+  /**
+   * 사전 등록자 적재 임대 (노드 1대만 적재)
+   *
+   * @return 임대에 성공하면 아직 적재되지 않은 사전 등록자 전체, 등록자가 없거나 다른 노드가 적재 중이면 빈 목록
+   */
+  List<Long> claimRegistered(Long eventId, String nodeId, long leaseMs);
+
+  /**
+   * 사전 등록자를 주어진 순서대로 대기열에 일괄 적재한 뒤 등록 목록에서 제거 (멱등)
+   *
+   * @param firstScore 첫 사용자의 정렬 score (이후 1씩 증가)
+   */
+  void load(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset);
+
+  /**
+   * 상태 조회 (대기 중이면 마지막 조회 시각 갱신)
+   */
+  StatusRes status(Long eventId, Long userId);
+
+  /**
+   * 마지막 조회 시각만 갱신 (SSE 구독자 하트비트)
+   */
+  void touch(Long eventId, Collection<Long> userIds);
+
+  /**
+   * 마지막 조회가 aliveSince 이전인 대기자 정리 (배치 1회)
+   *
+   * @return 제거한 인원 (0이면 더 이상 정리할 대기자 없음)
+   */
+  long purgeIdle(Long eventId, long aliveSince, int batch);
+
+  /**
+   * Pass Token 검증 및 소비 (일회성, 소비한 사용자는 해제 또는 holdMs가 지날 때까지 입장 슬롯 보유)
+   */
+  boolean consume(Long eventId, Long userId, String passToken);
+
+  /**
+   * 입장 슬롯 조기 해제 (미소비 Pass Token 폐기 또는 보유 해제, 멱등)
+   *
+   * @param abandoned 예매 포기/취소 여부 (false = 예매 완료)
+   * @return 입장 허용량을 펌프에 돌려줘야 하면 true (미소비 토큰 폐기 또는 포기)
+   */
+  boolean releasePass(Long eventId, Long userId, boolean abandoned);
+
+  /**
+   * 입장 후 구매가 끝나지 않은 인원 (미소비 Pass Token + 소비 후 보유 중)
+   */
+  long outstandingPasses(Long eventId);
+
+  /**
+   * 현재 대기 인원
+   */
+  long waiting(Long eventId);
+
+  /**
+   * 누적 입장 처리 인원
+   */
+  long admittedSoFar(Long eventId);
+
+  /**
+   * 입장 허용량 확보 (리더 임대 + 토큰 버킷)
+   *
+   * @return 이번 tick에 입장시킬 인원, 다른 노드가 리더이면 -1
+   */
+  long acquirePermits(Long eventId, String nodeId, long leaseMs, long permitsPerMinute, double capacity, long max);
+
+  /**
+   * 입장 속도 AIMD 1단계 적용 (이벤트 펌프 리더 노드만 갱신, 다른 노드는 저장된 값을 읽기만 함)
+   *
+   * @param signal RatePolicy.CONGESTED / CLEAR / UNKNOWN
+   * @return 적용 후 분당 입장 인원
+   */
+  double adjustRate(Long eventId, String nodeId, int signal, RatePolicy policy);
+
+  /**
+   * 사용하지 않은 허용량 반환
+   */
+  void refundPermits(Long eventId, long permits);
+
+  /**
+   * 선두부터 passTokens 개수만큼 입장 처리 (마지막 조회가 aliveSince 이전인 선두는 최대 maxSkip명 건너뜀)
+   *
+   * @return 입장 처리된 userId -> 발급된 Pass Token + 진입 시각
+   */
+  Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip);
+
+  /**
+   * 소비되지 않고 만료된 Pass Token 집계 (여러 노드가 호출해도 각 토큰은 한 번만 집계됨)
+   * 보유 기한이 지난 보유자도 함께 정리 (집계하지 않음)
+   *
+   * @return 이번에 만료 처리된 개수
+   */
+  long expirePasses(Long eventId);
+
+  /**
+   * 서명 Pass Token에 담을 키 샤드 (소비 마커를 Pass Token 키와 같은 슬롯에 두기 위함, 샤드가 없으면 -1)
+   */
+  default int passShard(Long eventId, Long userId) {
+    return -1;
+  }
+}
@@ -0,0 +1,23 @@
+package com.chuz.reservex.queue.store;
+
+/**
+ * 입장 속도 AIMD 파라미터 (분당 인원)
+ *
+ * @param initial         저장된 속도가 없을 때 시작 값
+ * @param min             하한
+ * @param max             상한
+ * @param increasePerTick 여유 있을 때 controlMs마다 증가량
+ * @param decreaseFactor  과부하 시 감소 배율
+ * @param cooldownMs      연속 감소 최소 간격
+ * @param controlMs       조정 주기 (리더가 더 자주 호출해도 이 간격으로 1단계만 적용)
+ */
+public record RatePolicy(double initial, double min, double max, double increasePerTick, double decreaseFactor,
+    long cooldownMs, long controlMs) {
+
+  /** 과부하 */
+  public static final int CONGESTED = 1;
+  /** 여유 */
+  public static final int CLEAR = 0;
+  /** 신호 없음 (현재 속도 유지) */
+  public static final int UNKNOWN = -1;
+}
@@ -0,0 +1,227 @@
+package com.chuz.reservex.queue.store;
+
+import static com.chuz.reservex.queue.redis.QueueKeys.bucketKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.leaderKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.loaderKey;
+import static com.chuz.reservex.queue.redis.QueueKeys.registeredKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.Admission;
+import com.chuz.reservex.queue.line.WaitingLine;
+import com.chuz.reservex.queue.line.WaitingLines;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueScripts;
+import com.chuz.reservex.queue.service.ActiveEvents;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis 대기열 저장소 (이벤트별 저장 방식은 WaitingLines가 선택)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "redis", matchIfMissing = true)
+public class RedisQueueStore implements QueueStore {
+
+  private final StringRedisTemplate redis;
+  private final ActiveEvents activeEvents;
+  private final WaitingLines lines;
+  private final NearCache nearCache;
+
+  @Value("${app.queue.pass.holdMs:600000}")
+  long holdMs;
+
+  @Override
+  public List<Long> events() {
+    return activeEvents.all();
+  }
+
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    return enqueue(eventId, userId, null, candidateOffset);
+  }
+
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, String lane, int candidateOffset) {
+    EnqueueRes res = lines.of(eventId).enqueue(eventId, userId, lane, candidateOffset);
+    activeEvents.register(eventId);
+    return res;
+  }
+
+  @Override
+  public void register(Long eventId, Collection<Long> userIds) {
+    if (!userIds.isEmpty()) {
+      redis.opsForSet().add(registeredKey(eventId), userIds.stream().map(String::valueOf).toArray(String[]::new));
+    }
+  }
+
+  @Override
+  public boolean isRegistered(Long eventId, Long userId) {
+    return Boolean.TRUE.equals(redis.opsForSet().isMember(registeredKey(eventId), userId.toString()));
+  }
+
+  /**
+   * 임대는 적재 중인 노드가 연장하며, 적재 도중 장애가 나면 만료 후 다른 노드가 남은 등록자를 이어서 적재
+   */
+  @Override
+  public List<Long> claimRegistered(Long eventId, String nodeId, long leaseMs) {
+    String key = registeredKey(eventId);
+    if (!Boolean.TRUE.equals(redis.hasKey(key))) {
+      return List.of();
+    }
+    String loader = loaderKey(eventId);
+    Duration lease = Duration.ofMillis(leaseMs);
+    if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(loader, nodeId, lease))) {
+      if (!nodeId.equals(redis.opsForValue().get(loader))) {
+        return List.of();
+      }
+      redis.expire(loader, lease);
+    }
+
+    List<Long> userIds = new ArrayList<>();
+    try (Cursor<String> cursor = redis.opsForSet().scan(key, ScanOptions.scanOptions().count(1000).build())) {
+      cursor.forEachRemaining(member -> userIds.add(Long.valueOf(member)));
+    }
+    return userIds;
+  }
+
+  @Override
+  public void load(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    lines.of(eventId).enqueueAll(eventId, userIds, firstScore, candidateOffset);
+    activeEvents.register(eventId);
+    redis.opsForSet().remove(registeredKey(eventId), userIds.stream().map(String::valueOf).toArray());
+  }
+
+  /**
+   * 입장한 사용자의 반복 조회는 near cache의 Pass Token으로 응답 (소비/만료 시 무효화되어 스크립트로 복귀)
+   * 대기 중인 사용자는 캐시에 넣지 않음 (대기자 수만큼 추적 키가 늘어나지 않도록 입장 후에만 추적)
+   */
+  @Override
+  public StatusRes status(Long eventId, Long userId) {
+    WaitingLine line = lines.of(eventId);
+    String passKey = line.passKey(eventId, userId);
+    String cached = nearCache.peek(passKey);
+    if (cached != null) {
+      return new StatusRes(0, true, cached);
+    }
+    StatusRes status = line.status(eventId, userId);
+    if (status.passReady() && nearCache.isTracking()) {
+      nearCache.get(passKey);
+    }
+    return status;
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    lines.of(eventId).touch(eventId, userIds);
+  }
+
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    return lines.of(eventId).purgeIdle(eventId, aliveSince, batch);
+  }
+
+  /**
+   * 비교와 삭제를 스크립트 안에서 원자적으로 처리하여 동시 소비 경쟁을 차단
+   */
+  @Override
+  public boolean consume(Long eventId, Long userId, String passToken) {
+    WaitingLine line = lines.of(eventId);
+    Long consumed = redis.execute(QueueScripts.CONSUME,
+        List.of(line.passKey(eventId, userId), line.passesKey(eventId, userId), line.holdingKey(eventId, userId)),
+        passToken, userId.toString(), Long.toString(holdMs));
+    return Long.valueOf(1L).equals(consumed);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean releasePass(Long eventId, Long userId, boolean abandoned) {
+    WaitingLine line = lines.of(eventId);
+    List<Long> res = redis.execute(QueueScripts.RELEASE_PASS,
+        List.of(line.passKey(eventId, userId), line.passesKey(eventId, userId), line.holdingKey(eventId, userId),
+            line.usedKey(eventId, userId)),
+        userId.toString(), abandoned ? "1" : "0");
+    return res != null && res.get(1) == 1L;
+  }
+
+  @Override
+  public long outstandingPasses(Long eventId) {
+    return lines.of(eventId).outstanding(eventId);
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    return lines.of(eventId).waiting(eventId);
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    return lines.of(eventId).admittedSoFar(eventId);
+  }
+
+  @Override
+  public long acquirePermits(Long eventId, String nodeId, long leaseMs, long permitsPerMinute, double capacity,
+      long max) {
+    Long granted = redis.execute(QueueScripts.ACQUIRE,
+        List.of(leaderKey(eventId), bucketKey(eventId)),
+        nodeId,
+        Long.toString(leaseMs),
+        Long.toString(permitsPerMinute),
+        Double.toString(capacity),
+        Long.toString(max));
+    return granted == null ? 0 : granted;
+  }
+
+  @Override
+  public double adjustRate(Long eventId, String nodeId, int signal, RatePolicy policy) {
+    String rate = redis.execute(QueueScripts.RATE,
+        List.of(leaderKey(eventId), bucketKey(eventId)),
+        nodeId,
+        Integer.toString(signal),
+        Double.toString(policy.initial()),
+        Double.toString(policy.min()),
+        Double.toString(policy.max()),
+        Double.toString(policy.increasePerTick()),
+        Double.toString(policy.decreaseFactor()),
+        Long.toString(policy.cooldownMs()),
+        Long.toString(policy.controlMs()));
+    return rate == null ? policy.initial() : Double.parseDouble(rate);
+  }
+
+  @Override
+  public void refundPermits(Long eventId, long permits) {
+    redis.opsForHash().increment(bucketKey(eventId), "tokens", (double) permits);
+  }
+
+  @Override
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    return lines.of(eventId).admit(eventId, passTokens, passTtlSec, aliveSince, maxSkip);
+  }
+
+  @Override
+  public long expirePasses(Long eventId) {
+    return lines.of(eventId).expirePasses(eventId, holdMs);
+  }
+
+  @Override
+  public int passShard(Long eventId, Long userId) {
+    return lines.of(eventId).passShard(eventId, userId);
+  }
+}
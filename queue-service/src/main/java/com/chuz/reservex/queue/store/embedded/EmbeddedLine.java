@@ -0,0 +1,299 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.Admission;
+import com.chuz.reservex.queue.store.RatePolicy;
+
+/**
+ * 내장 대기열 (이벤트 1개)
+ * - 대기자: off-heap 링 버퍼, 순번 = 내 번호표 - head
+ * - 인덱스: userId -> ((번호표 + 1) << 8 | 표시 오프셋), 입장 후에는 번호표 자리를 0으로 두어 재진입 시 -1 반환
+ * - Pass Token: 입장 인원만큼만 힙에 유지, 만료분은 expirePasses에서 제거하며 집계
+ * - 보유 중: 소비 후 구매가 끝나지 않은 userId -> 보유 기한(ms), 저널에 기록하지 않음 (재기동 시 해제된 것으로 간주)
+ * - 생존 시각: userId -> 마지막 조회 시각(ms), 링 버퍼 중간은 비울 수 없으므로 이탈자는 선두에 도달했을 때 제거
+ */
+final class EmbeddedLine {
+
+  private static final long MISSING = -1;
+
+  private final OffHeapRing ring;
+  private final LongLongHashMap index;
+  private final LongLongHashMap lastSeen;
+  private final LongLongHashMap enqueuedAt;
+  private final Map<Long, Pass> passes = new HashMap<>();
+  private final Map<Long, Long> holding = new HashMap<>();
+
+  private long admitted;
+  private double tokens = Double.NaN;
+  private long tokensAt;
+  private double rate = Double.NaN;
+  private long rateAt;
+  private long decreasedAt;
+
+  EmbeddedLine(int capacity) {
+    this.ring = new OffHeapRing(capacity);
+    this.index = new LongLongHashMap(Math.min(capacity, 1 << 16));
+    this.lastSeen = new LongLongHashMap(Math.min(capacity, 1 << 16));
+    this.enqueuedAt = new LongLongHashMap(Math.min(capacity, 1 << 16));
+  }
+
+  /**
+   * @return { position, offset, 신규 진입 여부(1/0) }
+   */
+  synchronized long[] enqueue(long userId, int candidateOffset, long now) {
+    long entry = index.get(userId, MISSING);
+    if (entry == MISSING) {
+      long ticket = ring.push(userId);
+      index.put(userId, pack(ticket, candidateOffset));
+      lastSeen.put(userId, now);
+      enqueuedAt.put(userId, now);
+      return new long[] { ticket - ring.head(), candidateOffset, 1 };
+    }
+    long position = position(entry);
+    if (position >= 0) {
+      lastSeen.put(userId, now);
+    }
+    return new long[] { position, entry & 0xFF, 0 };
+  }
+
+  synchronized StatusRes status(long userId, long now) {
+    Pass pass = passes.get(userId);
+    if (pass != null && pass.expiresAt() > now) {
+      return new StatusRes(0, true, pass.token());
+    }
+    long entry = index.get(userId, MISSING);
+    long position = entry == MISSING ? -1 : position(entry);
+    if (position >= 0) {
+      lastSeen.put(userId, now);
+    }
+    return new StatusRes(position, false, null);
+  }
+
+  synchronized void touch(long userId, long now) {
+    long entry = index.get(userId, MISSING);
+    if (entry != MISSING && position(entry) >= 0) {
+      lastSeen.put(userId, now);
+    }
+  }
+
+  /**
+   * 선두의 이탈자를 최대 max명 제거
+   *
+   * @param dropped 제거된 userId (저널 기록용)
+   */
+  synchronized long purgeIdleHeads(long aliveSince, long max, LongConsumer dropped) {
+    long purged = 0;
+    while (purged < max && ring.size() > 0 && isIdle(ring.peek(), aliveSince)) {
+      dropped.accept(dropHead());
+      purged++;
+    }
+    return purged;
+  }
+
+  synchronized boolean consume(long userId, String passToken, long now, long holdMs) {
+    Pass pass = passes.get(userId);
+    if (pass == null || pass.expiresAt() <= now || !pass.token().equals(passToken)) {
+      return false;
+    }
+    passes.remove(userId);
+    holding.put(userId, now + holdMs);
+    return true;
+  }
+
+  /**
+   * 입장 슬롯 해제
+   *
+   * @return { 해제 여부(1/0), 허용량 반환 여부(1/0) }, 미소비 토큰을 폐기한 경우 저널 기록 필요
+   */
+  synchronized long[] release(long userId, boolean abandoned) {
+    if (passes.remove(userId) != null) {
+      return new long[] { 1, 1 };
+    }
+    if (holding.remove(userId) != null) {
+      return new long[] { 1, abandoned ? 1 : 0 };
+    }
+    return new long[] { 0, 0 };
+  }
+
+  /**
+   * 만료된 Pass Token 제거 (보유 기한이 지난 보유자도 함께 정리하되 집계하지 않음)
+   *
+   * @return 제거한 Pass Token 개수
+   */
+  synchronized long expirePasses(long now) {
+    holding.values().removeIf(deadline -> deadline <= now);
+    long expired = 0;
+    for (Iterator<Pass> it = passes.values().iterator(); it.hasNext();) {
+      if (it.next().expiresAt() <= now) {
+        it.remove();
+        expired++;
+      }
+    }
+    return expired;
+  }
+
+  synchronized long outstanding() {
+    return passes.size() + holding.size();
+  }
+
+  synchronized long waiting() {
+    return ring.size();
+  }
+
+  synchronized long admittedSoFar() {
+    return admitted;
+  }
+
+  /**
+   * 토큰 버킷 차감 (단일 노드이므로 항상 리더)
+   */
+  synchronized long acquire(long permitsPerMinute, double capacity, long max, long now) {
+    if (Double.isNaN(tokens)) {
+      tokens = capacity;
+      tokensAt = now;
+    }
+    tokens = Math.min(capacity, tokens + Math.max(0, now - tokensAt) * permitsPerMinute / 60000.0);
+    tokensAt = now;
+
+    long n = Math.min((long) Math.floor(tokens), max);
+    tokens -= n;
+    return n;
+  }
+
+  synchronized void refund(long permits) {
+    tokens += permits;
+  }
+
+  /**
+   * 입장 속도 AIMD 1단계 (rate.lua와 같은 규칙, 단일 노드이므로 항상 리더)
+   */
+  synchronized double adjustRate(int signal, RatePolicy policy, long now) {
+    if (Double.isNaN(rate)) {
+      rate = policy.initial();
+    }
+    if (signal == RatePolicy.UNKNOWN || now - rateAt < policy.controlMs()) {
+      return rate;
+    }
+    rateAt = now;
+    if (signal == RatePolicy.CONGESTED) {
+      if (now - decreasedAt >= policy.cooldownMs()) {
+        rate = Math.max(policy.min(), rate * policy.decreaseFactor());
+        decreasedAt = now;
+      }
+    } else {
+      rate = Math.min(policy.max(), rate + policy.increasePerTick());
+    }
+    return rate;
+  }
+
+  /**
+   * 선두부터 입장 처리, 이탈자는 최대 maxSkip명까지 제거하며 건너뜀
+   *
+   * @param dropped  건너뛴 이탈자 userId (저널 기록용)
+   * @param admitted 입장 처리된 (Pass Token, userId) (저널 기록용, dropped와 실제 처리 순서대로 통지)
+   * @return 입장 처리된 userId -> Pass Token + 진입 시각
+   */
+  synchronized Admission admit(List<String> passTokens, long expiresAt, long aliveSince, int maxSkip,
+      LongConsumer dropped, ObjLongConsumer<String> admitted) {
+    Map<String, String> result = new LinkedHashMap<>();
+    List<Long> since = new ArrayList<>(passTokens.size());
+    long skipped = 0;
+    for (String token : passTokens) {
+      skipped += purgeIdleHeads(aliveSince, maxSkip - skipped, dropped);
+      if (ring.size() == 0 || skipped >= maxSkip && isIdle(ring.peek(), aliveSince)) {
+        break;
+      }
+      since.add(enqueuedAt.get(ring.peek(), 0));
+      long userId = admitHead(token, expiresAt);
+      admitted.accept(token, userId);
+      result.put(Long.toString(userId), token);
+    }
+    return new Admission(result, since);
+  }
+
+  /**
+   * 저널 재생: 진입
+   */
+  synchronized void replayEnqueue(long userId, int offset, long at, long now) {
+    if (index.get(userId, MISSING) == MISSING) {
+      index.put(userId, pack(ring.push(userId), offset));
+      lastSeen.put(userId, now);
+      enqueuedAt.put(userId, at);
+    }
+  }
+
+  /**
+   * 저널 재생: 입장 (입장은 항상 선두 순서로 기록됨)
+   */
+  synchronized void replayAdmit(String token, long expiresAt) {
+    if (ring.size() > 0) {
+      admitHead(token, expiresAt);
+    }
+  }
+
+  /**
+   * 저널 재생: 이탈자 제거 (제거는 항상 선두에서만 일어남)
+   */
+  synchronized void replayPurge(long userId) {
+    if (ring.size() > 0 && ring.peek() == userId) {
+      dropHead();
+    }
+  }
+
+  /**
+   * 저널 재생: 소비
+   */
+  synchronized void replayConsume(long userId) {
+    passes.remove(userId);
+  }
+
+  private boolean isIdle(long userId, long aliveSince) {
+    return lastSeen.get(userId, Long.MAX_VALUE) < aliveSince;
+  }
+
+  /**
+   * 이탈자는 인덱스에서 완전히 제거하여 다시 진입하면 새 번호표를 받음
+   */
+  private long dropHead() {
+    long userId = ring.pop();
+    index.remove(userId);
+    lastSeen.remove(userId);
+    enqueuedAt.remove(userId);
+    return userId;
+  }
+
+  private long admitHead(String token, long expiresAt) {
+    long userId = ring.pop();
+    long entry = index.get(userId, MISSING);
+    index.put(userId, entry & 0xFF);
+    lastSeen.remove(userId);
+    enqueuedAt.remove(userId);
+    passes.put(userId, new Pass(token, expiresAt));
+    admitted++;
+    return userId;
+  }
+
+  private long position(long entry) {
+    long ticketPlusOne = entry >>> 8;
+    if (ticketPlusOne == 0) {
+      return -1;
+    }
+    return ticketPlusOne - 1 - ring.head();
+  }
+
+  private static long pack(long ticket, int offset) {
+    return ((ticket + 1) << 8) | (offset & 0xFF);
+  }
+
+  private record Pass(String token, long expiresAt) {
+  }
+}
@@ -0,0 +1,272 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.queue.dto.EnqueueRes;
+import com.chuz.reservex.queue.dto.StatusRes;
+import com.chuz.reservex.queue.line.Admission;
+import com.chuz.reservex.queue.store.QueueStore;
+import com.chuz.reservex.queue.store.RatePolicy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내장 대기열 저장소 (app.queue.store=embedded)
+ * - 네트워크 왕복 없이 JVM 안에서 처리 (상태 조회 수 μs)
+ * - 대기자는 off-heap 링 버퍼, 변경 내역은 메모리 매핑 저널에 기록 후 기동 시 재생
+ * - 단일 노드 전용 (노드 간 공유 없음, 입장 펌프는 항상 리더)
+ * - 이탈자는 링 버퍼 선두에 도달했을 때 정리되며, 재생된 대기자는 기동 시각에 조회한 것으로 간주
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.queue.store", havingValue = "embedded")
+public class EmbeddedQueueStore implements QueueStore, DisposableBean {
+
+  private final Map<Long, EmbeddedLine> lines = new ConcurrentHashMap<>();
+  private final Map<Long, Set<Long>> registered = new ConcurrentHashMap<>();
+  private final int capacityPerEvent;
+  private final QueueJournal journal;
+  /** 재생된 대기자의 생존 시각 기준 (재기동 직후 일괄 정리 방지) */
+  private final long replayedAt = System.currentTimeMillis();
+
+  /** 소비 후 보유 기한 */
+  @Value("${app.queue.pass.holdMs:600000}")
+  long holdMs = 600_000;
+
+  public EmbeddedQueueStore(
+      @Value("${app.queue.embedded.capacityPerEvent:1048576}") int capacityPerEvent,
+      @Value("${app.queue.embedded.journalPath:./data/queue.journal}") String journalPath,
+      @Value("${app.queue.embedded.journalSegmentBytes:67108864}") int journalSegmentBytes) {
+    this.capacityPerEvent = capacityPerEvent;
+    this.journal = new QueueJournal(Path.of(journalPath), journalSegmentBytes);
+    this.journal.replay(this::apply);
+    log.info("내장 대기열 저널 재생 완료: events={}, path={}", lines.size(), journalPath);
+  }
+
+  @Override
+  public List<Long> events() {
+    return new ArrayList<>(lines.keySet());
+  }
+
+  @Override
+  public EnqueueRes enqueue(Long eventId, Long userId, int candidateOffset) {
+    EmbeddedLine line = line(eventId);
+    long[] res;
+    synchronized (line) {
+      res = enqueue(line, eventId, userId, candidateOffset, System.currentTimeMillis());
+    }
+    return new EnqueueRes(userId.toString(), res[0], (int) res[1]);
+  }
+
+  @Override
+  public void register(Long eventId, Collection<Long> userIds) {
+    Set<Long> users = registered(eventId);
+    for (Long userId : userIds) {
+      if (users.add(userId)) {
+        journal.append(QueueJournal.REGISTER, eventId, userId, 0, null);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRegistered(Long eventId, Long userId) {
+    Set<Long> users = registered.get(eventId);
+    return users != null && users.contains(userId);
+  }
+
+  /**
+   * 단일 노드이므로 임대 없이 항상 적재
+   */
+  @Override
+  public List<Long> claimRegistered(Long eventId, String nodeId, long leaseMs) {
+    Set<Long> users = registered.get(eventId);
+    return users == null ? List.of() : new ArrayList<>(users);
+  }
+
+  @Override
+  public void load(Long eventId, List<Long> userIds, long firstScore, IntSupplier candidateOffset) {
+    EmbeddedLine line = line(eventId);
+    Set<Long> users = registered(eventId);
+    synchronized (line) {
+      long now = System.currentTimeMillis();
+      for (Long userId : userIds) {
+        enqueue(line, eventId, userId, candidateOffset.getAsInt(), now);
+        users.remove(userId);
+      }
+    }
+  }
+
+  @Override
+  public StatusRes status(Long eventId, Long userId) {
+    EmbeddedLine line = lines.get(eventId);
+    if (line == null) {
+      return new StatusRes(-1, false, null);
+    }
+    return line.status(userId, System.currentTimeMillis());
+  }
+
+  @Override
+  public void touch(Long eventId, Collection<Long> userIds) {
+    EmbeddedLine line = lines.get(eventId);
+    if (line == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (Long userId : userIds) {
+      line.touch(userId, now);
+    }
+  }
+
+  /**
+   * 링 버퍼 선두에 있는 이탈자만 정리 (중간의 이탈자는 선두에 도달한 뒤 정리)
+   */
+  @Override
+  public long purgeIdle(Long eventId, long aliveSince, int batch) {
+    EmbeddedLine line = lines.get(eventId);
+    if (line == null) {
+      return 0;
+    }
+    synchronized (line) {
+      return line.purgeIdleHeads(aliveSince, batch,
+          userId -> journal.append(QueueJournal.PURGE, eventId, userId, 0, null));
+    }
+  }
+
+  @Override
+  public boolean consume(Long eventId, Long userId, String passToken) {
+    EmbeddedLine line = lines.get(eventId);
+    if (line == null) {
+      return false;
+    }
+    synchronized (line) {
+      boolean consumed = line.consume(userId, passToken, System.currentTimeMillis(), holdMs);
+      if (consumed) {
+        journal.append(QueueJournal.CONSUME, eventId, userId, 0, null);
+      }
+      return consumed;
+    }
+  }
+
+  /**
+   * 미소비 토큰 폐기는 재생 시 되살아나지 않도록 소비로 기록 (보유자 해제 시 중복 기록은 재생에 영향 없음)
+   */
+  @Override
+  public boolean releasePass(Long eventId, Long userId, boolean abandoned) {
+    EmbeddedLine line = lines.get(eventId);
+    if (line == null) {
+      return false;
+    }
+    synchronized (line) {
+      long[] res = line.release(userId, abandoned);
+      if (res[0] == 1) {
+        journal.append(QueueJournal.CONSUME, eventId, userId, 0, null);
+      }
+      return res[1] == 1;
+    }
+  }
+
+  @Override
+  public long outstandingPasses(Long eventId) {
+    EmbeddedLine line = lines.get(eventId);
+    return line == null ? 0 : line.outstanding();
+  }
+
+  @Override
+  public long waiting(Long eventId) {
+    EmbeddedLine line = lines.get(eventId);
+    return line == null ? 0 : line.waiting();
+  }
+
+  @Override
+  public long admittedSoFar(Long eventId) {
+    EmbeddedLine line = lines.get(eventId);
+    return line == null ? 0 : line.admittedSoFar();
+  }
+
+  @Override
+  public long acquirePermits(Long eventId, String nodeId, long leaseMs, long permitsPerMinute, double capacity,
+      long max) {
+    return line(eventId).acquire(permitsPerMinute, capacity, max, System.currentTimeMillis());
+  }
+
+  @Override
+  public double adjustRate(Long eventId, String nodeId, int signal, RatePolicy policy) {
+    return line(eventId).adjustRate(signal, policy, System.currentTimeMillis());
+  }
+
+  @Override
+  public void refundPermits(Long eventId, long permits) {
+    line(eventId).refund(permits);
+  }
+
+  @Override
+  public Admission admit(Long eventId, List<String> passTokens, long passTtlSec, long aliveSince, int maxSkip) {
+    EmbeddedLine line = line(eventId);
+    long expiresAt = System.currentTimeMillis() + passTtlSec * 1000;
+    synchronized (line) {
+      return line.admit(passTokens, expiresAt, aliveSince, maxSkip,
+          userId -> journal.append(QueueJournal.PURGE, eventId, userId, 0, null),
+          (token, userId) -> journal.append(QueueJournal.ADMIT, eventId, userId, expiresAt, token));
+    }
+  }
+
+  @Override
+  public long expirePasses(Long eventId) {
+    EmbeddedLine line = lines.get(eventId);
+    return line == null ? 0 : line.expirePasses(System.currentTimeMillis());
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    journal.close();
+  }
+
+  private EmbeddedLine line(Long eventId) {
+    return lines.computeIfAbsent(eventId, id -> new EmbeddedLine(capacityPerEvent));
+  }
+
+  private Set<Long> registered(Long eventId) {
+    return registered.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet());
+  }
+
+  /**
+   * 호출자가 line 잠금을 잡은 상태에서 진입 처리 후 신규 진입만 저널에 기록
+   */
+  private long[] enqueue(EmbeddedLine line, Long eventId, Long userId, int candidateOffset, long now) {
+    long[] res = line.enqueue(userId, candidateOffset, now);
+    if (res[2] == 1) {
+      journal.append(QueueJournal.ENQUEUE, eventId, userId, now << 8 | (candidateOffset & 0xFF), null);
+    }
+    return res;
+  }
+
+  private void apply(byte type, long eventId, long userId, long value, String token) {
+    if (type == QueueJournal.REGISTER) {
+      registered(eventId).add(userId);
+      return;
+    }
+    EmbeddedLine line = line(eventId);
+    switch (type) {
+      case QueueJournal.ENQUEUE -> {
+        line.replayEnqueue(userId, (int) (value & 0xFF), value >>> 8, replayedAt);
+        registered(eventId).remove(userId);
+      }
+      case QueueJournal.ADMIT -> line.replayAdmit(token, value);
+      case QueueJournal.CONSUME -> line.replayConsume(userId);
+      case QueueJournal.PURGE -> line.replayPurge(userId);
+      default -> log.warn("알 수 없는 저널 레코드: type={}", type);
+    }
+  }
+}
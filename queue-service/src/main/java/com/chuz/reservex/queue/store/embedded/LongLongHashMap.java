@@ -0,0 +1,109 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import java.util.Arrays;
+
+/**
+ * primitive long -> long 해시 맵 (open addressing, linear probing)
+ * 박싱 없이 userId 인덱스를 유지하기 위한 용도, 동기화는 호출자 책임
+ */
+final class LongLongHashMap {
+
+  private static final long FREE = Long.MIN_VALUE;
+  private static final double LOAD_FACTOR = 0.5;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int size;
+
+  LongLongHashMap(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  long get(long key, long missing) {
+    for (int i = index(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        return values[i];
+      }
+      if (k == FREE) {
+        return missing;
+      }
+    }
+  }
+
+  void put(long key, long value) {
+    if (key == FREE) {
+      throw new IllegalArgumentException("지원하지 않는 key: " + key);
+    }
+    for (int i = index(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        values[i] = value;
+        return;
+      }
+      if (k == FREE) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+          rehash(keys.length << 1);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * 삭제 후 뒤따르는 probe 구간을 앞으로 당겨 빈 슬롯 없이 유지 (tombstone 없음)
+   */
+  void remove(long key) {
+    int hole = index(key);
+    while (keys[hole] != key) {
+      if (keys[hole] == FREE) {
+        return;
+      }
+      hole = (hole + 1) & mask;
+    }
+
+    for (int i = (hole + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+      int home = index(keys[i]);
+      // home이 (hole, i] 구간 밖이면 hole 자리로 당겨도 조회 경로가 끊기지 않음
+      if (((i - home) & mask) >= ((i - hole) & mask)) {
+        keys[hole] = keys[i];
+        values[hole] = values[i];
+        hole = i;
+      }
+    }
+    keys[hole] = FREE;
+    size--;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private int index(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != FREE) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    Arrays.fill(keys, FREE);
+    mask = capacity - 1;
+  }
+}
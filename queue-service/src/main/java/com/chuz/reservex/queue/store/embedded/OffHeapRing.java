@@ -0,0 +1,69 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import java.nio.ByteBuffer;
+
+/**
+ * off-heap 번호표 링 버퍼 (primitive userId 배열)
+ * 번호표 t의 userId는 (t & mask) 슬롯에 저장되며 head(다음 입장 번호표) ~ tail(다음 발급 번호표) 구간이 대기자
+ * 동기화는 호출자(EmbeddedLine) 책임
+ */
+final class OffHeapRing {
+
+  private final ByteBuffer slots;
+  private final long capacity;
+  private final long mask;
+
+  private long head;
+  private long tail;
+
+  /**
+   * @param capacity 2의 거듭제곱
+   */
+  OffHeapRing(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity는 2의 거듭제곱이어야 합니다: " + capacity);
+    }
+    this.slots = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Long.BYTES));
+    this.capacity = capacity;
+    this.mask = capacity - 1L;
+  }
+
+  /**
+   * @return 발급된 번호표
+   */
+  long push(long userId) {
+    if (tail - head == capacity) {
+      throw new IllegalStateException("대기열이 가득 찼습니다.");
+    }
+    slots.putLong(slot(tail), userId);
+    return tail++;
+  }
+
+  /**
+   * 선두 userId를 꺼냄 (비어 있으면 호출하지 않음)
+   */
+  long pop() {
+    long userId = slots.getLong(slot(head));
+    head++;
+    return userId;
+  }
+
+  /**
+   * 선두 userId 조회 (비어 있으면 호출하지 않음)
+   */
+  long peek() {
+    return slots.getLong(slot(head));
+  }
+
+  long head() {
+    return head;
+  }
+
+  long size() {
+    return tail - head;
+  }
+
+  private int slot(long ticket) {
+    return (int) (ticket & mask) * Long.BYTES;
+  }
+}
@@ -0,0 +1,133 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 메모리 매핑 append-only 저널 (내장 대기열 장애 복구용)
+ * - 레코드는 파일 끝에 연속 기록, 매핑 구간이 차면 다음 구간을 이어서 매핑
+ * - 페이지 캐시에 기록되므로 프로세스 장애 시 복구 가능 (OS 장애 대비는 force 주기에 따름)
+ *
+ * <pre>
+ * [type:1][eventId:8][userId:8][value:8][tokenLen:2][token:n]
+ * </pre>
+ */
+final class QueueJournal implements Closeable {
+
+  static final byte ENQUEUE = 1; // value = 진입 시각(ms) << 8 | 표시 오프셋
+  static final byte ADMIT = 2;   // value = Pass Token 만료 시각(ms), token 포함
+  static final byte CONSUME = 3;
+  static final byte PURGE = 4;   // 선두 이탈자 제거
+  static final byte REGISTER = 5; // 판매 시작 전 사전 등록 (적재 시 ENQUEUE 레코드가 등록을 해제)
+
+  private static final int HEADER_BYTES = 1 + 8 + 8 + 8 + 2;
+
+  private final FileChannel channel;
+  private final int segmentBytes;
+
+  private MappedByteBuffer segment;
+  private long segmentStart;
+
+  QueueJournal(Path path, int segmentBytes) {
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      this.channel = FileChannel.open(path,
+          StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.segmentBytes = segmentBytes;
+    } catch (IOException e) {
+      throw new UncheckedIOException("저널 파일을 열 수 없습니다: " + path, e);
+    }
+  }
+
+  /**
+   * 저널 재생 후 마지막 레코드 뒤부터 이어쓰기 준비
+   */
+  void replay(RecordHandler handler) {
+    try {
+      long size = channel.size();
+      long offset = 0;
+      while (offset + HEADER_BYTES <= size) {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+            Math.min(size - offset, (long) segmentBytes));
+        int start = buf.position();
+        while (buf.remaining() >= HEADER_BYTES) {
+          int recordStart = buf.position();
+          byte type = buf.get();
+          if (type == 0) {
+            remapAt(offset + recordStart);
+            return;
+          }
+          long eventId = buf.getLong();
+          long userId = buf.getLong();
+          long value = buf.getLong();
+          int tokenLen = buf.getShort();
+          if (buf.remaining() < tokenLen) {
+            buf.position(recordStart);
+            break;
+          }
+          String token = null;
+          if (tokenLen > 0) {
+            byte[] bytes = new byte[tokenLen];
+            buf.get(bytes);
+            token = new String(bytes, StandardCharsets.UTF_8);
+          }
+          handler.handle(type, eventId, userId, value, token);
+        }
+        if (buf.position() == start) {
+          break;
+        }
+        offset += buf.position();
+      }
+      remapAt(offset);
+    } catch (IOException e) {
+      throw new UncheckedIOException("저널 재생 실패", e);
+    }
+  }
+
+  synchronized void append(byte type, long eventId, long userId, long value, String token) {
+    byte[] bytes = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    int length = HEADER_BYTES + bytes.length;
+    if (segment == null || segment.remaining() < length) {
+      remapAt(segment == null ? segmentStart : segmentStart + segment.position());
+    }
+    segment.put(type).putLong(eventId).putLong(userId).putLong(value).putShort((short) bytes.length).put(bytes);
+  }
+
+  /**
+   * 페이지 캐시를 디스크에 반영
+   */
+  synchronized void force() {
+    if (segment != null) {
+      segment.force();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    force();
+    channel.close();
+  }
+
+  private void remapAt(long offset) {
+    try {
+      segmentStart = offset;
+      segment = channel.map(FileChannel.MapMode.READ_WRITE, offset, segmentBytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("저널 매핑 실패", e);
+    }
+  }
+
+  @FunctionalInterface
+  interface RecordHandler {
+    void handle(byte type, long eventId, long userId, long value, String token);
+  }
+}
@@ -0,0 +1,25 @@
+-- 입장 펌프: 리더 임대 + 토큰 버킷 차감
+-- KEYS[1] = 리더 임대 키, KEYS[2] = 토큰 버킷 HASH
+-- ARGV[1] = nodeId, ARGV[2] = 임대 시간(ms), ARGV[3] = 분당 허용 인원, ARGV[4] = 버킷 용량, ARGV[5] = 이번 tick 최대 입장 수
+-- 반환: 이번 tick에 입장시킬 인원 (-1 = 다른 노드가 리더)
+local owner = redis.call('GET', KEYS[1])
+if owner and owner ~= ARGV[1] then
+  return -1
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+
+-- 노드 간 시계 차이를 피하기 위해 Redis 서버 시간 사용
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+local rate = tonumber(ARGV[3]) / 60000
+local capacity = tonumber(ARGV[4])
+
+local bucket = redis.call('HMGET', KEYS[2], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local n = math.min(math.floor(tokens), tonumber(ARGV[5]))
+
+redis.call('HSET', KEYS[2], 'tokens', tostring(tokens - n), 'ts', tostring(now))
+return n
@@ -0,0 +1,49 @@
+-- 입장 펌프 (ZSET / SHARDED 모드): 호출자가 읽은 선두 후보를 순서대로 입장 + Pass Token 일괄 발급
+-- 후보별 키를 KEYS로 전달받으므로 스크립트는 선언된 키만 접근 (후보는 ZRANGE로 읽은 선두, 그 사이 빠진 후보는 무시)
+-- 생존 인덱스상 마지막 조회가 기준 시각 이전인 후보(이탈자)는 건너뛰고 마커를 정리
+-- KEYS[1] = 대기열 ZSET, KEYS[2] = 누적 입장 인원, KEYS[3] = 생존 인덱스, KEYS[4] = 미소비 Pass Token 만료 인덱스
+-- KEYS[5..] = 후보별 { Pass Token, 소비 마커, 진입 마커 버킷 } (후보 순서)
+-- ARGV[1] = Pass Token TTL(초), ARGV[2] = 생존 기준 시각(ms), ARGV[3] = 후보 수 n
+-- ARGV[4..3+n] = 후보 userId, ARGV[4+n..] = 발급할 토큰
+-- 반환: { 입장 처리된 userId 목록, 각 사용자의 진입 시각(ms) 목록 (진입 마커가 없으면 0), 건너뛴 이탈자 수 }
+local aliveSince = tonumber(ARGV[2])
+local n = tonumber(ARGV[3])
+local firstToken = 4 + n
+local want = #ARGV - firstToken + 1
+
+local t = redis.call('TIME')
+local expiresAt = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) + tonumber(ARGV[1]) * 1000
+
+local admitted = {}
+local enqueuedAt = {}
+local skipped = 0
+for i = 1, n do
+  if #admitted >= want then
+    break
+  end
+  local userId = ARGV[3 + i]
+  local pass, used, member = KEYS[2 + 3 * i], KEYS[3 + 3 * i], KEYS[4 + 3 * i]
+  local field = tonumber(userId) % 128
+  if redis.call('ZREM', KEYS[1], userId) == 1 then
+    local seen = redis.call('ZSCORE', KEYS[3], userId)
+    redis.call('ZREM', KEYS[3], userId)
+    if seen and tonumber(seen) < aliveSince then
+      redis.call('HDEL', member, field)
+      skipped = skipped + 1
+    else
+      redis.call('SET', pass, ARGV[firstToken + #admitted], 'EX', ARGV[1])
+      -- 재입장이면 이전 토큰의 소비 마커 제거 (새 토큰을 이전 소비로 막지 않도록)
+      redis.call('DEL', used)
+      redis.call('ZADD', KEYS[4], expiresAt, userId)
+      local packed = tonumber(redis.call('HGET', member, field) or '0')
+      enqueuedAt[#admitted + 1] = math.floor(packed / 64)
+      admitted[#admitted + 1] = userId
+    end
+  end
+end
+
+if #admitted > 0 then
+  redis.call('INCRBY', KEYS[2], #admitted)
+end
+
+return { admitted, enqueuedAt, skipped }
@@ -0,0 +1,15 @@
+-- Pass Token 검증 및 소비 (GET + DEL 원자 처리)
+-- 소비한 사용자는 구매가 끝날 때까지(해제 또는 보유 기한) 보유 인덱스에 남아 입장 슬롯을 차지
+-- KEYS[1] = Pass Token, KEYS[2] = 미소비 Pass Token 만료 인덱스, KEYS[3] = 보유 인덱스
+-- ARGV[1] = 제출된 토큰, ARGV[2] = userId, ARGV[3] = 보유 기한(ms)
+-- 반환: 1 = 소비 성공, 0 = 불일치/만료
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+  redis.call('DEL', KEYS[1])
+  redis.call('ZREM', KEYS[2], ARGV[2])
+  local t = redis.call('TIME')
+  local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+  redis.call('ZADD', KEYS[3], now + tonumber(ARGV[3]), ARGV[2])
+  return 1
+end
+
+return 0
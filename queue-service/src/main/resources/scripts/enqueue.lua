@@ -0,0 +1,28 @@
+-- 대기열 진입 (멱등)
+-- 진입 마커 + 표시 오프셋은 이벤트 공용 버킷 HASH에 저장 (QueueKeys.memberKey, 버킷당 128명, field = userId % 128)
+--   값 = 진입 시각(ms) * 64 + 오프셋, 진입 시각 + 마커 TTL이 지난 값은 없는 것으로 간주 (버킷 TTL은 쓰기마다 갱신)
+-- KEYS[1] = 대기열 ZSET, KEYS[2] = 진입 마커 버킷, KEYS[3] = 생존 인덱스
+-- ARGV[1] = userId, ARGV[2] = 진입 시각(ms), ARGV[3] = 마커 TTL(초), ARGV[4] = 신규 진입 시 사용할 오프셋
+-- ARGV[5] = 정렬 score (생략 시 진입 시각, 사전 등록자 일괄 적재 시 섞은 순서대로 지정)
+-- 반환: { rank(-1 = 대기열에 없음), offset }
+local field = tostring(tonumber(ARGV[1]) % 128)
+local now = tonumber(ARGV[2])
+local packed = tonumber(redis.call('HGET', KEYS[2], field) or '0')
+local offset
+if packed > 0 and math.floor(packed / 64) + tonumber(ARGV[3]) * 1000 > now then
+  offset = packed % 64
+else
+  redis.call('ZADD', KEYS[1], 'NX', ARGV[5] or ARGV[2], ARGV[1])
+  offset = tonumber(ARGV[4])
+  redis.call('HSET', KEYS[2], field, string.format('%d', now * 64 + offset))
+  redis.call('EXPIRE', KEYS[2], ARGV[3])
+end
+
+local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+if not rank then
+  rank = -1
+else
+  redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+end
+
+return { rank, offset }
@@ -0,0 +1,31 @@
+-- 만료된 Pass Token 정리 + 보유 기한이 지난 보유자 정리
+-- Pass Token 키는 TTL로 사라지므로 입장 시 함께 기록한 만료 인덱스에서 만료분만 제거하고 미소비 개수 반환
+-- ticket-service가 로컬 검증으로 소비한 토큰(소비 마커 있음)은 미소비로 세지 않고 소비 시각 기준 보유 인덱스로 옮김
+-- 호출자가 만료 인덱스에서 만료 후보를 읽어 후보별 소비 마커를 KEYS로 전달 (선언된 키만 접근, 만료 여부는 서버 시각으로 재확인)
+-- KEYS[1] = 미소비 Pass Token 만료 인덱스 (ZSET, score = 만료 시각 ms, Redis 서버 시각 기준)
+-- KEYS[2] = 보유 인덱스 (ZSET, score = 보유 기한 ms), KEYS[3..] = 후보별 소비 마커
+-- ARGV[1] = 보유 기한(ms), ARGV[2..] = 후보 userId
+-- 반환: 이번에 만료 처리된 미소비 Pass Token 개수 (보유 기한 만료는 집계하지 않음)
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+
+local unused = 0
+for i = 2, #ARGV do
+  local userId = ARGV[i]
+  local expiresAt = redis.call('ZSCORE', KEYS[1], userId)
+  if expiresAt and tonumber(expiresAt) <= now then
+    redis.call('ZREM', KEYS[1], userId)
+    local usedAt = redis.call('GET', KEYS[i + 1])
+    if usedAt then
+      -- 보유 기한이 이미 지났으면 구매가 끝난 것으로 보고 반환하지 않음
+      local deadline = tonumber(usedAt) + tonumber(ARGV[1])
+      if deadline > now then
+        redis.call('ZADD', KEYS[2], deadline, userId)
+      end
+    else
+      unused = unused + 1
+    end
+  end
+end
+return unused
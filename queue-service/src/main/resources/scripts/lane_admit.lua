@@ -0,0 +1,129 @@
+-- 입장 펌프 (LANES 모드): 레인별 Deficit Round Robin으로 N명 입장 + Pass Token 일괄 발급
+-- 호출자가 레인마다 선두 후보를 읽어 후보별 키를 KEYS로 전달 (선언된 키만 접근, 그 사이 빠진 후보는 무시)
+-- 적자가 남았는데 레인의 후보를 다 쓰면 그 레인에서 중단 (다음 호출이 후보를 다시 읽어 남은 적자로 이어서 진행)
+-- 라운드마다 대기자가 있는 레인에 가중치만큼 적자(deficit)를 더하고, 적자 1당 1명 입장
+-- 대기자가 없는 레인은 적자를 0으로 초기화 (빈 레인이 몫을 쌓아두지 않음)
+-- 배치가 레인 중간에서 끝나면 다음 호출은 같은 레인부터 남은 적자로 이어서 진행 (tick 경계와 무관하게 비율 유지)
+-- 생존 인덱스상 마지막 조회가 기준 시각 이전인 선두(이탈자)는 적자를 쓰지 않고 건너뛰며 마커를 정리
+-- KEYS[1] = 누적 입장 인원, KEYS[2] = 생존 인덱스, KEYS[3] = 미소비 Pass Token 만료 인덱스, KEYS[4] = DRR 상태
+-- KEYS[5..4+n] = 레인 ZSET (설정 순서), KEYS[5+n..] = 후보별 { Pass Token, 소비 마커, 진입 마커 버킷 } (ARGV 후보 순서)
+-- ARGV[1] = Pass Token TTL(초), ARGV[2] = 후보 수 합계 c, ARGV[3] = 생존 기준 시각(ms), ARGV[4] = 최대 건너뛰기 수
+-- ARGV[5] = 레인 수 n, ARGV[6..5+n] = 레인 가중치, ARGV[6+n..5+2n] = 레인 이름, ARGV[6+2n..5+3n] = 레인별 후보 수
+-- ARGV[6+3n..5+3n+c] = 후보 userId (레인 순서, 레인 안에서는 선두부터), ARGV[6+3n+c..] = 발급할 토큰
+-- 반환: { 입장 처리된 userId 목록, 각 사용자의 진입 시각(ms) 목록 (진입 마커가 없으면 0), 건너뛴 이탈자 수 }
+local aliveSince = tonumber(ARGV[3])
+local maxSkip = tonumber(ARGV[4])
+local n = tonumber(ARGV[5])
+local firstCandidate = 6 + 3 * n
+local firstToken = firstCandidate + tonumber(ARGV[2])
+local want = #ARGV - firstToken + 1
+
+-- 레인별 후보 범위 (후보 번호 c의 키는 KEYS[4 + n + 3c - 2 .. 4 + n + 3c])
+local nextCandidate = {}
+local endCandidate = {}
+local c = 0
+for lane = 1, n do
+  nextCandidate[lane] = c + 1
+  c = c + tonumber(ARGV[5 + 2 * n + lane])
+  endCandidate[lane] = c
+end
+
+local t = redis.call('TIME')
+local expiresAt = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) + tonumber(ARGV[1]) * 1000
+
+local deficit = {}
+for lane = 1, n do
+  deficit[lane] = tonumber(redis.call('HGET', KEYS[4], ARGV[5 + n + lane]) or '0')
+end
+local cursor = tonumber(redis.call('HGET', KEYS[4], '_next') or '1')
+if cursor > n then
+  cursor = 1
+end
+local resume = redis.call('HGET', KEYS[4], '_resume') == '1'
+
+local admitted = {}
+local enqueuedAt = {}
+local skipped = 0
+local stoppedAt = nil
+local exhausted = false
+
+-- 레인 1개 방문: 적자가 남아 있는 동안 선두를 1명씩 입장
+local function serve(lane)
+  local key = KEYS[4 + lane]
+  while deficit[lane] >= 1 and #admitted < want and skipped <= maxSkip do
+    local candidate = nextCandidate[lane]
+    if candidate > endCandidate[lane] then
+      -- 후보를 다 썼는데 대기자가 남았으면 다음 호출이 다시 읽도록 중단
+      exhausted = redis.call('ZCARD', key) > 0
+      break
+    end
+    nextCandidate[lane] = candidate + 1
+    local userId = ARGV[firstCandidate + candidate - 1]
+    local base = 4 + n + 3 * candidate
+    local pass, used, member = KEYS[base - 2], KEYS[base - 1], KEYS[base]
+    local field = tonumber(userId) % 128
+    if redis.call('ZREM', key, userId) == 1 then
+      local seen = redis.call('ZSCORE', KEYS[2], userId)
+      redis.call('ZREM', KEYS[2], userId)
+      if seen and tonumber(seen) < aliveSince then
+        redis.call('HDEL', member, field)
+        skipped = skipped + 1
+      else
+        redis.call('SET', pass, ARGV[firstToken + #admitted], 'EX', ARGV[1])
+        -- 재입장이면 이전 토큰의 소비 마커 제거 (새 토큰을 이전 소비로 막지 않도록)
+        redis.call('DEL', used)
+        redis.call('ZADD', KEYS[3], expiresAt, userId)
+        local packed = tonumber(redis.call('HGET', member, field) or '0')
+        enqueuedAt[#admitted + 1] = math.floor(packed / 64)
+        admitted[#admitted + 1] = userId
+        deficit[lane] = deficit[lane] - 1
+      end
+    end
+  end
+  if redis.call('ZCARD', key) == 0 then
+    deficit[lane] = 0
+  end
+end
+
+while #admitted < want and skipped <= maxSkip and stoppedAt == nil do
+  local active = false
+  for step = 0, n - 1 do
+    local lane = (cursor - 1 + step) % n + 1
+    local fresh = not resume
+    resume = false
+    if redis.call('ZCARD', KEYS[4 + lane]) == 0 then
+      deficit[lane] = 0
+    else
+      active = true
+      if fresh then
+        deficit[lane] = deficit[lane] + tonumber(ARGV[5 + lane])
+      end
+      serve(lane)
+      if #admitted >= want or skipped > maxSkip or exhausted then
+        stoppedAt = lane
+        break
+      end
+    end
+  end
+  if not active then
+    break
+  end
+end
+
+-- 중단한 레인에 적자가 남았으면 다음 호출은 가중치를 다시 더하지 않고 그 레인부터 이어서 진행
+if stoppedAt ~= nil and deficit[stoppedAt] >= 1 then
+  redis.call('HSET', KEYS[4], '_next', stoppedAt, '_resume', '1')
+elseif stoppedAt ~= nil then
+  redis.call('HSET', KEYS[4], '_next', stoppedAt % n + 1, '_resume', '0')
+else
+  redis.call('HSET', KEYS[4], '_next', cursor, '_resume', '0')
+end
+for lane = 1, n do
+  redis.call('HSET', KEYS[4], ARGV[5 + n + lane], deficit[lane])
+end
+
+if #admitted > 0 then
+  redis.call('INCRBY', KEYS[1], #admitted)
+end
+
+return { admitted, enqueuedAt, skipped }
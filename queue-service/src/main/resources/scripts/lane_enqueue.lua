@@ -0,0 +1,41 @@
+-- 대기열 진입 (LANES 모드, 멱등)
+-- 이미 진입한 사용자는 처음 배정된 레인 유지
+-- 진입 마커 + 표시 오프셋은 이벤트 공용 버킷 HASH에 저장 (QueueKeys.memberKey, 버킷당 128명, field = userId % 128)
+--   값 = 진입 시각(ms) * 64 + 오프셋, 진입 시각 + 마커 TTL이 지난 값은 없는 것으로 간주 (버킷 TTL은 쓰기마다 갱신)
+-- KEYS[1] = 진입 마커 버킷, KEYS[2] = 생존 인덱스, KEYS[3..] = 레인 ZSET (설정 순서)
+-- ARGV[1] = userId, ARGV[2] = 진입 시각(ms), ARGV[3] = 마커 TTL(초), ARGV[4] = 신규 진입 시 사용할 오프셋
+-- ARGV[5] = 배정 레인 번호(1부터), ARGV[6] = 정렬 score (빈 문자열이면 진입 시각), ARGV[7..] = 레인 가중치
+-- 반환: { position(-1 = 대기열에 없음), offset }
+local lanes = #KEYS - 2
+local field = tostring(tonumber(ARGV[1]) % 128)
+local now = tonumber(ARGV[2])
+local packed = tonumber(redis.call('HGET', KEYS[1], field) or '0')
+local offset
+if packed > 0 and math.floor(packed / 64) + tonumber(ARGV[3]) * 1000 > now then
+  offset = packed % 64
+else
+  local score = ARGV[6] ~= '' and ARGV[6] or ARGV[2]
+  redis.call('ZADD', KEYS[2 + tonumber(ARGV[5])], 'NX', score, ARGV[1])
+  offset = tonumber(ARGV[4])
+  redis.call('HSET', KEYS[1], field, string.format('%d', now * 64 + offset))
+  redis.call('EXPIRE', KEYS[1], ARGV[3])
+end
+
+-- 순번 = 내 레인 rank + 가중치 비율만큼 다른 레인에서 먼저 입장할 인원 (레인 크기 이내)
+for lane = 1, lanes do
+  local rank = redis.call('ZRANK', KEYS[2 + lane], ARGV[1])
+  if rank then
+    local weight = tonumber(ARGV[6 + lane])
+    local position = rank
+    for other = 1, lanes do
+      if other ~= lane then
+        local share = math.floor((rank + 1) * tonumber(ARGV[6 + other]) / weight)
+        position = position + math.min(redis.call('ZCARD', KEYS[2 + other]), share)
+      end
+    end
+    redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+    return { position, offset }
+  end
+end
+
+return { -1, offset }
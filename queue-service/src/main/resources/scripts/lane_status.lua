@@ -0,0 +1,28 @@
+-- 대기열 상태 조회 (LANES 모드)
+-- 대기 중이면 생존 인덱스의 마지막 조회 시각만 갱신
+-- KEYS[1] = Pass Token, KEYS[2] = 생존 인덱스, KEYS[3..] = 레인 ZSET (설정 순서)
+-- ARGV[1] = userId, ARGV[2] = 조회 시각(ms), ARGV[3..] = 레인 가중치
+-- 반환: { position, passToken? }
+local pass = redis.call('GET', KEYS[1])
+if pass then
+  return { 0, pass }
+end
+
+local lanes = #KEYS - 2
+for lane = 1, lanes do
+  local rank = redis.call('ZRANK', KEYS[2 + lane], ARGV[1])
+  if rank then
+    local weight = tonumber(ARGV[2 + lane])
+    local position = rank
+    for other = 1, lanes do
+      if other ~= lane then
+        local share = math.floor((rank + 1) * tonumber(ARGV[2 + other]) / weight)
+        position = position + math.min(redis.call('ZCARD', KEYS[2 + other]), share)
+      end
+    end
+    redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+    return { position }
+  end
+end
+
+return { -1 }
@@ -0,0 +1,24 @@
+-- 이탈 대기자 정리 (ZSET / SHARDED / LANES 모드, 배치 1회)
+-- 호출자가 생존 인덱스에서 기준 시각 이전 대기자를 읽어 사용자별 진입 마커 버킷을 KEYS로 전달 (선언된 키만 접근)
+-- 그 사이 다시 조회해 시각이 갱신된 대기자는 제외
+-- KEYS[1] = 생존 인덱스, KEYS[2..1+q] = 대기열 ZSET (LANES 모드는 레인 전체), KEYS[2+q..] = 후보별 진입 마커 버킷
+-- ARGV[1] = 생존 기준 시각(ms), ARGV[2] = 대기열 ZSET 수 q, ARGV[3..] = 후보 userId
+-- 반환: 제거한 인원
+local aliveSince = tonumber(ARGV[1])
+local q = tonumber(ARGV[2])
+
+local purged = 0
+for i = 3, #ARGV do
+  local userId = ARGV[i]
+  local seen = redis.call('ZSCORE', KEYS[1], userId)
+  if seen and tonumber(seen) < aliveSince then
+    redis.call('ZREM', KEYS[1], userId)
+    for k = 2, 1 + q do
+      redis.call('ZREM', KEYS[k], userId)
+    end
+    redis.call('HDEL', KEYS[q + i - 1], tonumber(userId) % 128)
+    purged = purged + 1
+  end
+end
+
+return purged
@@ -0,0 +1,30 @@
+-- 입장 속도 AIMD 1단계 (펌프 리더만 갱신, 다른 노드는 저장된 값만 읽음)
+-- KEYS[1] = 리더 임대 키, KEYS[2] = 토큰 버킷 HASH (rate, rate_ts, decreased_at 필드)
+-- ARGV[1] = nodeId, ARGV[2] = 신호 (1 = 과부하, 0 = 여유, -1 = 신호 없음)
+-- ARGV[3] = 초기 속도, ARGV[4] = 하한, ARGV[5] = 상한, ARGV[6] = 증가량, ARGV[7] = 감소 배율
+-- ARGV[8] = 연속 감소 최소 간격(ms), ARGV[9] = 조정 주기(ms)
+-- 반환: 분당 입장 인원 (소수가 잘리지 않도록 문자열)
+local state = redis.call('HMGET', KEYS[2], 'rate', 'rate_ts', 'decreased_at')
+local rate = tonumber(state[1]) or tonumber(ARGV[3])
+if redis.call('GET', KEYS[1]) ~= ARGV[1] or ARGV[2] == '-1' then
+  return tostring(rate)
+end
+
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+if now - (tonumber(state[2]) or 0) < tonumber(ARGV[9]) then
+  return tostring(rate)
+end
+
+local decreasedAt = tonumber(state[3]) or 0
+if ARGV[2] == '1' then
+  if now - decreasedAt >= tonumber(ARGV[8]) then
+    rate = math.max(tonumber(ARGV[4]), rate * tonumber(ARGV[7]))
+    decreasedAt = now
+  end
+else
+  rate = math.min(tonumber(ARGV[5]), rate + tonumber(ARGV[6]))
+end
+
+redis.call('HSET', KEYS[2], 'rate', tostring(rate), 'rate_ts', tostring(now), 'decreased_at', tostring(decreasedAt))
+return tostring(rate)
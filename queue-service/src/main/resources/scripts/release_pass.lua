@@ -0,0 +1,20 @@
+-- 입장 슬롯 조기 해제 (ticket-service가 예매 완료/포기 시 호출, 멱등)
+-- 미소비 Pass Token이면 토큰을 폐기하고, 소비 후 보유 중이면 보유 인덱스에서 제거
+-- ticket-service가 로컬 검증으로 소비한 토큰은 Pass Token 키가 남아 있으므로 소비 마커로 보유 중 여부를 판단
+-- KEYS[1] = Pass Token, KEYS[2] = 미소비 Pass Token 만료 인덱스, KEYS[3] = 보유 인덱스, KEYS[4] = 소비 마커
+-- ARGV[1] = userId, ARGV[2] = 포기 여부 (1 = 예매 포기/취소, 0 = 예매 완료)
+-- 반환: { 해제 여부(1/0), 입장 허용량 반환 여부(1/0) }
+--   미소비 토큰 폐기는 항상 반환, 보유 해제는 포기일 때만 반환 (완료된 구매는 허용량을 정상 사용한 것)
+--   소비 마커는 토큰 재사용을 막아야 하므로 지우지 않음 (TTL로 정리)
+local unused = redis.call('DEL', KEYS[1])
+redis.call('ZREM', KEYS[2], ARGV[1])
+local held = redis.call('ZREM', KEYS[3], ARGV[1])
+local abandoned = ARGV[2] == '1' and 1 or 0
+
+if unused == 1 and redis.call('EXISTS', KEYS[4]) == 0 then
+  return { 1, 1 }
+end
+if unused == 1 or held == 1 then
+  return { 1, abandoned }
+end
+return { 0, 0 }
@@ -0,0 +1,17 @@
+-- 대기열 상태 조회 (SHARDED 모드, 사용자 샤드 1개 대상)
+-- 대기 중이면 샤드 생존 인덱스의 마지막 조회 시각만 갱신
+-- KEYS[1] = Pass Token, KEYS[2] = 샤드 ZSET, KEYS[3] = 샤드 생존 인덱스
+-- ARGV[1] = userId, ARGV[2] = 조회 시각(ms)
+-- 반환: { 0, 0, passToken } | { -1 } | { 샤드 내 rank, score }
+local pass = redis.call('GET', KEYS[1])
+if pass then
+  return { 0, 0, pass }
+end
+
+local score = redis.call('ZSCORE', KEYS[2], ARGV[1])
+if not score then
+  return { -1 }
+end
+
+redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+return { redis.call('ZRANK', KEYS[2], ARGV[1]), score }
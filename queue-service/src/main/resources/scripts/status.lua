@@ -0,0 +1,17 @@
+-- 대기열 상태 조회 (입장 판단은 AdmissionPump 담당)
+-- 대기 중이면 생존 인덱스의 마지막 조회 시각만 갱신
+-- KEYS[1] = Pass Token, KEYS[2] = 대기열 ZSET, KEYS[3] = 생존 인덱스
+-- ARGV[1] = userId, ARGV[2] = 조회 시각(ms)
+-- 반환: { position, passToken? }
+local pass = redis.call('GET', KEYS[1])
+if pass then
+  return { 0, pass }
+end
+
+local rank = redis.call('ZRANK', KEYS[2], ARGV[1])
+if not rank then
+  return { -1 }
+end
+
+redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+return { rank }
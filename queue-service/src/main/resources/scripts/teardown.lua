@@ -0,0 +1,6 @@
+-- 종료 이벤트 키 정리 (배치 1회)
+-- 애플리케이션이 SCAN으로 찾은 키를 UNLINK (큰 ZSET/HASH도 메모리 해제는 Redis 백그라운드 스레드에서 처리)
+-- 키는 모두 KEYS로 전달받으므로 같은 해시 태그(슬롯)의 선언된 키만 접근
+-- KEYS = 삭제할 키 (최대 batch개, 같은 해시 태그)
+-- 반환: 삭제한 키 수
+return redis.call('UNLINK', unpack(KEYS))
@@ -0,0 +1,67 @@
+-- 입장 펌프 (TICKET 모드): serving 카운터를 전진하며 Pass Token 일괄 발급
+-- 호출자가 serving 다음 번호표들을 읽어 주인이 있는 번호표와 사용자별 키를 KEYS로 전달 (선언된 키만 접근)
+-- 빈 번호표(이탈 정리됨)와 생존 기준 시각 이전 대기자는 건너뜀 (합계 최대 건너뛰기 수까지)
+-- KEYS[1] = serving 카운터, KEYS[2] = userId -> 번호표 HASH, KEYS[3] = 번호표 -> userId HASH
+--   KEYS[4] = 생존 인덱스, KEYS[5] = 미소비 Pass Token 만료 인덱스
+--   KEYS[6..] = 후보별 { Pass Token, 소비 마커, 진입 마커 버킷 } (번호표 순서)
+-- ARGV[1] = Pass Token TTL(초), ARGV[2] = 생존 기준 시각(ms), ARGV[3] = 최대 건너뛰기 수
+-- ARGV[4] = 후보를 읽을 때의 serving, ARGV[5] = 읽은 마지막 번호표, ARGV[6] = 후보 수 n
+-- ARGV[7..6+2n] = 후보 { 번호표, userId }, ARGV[7+2n..] = 발급할 토큰
+-- 반환: { 입장 처리된 userId 목록, 각 사용자의 진입 시각(ms) 목록 (진입 마커가 없으면 0), 건너뛴 수 }
+--   (serving이 읽은 뒤 바뀌었으면 아무것도 하지 않고 건너뛴 수 -1 반환 → 호출자가 다시 읽음)
+local aliveSince = tonumber(ARGV[2])
+local maxSkip = tonumber(ARGV[3])
+local serving = tonumber(redis.call('GET', KEYS[1]) or '0')
+if serving ~= tonumber(ARGV[4]) then
+  return { {}, {}, -1 }
+end
+local last = tonumber(ARGV[5])
+local n = tonumber(ARGV[6])
+local firstToken = 7 + 2 * n
+local want = #ARGV - firstToken + 1
+
+local t = redis.call('TIME')
+local expiresAt = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) + tonumber(ARGV[1]) * 1000
+
+-- admitted[k]는 항상 ARGV[firstToken - 1 + k] 토큰을 받음
+local admitted = {}
+local enqueuedAt = {}
+local skipped = 0
+local ticket = serving
+local i = 1
+while #admitted < want and ticket < last and skipped <= maxSkip do
+  ticket = ticket + 1
+  local userId = nil
+  if i <= n and tonumber(ARGV[5 + 2 * i]) == ticket then
+    userId = ARGV[6 + 2 * i]
+    i = i + 1
+  end
+  if userId and redis.call('HGET', KEYS[3], ticket) == userId then
+    local pass, used, member = KEYS[3 + 3 * (i - 1)], KEYS[4 + 3 * (i - 1)], KEYS[5 + 3 * (i - 1)]
+    local field = tonumber(userId) % 128
+    redis.call('HDEL', KEYS[2], userId)
+    redis.call('HDEL', KEYS[3], ticket)
+    local seen = redis.call('ZSCORE', KEYS[4], userId)
+    redis.call('ZREM', KEYS[4], userId)
+    if seen and tonumber(seen) < aliveSince then
+      redis.call('HDEL', member, field)
+      skipped = skipped + 1
+    else
+      redis.call('SET', pass, ARGV[firstToken + #admitted], 'EX', ARGV[1])
+      -- 재입장이면 이전 토큰의 소비 마커 제거 (새 토큰을 이전 소비로 막지 않도록)
+      redis.call('DEL', used)
+      redis.call('ZADD', KEYS[5], expiresAt, userId)
+      local packed = tonumber(redis.call('HGET', member, field) or '0')
+      enqueuedAt[#admitted + 1] = math.floor(packed / 64)
+      admitted[#admitted + 1] = userId
+    end
+  else
+    skipped = skipped + 1
+  end
+end
+
+if ticket > serving then
+  redis.call('SET', KEYS[1], ticket)
+end
+
+return { admitted, enqueuedAt, skipped }
@@ -0,0 +1,31 @@
+-- 대기열 진입 (TICKET 모드, 멱등)
+-- 진입 마커 + 표시 오프셋은 이벤트 공용 버킷 HASH에 저장 (QueueKeys.memberKey, 버킷당 128명, field = userId % 128)
+--   값 = 진입 시각(ms) * 64 + 오프셋, 진입 시각 + 마커 TTL이 지난 값은 없는 것으로 간주 (버킷 TTL은 쓰기마다 갱신)
+-- KEYS[1] = 진입 마커 버킷, KEYS[2] = 번호표 시퀀스, KEYS[3] = serving 카운터
+--   KEYS[4] = userId -> 번호표 HASH, KEYS[5] = 번호표 -> userId HASH, KEYS[6] = 생존 인덱스
+-- ARGV[1] = userId, ARGV[2] = 마커 TTL(초), ARGV[3] = 신규 진입 시 사용할 오프셋, ARGV[4] = 진입 시각(ms)
+-- 반환: { position(-1 = 대기열에 없음), offset }
+local field = tostring(tonumber(ARGV[1]) % 128)
+local now = tonumber(ARGV[4])
+local packed = tonumber(redis.call('HGET', KEYS[1], field) or '0')
+local offset
+if packed > 0 and math.floor(packed / 64) + tonumber(ARGV[2]) * 1000 > now then
+  offset = packed % 64
+else
+  local ticket = redis.call('INCR', KEYS[2])
+  redis.call('HSET', KEYS[4], ARGV[1], ticket)
+  redis.call('HSET', KEYS[5], ticket, ARGV[1])
+  offset = tonumber(ARGV[3])
+  redis.call('HSET', KEYS[1], field, string.format('%d', now * 64 + offset))
+  redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+
+local ticket = tonumber(redis.call('HGET', KEYS[4], ARGV[1]))
+local serving = tonumber(redis.call('GET', KEYS[3]) or '0')
+local pos = -1
+if ticket and ticket > serving then
+  pos = ticket - serving - 1
+  redis.call('ZADD', KEYS[6], ARGV[4], ARGV[1])
+end
+
+return { pos, offset }
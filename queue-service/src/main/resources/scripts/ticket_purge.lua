@@ -0,0 +1,26 @@
+-- 이탈 대기자 정리 (TICKET 모드, 배치 1회)
+-- 번호표 자리는 비워두고 입장 펌프가 건너뜀 (순번 계산은 serving 기준이므로 빈 자리도 포함됨)
+-- 호출자가 생존 인덱스에서 기준 시각 이전 대기자를 읽어 사용자별 진입 마커 버킷을 KEYS로 전달 (선언된 키만 접근)
+-- KEYS[1] = 생존 인덱스, KEYS[2] = userId -> 번호표 HASH, KEYS[3] = 번호표 -> userId HASH
+-- KEYS[4..] = 후보별 진입 마커 버킷
+-- ARGV[1] = 생존 기준 시각(ms), ARGV[2..] = 후보 userId
+-- 반환: 제거한 인원
+local aliveSince = tonumber(ARGV[1])
+
+local purged = 0
+for i = 2, #ARGV do
+  local userId = ARGV[i]
+  local seen = redis.call('ZSCORE', KEYS[1], userId)
+  if seen and tonumber(seen) < aliveSince then
+    redis.call('ZREM', KEYS[1], userId)
+    local ticket = redis.call('HGET', KEYS[2], userId)
+    if ticket then
+      redis.call('HDEL', KEYS[3], ticket)
+      redis.call('HDEL', KEYS[2], userId)
+    end
+    redis.call('HDEL', KEYS[i + 2], tonumber(userId) % 128)
+    purged = purged + 1
+  end
+end
+
+return purged
@@ -0,0 +1,22 @@
+-- 대기열 상태 조회 (TICKET 모드)
+-- 대기 중이면 생존 인덱스의 마지막 조회 시각만 갱신
+-- KEYS[1] = Pass Token, KEYS[2] = serving 카운터, KEYS[3] = userId -> 번호표 HASH, KEYS[4] = 생존 인덱스
+-- ARGV[1] = userId, ARGV[2] = 조회 시각(ms)
+-- 반환: { position, passToken? }  (position = 내 번호표 - serving - 1)
+local pass = redis.call('GET', KEYS[1])
+if pass then
+  return { 0, pass }
+end
+
+local ticket = tonumber(redis.call('HGET', KEYS[3], ARGV[1]))
+if not ticket then
+  return { -1 }
+end
+
+local serving = tonumber(redis.call('GET', KEYS[2]) or '0')
+if ticket <= serving then
+  return { -1 }
+end
+
+redis.call('ZADD', KEYS[4], ARGV[2], ARGV[1])
+return { ticket - serving - 1 }
@@ -0,0 +1,148 @@
+package com.chuz.reservex.queue.line;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.config.QueueProperties.EventSettings;
+import com.chuz.reservex.queue.config.QueueProperties.LaneSettings;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+/**
+ * lane_enqueue.lua / lane_status.lua / lane_admit.lua (Redis: RedisTestSupport)
+ * ./gradlew :queue-service:test [-Ptest.redis.port=6380]
+ */
+class LanedWaitingLineTest {
+
+  /** vip 가중치 2, general 가중치 1 */
+  private static final List<Long> VIP = List.of(101L, 102L, 103L, 104L);
+  private static final List<Long> GENERAL = List.of(201L, 202L, 203L, 204L);
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private LanedWaitingLine line;
+  private Long eventId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = new StringRedisTemplate(factory);
+    eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+
+    EventSettings settings = new EventSettings();
+    settings.setMode(QueueMode.LANES);
+    settings.getLanes().put("vip", lane(2, "VIP"));
+    settings.getLanes().put("general", lane(1));
+    QueueProperties properties = new QueueProperties();
+    properties.getEvents().put(eventId, settings);
+    line = new LanedWaitingLine(redis, properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    redis.delete(redis.keys(QueueKeys.tag(eventId) + "*"));
+    factory.destroy();
+  }
+
+  @Test
+  void admitLanesByWeightAndEmptyLaneGivesUpItsShare() {
+    enqueueAll();
+
+    List<String> order = admit(8, 8);
+
+    assertThat(order).containsExactly("101", "102", "201", "103", "104", "202", "203", "204");
+    assertThat(line.waiting(eventId)).isZero();
+    assertThat(line.admittedSoFar(eventId)).isEqualTo(8);
+  }
+
+  @Test
+  void keepRatioWhenBatchEndsInsideLane() {
+    enqueueAll();
+
+    // 매 호출 1명 → 레인 중간에서 끊겨도 남은 적자로 같은 레인부터 이어서 진행
+    List<String> order = admit(8, 1);
+
+    assertThat(order).containsExactly("101", "102", "201", "103", "104", "202", "203", "204");
+  }
+
+  @Test
+  void positionCountsOtherLanesByWeightRatio() {
+    enqueueAll();
+
+    // 순번 = 내 레인 rank + 다른 레인별 min(대기 인원, (rank + 1) x 다른 레인 가중치 / 내 레인 가중치)
+    assertThat(positions(VIP)).containsExactly(0L, 2L, 3L, 5L);
+    assertThat(positions(GENERAL)).containsExactly(2L, 5L, 6L, 7L);
+    assertThat(line.status(eventId, 999L).position()).isEqualTo(-1);
+  }
+
+  @Test
+  void keepFirstLaneOnReenqueueAndReportPassAfterAdmit() {
+    line.enqueue(eventId, 201L, "general", 0);
+    line.enqueue(eventId, 101L, "vip", 0);
+
+    assertThat(line.enqueue(eventId, 201L, "vip", 0).position()).isEqualTo(1);
+    assertThat(line.waiting(eventId)).isEqualTo(2);
+
+    admit(1, 1);
+    assertThat(line.status(eventId, 101L).passReady()).isTrue();
+    assertThat(line.status(eventId, 201L).position()).isZero();
+  }
+
+  @Test
+  void bulkLoadAfterScriptCacheFlush() {
+    // 장애 조치/재시작 후처럼 스크립트 캐시가 비어 있어도 파이프라인 적재가 실패하지 않음
+    redis.execute((RedisCallback<Object>) conn -> {
+      conn.scriptingCommands().scriptFlush();
+      return null;
+    });
+
+    line.enqueueAll(eventId, List.of(301L, 302L, 303L), 1, () -> 0);
+
+    assertThat(line.waiting(eventId)).isEqualTo(3);
+    assertThat(line.status(eventId, 303L).position()).isEqualTo(2);
+  }
+
+  private void enqueueAll() {
+    for (int i = 0; i < 4; i++) {
+      line.enqueue(eventId, VIP.get(i), "vip", 0);
+      line.enqueue(eventId, GENERAL.get(i), "general", 0);
+    }
+  }
+
+  /**
+   * perCall명씩 입장시켜 total명이 될 때까지의 입장 순서
+   */
+  private List<String> admit(int total, int perCall) {
+    List<String> order = new ArrayList<>();
+    for (int i = 0; order.size() < total && i < total; i++) {
+      List<String> tokens = new ArrayList<>();
+      for (int t = 0; t < perCall; t++) {
+        tokens.add("token-" + order.size() + "-" + t);
+      }
+      order.addAll(line.admit(eventId, tokens, 60, 0, 100).passes().keySet());
+    }
+    return order;
+  }
+
+  private List<Long> positions(List<Long> userIds) {
+    return userIds.stream().map(userId -> line.status(eventId, userId).position()).toList();
+  }
+
+  private static LaneSettings lane(int weight, String... roles) {
+    LaneSettings lane = new LaneSettings();
+    lane.setWeight(weight);
+    lane.setRoles(List.of(roles));
+    return lane;
+  }
+}
@@ -0,0 +1,87 @@
+package com.chuz.reservex.queue.line;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.config.QueueProperties.EventSettings;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+/**
+ * SHARDED 입장: 샤드별 선두 병합 순서 (Redis: RedisTestSupport)
+ * 샤드 2개, 샤드 = userId mod 2, 진입 순서(score) = 2, 4, 1, 3, 6
+ */
+class ShardedWaitingLineTest {
+
+  private static final List<Long> ARRIVALS = List.of(2L, 4L, 1L, 3L, 6L);
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private ShardedWaitingLine line;
+  private Long eventId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = new StringRedisTemplate(factory);
+    eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+
+    EventSettings settings = new EventSettings();
+    settings.setMode(QueueMode.SHARDED);
+    settings.setShards(2);
+    QueueProperties properties = new QueueProperties();
+    properties.getEvents().put(eventId, settings);
+    line = new ShardedWaitingLine(redis, properties);
+    line.enqueueAll(eventId, ARRIVALS, 1, () -> 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    redis.delete(redis.keys("q:{" + eventId + ".*"));
+    factory.destroy();
+  }
+
+  @Test
+  void admitInArrivalOrderAcrossShards() {
+    assertThat(line.admit(eventId, List.of("a", "b", "c"), 60, 0, 0).passes())
+        .containsOnlyKeys("2", "4", "1");
+    assertThat(line.waiting(eventId)).isEqualTo(2);
+  }
+
+  @Test
+  void deadHeadsInOneShardDoNotLetItsTailJumpAhead() {
+    // 샤드 0의 선두 2, 4가 이탈자 → 샤드 0의 6(score 5)이 아니라 샤드 1의 1, 3이 먼저 입장
+    idle(2L, 4L);
+
+    Admission admission = line.admit(eventId, List.of("a", "b"), 60, 1, 10);
+
+    assertThat(admission.passes()).containsOnly(entry("1", "a"), entry("3", "b"));
+    assertThat(line.waiting(eventId)).isEqualTo(1);
+    assertThat(line.status(eventId, 6L).position()).isZero();
+  }
+
+  @Test
+  void stopRemergingPastMaxSkip() {
+    idle(2L, 4L);
+
+    assertThat(line.admit(eventId, List.of("a", "b"), 60, 1, 1).passes()).isEmpty();
+    assertThat(line.waiting(eventId)).isEqualTo(3);
+  }
+
+  /** 마지막 조회 시각을 0으로 (생존 기준 시각 1 이전) */
+  private void idle(Long... userIds) {
+    for (Long userId : userIds) {
+      redis.opsForZSet().add(QueueKeys.shardLiveKey(eventId, (int) (userId % 2)), userId.toString(), 0);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.chuz.reservex.queue.line;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+/**
+ * ticket_admit.lua / ticket_purge.lua (Redis: RedisTestSupport)
+ */
+class TicketWaitingLineTest {
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private TicketWaitingLine line;
+  private Long eventId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = new StringRedisTemplate(factory);
+    eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    line = new TicketWaitingLine(redis);
+  }
+
+  @AfterEach
+  void tearDown() {
+    redis.delete(redis.keys(QueueKeys.tag(eventId) + "*"));
+    factory.destroy();
+  }
+
+  @Test
+  void skipPurgedTicketsAndAdvanceServing() {
+    enqueue(1L, 2L, 3L, 4L);
+    idle(1L, 3L);
+    assertThat(line.purgeIdle(eventId, 1, 10)).isEqualTo(2);
+
+    // 빈 번호표 1, 3은 건너뛰고 다음 번호표를 다시 읽어 채움
+    Admission admission = line.admit(eventId, List.of("a", "b"), 60, 1, 10);
+
+    assertThat(admission.passes()).containsExactly(entry("2", "a"), entry("4", "b"));
+    assertThat(line.admittedSoFar(eventId)).isEqualTo(4);
+    assertThat(line.waiting(eventId)).isZero();
+  }
+
+  @Test
+  void skipIdleOwnerAtAdmit() {
+    enqueue(1L, 2L);
+    idle(1L);
+
+    assertThat(line.admit(eventId, List.of("a"), 60, 1, 10).passes()).containsExactly(entry("2", "a"));
+    assertThat(redis.opsForHash().hasKey(QueueKeys.memberKey(eventId, 1L), "1")).isFalse();
+  }
+
+  @Test
+  void stopAtMaxSkip() {
+    enqueue(1L, 2L, 3L);
+    idle(1L, 2L);
+
+    assertThat(line.admit(eventId, List.of("a"), 60, 1, 0).passes()).isEmpty();
+    assertThat(line.admittedSoFar(eventId)).isEqualTo(1);
+    assertThat(line.status(eventId, 3L).position()).isEqualTo(1);
+  }
+
+  private void enqueue(Long... userIds) {
+    for (Long userId : userIds) {
+      line.enqueue(eventId, userId, 0);
+    }
+  }
+
+  /** 마지막 조회 시각을 0으로 (생존 기준 시각 1 이전) */
+  private void idle(Long... userIds) {
+    for (Long userId : userIds) {
+      redis.opsForZSet().add(QueueKeys.liveKey(eventId), userId.toString(), 0);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.chuz.reservex.queue.line;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+/**
+ * admit.lua / purge.lua / expire_passes.lua (Redis: RedisTestSupport)
+ * 스크립트는 호출자가 KEYS로 넘긴 사용자별 키만 접근
+ */
+class ZSetWaitingLineTest {
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private ZSetWaitingLine line;
+  private Long eventId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = new StringRedisTemplate(factory);
+    eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    line = new ZSetWaitingLine(redis);
+  }
+
+  @AfterEach
+  void tearDown() {
+    redis.delete(redis.keys(QueueKeys.tag(eventId) + "*"));
+    factory.destroy();
+  }
+
+  @Test
+  void skipIdleHeadsAndFillFromNextHeads() {
+    enqueue(1L, 2L, 3L, 4L);
+    idle(1L, 2L);
+
+    // 선두 2명이 이탈자 → 건너뛴 만큼 다음 선두를 다시 읽어 채움
+    Admission admission = line.admit(eventId, List.of("a", "b"), 60, 1, 10);
+
+    assertThat(admission.passes()).containsExactly(entry("3", "a"), entry("4", "b"));
+    assertThat(line.waiting(eventId)).isZero();
+    assertThat(redis.opsForValue().get(QueueKeys.tag(eventId) + "pass:3")).isEqualTo("a");
+    assertThat(redis.opsForHash().hasKey(QueueKeys.memberKey(eventId, 1L), "1")).isFalse();
+  }
+
+  @Test
+  void stopSkippingPastMaxSkip() {
+    enqueue(1L, 2L, 3L);
+    idle(1L, 2L);
+
+    assertThat(line.admit(eventId, List.of("a"), 60, 1, 0).passes()).isEmpty();
+    assertThat(line.waiting(eventId)).isEqualTo(2);
+  }
+
+  @Test
+  void purgeOnlyIdleWaiters() {
+    enqueue(1L, 2L, 3L);
+    idle(2L);
+
+    assertThat(line.purgeIdle(eventId, 1, 10)).isEqualTo(1);
+    assertThat(line.waiting(eventId)).isEqualTo(2);
+    assertThat(line.status(eventId, 2L).position()).isEqualTo(-1);
+    assertThat(line.status(eventId, 3L).position()).isEqualTo(1);
+  }
+
+  @Test
+  void expireUnusedPassesAndHoldUsedOnes() {
+    enqueue(1L, 2L);
+    line.admit(eventId, List.of("a", "b"), 60, 0, 0);
+    redis.opsForValue().set(PassToken.usedKey(eventId, -1, 2L), Long.toString(System.currentTimeMillis()));
+    // 만료 시각을 과거로 당김
+    redis.opsForZSet().add(QueueKeys.passesKey(eventId), "1", 0);
+    redis.opsForZSet().add(QueueKeys.passesKey(eventId), "2", 0);
+
+    assertThat(line.expirePasses(eventId, 60_000)).isEqualTo(1);
+    assertThat(redis.opsForZSet().score(QueueKeys.holdingKey(eventId), "2")).isNotNull();
+    assertThat(line.outstanding(eventId)).isEqualTo(1);
+  }
+
+  private void enqueue(Long... userIds) {
+    for (Long userId : userIds) {
+      line.enqueue(eventId, userId, 0);
+    }
+  }
+
+  /** 마지막 조회 시각을 0으로 (생존 기준 시각 1 이전) */
+  private void idle(Long... userIds) {
+    for (Long userId : userIds) {
+      redis.opsForZSet().add(QueueKeys.liveKey(eventId), userId.toString(), 0);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.chuz.reservex.queue.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.capacity.CapacitySignal;
+import com.chuz.reservex.queue.store.embedded.EmbeddedQueueStore;
+
+class AdmissionControllerTest {
+
+  private static final Long EVENT_ID = 1L;
+
+  @TempDir
+  Path dir;
+
+  private final Map<Object, Object> signals = new HashMap<>();
+  private EmbeddedQueueStore store;
+  private AdmissionController controller;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+    when(redis.<Object, Object>opsForHash()).thenReturn(hash);
+    when(hash.entries(CapacitySignal.TICKET_KEY)).thenReturn(signals);
+
+    store = new EmbeddedQueueStore(1024, dir.resolve("queue.journal").toString(), 1 << 20);
+    // permitsPerMinute 100, 범위 [10, 120], +10 / x0.5, 감소 후 1분간 추가 감소 없음, 매 호출 조정
+    controller = new AdmissionController(redis, store, 100, true, 10, 120, 10, 0.5, 60_000, 0, 500, 1000, 1000,
+        5000);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    store.destroy();
+  }
+
+  @Test
+  void holdRateWithoutSignal() {
+    controller.control();
+
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(100);
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(100);
+  }
+
+  @Test
+  void increaseUpToMax() {
+    report(100, 200, 0);
+    controller.control();
+
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(110);
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(120);
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(120);
+    assertThat(controller.permitsPerMinute(EVENT_ID)).isEqualTo(120);
+  }
+
+  @Test
+  void decreaseOncePerCooldown() {
+    report(100, 5000, 0);
+    controller.control();
+
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(50);
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(50);
+
+    report(100, 200, 0);
+    controller.control();
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(60);
+  }
+
+  @Test
+  void ignoreStaleSignal() {
+    signals.put("ticket-1", new CapacitySignal(10_000, 5000, 0, System.currentTimeMillis() - 10_000).encode());
+    controller.control();
+
+    assertThat(controller.lastSignal()).isNull();
+    assertThat(controller.adjust(EVENT_ID, "node")).isEqualTo(100);
+  }
+
+  @Test
+  void forgetFallsBackToInitialRate() {
+    report(100, 5000, 0);
+    controller.control();
+    controller.adjust(EVENT_ID, "node");
+
+    controller.forget(EVENT_ID);
+    assertThat(controller.permitsPerMinute(EVENT_ID)).isEqualTo(100);
+  }
+
+  private void report(long inFlight, double p99Ms, long consumerLag) {
+    signals.put("ticket-1", new CapacitySignal(inFlight, p99Ms, consumerLag, System.currentTimeMillis()).encode());
+  }
+}
@@ -0,0 +1,125 @@
+package com.chuz.reservex.queue.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.queue.config.QueueProperties;
+import com.chuz.reservex.queue.config.QueueProperties.EventSettings;
+import com.chuz.reservex.queue.dto.TeardownRes.Status;
+import com.chuz.reservex.queue.line.QueueMode;
+import com.chuz.reservex.queue.redis.NearCache;
+import com.chuz.reservex.queue.redis.QueueKeys;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * teardown.lua / EventTeardown (Redis: RedisTestSupport)
+ * ./gradlew :queue-service:test [-Ptest.redis.port=6380]
+ */
+class EventTeardownTest {
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private final QueueProperties properties = new QueueProperties();
+  private ActiveEvents activeEvents;
+  private Long eventId;
+  private Long otherEventId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = new StringRedisTemplate(factory);
+    eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE - 1);
+    otherEventId = eventId + 1;
+    activeEvents = new ActiveEvents(redis, mock(NearCache.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (Long id : new Long[] { eventId, otherEventId }) {
+      redis.delete(redis.keys("q:{" + id + "*"));
+      redis.delete(QueueKeys.teardownKey(id));
+      redis.delete(QueueKeys.teardownLeaseKey(id));
+      redis.opsForSet().remove(QueueKeys.teardownsKey(), id.toString());
+      redis.opsForSet().remove(QueueKeys.activeEventsKey(), id.toString());
+    }
+    factory.destroy();
+  }
+
+  @Test
+  void deleteOnlyEventKeysInBatches() {
+    for (int i = 0; i < 50; i++) {
+      redis.opsForValue().set(QueueKeys.tag(eventId) + "k" + i, "v");
+    }
+    redis.opsForValue().set(QueueKeys.tag(otherEventId) + "k", "v");
+    EventTeardown teardown = teardown(3);
+
+    teardown.start(eventId);
+    long deleted = 0;
+    for (int i = 0; i < 100 && teardown.progress(eventId).status() == Status.RUNNING; i++) {
+      deleted += teardown.drain(eventId);
+    }
+
+    assertThat(deleted).isEqualTo(50);
+    assertThat(teardown.progress(eventId).deleted()).isEqualTo(50);
+    assertThat(redis.keys(QueueKeys.tag(eventId) + "*")).isEmpty();
+    assertThat(redis.hasKey(QueueKeys.tag(otherEventId) + "k")).isTrue();
+  }
+
+  @Test
+  void deleteShardKeysInShardedMode() {
+    EventSettings settings = new EventSettings();
+    settings.setMode(QueueMode.SHARDED);
+    settings.setShards(2);
+    properties.getEvents().put(eventId, settings);
+    redis.opsForValue().set(QueueKeys.tag(eventId) + "k", "v");
+    redis.opsForValue().set(QueueKeys.shardZKey(eventId, 0), "v");
+    redis.opsForValue().set(QueueKeys.shardZKey(eventId, 1), "v");
+    EventTeardown teardown = teardown(500);
+
+    teardown.start(eventId);
+    for (int i = 0; i < 100 && teardown.progress(eventId).status() == Status.RUNNING; i++) {
+      teardown.drain(eventId);
+    }
+
+    assertThat(teardown.progress(eventId).status()).isEqualTo(Status.DONE);
+    assertThat(teardown.progress(eventId).deleted()).isEqualTo(3);
+    assertThat(redis.hasKey(QueueKeys.shardZKey(eventId, 1))).isFalse();
+  }
+
+  @Test
+  void forgetLocalRegistrationOnEveryNode() {
+    ActiveEvents otherNode = new ActiveEvents(redis, mock(NearCache.class));
+    otherNode.register(eventId);
+    EventTeardown teardown = teardown(500);
+
+    teardown.start(eventId);
+    teardown(otherNode, 500).drain();
+
+    assertThat(otherNode.isRegistered(eventId)).isFalse();
+    assertThat(redis.opsForSet().isMember(QueueKeys.activeEventsKey(), eventId.toString())).isFalse();
+  }
+
+  private EventTeardown teardown(int batch) {
+    return teardown(activeEvents, batch);
+  }
+
+  private EventTeardown teardown(ActiveEvents activeEvents, int batch) {
+    EventTeardown teardown = new EventTeardown(redis, activeEvents, mock(AdmissionController.class),
+        new QueueMetrics(new SimpleMeterRegistry()), properties);
+    teardown.batch = batch;
+    teardown.maxBatchesPerTick = 20;
+    teardown.slowBatchMs = 1000;
+    teardown.leaseMs = 10000;
+    return teardown;
+  }
+}
@@ -0,0 +1,37 @@
+package com.chuz.reservex.queue.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QueueMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final QueueMetrics metrics = new QueueMetrics(registry, 2);
+
+  @Test
+  void registerEventMetersUpToMaxEvents() {
+    metrics.waiting(1L, 10);
+    metrics.waiting(2L, 20);
+    metrics.waiting(3L, 30);
+
+    assertThat(registry.find("queue.waiting").gauges()).hasSize(2);
+    assertThat(registry.find("queue.waiting").tag(QueueMetrics.EVENT_TAG, "3").gauge()).isNull();
+  }
+
+  @Test
+  void forgetRemovesEventMetersAndFreesSlot() {
+    metrics.waiting(1L, 10);
+    metrics.expired(1L, 1);
+    metrics.waiting(2L, 20);
+
+    metrics.forget(1L);
+    assertThat(registry.find("queue.waiting").tag(QueueMetrics.EVENT_TAG, "1").gauge()).isNull();
+    assertThat(registry.find("queue.pass.expired").tag(QueueMetrics.EVENT_TAG, "1").counter()).isNull();
+
+    metrics.waiting(3L, 30);
+    assertThat(registry.get("queue.waiting").tag(QueueMetrics.EVENT_TAG, "3").gauge().value()).isEqualTo(30);
+  }
+}
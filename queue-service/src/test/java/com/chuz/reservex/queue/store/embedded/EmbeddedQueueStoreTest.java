@@ -0,0 +1,81 @@
+package com.chuz.reservex.queue.store.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.chuz.reservex.queue.dto.StatusRes;
+
+class EmbeddedQueueStoreTest {
+
+  private static final Long EVENT_ID = 1L;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void enqueueAdmitConsume() throws Exception {
+    EmbeddedQueueStore store = open();
+    store.enqueue(EVENT_ID, 10L, 30);
+    store.enqueue(EVENT_ID, 20L, 40);
+    store.enqueue(EVENT_ID, 30L, 50);
+
+    assertThat(store.enqueue(EVENT_ID, 20L, 55).displayOffset()).isEqualTo(40);
+    assertThat(store.status(EVENT_ID, 30L).position()).isEqualTo(2);
+
+    Map<String, String> admitted = store.admit(EVENT_ID, List.of("t-1"), 300, 0, 100).passes();
+    assertThat(admitted).containsEntry("10", "t-1");
+    assertThat(store.status(EVENT_ID, 10L)).isEqualTo(new StatusRes(0, true, "t-1"));
+    assertThat(store.status(EVENT_ID, 30L).position()).isEqualTo(1);
+
+    assertThat(store.consume(EVENT_ID, 10L, "wrong")).isFalse();
+    assertThat(store.consume(EVENT_ID, 10L, "t-1")).isTrue();
+    assertThat(store.consume(EVENT_ID, 10L, "t-1")).isFalse();
+    store.destroy();
+  }
+
+  @Test
+  void replayJournalAfterRestart() throws Exception {
+    EmbeddedQueueStore store = open();
+    store.enqueue(EVENT_ID, 10L, 30);
+    store.enqueue(EVENT_ID, 20L, 40);
+    store.admit(EVENT_ID, List.of("t-1"), 300, 0, 100);
+    store.destroy();
+
+    EmbeddedQueueStore restored = open();
+    assertThat(restored.waiting(EVENT_ID)).isEqualTo(1);
+    assertThat(restored.admittedSoFar(EVENT_ID)).isEqualTo(1);
+    assertThat(restored.status(EVENT_ID, 10L).passToken()).isEqualTo("t-1");
+    assertThat(restored.status(EVENT_ID, 20L).position()).isZero();
+    restored.destroy();
+  }
+
+  @Test
+  void skipIdleHeadsOnAdmit() throws Exception {
+    EmbeddedQueueStore store = open();
+    store.enqueue(EVENT_ID, 10L, 30);
+    store.enqueue(EVENT_ID, 20L, 40);
+    Thread.sleep(5);
+    long aliveSince = System.currentTimeMillis();
+    store.status(EVENT_ID, 20L);
+
+    assertThat(store.admit(EVENT_ID, List.of("t-1"), 300, aliveSince, 100).passes()).containsOnlyKeys("20");
+    assertThat(store.status(EVENT_ID, 10L).position()).isEqualTo(-1);
+    assertThat(store.enqueue(EVENT_ID, 10L, 50).position()).isZero();
+    store.destroy();
+
+    EmbeddedQueueStore restored = open();
+    assertThat(restored.status(EVENT_ID, 20L).passToken()).isEqualTo("t-1");
+    assertThat(restored.status(EVENT_ID, 10L).position()).isZero();
+    restored.destroy();
+  }
+
+  private EmbeddedQueueStore open() {
+    return new EmbeddedQueueStore(1024, dir.resolve("queue.journal").toString(), 1 << 16);
+  }
+}
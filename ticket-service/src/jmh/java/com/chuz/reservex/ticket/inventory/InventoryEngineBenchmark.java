@@ -0,0 +1,82 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 단일 쓰기 스레드 재고 엔진 처리량 (한 상품에 차감 요청 집중)
+ * - 호출 스레드마다 요청 64개를 보내고 결과를 모두 받을 때까지 대기
+ * - DB 대신 journalMicros만큼 대기하는 JdbcTemplate 사용 (그룹 커밋 1회의 왕복 시간)
+ *   0이면 판정 + 링 버퍼 전달 비용만, 500이면 예매마다 행을 갱신할 때의 상한(초당 약 2,000회)과 비교
+ *
+ * ./gradlew :ticket-service:jmh -Pjmh.includes=InventoryEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class InventoryEngineBenchmark {
+
+  private static final int IN_FLIGHT = 64;
+  private static final Long PRODUCT_ID = 1L;
+
+  @Param({ "0", "500" })
+  long journalMicros;
+
+  private InventoryEngine engine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    JdbcTemplate jdbc = new JdbcTemplate() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+        return (T) Long.valueOf(Long.MAX_VALUE / 2);
+      }
+
+      @Override
+      public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        if (journalMicros > 0) {
+          LockSupport.parkNanos(journalMicros * 1000);
+        }
+        int[] updated = new int[batchArgs.size()];
+        Arrays.fill(updated, 1);
+        return updated;
+      }
+    };
+    engine = new InventoryEngine(jdbc, 2, 65536, 4096, 2000);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    engine.destroy();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(IN_FLIGHT)
+  public void reserve() {
+    @SuppressWarnings("unchecked")
+    CompletableFuture<Boolean>[] results = new CompletableFuture[IN_FLIGHT];
+    for (int i = 0; i < IN_FLIGHT; i++) {
+      results[i] = engine.submit(PRODUCT_ID, -1);
+    }
+    CompletableFuture.allOf(results).join();
+  }
+}
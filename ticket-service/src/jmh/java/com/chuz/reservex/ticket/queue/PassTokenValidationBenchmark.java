@@ -0,0 +1,146 @@
+package com.chuz.reservex.ticket.queue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.common.security.PassTokenCodec;
+import com.chuz.reservex.ticket.config.QueueClientConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 예매 요청의 Pass Token 검증 지연 (PassTokenInterceptor가 호출하는 PassTokenService.validateAndConsume)
+ * - local: 서명/만료 확인 + Redis 스크립트 1회 (현재 기본값)
+ * - remote: queue-service 검증 API 호출 (이전 방식)
+ *   queue-service 대신 같은 작업(서명 확인 + 같은 스크립트 1회)을 하는 로컬 HTTP 서버를 띄워 네트워크 홉 비용만 비교
+ *   실제 배포에서는 노드 간 RTT가 더해지므로 차이가 더 큼
+ * 호출마다 새 사용자의 Pass Token 키를 SET으로 발급하고 토큰을 서명해 사용 (발급/서명 비용은 두 방식에 똑같이 포함)
+ *
+ * ./gradlew :ticket-service:jmh -Pjmh.includes=PassTokenValidationBenchmark [-Pbench.redis.port=6380]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class PassTokenValidationBenchmark {
+
+  private static final long EVENT_ID = 900_021L;
+  private static final RedisScript<Long> CONSUME = RedisScript.of(new ClassPathResource("queue/consume_pass.lua"),
+      Long.class);
+
+  @Param({ "local", "remote" })
+  String verify;
+
+  private final AtomicLong nextUser = new AtomicLong();
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private PassTokenCodec codec;
+  private HttpServer queueService;
+  private ExecutorService queueServiceExecutor;
+  private PassTokenService service;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+        System.getProperty("bench.redis.host", "localhost"), Integer.getInteger("bench.redis.port", 6380)));
+    factory.afterPropertiesSet();
+    factory.start();
+    redis = new StringRedisTemplate(factory);
+    redis.afterPropertiesSet();
+    codec = new PassTokenCodec("bench-pass-token-secret-0123456789");
+
+    // 응답 헤더/본문이 나뉘어 전송될 때 Nagle + delayed ACK로 매 요청 수십 ms가 더해지지 않도록
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    queueServiceExecutor = Executors.newFixedThreadPool(16);
+    queueService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    queueService.createContext("/queue/", this::validate);
+    queueService.setExecutor(queueServiceExecutor);
+    queueService.start();
+
+    QueueServiceClient client = new QueueServiceClient(
+        QueueClientConfig.restClient("http://127.0.0.1:" + queueService.getAddress().getPort(), 200, 500, "bench"),
+        new SimpleMeterRegistry(), 64, 50, 50, 20, 5000, 5);
+    service = new PassTokenService(client, codec, redis);
+    service.verify = verify;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    queueService.stop(0);
+    queueServiceExecutor.shutdownNow();
+    redis.execute((RedisCallback<Void>) conn -> {
+      ScanOptions options = ScanOptions.scanOptions().match("q:{" + EVENT_ID + "}:*").count(1000).build();
+      List<byte[]> keys = new ArrayList<>();
+      try (Cursor<byte[]> cursor = conn.keyCommands().scan(options)) {
+        cursor.forEachRemaining(keys::add);
+      }
+      for (int from = 0; from < keys.size(); from += 1000) {
+        conn.keyCommands().unlink(keys.subList(from, Math.min(from + 1000, keys.size())).toArray(byte[][]::new));
+      }
+      return null;
+    });
+    factory.destroy();
+  }
+
+  @Benchmark
+  public boolean reserve() {
+    long userId = nextUser.incrementAndGet();
+    PassToken pass = new PassToken(EVENT_ID, userId, -1, System.currentTimeMillis() + 300_000, userId);
+    redis.opsForValue().set(pass.passKey(), pass.raw(), 6, TimeUnit.MINUTES);
+    return service.validateAndConsume(EVENT_ID, Long.toString(userId), codec.encode(pass));
+  }
+
+  /**
+   * queue-service 검증 API 대역 (서명 확인 + 스크립트 1회, 실제 API의 소비 스크립트 1회와 같은 왕복 수)
+   */
+  private void validate(HttpExchange exchange) throws IOException {
+    String passToken = null;
+    for (String param : exchange.getRequestURI().getRawQuery().split("&")) {
+      if (param.startsWith("passToken=")) {
+        passToken = URLDecoder.decode(param.substring("passToken=".length()), StandardCharsets.UTF_8);
+      }
+    }
+    PassToken token = codec.decode(passToken);
+    Long res = token == null ? null : redis.execute(CONSUME, List.of(token.passKey(), token.usedKey()),
+        token.raw(), Long.toString(System.currentTimeMillis()), "360000");
+    boolean consumed = res != null && res == 1L;
+
+    byte[] body = Boolean.toString(consumed).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
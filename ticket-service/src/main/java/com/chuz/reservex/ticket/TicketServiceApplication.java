@@ -2,7 +2,9 @@ package com.chuz.reservex.ticket;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"com.chuz.reservex.ticket", "com.chuz.reservex.common"})
 public class TicketServiceApplication {
 
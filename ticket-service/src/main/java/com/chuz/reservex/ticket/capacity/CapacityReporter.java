@@ -0,0 +1,88 @@
+package com.chuz.reservex.ticket.capacity;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.common.capacity.CapacitySignal;
+import com.chuz.reservex.ticket.reservation.Reservation.ReservationStatus;
+import com.chuz.reservex.ticket.reservation.ReservationRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 처리 여력 보고 (queue-service 입장 제어기 입력)
+ * - 결제 대기 중인 예매 수, 예매 생성 p99 지연, SAGA 컨슈머 lag을 reportMs 주기로 Redis에 기록
+ * - 노드별 필드로 기록하며 queue-service가 오래된 필드는 무시
+ */
+@Slf4j
+@Component
+public class CapacityReporter {
+
+  /** Kafka 클라이언트 지표 (Spring Boot가 컨슈머 팩토리에 MicrometerConsumerListener로 등록) */
+  private static final String LAG_METRIC = "kafka.consumer.fetch.manager.records.lag.max";
+
+  private final StringRedisTemplate redis;
+  private final ReservationRepository reservationRepository;
+  private final MeterRegistry registry;
+  private final Timer reservationTimer;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public CapacityReporter(StringRedisTemplate redis, ReservationRepository reservationRepository,
+      MeterRegistry registry) {
+    this.redis = redis;
+    this.reservationRepository = reservationRepository;
+    this.registry = registry;
+    this.reservationTimer = Timer.builder("reservation.create")
+        .publishPercentiles(0.99)
+        .register(registry);
+  }
+
+  /**
+   * 예매 생성 지연 기록
+   */
+  public <T> T timeReservation(Supplier<T> call) {
+    return reservationTimer.record(call);
+  }
+
+  @Scheduled(fixedRateString = "${app.capacity.reportMs:1000}")
+  public void report() {
+    try {
+      CapacitySignal signal = new CapacitySignal(
+          reservationRepository.countByStatusIn(
+              EnumSet.of(ReservationStatus.PENDING, ReservationStatus.PAYMENT_PENDING)),
+          p99Ms(),
+          consumerLag(),
+          System.currentTimeMillis());
+      redis.opsForHash().put(CapacitySignal.TICKET_KEY, nodeId, signal.encode());
+    } catch (Exception e) {
+      log.warn("처리 여력 보고 실패: {}", e.getMessage());
+    }
+  }
+
+  private double p99Ms() {
+    for (ValueAtPercentile value : reservationTimer.takeSnapshot().percentileValues()) {
+      if (value.percentile() == 0.99) {
+        return value.value(TimeUnit.MILLISECONDS);
+      }
+    }
+    return 0;
+  }
+
+  private long consumerLag() {
+    return (long) registry.find(LAG_METRIC).gauges().stream()
+        .mapToDouble(Gauge::value)
+        .filter(lag -> !Double.isNaN(lag))
+        .max()
+        .orElse(0);
+  }
+}
@@ -0,0 +1,19 @@
+package com.chuz.reservex.ticket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.chuz.reservex.common.security.PassTokenCodec;
+
+/**
+ * Pass Token 검증 설정 (app.pass.secret은 queue-service와 동일해야 함)
+ */
+@Configuration
+public class PassTokenConfig {
+
+  @Bean
+  public PassTokenCodec passTokenCodec(@Value("${app.pass.secret}") String secret) {
+    return new PassTokenCodec(secret);
+  }
+}
@@ -1,15 +1,19 @@
 package com.chuz.reservex.ticket.config;
 
 import com.chuz.reservex.ticket.queue.PassTokenService;
+import com.chuz.reservex.ticket.queue.QueueUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 /**
  * Pass Token 검증 인터셉터
+ * - 토큰 대상은 JWT로 인증된 사용자 (clientId 파라미터는 생략 가능, 주면 인증 사용자와 같아야 함)
  */
 @Component
 @RequiredArgsConstructor
@@ -34,13 +38,29 @@ public class PassTokenInterceptor implements HandlerInterceptor {
 
   // Pass Token 검증
   String eventIdStr = request.getParameter("eventId");
-  String clientId = request.getParameter("clientId");
   String passToken = request.getHeader("X-Pass-Token");
 
-  if (eventIdStr == null || clientId == null || passToken == null) {
+  if (eventIdStr == null || passToken == null) {
     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
     response.setContentType("application/json");
-    response.getWriter().write("{\"error\":\"Missing eventId, clientId, or X-Pass-Token header\"}");
+    response.getWriter().write("{\"error\":\"Missing eventId or X-Pass-Token header\"}");
+    return false;
+  }
+
+  // 토큰 대상은 요청 파라미터가 아니라 인증된 사용자
+  Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+  if (authentication == null || !(authentication.getPrincipal() instanceof Long userId)) {
+    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    response.setContentType("application/json");
+    response.getWriter().write("{\"error\":\"Authentication required\"}");
+    return false;
+  }
+  String clientId = userId.toString();
+  String requested = request.getParameter("clientId");
+  if (requested != null && !requested.equals(clientId)) {
+    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+    response.setContentType("application/json");
+    response.getWriter().write("{\"error\":\"clientId does not match the authenticated user\"}");
     return false;
   }
 
@@ -54,7 +74,17 @@ public class PassTokenInterceptor implements HandlerInterceptor {
     return false;
   }
 
-  boolean valid = passTokenService.validateAndConsume(eventId, clientId, passToken);
+  boolean valid;
+  try {
+    valid = passTokenService.validateAndConsume(eventId, clientId, passToken);
+  } catch (QueueUnavailableException e) {
+    // 토큰은 소비되지 않았으므로 같은 토큰으로 재시도
+    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    response.setHeader("Retry-After", "1");
+    response.setContentType("application/json");
+    response.getWriter().write("{\"error\":\"Pass Token verification unavailable, retry shortly\"}");
+    return false;
+  }
 
   if (!valid) {
     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
@@ -0,0 +1,45 @@
+package com.chuz.reservex.ticket.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import com.chuz.reservex.common.security.ServiceToken;
+
+/**
+ * queue-service HTTP 클라이언트 설정
+ * - JDK HttpClient: 호스트별 keep-alive 연결을 재사용하는 풀 (HTTP/1.1 고정, h2c 업그레이드 왕복 없음)
+ * - 연결/응답 제한 시간을 넘기면 예외 → QueueServiceClient 차단기가 실패로 집계
+ * - 모든 요청에 서비스 간 인증 헤더(X-Service-Token) 포함
+ */
+@Configuration
+public class QueueClientConfig {
+
+  @Bean
+  public RestClient queueRestClient(
+      @Value("${app.queue-service.url:http://localhost:8083}") String url,
+      @Value("${app.queue-service.connectTimeoutMs:200}") long connectTimeoutMs,
+      @Value("${app.queue-service.readTimeoutMs:500}") long readTimeoutMs,
+      @Value("${app.service.secret}") String serviceSecret) {
+    return restClient(url, connectTimeoutMs, readTimeoutMs, serviceSecret);
+  }
+
+  public static RestClient restClient(String url, long connectTimeoutMs, long readTimeoutMs, String serviceSecret) {
+    HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+        .build();
+    JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(http);
+    factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+    return RestClient.builder()
+        .baseUrl(url)
+        .requestFactory(factory)
+        .defaultHeader(ServiceToken.HEADER, serviceSecret)
+        .build();
+  }
+}
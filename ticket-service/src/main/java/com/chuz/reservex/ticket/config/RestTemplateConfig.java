@@ -1,17 +0,0 @@
-package com.chuz.reservex.ticket.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
-
-/**
- * RestTemplate 설정
- */
-@Configuration
-public class RestTemplateConfig {
-
-  @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
-  }
-}
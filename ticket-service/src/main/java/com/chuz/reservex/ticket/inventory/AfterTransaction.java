@@ -0,0 +1,33 @@
+package com.chuz.reservex.ticket.inventory;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 완료 후 실행 (DB 밖의 재고 반영, queue-service 슬롯 해제 등 되돌릴 수 없는 외부 호출)
+ */
+public final class AfterTransaction {
+
+  private AfterTransaction() {
+  }
+
+  /**
+   * @param onCommit true면 커밋 후 실행, false면 롤백 후 실행 (트랜잭션 밖이면 onCommit만 즉시 실행)
+   */
+  public static void run(boolean onCommit, Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      if (onCommit) {
+        action.run();
+      }
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if ((status == STATUS_COMMITTED) == onCommit) {
+          action.run();
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,33 @@
+package com.chuz.reservex.ticket.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.ticket.product.Product;
+import com.chuz.reservex.ticket.product.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * DB 재고 (app.inventory.mode=db)
+ * 예매마다 products 행을 읽고 갱신 (트랜잭션 롤백 시 함께 복구)
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "db", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DbInventory implements Inventory {
+
+  private final ProductRepository productRepository;
+
+  @Override
+  public void reserve(Product product, int quantity) {
+    product.decreaseStock(quantity);
+    productRepository.save(product);
+  }
+
+  @Override
+  public void restore(Product product, int quantity) {
+    product.increaseStock(quantity);
+    productRepository.save(product);
+  }
+}
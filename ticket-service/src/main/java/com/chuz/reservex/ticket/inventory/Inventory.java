@@ -0,0 +1,25 @@
+package com.chuz.reservex.ticket.inventory;
+
+import com.chuz.reservex.ticket.product.Product;
+
+/**
+ * 상품 재고 차감/복구 (app.inventory.mode)
+ * - db (기본): products 행을 직접 갱신
+ * - redis: Redis 카운터에서 차감, products.available_stock은 StockReconciler가 주기적으로 반영
+ * - sharded: 상품별 stock_buckets 행 중 하나에서 차감, products.available_stock은 StockBucketAggregator가 버킷 합계로 반영
+ * - engine: 상품별 단일 쓰기 스레드가 메모리에서 판정, products.available_stock에 묶어서 기록 (InventoryEngine)
+ */
+public interface Inventory {
+
+  /**
+   * 재고 차감 (호출 트랜잭션이 롤백되면 복구)
+   *
+   * @throws IllegalStateException 재고 부족
+   */
+  void reserve(Product product, int quantity);
+
+  /**
+   * 재고 복구 (보상 트랜잭션, 호출 트랜잭션이 커밋된 경우에만 반영)
+   */
+  void restore(Product product, int quantity);
+}
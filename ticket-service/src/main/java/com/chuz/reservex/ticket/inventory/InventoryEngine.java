@@ -0,0 +1,394 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.lang.invoke.VarHandle;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.ticket.product.Product;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 단일 쓰기 스레드 재고 엔진 (app.inventory.mode=engine)
+ * - 상품은 productId % writers로 쓰기 스레드 1개에 고정, 요청은 잠금 없는 링 버퍼로 전달하고 CompletableFuture로 결과 수신
+ * - 쓰기 스레드가 재고를 메모리에 두고 순서대로 판정 (행 잠금 없음), 요청이 없으면 생산자가 깨울 때까지 대기
+ * - 한 번에 꺼낸 요청(최대 batchSize개)의 결과를 상품별 UPDATE 1행으로 묶어 JDBC 배치 1회로 기록한 뒤 응답 (그룹 커밋)
+ *   → 응답된 차감은 항상 products.available_stock에 반영되어 있으므로 재기동 시 DB 값으로 재적재
+ * - 기록은 직전 값 조건부 UPDATE, 다른 노드가 같은 상품을 바꿨으면 다시 읽어 요청 제한 시간(timeoutMs)까지 재시도
+ *   (초과 판매는 없지만 상품 소유를 강제하지 않으므로, 여러 노드가 같은 상품을 계속 받으면 시간 초과로 실패할 수 있음)
+ * - 복구 요청은 버리지 않음: 링 버퍼가 가득 차면 별도 큐, 기록 실패 시 재시도, 종료 중이면 products에 직접 더함
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "engine")
+public class InventoryEngine implements Inventory, DisposableBean {
+
+  private static final String LOAD = "SELECT available_stock FROM products WHERE id = ?";
+  private static final String JOURNAL =
+      "UPDATE products SET available_stock = ?, updated_at = ? WHERE id = ? AND available_stock = ?";
+  private static final String RESTORE =
+      "UPDATE products SET available_stock = available_stock + ?, updated_at = ? WHERE id = ?";
+  /** 기록 실패한 복구 요청의 재시도 간격 */
+  private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final JdbcTemplate jdbc;
+  private final Writer[] writers;
+  private final long timeoutMs;
+  /** submit 진행 중인 생산자 수 (종료 시 이 값이 0이 된 뒤에 남은 요청을 비움) */
+  private final AtomicInteger submitting = new AtomicInteger();
+  private volatile boolean stopping;
+
+  public InventoryEngine(JdbcTemplate jdbc,
+      @Value("${app.inventory.engine.writers:2}") int writers,
+      @Value("${app.inventory.engine.ringSize:65536}") int ringSize,
+      @Value("${app.inventory.engine.batchSize:4096}") int batchSize,
+      @Value("${app.inventory.engine.timeoutMs:2000}") long timeoutMs) {
+    this.jdbc = jdbc;
+    this.timeoutMs = timeoutMs;
+    this.writers = new Writer[writers];
+    for (int i = 0; i < writers; i++) {
+      this.writers[i] = new Writer(i, ringSize, batchSize);
+      this.writers[i].start();
+    }
+  }
+
+  /**
+   * 재고 변경 요청 (delta < 0 차감, delta > 0 복구)
+   *
+   * @return 반영 여부 (차감은 재고가 모자라면 false)
+   *         차감은 대기열이 가득 찼거나 제한 시간 안에 기록하지 못하면, 복구는 종료 중이면 예외로 완료
+   */
+  public CompletableFuture<Boolean> submit(Long productId, int delta) {
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    submitting.incrementAndGet();
+    try {
+      if (stopping) {
+        result.completeExceptionally(new IllegalStateException("재고 처리를 종료하는 중입니다."));
+        return result;
+      }
+      Writer writer = writers[(int) Math.floorMod(productId, (long) writers.length)];
+      long deadline = delta < 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : Long.MAX_VALUE;
+      Command command = new Command(productId, delta, deadline, result);
+      if (!writer.ring.offer(command)) {
+        if (delta < 0) {
+          result.completeExceptionally(new IllegalStateException("재고 처리 대기열이 가득 찼습니다."));
+          return result;
+        }
+        writer.overflow.add(command);
+      }
+      writer.wake();
+      return result;
+    } finally {
+      submitting.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void reserve(Product product, int quantity) {
+    Long productId = product.getId();
+    CompletableFuture<Boolean> result = submit(productId, -quantity);
+    boolean reserved;
+    try {
+      reserved = result.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | InterruptedException e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      // 응답을 기다리지 않으므로 늦게 차감되면 되돌림
+      result.thenAccept(ok -> {
+        if (ok) {
+          restoreNow(productId, quantity);
+        }
+      });
+      throw new IllegalStateException("재고 처리가 지연되고 있습니다.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("재고 처리에 실패했습니다.", e.getCause());
+    }
+    if (!reserved) {
+      throw new IllegalStateException("재고가 부족합니다.");
+    }
+
+    AfterTransaction.run(false, () -> restoreNow(productId, quantity));
+  }
+
+  @Override
+  public void restore(Product product, int quantity) {
+    Long productId = product.getId();
+    AfterTransaction.run(true, () -> restoreNow(productId, quantity));
+  }
+
+  /**
+   * 복구는 엔진이 기록할 때까지 재시도, 엔진이 받지 못하면(종료 중) DB에 직접 더함
+   */
+  private void restoreNow(Long productId, int quantity) {
+    submit(productId, quantity).whenComplete((ok, e) -> {
+      if (e != null) {
+        restoreDirectly(productId, quantity);
+      }
+    });
+  }
+
+  private void restoreDirectly(Long productId, int quantity) {
+    try {
+      jdbc.update(RESTORE, quantity, Timestamp.valueOf(LocalDateTime.now()), productId);
+      log.info("재고 직접 복구: productId={}, quantity={}", productId, quantity);
+    } catch (Exception e) {
+      log.error("재고 복구 실패 (수동 보정 필요): productId={}, quantity={}", productId, quantity, e);
+    }
+  }
+
+  /**
+   * 새 요청을 거부한 뒤 쓰기 스레드가 남은 요청을 모두 처리할 때까지 대기 (최대 timeoutMs)
+   */
+  @Override
+  public void destroy() throws InterruptedException {
+    stopping = true;
+    for (Writer writer : writers) {
+      LockSupport.unpark(writer);
+    }
+    for (Writer writer : writers) {
+      writer.join(timeoutMs);
+      if (writer.isAlive()) {
+        log.error("재고 쓰기 스레드가 제한 시간 안에 끝나지 않음: {}", writer.getName());
+      }
+    }
+  }
+
+  /**
+   * @param deadline 차감 요청의 응답 기한 (System.nanoTime 기준), 복구 요청은 Long.MAX_VALUE
+   */
+  private record Command(Long productId, int delta, long deadline, CompletableFuture<Boolean> result) {
+  }
+
+  /**
+   * 상품 재고 (count = persisted, 기록이 끝난 값만 보관)
+   */
+  private static final class Stock {
+    long count;
+  }
+
+  /**
+   * 상품별 판정 결과 (기록 성공 시 응답)
+   */
+  private record Outcome(Stock stock, long before, long after, boolean[] applied) {
+  }
+
+  private final class Writer extends Thread {
+
+    private final StockRing<Command> ring;
+    /** 링 버퍼가 가득 찼을 때의 복구 요청 (드물게만 사용) */
+    private final Queue<Command> overflow = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+    /** 쓰기 스레드 전용 */
+    private final Map<Long, Stock> stocks = new HashMap<>();
+    /** 다시 처리할 요청 (충돌 → 즉시, 기록 실패한 복구 → retryAt 이후), 쓰기 스레드 전용 */
+    private final List<Command> retries = new ArrayList<>();
+    private long retryAt;
+    private volatile boolean parked;
+
+    Writer(int index, int ringSize, int batchSize) {
+      super("inventory-writer-" + index);
+      setDaemon(true);
+      this.ring = new StockRing<>(ringSize);
+      this.batchSize = batchSize;
+    }
+
+    /**
+     * 생산자가 요청을 넣은 뒤 호출 (대기 중일 때만 깨움)
+     * 쓰기 스레드의 parked 기록 → 대기열 확인과 짝을 이루도록 요청 공개 후 parked를 읽기 전에 fence
+     */
+    void wake() {
+      VarHandle.fullFence();
+      if (parked) {
+        LockSupport.unpark(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      List<Command> batch = new ArrayList<>(batchSize);
+      int idle = 0;
+      while (true) {
+        collect(batch);
+        if (!batch.isEmpty()) {
+          idle = 0;
+          process(batch);
+          batch.clear();
+          continue;
+        }
+        if (stopping && submitting.get() == 0 && ring.isEmpty() && overflow.isEmpty() && retries.isEmpty()) {
+          return;
+        }
+        idle = idle(idle);
+      }
+    }
+
+    private void collect(List<Command> batch) {
+      if (!retries.isEmpty() && System.nanoTime() - retryAt >= 0) {
+        batch.addAll(retries);
+        retries.clear();
+      }
+      for (Command command; batch.size() < batchSize && (command = overflow.poll()) != null;) {
+        batch.add(command);
+      }
+      ring.drainTo(batch, batchSize - Math.min(batch.size(), batchSize));
+    }
+
+    /**
+     * 잠깐 회전 → 양보 → 생산자가 깨울 때까지 대기 (재시도할 요청이 있으면 retryAt까지만)
+     */
+    private int idle(int idle) {
+      if (idle < 100) {
+        Thread.onSpinWait();
+      } else if (idle < 200) {
+        Thread.yield();
+      } else {
+        parked = true;
+        VarHandle.fullFence();
+        if (ring.isEmpty() && overflow.isEmpty()) {
+          if (!retries.isEmpty()) {
+            LockSupport.parkNanos(this, Math.max(0, retryAt - System.nanoTime()));
+          } else if (!stopping) {
+            LockSupport.park(this);
+          }
+        }
+        parked = false;
+      }
+      return idle + 1;
+    }
+
+    private void process(List<Command> batch) {
+      Map<Long, List<Command>> byProduct = new LinkedHashMap<>();
+      for (Command command : batch) {
+        byProduct.computeIfAbsent(command.productId(), k -> new ArrayList<>()).add(command);
+      }
+
+      try {
+        journal(byProduct);
+      } catch (Exception e) {
+        log.warn("재고 기록 실패: products={}, {}", byProduct.keySet(), e.getMessage());
+        failed(byProduct, new IllegalStateException("재고 기록에 실패했습니다.", e));
+        return;
+      }
+      conflicted(byProduct);
+    }
+
+    /**
+     * 판정 → 기록 → 응답, 다른 노드와 충돌한 상품은 byProduct에 남김
+     */
+    private void journal(Map<Long, List<Command>> byProduct) {
+      Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+      List<Object[]> rows = new ArrayList<>();
+      Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+      for (Map.Entry<Long, List<Command>> entry : byProduct.entrySet()) {
+        Outcome outcome = decide(entry.getKey(), entry.getValue());
+        outcomes.put(entry.getKey(), outcome);
+        if (outcome.after() != outcome.before()) {
+          rows.add(new Object[] { outcome.after(), now, entry.getKey(), outcome.before() });
+        }
+      }
+
+      int[] updated = rows.isEmpty() ? new int[0] : jdbc.batchUpdate(JOURNAL, rows);
+      Map<Long, Integer> updatedByProduct = new HashMap<>();
+      for (int i = 0; i < updated.length; i++) {
+        updatedByProduct.put((Long) rows.get(i)[2], updated[i]);
+      }
+
+      Iterator<Map.Entry<Long, List<Command>>> it = byProduct.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<Long, List<Command>> entry = it.next();
+        Outcome outcome = outcomes.get(entry.getKey());
+        if (updatedByProduct.getOrDefault(entry.getKey(), 1) == 0) {
+          stocks.remove(entry.getKey());
+          continue;
+        }
+        outcome.stock().count = outcome.after();
+        List<Command> commands = entry.getValue();
+        for (int i = 0; i < commands.size(); i++) {
+          commands.get(i).result().complete(outcome.applied()[i]);
+        }
+        it.remove();
+      }
+    }
+
+    private Outcome decide(Long productId, List<Command> commands) {
+      Stock stock = stocks.get(productId);
+      if (stock == null) {
+        stock = new Stock();
+        stock.count = jdbc.queryForObject(LOAD, Long.class, productId);
+        stocks.put(productId, stock);
+      }
+      long count = stock.count;
+      boolean[] applied = new boolean[commands.size()];
+      for (int i = 0; i < commands.size(); i++) {
+        int delta = commands.get(i).delta();
+        if (delta >= 0 || count + delta >= 0) {
+          count += delta;
+          applied[i] = true;
+        }
+      }
+      return new Outcome(stock, stock.count, count, applied);
+    }
+
+    /**
+     * 다른 노드와 충돌한 상품: 다시 읽어 다음 배치와 함께 재시도 (기한이 지난 차감은 실패)
+     */
+    private void conflicted(Map<Long, List<Command>> byProduct) {
+      long now = System.nanoTime();
+      for (List<Command> commands : byProduct.values()) {
+        for (Command command : commands) {
+          if (command.delta() < 0 && now - command.deadline() > 0) {
+            command.result().completeExceptionally(new IllegalStateException("재고 변경 충돌이 반복되었습니다."));
+          } else {
+            retries.add(command);
+          }
+        }
+      }
+      if (!retries.isEmpty()) {
+        retryAt = now;
+      }
+    }
+
+    /**
+     * 기록 실패: 차감은 실패로 응답, 복구는 잠시 후 재시도 (상품 재고는 다시 읽음)
+     * 종료 중이면 복구도 실패로 응답 → restoreNow가 DB에 직접 더하거나 상품/수량을 로그로 남김
+     */
+    private void failed(Map<Long, List<Command>> byProduct, RuntimeException e) {
+      boolean retrying = false;
+      for (Map.Entry<Long, List<Command>> entry : byProduct.entrySet()) {
+        stocks.remove(entry.getKey());
+        for (Command command : entry.getValue()) {
+          if (command.delta() > 0 && !stopping) {
+            retries.add(command);
+            retrying = true;
+          } else {
+            command.result().completeExceptionally(e);
+          }
+        }
+      }
+      if (retrying) {
+        retryAt = System.nanoTime() + RETRY_BACKOFF_NANOS;
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chuz.reservex.ticket.product.Product;
+import com.chuz.reservex.ticket.reservation.ReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 재고 카운터 (app.inventory.mode=redis)
+ * - stock:{productId}에서 Lua 확인 + 차감 1회 (products 행 잠금/갱신 없음, 예매당 DB 쓰기는 예약 INSERT만)
+ * - 예약 트랜잭션이 롤백되면 차감분 복구, 보상 트랜잭션의 복구는 stock_restores 행과 함께 커밋한 뒤 반영
+ *   → Redis 반영에 실패해도 행이 남아 StockReconciler 리더가 재시도 (복구 기록별 반영 표시로 1회만 반영)
+ * - 키가 없으면 DB 기준(전체 재고 - 취소되지 않은 예약 수량)으로 적재 (Redis 재시작/키 유실 시 재구성)
+ *   같은 스냅샷에서 보이는 미반영 복구 기록은 적재 값에 이미 포함되므로 적재와 함께 반영 표시 (중복 반영 방지)
+ * - products.available_stock은 StockReconciler가 주기적으로 반영
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "redis")
+public class RedisInventory implements Inventory {
+
+  /** 적재된 상품 ID 목록 (StockReconciler 반영 대상) */
+  static final String PRODUCTS_KEY = "stock:products";
+
+  private static final RedisScript<Long> RESERVE = RedisScript.of(new ClassPathResource("inventory/reserve.lua"),
+      Long.class);
+  private static final RedisScript<Long> RESTORE = RedisScript.of(new ClassPathResource("inventory/restore.lua"),
+      Long.class);
+  private static final RedisScript<Long> LOAD = RedisScript.of(new ClassPathResource("inventory/load.lua"),
+      Long.class);
+  /** 반영 표시 보관 시간 (반영 후 행 삭제에 실패해도 이 시간 안의 재시도는 중복 반영하지 않음) */
+  private static final long RESTORED_TTL_MS = TimeUnit.DAYS.toMillis(1);
+
+  private final StringRedisTemplate redis;
+  private final ReservationRepository reservationRepository;
+  private final StockRestoreRepository stockRestoreRepository;
+  /** 트랜잭션 완료 후 콜백에서 쓰는 DB 작업은 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션으로 실행 */
+  private final TransactionTemplate requiresNew;
+  /** 적재 값과 미반영 복구 기록을 같은 스냅샷에서 읽기 위한 새 트랜잭션 */
+  private final TransactionTemplate snapshot;
+
+  public RedisInventory(StringRedisTemplate redis, ReservationRepository reservationRepository,
+      StockRestoreRepository stockRestoreRepository, PlatformTransactionManager transactionManager) {
+    this.redis = redis;
+    this.reservationRepository = reservationRepository;
+    this.stockRestoreRepository = stockRestoreRepository;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.snapshot = new TransactionTemplate(transactionManager);
+    this.snapshot.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.snapshot.setReadOnly(true);
+  }
+
+  static String stockKey(Long productId) {
+    return "stock:{" + productId + "}";
+  }
+
+  static String restoredKey(Long productId, Long restoreId) {
+    return stockKey(productId) + ":restored:" + restoreId;
+  }
+
+  @Override
+  public void reserve(Product product, int quantity) {
+    Long remaining = decrement(product.getId(), quantity);
+    if (remaining == -2) {
+      load(product);
+      remaining = decrement(product.getId(), quantity);
+    }
+    if (remaining < 0) {
+      throw new IllegalStateException("재고가 부족합니다.");
+    }
+
+    Long productId = product.getId();
+    AfterTransaction.run(false, () -> rollback(productId, quantity));
+  }
+
+  /**
+   * 복구 기록을 현재 트랜잭션에 함께 저장하고 커밋 후 Redis에 반영
+   */
+  @Override
+  public void restore(Product product, int quantity) {
+    StockRestore pending = stockRestoreRepository.save(StockRestore.create(product.getId(), quantity));
+    AfterTransaction.run(true, () -> apply(pending));
+  }
+
+  /**
+   * 반영하지 못한 복구를 오래된 순으로 최대 limit건 재시도 (StockReconciler 리더가 호출)
+   *
+   * @return 반영(또는 반영 불필요)으로 정리한 건수, Redis 실패 시 중단
+   */
+  int retryPending(int limit) {
+    int applied = 0;
+    for (StockRestore pending : stockRestoreRepository.findByOrderByIdAsc(Limit.of(limit))) {
+      if (!apply(pending)) {
+        break;
+      }
+      applied++;
+    }
+    return applied;
+  }
+
+  private Long decrement(Long productId, int quantity) {
+    return redis.execute(RESERVE, List.of(stockKey(productId)), Integer.toString(quantity));
+  }
+
+  /**
+   * 복구 기록 반영 후 행 삭제 (행 삭제에 실패해도 반영 표시로 중복 반영 없음)
+   *
+   * @return Redis 반영 여부 (false면 행이 남아 재시도)
+   */
+  private boolean apply(StockRestore pending) {
+    Long productId = pending.getProductId();
+    try {
+      redis.execute(RESTORE, List.of(stockKey(productId), restoredKey(productId, pending.getId())),
+          Integer.toString(pending.getQuantity()), Long.toString(RESTORED_TTL_MS));
+    } catch (Exception e) {
+      log.warn("재고 복구 지연 (재시도 예정): productId={}, quantity={}, {}", productId, pending.getQuantity(),
+          e.getMessage());
+      return false;
+    }
+    try {
+      requiresNew.executeWithoutResult(status -> stockRestoreRepository.deleteById(pending.getId()));
+    } catch (Exception e) {
+      log.warn("복구 기록 삭제 실패: id={}, {}", pending.getId(), e.getMessage());
+    }
+    return true;
+  }
+
+  /**
+   * 예약 트랜잭션 롤백 시 차감분 복구, Redis 반영에 실패하면 복구 기록을 남겨 재시도
+   */
+  private void rollback(Long productId, int quantity) {
+    try {
+      redis.execute(RESTORE, List.of(stockKey(productId)), Integer.toString(quantity), "0");
+      return;
+    } catch (Exception e) {
+      log.warn("재고 복구 지연 (재시도 예정): productId={}, quantity={}, {}", productId, quantity, e.getMessage());
+    }
+    try {
+      requiresNew.executeWithoutResult(
+          status -> stockRestoreRepository.save(StockRestore.create(productId, quantity)));
+    } catch (Exception e) {
+      log.error("재고 복구 실패 (수동 보정 필요): productId={}, quantity={}", productId, quantity, e);
+    }
+  }
+
+  /**
+   * DB 기준 재고 적재 (동시에 적재해도 먼저 기록된 값 유지)
+   * 복구 기록은 보상 트랜잭션과 함께 커밋되므로 같은 스냅샷에서 보이는 기록은 예약 합계에 이미 반영돼 있음
+   */
+  private void load(Product product) {
+    Long productId = product.getId();
+    List<String> keys = new ArrayList<>();
+    keys.add(stockKey(productId));
+    long reserved = snapshot.execute(status -> {
+      stockRestoreRepository.findByProductId(productId)
+          .forEach(pending -> keys.add(restoredKey(productId, pending.getId())));
+      return reservationRepository.sumActiveQuantityByProductId(productId);
+    });
+    long stock = Math.max(0, product.getTotalStock() - reserved);
+    if (Long.valueOf(1).equals(redis.execute(LOAD, keys, Long.toString(stock), Long.toString(RESTORED_TTL_MS)))) {
+      log.info("재고 적재: productId={}, stock={}, restoresIncluded={}", productId, stock, keys.size() - 1);
+    }
+    redis.opsForSet().add(PRODUCTS_KEY, product.getId().toString());
+  }
+}
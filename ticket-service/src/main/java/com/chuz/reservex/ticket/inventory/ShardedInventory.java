@@ -0,0 +1,131 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.chuz.reservex.ticket.inventory.StockBucketRepository.Available;
+import com.chuz.reservex.ticket.product.Product;
+import com.chuz.reservex.ticket.reservation.ReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버킷 분할 DB 재고 (app.inventory.mode=sharded)
+ * - 상품 재고를 buckets개 stock_buckets 행으로 나누고, 임의의 버킷부터 조건부 UPDATE로 차감 (비었으면 다음 버킷)
+ * - 한 상품의 예매가 서로 다른 행을 잠그므로 행 경합이 약 buckets분의 1
+ * - 한 버킷으로 모자라면 버킷 번호 오름차순으로 한 바퀴 돌며 나누어 차감 (모든 예매가 같은 순서로 잠가 교착 없음)
+ *   경쟁에서 진 버킷은 다시 읽어 같은 버킷부터 재시도 (최대 MAX_REREADS회, 넘으면 충돌로 실패)
+ *   남은 합계가 모자라거나 충돌로 실패하면 예외 → 트랜잭션 롤백으로 부분 차감 복구
+ * - 버킷은 첫 예매/복구 시 전체 재고 - 취소되지 않은 예매 수량 합을 나누어 생성
+ *   (products.available_stock은 집계 주기만큼 늦으므로 사용하지 않음)
+ * - products.available_stock은 StockBucketAggregator가 버킷 합계로 주기적으로 갱신
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "sharded")
+public class ShardedInventory implements Inventory {
+
+  /** 여러 버킷 차감 중 경쟁에서 진 버킷을 다시 읽는 최대 횟수 */
+  static final int MAX_REREADS = 5;
+
+  private final StockBucketRepository bucketRepository;
+  private final ReservationRepository reservationRepository;
+  private final int buckets;
+
+  public ShardedInventory(StockBucketRepository bucketRepository, ReservationRepository reservationRepository,
+      @Value("${app.inventory.buckets:16}") int buckets) {
+    this.bucketRepository = bucketRepository;
+    this.reservationRepository = reservationRepository;
+    this.buckets = buckets;
+  }
+
+  @Override
+  public void reserve(Product product, int quantity) {
+    if (decreaseAny(product.getId(), quantity)) {
+      return;
+    }
+
+    List<Available> rows = bucketRepository.findAvailable(product.getId());
+    if (rows.isEmpty()) {
+      createBuckets(product);
+      if (decreaseAny(product.getId(), quantity)) {
+        return;
+      }
+      rows = bucketRepository.findAvailable(product.getId());
+    }
+
+    // 버킷 번호 오름차순으로만 잠금 (이미 차감한 버킷보다 앞 번호로 돌아가지 않음)
+    // 읽은 뒤 다른 예매가 먼저 차감해 실패한 버킷은 다시 읽어 그 버킷부터 재시도
+    int remaining = quantity;
+    int rereads = 0;
+    int cursor = 0;
+    while (remaining > 0) {
+      int from = cursor;
+      if (rows.stream().filter(row -> row.getBucketNo() >= from).mapToInt(Available::getAvailable).sum() < remaining) {
+        throw new IllegalStateException("재고가 부족합니다.");
+      }
+      Available row = rows.stream().filter(r -> r.getBucketNo() >= from).findFirst().orElseThrow();
+      int take = Math.min(row.getAvailable(), remaining);
+      if (take == 0 || bucketRepository.decrease(product.getId(), row.getBucketNo(), take) == 1) {
+        remaining -= take;
+        cursor = row.getBucketNo() + 1;
+        continue;
+      }
+      if (++rereads > MAX_REREADS) {
+        throw new IllegalStateException("재고 변경 충돌이 반복되었습니다.");
+      }
+      cursor = row.getBucketNo();
+      rows = bucketRepository.findAvailable(product.getId());
+    }
+  }
+
+  /**
+   * 버킷이 없으면 생성 (이 복구분은 생성값에 이미 포함되므로 더하지 않음)
+   */
+  @Override
+  public void restore(Product product, int quantity) {
+    int bucketNo = ThreadLocalRandom.current().nextInt(buckets);
+    if (bucketRepository.increase(product.getId(), bucketNo, quantity) == 0 && createBuckets(product) == 0) {
+      // 다른 트랜잭션이 먼저 생성 → 그 생성값에는 이 취소가 반영되지 않았으므로 더함
+      bucketRepository.increase(product.getId(), bucketNo, quantity);
+    }
+  }
+
+  /**
+   * 임의의 버킷부터 한 바퀴 돌며 quantity 이상 남은 버킷에서 차감
+   */
+  private boolean decreaseAny(Long productId, int quantity) {
+    int start = ThreadLocalRandom.current().nextInt(buckets);
+    for (int i = 0; i < buckets; i++) {
+      if (bucketRepository.decrease(productId, (start + i) % buckets, quantity) == 1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 전체 재고 - 취소되지 않은 예매 수량 합을 나누어 버킷 생성
+   * 합계 조회 전 flush되므로 같은 트랜잭션의 취소는 반영되고, 아직 저장하지 않은 예매는 포함되지 않음
+   * 동시에 생성하면 먼저 커밋된 버킷 유지 (늦은 쪽은 기존 버킷에서 차감/복구)
+   *
+   * @return 이 트랜잭션이 생성한 버킷 수 (다른 트랜잭션이 먼저 생성했으면 0)
+   */
+  private int createBuckets(Product product) {
+    long reserved = reservationRepository.sumActiveQuantityByProductId(product.getId());
+    int stock = (int) Math.max(0, product.getTotalStock() - reserved);
+    int created = 0;
+    for (int bucketNo = 0; bucketNo < buckets; bucketNo++) {
+      int available = stock / buckets + (bucketNo < stock % buckets ? 1 : 0);
+      created += bucketRepository.createIfAbsent(product.getId(), bucketNo, available);
+    }
+    if (created > 0) {
+      log.info("재고 버킷 생성: productId={}, stock={}, buckets={}", product.getId(), stock, buckets);
+    }
+    return created;
+  }
+}
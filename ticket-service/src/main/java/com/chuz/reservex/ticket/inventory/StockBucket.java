@@ -0,0 +1,31 @@
+package com.chuz.reservex.ticket.inventory;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 버킷 (app.inventory.mode=sharded)
+ * 상품 재고를 buckets개 행으로 나누어 예매마다 갱신하는 행을 분산
+ */
+@Entity
+@Table(name = "stock_buckets",
+    uniqueConstraints = @UniqueConstraint(columnNames = { "product_id", "bucket_no" }))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockBucket {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(name = "bucket_no", nullable = false)
+  private Integer bucketNo; // 0 ~ buckets - 1
+
+  @Column(nullable = false)
+  private Integer available; // 버킷에 남은 재고
+}
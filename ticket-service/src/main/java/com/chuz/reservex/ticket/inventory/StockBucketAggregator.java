@@ -0,0 +1,62 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버킷 합계 → products.available_stock 반영 (app.inventory.mode=sharded)
+ * - 리더 노드 1대만 실행 (stock:aggregator 임대, StockReconciler와 같은 방식) → 노드마다 같은 전체 집계를 반복하지 않음
+ * - 합계가 바뀐 상품만 UPDATE 1문으로 갱신 (상품 조회 API 재고는 최대 reconcileMs만큼 늦게 반영)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "sharded")
+public class StockBucketAggregator {
+
+  private static final String LEASE_KEY = "stock:aggregator";
+  private static final RedisScript<Long> LEASE = RedisScript.of(new ClassPathResource("inventory/lease.lua"),
+      Long.class);
+  private static final String AGGREGATE = """
+      UPDATE products p SET available_stock = s.total, updated_at = now()
+      FROM (SELECT product_id, SUM(available) AS total FROM stock_buckets GROUP BY product_id) s
+      WHERE p.id = s.product_id AND p.available_stock <> s.total""";
+
+  private final StringRedisTemplate redis;
+  private final JdbcTemplate jdbc;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  @Value("${app.inventory.reconcileMs:1000}")
+  long reconcileMs = 1000;
+
+  public StockBucketAggregator(StringRedisTemplate redis, JdbcTemplate jdbc) {
+    this.redis = redis;
+    this.jdbc = jdbc;
+  }
+
+  @Scheduled(fixedDelayString = "${app.inventory.reconcileMs:1000}")
+  public void aggregate() {
+    try {
+      if (!Long.valueOf(1).equals(redis.execute(LEASE, List.of(LEASE_KEY), nodeId,
+          Long.toString(reconcileMs * 3)))) {
+        return;
+      }
+      int updated = jdbc.update(AGGREGATE);
+      if (updated > 0) {
+        log.debug("재고 버킷 합계 반영: {}건", updated);
+      }
+    } catch (Exception e) {
+      log.warn("재고 버킷 합계 반영 실패: {}", e.getMessage());
+    }
+  }
+}
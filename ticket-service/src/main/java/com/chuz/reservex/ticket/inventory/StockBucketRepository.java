@@ -0,0 +1,47 @@
+package com.chuz.reservex.ticket.inventory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 재고 버킷 레포지토리
+ * 차감은 조건부 UPDATE 1회 (버킷 재고가 모자라면 0건 갱신, 음수가 되지 않음)
+ */
+@Repository
+public interface StockBucketRepository extends JpaRepository<StockBucket, Long> {
+
+  // 버킷 번호 순 (여러 버킷에서 차감할 때 잠금 순서를 같게 하여 교착 방지)
+  // 엔티티가 아닌 값으로 조회 → 영속성 컨텍스트에 캐시된 값이 아니라 매번 DB의 현재 재고
+  @Query("select b.bucketNo as bucketNo, b.available as available from StockBucket b "
+      + "where b.productId = :productId order by b.bucketNo")
+  List<Available> findAvailable(Long productId);
+
+  @Modifying
+  @Query("update StockBucket b set b.available = b.available - :quantity "
+      + "where b.productId = :productId and b.bucketNo = :bucketNo and b.available >= :quantity")
+  int decrease(Long productId, int bucketNo, int quantity);
+
+  @Modifying
+  @Query("update StockBucket b set b.available = b.available + :quantity "
+      + "where b.productId = :productId and b.bucketNo = :bucketNo")
+  int increase(Long productId, int bucketNo, int quantity);
+
+  // 동시에 생성해도 먼저 커밋된 버킷 유지
+  @Modifying
+  @Query(value = "insert into stock_buckets (product_id, bucket_no, available) "
+      + "values (:productId, :bucketNo, :available) on conflict do nothing", nativeQuery = true)
+  int createIfAbsent(Long productId, int bucketNo, int available);
+
+  /**
+   * 버킷별 남은 재고
+   */
+  interface Available {
+    int getBucketNo();
+
+    int getAvailable();
+  }
+}
@@ -0,0 +1,120 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 재고 → products.available_stock 반영 (app.inventory.mode=redis)
+ * - 리더 노드 1대만 실행 (stock:reconciler 임대), 노드 간 반영 순서가 뒤바뀌지 않음
+ * - reconcileMs 주기로 Redis에 반영하지 못한 복구(stock_restores)를 재시도한 뒤
+ *   적재된 상품의 재고를 파이프라인으로 읽고, 바뀐 값만 batchSize개씩 JDBC 배치 UPDATE
+ * - 상품 조회 API의 재고는 최대 reconcileMs만큼 늦게 반영됨
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "redis")
+public class StockReconciler {
+
+  private static final String LEASE_KEY = "stock:reconciler";
+  private static final RedisScript<Long> LEASE = RedisScript.of(new ClassPathResource("inventory/lease.lua"),
+      Long.class);
+
+  private final StringRedisTemplate redis;
+  private final JdbcTemplate jdbc;
+  private final RedisInventory inventory;
+  private final String nodeId = UUID.randomUUID().toString();
+  /** 마지막으로 반영한 값 (리더가 바뀌면 비어 있으므로 전체 반영) */
+  private final Map<Long, Long> written = new HashMap<>();
+
+  @Value("${app.inventory.reconcileMs:1000}")
+  long reconcileMs = 1000;
+
+  @Value("${app.inventory.batchSize:500}")
+  int batchSize = 500;
+
+  public StockReconciler(StringRedisTemplate redis, JdbcTemplate jdbc, RedisInventory inventory) {
+    this.redis = redis;
+    this.jdbc = jdbc;
+    this.inventory = inventory;
+  }
+
+  @Scheduled(fixedDelayString = "${app.inventory.reconcileMs:1000}")
+  public void reconcile() {
+    try {
+      if (!Long.valueOf(1).equals(redis.execute(LEASE, List.of(LEASE_KEY), nodeId,
+          Long.toString(reconcileMs * 3)))) {
+        written.clear();
+        return;
+      }
+      int restored = inventory.retryPending(batchSize);
+      if (restored > 0) {
+        log.info("재고 복구 재시도 반영: {}건", restored);
+      }
+      int updated = writeBack(readStock());
+      if (updated > 0) {
+        log.debug("재고 반영: {}건", updated);
+      }
+    } catch (Exception e) {
+      log.warn("재고 반영 실패: {}", e.getMessage());
+    }
+  }
+
+  private Map<Long, Long> readStock() {
+    List<Long> productIds = redis.opsForSet().members(RedisInventory.PRODUCTS_KEY).stream()
+        .map(Long::valueOf)
+        .toList();
+    List<Object> values = redis.executePipelined((RedisCallback<Object>) conn -> {
+      StringRedisConnection str = (StringRedisConnection) conn;
+      for (Long productId : productIds) {
+        str.get(RedisInventory.stockKey(productId));
+      }
+      return null;
+    });
+
+    Map<Long, Long> stock = new HashMap<>();
+    for (int i = 0; i < productIds.size(); i++) {
+      // 유실된 키는 다음 예매 시 DB 기준으로 다시 적재되므로 건너뜀
+      if (values.get(i) != null) {
+        stock.put(productIds.get(i), Long.valueOf((String) values.get(i)));
+      }
+    }
+    return stock;
+  }
+
+  private int writeBack(Map<Long, Long> stock) {
+    List<Object[]> changed = new ArrayList<>();
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    stock.forEach((productId, available) -> {
+      if (!available.equals(written.get(productId))) {
+        changed.add(new Object[] { available, now, productId });
+      }
+    });
+
+    for (int from = 0; from < changed.size(); from += batchSize) {
+      jdbc.batchUpdate("UPDATE products SET available_stock = ?, updated_at = ? WHERE id = ?",
+          changed.subList(from, Math.min(from + batchSize, changed.size())));
+    }
+    for (Object[] row : changed) {
+      written.put((Long) row[2], (Long) row[0]);
+    }
+    return changed.size();
+  }
+}
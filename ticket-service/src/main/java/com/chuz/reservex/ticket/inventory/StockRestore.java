@@ -0,0 +1,44 @@
+package com.chuz.reservex.ticket.inventory;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 재고에 아직 반영하지 못한 복구 (app.inventory.mode=redis)
+ * 보상 트랜잭션과 함께 커밋하고 Redis 반영 후 삭제, 남은 행은 StockReconciler 리더가 재시도
+ */
+@Entity
+@Table(name = "stock_restores")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockRestore {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(nullable = false)
+  private Integer quantity; // 되돌릴 수량
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+
+  public static StockRestore create(Long productId, int quantity) {
+    StockRestore restore = new StockRestore();
+    restore.productId = productId;
+    restore.quantity = quantity;
+    return restore;
+  }
+}
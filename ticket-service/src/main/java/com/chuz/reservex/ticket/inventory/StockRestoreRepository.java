@@ -0,0 +1,20 @@
+package com.chuz.reservex.ticket.inventory;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 미반영 재고 복구 레포지토리
+ */
+@Repository
+public interface StockRestoreRepository extends JpaRepository<StockRestore, Long> {
+
+  // 기록 순 (오래된 복구부터 재시도)
+  List<StockRestore> findByOrderByIdAsc(Limit limit);
+
+  // 상품별 미반영 복구 (Redis 재고 적재 시 적재 값에 포함된 기록 확인용)
+  List<StockRestore> findByProductId(Long productId);
+}
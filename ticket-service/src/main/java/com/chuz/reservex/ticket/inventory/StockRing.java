@@ -0,0 +1,79 @@
+package com.chuz.reservex.ticket.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고정 크기 다중 생산자 / 단일 소비자 링 버퍼 (잠금 없음)
+ * - 생산자는 tail을 CAS로 확보한 칸에 기록하고 칸 순번을 +1로 공개
+ * - 소비자(재고 쓰기 스레드 1개)만 head를 움직이며, 비운 칸의 순번을 한 바퀴 뒤로 돌려 재사용
+ * 가득 차면 offer가 false를 반환 (대기하지 않음)
+ */
+final class StockRing<T> {
+
+  private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final long[] sequences;
+  private final Object[] slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  StockRing(int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity는 2의 거듭제곱이어야 합니다: " + capacity);
+    }
+    this.sequences = new long[capacity];
+    this.slots = new Object[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      sequences[i] = i;
+    }
+  }
+
+  boolean offer(T item) {
+    while (true) {
+      long t = tail.get();
+      int index = (int) t & mask;
+      long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+      if (sequence == t) {
+        if (tail.compareAndSet(t, t + 1)) {
+          slots[index] = item;
+          SEQUENCE.setRelease(sequences, index, t + 1);
+          return true;
+        }
+      } else if (sequence < t) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * 꺼낼 항목이 없는지 (소비자 스레드 전용)
+   */
+  boolean isEmpty() {
+    return (long) SEQUENCE.getAcquire(sequences, (int) head & mask) != head + 1;
+  }
+
+  /**
+   * 공개된 항목을 최대 max개 꺼냄 (소비자 스레드 전용)
+   */
+  @SuppressWarnings("unchecked")
+  int drainTo(List<T> out, int max) {
+    int n = 0;
+    while (n < max) {
+      int index = (int) head & mask;
+      if ((long) SEQUENCE.getAcquire(sequences, index) != head + 1) {
+        break;
+      }
+      out.add((T) slots[index]);
+      slots[index] = null;
+      SEQUENCE.setRelease(sequences, index, head + slots.length);
+      head++;
+      n++;
+    }
+    return n;
+  }
+}
@@ -39,7 +39,7 @@ public class Product {
   private Integer totalStock; // 전체 재고
 
   @Column(nullable = false)
-  private Integer availableStock; // 예매 가능한 재고
+  private Integer availableStock; // 예매 가능한 재고 (redis/sharded 재고 모드에서는 주기적으로 반영되는 값, engine 모드에서는 엔진이 기록)
 
   @Column(nullable = false)
   private LocalDateTime saleStartAt; // 판매 시작 시간
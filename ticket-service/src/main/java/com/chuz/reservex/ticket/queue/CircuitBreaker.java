@@ -0,0 +1,120 @@
+package com.chuz.reservex.ticket.queue;
+
+/**
+ * queue-service 호출 차단기 (최근 window회 호출 기준)
+ * - CLOSED: 최근 호출 중 실패율이 failureRate% 이상이면 (최소 minCalls회) OPEN
+ * - OPEN: openMs 동안 호출하지 않고 즉시 실패 → 이후 HALF_OPEN
+ * - HALF_OPEN: probeCalls회까지만 시험 호출, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ */
+final class CircuitBreaker {
+
+  enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int failureRate;
+  private final int minCalls;
+  private final long openMs;
+  private final int probeCalls;
+
+  /** 최근 호출 결과 (true = 실패) */
+  private final boolean[] window;
+  private int next;
+  private int recorded;
+  private int failures;
+
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int probes;
+  private int probeSuccesses;
+
+  CircuitBreaker(int window, int failureRate, int minCalls, long openMs, int probeCalls) {
+    this.window = new boolean[window];
+    this.failureRate = failureRate;
+    this.minCalls = Math.min(minCalls, window);
+    this.openMs = openMs;
+    this.probeCalls = probeCalls;
+  }
+
+  /**
+   * 호출 허용 여부 (허용되면 반드시 onSuccess/onFailure/release 중 하나를 호출)
+   */
+  synchronized boolean tryAcquire(long now) {
+    if (state == State.OPEN) {
+      if (now - openedAt < openMs) {
+        return false;
+      }
+      state = State.HALF_OPEN;
+      probes = 0;
+      probeSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probes >= probeCalls) {
+        return false;
+      }
+      probes++;
+    }
+    return true;
+  }
+
+  synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      if (++probeSuccesses >= probeCalls) {
+        close();
+      }
+      return;
+    }
+    record(false);
+  }
+
+  synchronized void onFailure(long now) {
+    if (state == State.HALF_OPEN) {
+      open(now);
+      return;
+    }
+    record(true);
+    if (state == State.CLOSED && recorded >= minCalls && failures * 100 >= failureRate * recorded) {
+      open(now);
+    }
+  }
+
+  /**
+   * 결과를 집계하지 않고 호출 종료 (예상하지 못한 예외 등, HALF_OPEN이면 시험 호출 자리만 반환)
+   */
+  synchronized void release() {
+    if (state == State.HALF_OPEN && probes > probeSuccesses) {
+      probes--;
+    }
+  }
+
+  synchronized State state() {
+    return state;
+  }
+
+  private void record(boolean failed) {
+    if (recorded == window.length) {
+      if (window[next]) {
+        failures--;
+      }
+    } else {
+      recorded++;
+    }
+    window[next] = failed;
+    if (failed) {
+      failures++;
+    }
+    next = (next + 1) % window.length;
+  }
+
+  private void open(long now) {
+    state = State.OPEN;
+    openedAt = now;
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    next = 0;
+    recorded = 0;
+    failures = 0;
+  }
+}
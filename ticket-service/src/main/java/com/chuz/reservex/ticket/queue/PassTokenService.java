@@ -1,23 +1,42 @@
 package com.chuz.reservex.ticket.queue;
 
+import java.util.List;
+
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.common.security.PassTokenCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 /**
  * Pass Token 서비스
- * queue-service와 통신하여 Pass Token 검증
+ * - local (기본): 서명/대상/만료를 직접 확인하고 Redis 스크립트 1회로 Pass Token 키 확인 + 소비 마커 SET NX (queue-service 호출 없음)
+ *   → 서명이 유효해도 queue-service가 슬롯 해제/정리/이벤트 종료로 지운 토큰은 거부
+ * - remote: queue-service 검증 API 호출 (embedded 저장소는 소비 마커를 보지 않으므로 remote 사용)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PassTokenService {
 
+  private static final RedisScript<Long> CONSUME = RedisScript.of(new ClassPathResource("queue/consume_pass.lua"),
+      Long.class);
+
   private final QueueServiceClient queueServiceClient;
+  private final PassTokenCodec passTokenCodec;
+  private final StringRedisTemplate redis;
+
+  @Value("${app.pass.verify:local}")
+  String verify;
 
   /**
    * Pass Token 검증 및 소비 (일회성)
-   * queue-service에 API 호출하여 검증
+   *
+   * @throws QueueUnavailableException queue-service/대기열 Redis에 닿지 않아 확인할 수 없음
    */
   public boolean validateAndConsume(Long eventId, String clientId, String passToken) {
     if (passToken == null || passToken.isBlank()) {
@@ -25,8 +44,9 @@ public class PassTokenService {
       return false;
     }
 
-    // queue-service로 검증 요청
-    boolean isValid = queueServiceClient.validatePassToken(eventId, clientId, passToken);
+    boolean isValid = "remote".equals(verify)
+        ? queueServiceClient.validatePassToken(eventId, clientId, passToken)
+        : consumeLocally(eventId, clientId, passToken);
 
     if (isValid) {
       log.info("Pass Token 검증 및 소비 완료: eventId={}, clientId={}", eventId, clientId);
@@ -36,4 +56,27 @@ public class PassTokenService {
 
     return isValid;
   }
+
+  /**
+   * Pass Token 키가 남아 있고 nonce가 같을 때만 소비 마커 기록 (clientId = 인증된 사용자)
+   * 소비 마커(값 = 소비 시각)는 토큰 만료 + 유예 시간까지 유지
+   * queue-service는 마커로 로컬 소비 여부를 판단하여 입장 슬롯을 보유 중으로 계산 (만료/해제 시 허용량 반환 여부)
+   */
+  boolean consumeLocally(Long eventId, String clientId, String passToken) {
+    PassToken token = passTokenCodec.decode(passToken);
+    long now = System.currentTimeMillis();
+    if (token == null || token.eventId() != eventId || !Long.toString(token.userId()).equals(clientId)
+        || token.isExpired(now)) {
+      return false;
+    }
+
+    try {
+      Long res = redis.execute(CONSUME, List.of(token.passKey(), token.usedKey()),
+          token.raw(), Long.toString(now), Long.toString(token.expiresAt() - now + PassToken.USED_GRACE_MS));
+      return res != null && res == 1L;
+    } catch (Exception e) {
+      log.error("Pass Token 소비 마커 기록 실패: eventId={}, clientId={}", eventId, clientId, e);
+      throw new QueueUnavailableException("Pass Token 소비 마커 기록 실패", e);
+    }
+  }
 }
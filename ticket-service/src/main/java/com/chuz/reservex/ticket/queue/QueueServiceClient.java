@@ -1,43 +1,168 @@
 package com.chuz.reservex.ticket.queue;
 
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
 /**
  * Queue Service API 클라이언트
- * MSA 서비스 간 통신
+ * - 연결 풀 + 연결/응답 제한 시간 (QueueClientConfig)
+ * - 동시 호출 상한(bulkhead): maxConcurrent를 넘는 호출은 기다리지 않고 즉시 실패 → 예매 스레드가 queue-service 지연에 묶이지 않음
+ * - 차단기: 최근 호출 실패율이 높으면 openMs 동안 호출 없이 즉시 실패
+ * - 실패는 QueueUnavailableException으로 전파 (토큰 불일치와 구분, 4xx 응답은 queue-service 장애로 보지 않음)
+ * - 지표: queue.client.requests{op,outcome} (히스토그램), queue.client.rejected{op,reason}, queue.client.breaker.state
+ *   (outcome = success/client_error/error/unexpected, 예상하지 못한 예외는 차단기에 집계하지 않고 시험 호출 자리만 반환)
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class QueueServiceClient {
 
-  private final RestTemplate restTemplate;
+  private final RestClient restClient;
+  private final Semaphore bulkhead;
+  private final CircuitBreaker breaker;
+  private final Meters validateMeters;
+  private final Meters releaseMeters;
 
-  @Value("${app.queue-service.url:http://localhost:8083}")
-  private String queueServiceUrl;
+  public QueueServiceClient(RestClient queueRestClient, MeterRegistry registry,
+      @Value("${app.queue-service.maxConcurrent:64}") int maxConcurrent,
+      @Value("${app.queue-service.breaker.window:50}") int window,
+      @Value("${app.queue-service.breaker.failureRate:50}") int failureRate,
+      @Value("${app.queue-service.breaker.minCalls:20}") int minCalls,
+      @Value("${app.queue-service.breaker.openMs:5000}") long openMs,
+      @Value("${app.queue-service.breaker.probeCalls:5}") int probeCalls) {
+    this.restClient = queueRestClient;
+    this.bulkhead = new Semaphore(maxConcurrent);
+    this.breaker = new CircuitBreaker(window, failureRate, minCalls, openMs, probeCalls);
+    Gauge.builder("queue.client.breaker.state", breaker, b -> b.state().ordinal())
+        .description("queue-service 차단기 상태 (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN)")
+        .register(registry);
+    this.validateMeters = new Meters(registry, "validate");
+    this.releaseMeters = new Meters(registry, "release");
+  }
 
   /**
    * Pass Token 검증 요청 (queue-service로 API 호출)
+   *
+   * @throws QueueUnavailableException queue-service 응답 없음/차단 중/동시 호출 상한 초과
    */
   public boolean validatePassToken(Long eventId, String clientId, String passToken) {
+    Boolean result = call(validateMeters, () -> restClient.post()
+        .uri("/queue/{eventId}/validate-pass-token?clientId={clientId}&passToken={passToken}",
+            eventId, clientId, passToken)
+        .retrieve()
+        .body(Boolean.class));
+
+    log.debug("Queue Service 검증 결과: eventId={}, clientId={}, result={}", eventId, clientId, result);
+    return Boolean.TRUE.equals(result);
+  }
+
+  /**
+   * 입장 슬롯 해제 요청 (결제 완료/실패 시)
+   * 실패해도 queue-service가 보유 기한 경과 후 정리하므로 예외를 전파하지 않음
+   *
+   * @param abandoned 예매 포기 여부 (true면 다음 대기자에게 입장 허용량 반환)
+   */
+  public void releasePass(Long eventId, Long userId, boolean abandoned) {
+    try {
+      call(releaseMeters, () -> restClient.post()
+          .uri("/queue/{eventId}/release-pass?userId={userId}&abandoned={abandoned}", eventId, userId, abandoned)
+          .retrieve()
+          .body(Boolean.class));
+    } catch (QueueUnavailableException e) {
+      log.warn("입장 슬롯 해제 실패: eventId={}, userId={}, {}", eventId, userId, e.getMessage());
+    }
+  }
+
+  private <T> T call(Meters meters, Supplier<T> request) {
+    if (!bulkhead.tryAcquire()) {
+      meters.bulkhead.increment();
+      throw rejected(meters.op, "bulkhead");
+    }
     try {
-      String url = String.format("%s/queue/%d/validate-pass-token?clientId=%s&passToken=%s",
-          queueServiceUrl, eventId, clientId, passToken);
+      if (!breaker.tryAcquire(System.currentTimeMillis())) {
+        meters.open.increment();
+        throw rejected(meters.op, "open");
+      }
+      long start = System.nanoTime();
+      Timer outcome = null;
+      try {
+        T result = request.get();
+        breaker.onSuccess();
+        outcome = meters.success;
+        return result;
+      } catch (HttpClientErrorException e) {
+        // 요청 형식 오류 등은 queue-service가 응답한 것이므로 장애로 집계하지 않음
+        breaker.onSuccess();
+        outcome = meters.clientError;
+        log.warn("Queue Service 요청 거부: op={}, status={}", meters.op, e.getStatusCode());
+        return null;
+      } catch (RestClientException e) {
+        breaker.onFailure(System.currentTimeMillis());
+        outcome = meters.error;
+        throw new QueueUnavailableException("queue-service 호출 실패: " + meters.op, e);
+      } finally {
+        if (outcome == null) {
+          // 예상하지 못한 예외: 결과는 집계하지 않되 HALF_OPEN 시험 호출 자리는 반환
+          breaker.release();
+          outcome = meters.unexpected;
+        }
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  private static QueueUnavailableException rejected(String op, String reason) {
+    return new QueueUnavailableException("queue-service 호출 생략: " + op + " (" + reason + ")");
+  }
 
-      Boolean result = restTemplate.postForObject(url, null, Boolean.class);
+  /**
+   * 호출 종류별 지표 (생성자에서 1회 등록)
+   */
+  private static final class Meters {
+    private final String op;
+    private final Timer success;
+    private final Timer clientError;
+    private final Timer error;
+    private final Timer unexpected;
+    private final Counter bulkhead;
+    private final Counter open;
 
-      log.debug("Queue Service 검증 결과: eventId={}, clientId={}, result={}",
-          eventId, clientId, result);
+    private Meters(MeterRegistry registry, String op) {
+      this.op = op;
+      this.success = timer(registry, op, "success");
+      this.clientError = timer(registry, op, "client_error");
+      this.error = timer(registry, op, "error");
+      this.unexpected = timer(registry, op, "unexpected");
+      this.bulkhead = counter(registry, op, "bulkhead");
+      this.open = counter(registry, op, "open");
+    }
 
-      return Boolean.TRUE.equals(result);
+    private static Timer timer(MeterRegistry registry, String op, String outcome) {
+      return Timer.builder("queue.client.requests")
+          .tag("op", op)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(registry);
+    }
 
-    } catch (Exception e) {
-      log.error("Queue Service 호출 실패: eventId={}, clientId={}", eventId, clientId, e);
-      return false;
+    private static Counter counter(MeterRegistry registry, String op, String reason) {
+      return Counter.builder("queue.client.rejected")
+          .tag("op", op)
+          .tag("reason", reason)
+          .register(registry);
     }
   }
 }
@@ -0,0 +1,16 @@
+package com.chuz.reservex.ticket.queue;
+
+/**
+ * Pass Token을 확인할 수 없음 (queue-service 제한 시간 초과/차단/동시 호출 상한, 대기열 Redis 오류)
+ * 토큰이 틀린 것과 구분하여 503으로 응답 (클라이언트가 같은 토큰으로 재시도)
+ */
+public class QueueUnavailableException extends RuntimeException {
+
+  public QueueUnavailableException(String message) {
+    super(message);
+  }
+
+  public QueueUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
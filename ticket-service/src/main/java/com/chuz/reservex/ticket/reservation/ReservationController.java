@@ -1,5 +1,7 @@
 package com.chuz.reservex.ticket.reservation;
 
+import com.chuz.reservex.common.ratelimit.RateLimited;
+import com.chuz.reservex.ticket.capacity.CapacityReporter;
 import com.chuz.reservex.ticket.config.RequirePassToken;
 import com.chuz.reservex.ticket.saga.ReservationSagaService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,7 @@ public class ReservationController {
 
   private final ReservationSagaService reservationSagaService;
   private final ReservationService reservationService;
+  private final CapacityReporter capacityReporter;
 
   /**
    * 예매 생성 (SAGA 패턴)
@@ -26,6 +29,7 @@ public class ReservationController {
    * - Pass Token 검증 필수 (대기열 통과 후에만 예매 가능)
    * - 예매 → 결제 → 티켓 발급 흐름 자동 처리
    */
+  @RateLimited(permits = 5, period = 10)
   @PostMapping
   @RequirePassToken
   public ResponseEntity<ReservationResponse> createReservation(
@@ -36,11 +40,12 @@ public class ReservationController {
     Long userId = (Long) authentication.getPrincipal();
 
     // SAGA 패턴으로 예매 생성 및 결제 프로세스 시작
-    Reservation reservation = reservationSagaService.createReservationAndStartSaga(
-        userId,
-        request.getProductId(),
-        request.getQuantity()
-    );
+    Reservation reservation = capacityReporter.timeReservation(() ->
+        reservationSagaService.createReservationAndStartSaga(
+            userId,
+            request.getProductId(),
+            request.getQuantity()
+        ));
 
     return ResponseEntity.ok(ReservationResponse.from(reservation));
   }
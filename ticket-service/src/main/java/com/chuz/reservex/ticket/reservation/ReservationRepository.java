@@ -1,8 +1,10 @@
 package com.chuz.reservex.ticket.reservation;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +24,12 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
   // 사용자의 특정 상태 예매 조회
   List<Reservation> findByUserIdAndStatus(Long userId, Reservation.ReservationStatus status);
+
+  // 상태별 예매 수 (처리 여력 보고용)
+  long countByStatusIn(Collection<Reservation.ReservationStatus> statuses);
+
+  // 상품별 취소되지 않은 예매 수량 합 (Redis 재고 적재용)
+  @Query("select coalesce(sum(r.quantity), 0) from Reservation r "
+      + "where r.product.id = :productId and r.status <> com.chuz.reservex.ticket.reservation.Reservation.ReservationStatus.CANCELLED")
+  long sumActiveQuantityByProductId(Long productId);
 }
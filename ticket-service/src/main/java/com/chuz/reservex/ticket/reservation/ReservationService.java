@@ -1,5 +1,6 @@
 package com.chuz.reservex.ticket.reservation;
 
+import com.chuz.reservex.ticket.inventory.Inventory;
 import com.chuz.reservex.ticket.product.Product;
 import com.chuz.reservex.ticket.product.ProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,7 @@ public class ReservationService {
 
   private final ReservationRepository reservationRepository;
   private final ProductRepository productRepository;
+  private final Inventory inventory;
 
   /**
    * 예매 생성
@@ -32,7 +34,7 @@ public class ReservationService {
         .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
 
     // 재고 감소
-    product.decreaseStock(quantity);
+    inventory.reserve(product, quantity);
 
     // 예매 생성
     String sagaId = UUID.randomUUID().toString();
@@ -62,11 +64,11 @@ public class ReservationService {
     Reservation reservation = reservationRepository.findById(reservationId)
         .orElseThrow(() -> new IllegalArgumentException("예매를 찾을 수 없습니다."));
 
-    // 재고 복구
-    reservation.getProduct().increaseStock(reservation.getQuantity());
-
     reservation.cancel();
 
+    // 재고 복구
+    inventory.restore(reservation.getProduct(), reservation.getQuantity());
+
     return reservation;
   }
 
@@ -5,8 +5,11 @@ import com.chuz.reservex.common.saga.events.PaymentCompletedEvent;
 import com.chuz.reservex.common.saga.events.PaymentFailedEvent;
 import com.chuz.reservex.common.saga.events.ReservationCancelledEvent;
 import com.chuz.reservex.common.saga.events.ReservationCreatedEvent;
+import com.chuz.reservex.ticket.inventory.AfterTransaction;
+import com.chuz.reservex.ticket.inventory.Inventory;
 import com.chuz.reservex.ticket.product.Product;
 import com.chuz.reservex.ticket.product.ProductRepository;
+import com.chuz.reservex.ticket.queue.QueueServiceClient;
 import com.chuz.reservex.ticket.reservation.Reservation;
 import com.chuz.reservex.ticket.reservation.ReservationRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +31,9 @@ public class ReservationSagaService {
 
 	private final ReservationRepository reservationRepository;
 	private final ProductRepository productRepository;
+	private final Inventory inventory;
 	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final QueueServiceClient queueServiceClient;
 
 	/**
 	 * 예약 생성 및 SAGA 시작
@@ -45,8 +50,7 @@ public class ReservationSagaService {
 			.orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
 
 		// 재고 감소
-		product.decreaseStock(quantity);
-		productRepository.save(product);
+		inventory.reserve(product, quantity);
 
 		// 예약 생성
 		Reservation reservation = Reservation.create(userId, product, quantity, sagaId);
@@ -84,6 +88,11 @@ public class ReservationSagaService {
 		reservation.confirm();
 		reservationRepository.save(reservation);
 
+		// 입장 슬롯 해제 (구매 완료, 커밋 후 - 롤백/재전달 시 중복 해제 방지, 원격 호출 동안 트랜잭션을 잡지 않음)
+		Long eventId = reservation.getProduct().getEvent().getId();
+		Long userId = reservation.getUserId();
+		AfterTransaction.run(true, () -> queueServiceClient.releasePass(eventId, userId, false));
+
 		log.info("예약 확정 완료: sagaId={}, reservationId={}", event.getSagaId(), reservation.getId());
 	}
 
@@ -99,15 +108,14 @@ public class ReservationSagaService {
 		Reservation reservation = reservationRepository.findById(event.getReservationId())
 			.orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다."));
 
-		// 재고 복구
-		Product product = reservation.getProduct();
-		product.increaseStock(reservation.getQuantity());
-		productRepository.save(product);
-
-		// 예약 취소
+		// 예약 취소 (이미 취소된 예약이면 예외 → 재고 중복 복구 방지)
 		reservation.cancel();
 		reservationRepository.save(reservation);
 
+		// 재고 복구
+		Product product = reservation.getProduct();
+		inventory.restore(product, reservation.getQuantity());
+
 		// 예약 취소 이벤트 발행
 		ReservationCancelledEvent cancelledEvent = new ReservationCancelledEvent(
 			event.getSagaId(),
@@ -116,6 +124,11 @@ public class ReservationSagaService {
 		);
 
 		kafkaTemplate.send(SagaTopics.RESERVATION_CANCELLED, cancelledEvent);
+
+		// 입장 슬롯 해제 (예매 포기, 다음 대기자 입장, 커밋 후)
+		Long eventId = product.getEvent().getId();
+		Long userId = reservation.getUserId();
+		AfterTransaction.run(true, () -> queueServiceClient.releasePass(eventId, userId, true));
 		log.info("예약 취소 완료 (보상 트랜잭션): sagaId={}, reservationId={}", event.getSagaId(), reservation.getId());
 	}
 }
@@ -0,0 +1,10 @@
+-- 재고 반영 리더 임대 (보유 중이면 연장)
+-- KEYS[1] = 임대 키
+-- ARGV[1] = nodeId, ARGV[2] = 임대 시간(ms)
+-- 반환: 1 = 리더, 0 = 다른 노드가 리더
+local owner = redis.call('GET', KEYS[1])
+if owner and owner ~= ARGV[1] then
+  return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return 1
@@ -0,0 +1,12 @@
+-- 재고 적재 (키가 없을 때만, 먼저 기록된 값 유지)
+-- 적재 값은 DB 기준이라 이미 커밋된 복구 기록이 포함돼 있으므로 해당 기록들을 반영된 것으로 표시 (중복 반영 방지)
+-- KEYS[1] = stock:{productId}, KEYS[2..] = stock:{productId}:restored:{id} (적재 값에 포함된 복구 기록)
+-- ARGV[1] = 재고, ARGV[2] = 반영 표시 보관 시간(ms)
+-- 반환: 1 = 적재, 0 = 이미 적재됨
+if not redis.call('SET', KEYS[1], ARGV[1], 'NX') then
+  return 0
+end
+for i = 2, #KEYS do
+  redis.call('SET', KEYS[i], '1', 'PX', ARGV[2])
+end
+return 1
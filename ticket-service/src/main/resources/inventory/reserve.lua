@@ -0,0 +1,13 @@
+-- 재고 차감 (확인 + 차감을 한 번에, 재고 이상 차감하지 않음)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 수량
+-- 반환: 남은 재고 (-1 = 재고 부족, -2 = 재고 미적재)
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+  return -2
+end
+local quantity = tonumber(ARGV[1])
+if tonumber(stock) < quantity then
+  return -1
+end
+return redis.call('DECRBY', KEYS[1], quantity)
@@ -0,0 +1,13 @@
+-- 재고 복구 (복구 기록별 1회만 반영)
+-- KEYS[1] = stock:{productId}
+-- KEYS[2] = stock:{productId}:restored:{id} (복구 기록 반영 표시, 없으면 중복 확인 없이 반영)
+-- ARGV[1] = 수량, ARGV[2] = 반영 표시 보관 시간(ms)
+-- 반환: 1 = 반영, 0 = 이미 반영됨, -2 = 재고 미적재 (다음 적재가 DB 기준으로 계산하므로 반영할 필요 없음)
+if redis.call('EXISTS', KEYS[1]) == 0 then
+  return -2
+end
+if KEYS[2] and not redis.call('SET', KEYS[2], '1', 'NX', 'PX', ARGV[2]) then
+  return 0
+end
+redis.call('INCRBY', KEYS[1], ARGV[1])
+return 1
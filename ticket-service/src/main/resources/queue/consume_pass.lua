@@ -0,0 +1,12 @@
+-- Pass Token 로컬 소비 (서명/대상/만료 확인 후)
+-- queue-service가 슬롯 해제/정리/이벤트 종료로 Pass Token 키를 지웠거나 다른 토큰으로 바뀌었으면 거부
+-- KEYS[1] = Pass Token 키, KEYS[2] = 소비 마커 (같은 해시 태그)
+-- ARGV[1] = 토큰 nonce 문자열, ARGV[2] = 소비 시각(ms), ARGV[3] = 마커 유지 시간(ms)
+-- 반환: 1 = 소비 성공, 0 = Pass Token 없음/불일치, -1 = 이미 소비됨
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+  return 0
+end
+if redis.call('SET', KEYS[2], ARGV[2], 'NX', 'PX', ARGV[3]) then
+  return 1
+end
+return -1
@@ -0,0 +1,200 @@
+package com.chuz.reservex.ticket.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.chuz.reservex.ticket.product.Product;
+
+class InventoryEngineTest {
+
+  private static final Long PRODUCT_ID = 1L;
+
+  private final Products products = new Products();
+  private InventoryEngine engine;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (engine != null) {
+      engine.destroy();
+    }
+  }
+
+  @Test
+  void neverOversellUnderConcurrentSubmits() throws Exception {
+    products.stock.put(PRODUCT_ID, 100L);
+    engine = new InventoryEngine(products, 2, 1024, 64, 5000);
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<CompletableFuture<Boolean>> results = new ArrayList<>();
+    List<java.util.concurrent.Future<CompletableFuture<Boolean>>> submitted = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      submitted.add(pool.submit(() -> engine.submit(PRODUCT_ID, -1)));
+    }
+    for (var future : submitted) {
+      results.add(future.get());
+    }
+    pool.shutdown();
+
+    long reserved = 0;
+    for (CompletableFuture<Boolean> result : results) {
+      if (result.get(5, TimeUnit.SECONDS)) {
+        reserved++;
+      }
+    }
+    assertThat(reserved).isEqualTo(100);
+    assertThat(products.stock.get(PRODUCT_ID)).isZero();
+  }
+
+  @Test
+  void retryAfterConflictWithAnotherNode() throws Exception {
+    products.stock.put(PRODUCT_ID, 10L);
+    engine = new InventoryEngine(products, 1, 1024, 64, 5000);
+    assertThat(engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS)).isTrue();
+
+    // 다른 노드가 같은 상품을 7개 차감 → 캐시된 9와 달라 조건부 UPDATE 실패 후 다시 읽음
+    products.stock.put(PRODUCT_ID, 2L);
+    assertThat(engine.submit(PRODUCT_ID, -2).get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS)).isFalse();
+    assertThat(products.stock.get(PRODUCT_ID)).isZero();
+    assertThat(products.conflicts.get()).isEqualTo(1);
+  }
+
+  @Test
+  void failReserveWhenConflictsOutlastTimeout() {
+    products.stock.put(PRODUCT_ID, 10L);
+    products.alwaysConflict = true;
+    engine = new InventoryEngine(products, 1, 1024, 64, 200);
+
+    assertThatThrownBy(() -> engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS))
+        .hasRootCauseMessage("재고 변경 충돌이 반복되었습니다.");
+    assertThat(products.conflicts.get()).isGreaterThan(1);
+  }
+
+  @Test
+  void restoreLateReservationAfterTimeout() throws Exception {
+    products.stock.put(PRODUCT_ID, 5L);
+    products.gate = new CountDownLatch(1);
+    engine = new InventoryEngine(products, 1, 1024, 64, 100);
+
+    assertThatThrownBy(() -> engine.reserve(product(), 2))
+        .hasMessage("재고 처리가 지연되고 있습니다.");
+
+    products.gate.countDown();
+    // 늦게 기록된 차감은 복구 요청으로 되돌려짐
+    await().atMost(Duration.ofSeconds(5)).until(() -> products.stock.get(PRODUCT_ID) == 5L);
+  }
+
+  @Test
+  void retryRestoreAfterJournalFailure() throws Exception {
+    products.stock.put(PRODUCT_ID, 0L);
+    products.failures.set(2);
+    engine = new InventoryEngine(products, 1, 1024, 64, 5000);
+
+    CompletableFuture<Boolean> restored = engine.submit(PRODUCT_ID, 3);
+
+    assertThat(restored.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(products.stock.get(PRODUCT_ID)).isEqualTo(3);
+  }
+
+  @Test
+  void failReserveOnJournalFailure() {
+    products.stock.put(PRODUCT_ID, 5L);
+    products.failures.set(1);
+    engine = new InventoryEngine(products, 1, 1024, 64, 5000);
+
+    assertThatThrownBy(() -> engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS))
+        .hasRootCauseInstanceOf(DataAccessResourceFailureException.class);
+    assertThat(products.stock.get(PRODUCT_ID)).isEqualTo(5);
+  }
+
+  @Test
+  void rejectReservesAndApplyRestoresDirectlyAfterDestroy() throws Exception {
+    products.stock.put(PRODUCT_ID, 5L);
+    engine = new InventoryEngine(products, 2, 1024, 64, 5000);
+    assertThat(engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS)).isTrue();
+
+    engine.destroy();
+
+    assertThatThrownBy(() -> engine.submit(PRODUCT_ID, -1).get(5, TimeUnit.SECONDS))
+        .hasRootCauseMessage("재고 처리를 종료하는 중입니다.");
+    engine.restore(product(), 2);
+    assertThat(products.stock.get(PRODUCT_ID)).isEqualTo(6);
+    engine = null;
+  }
+
+  private static Product product() {
+    Product product = mock(Product.class);
+    when(product.getId()).thenReturn(PRODUCT_ID);
+    return product;
+  }
+
+  /**
+   * products 테이블 대역 (조건부 UPDATE는 직전 값이 같을 때만 반영)
+   */
+  private static final class Products extends JdbcTemplate {
+    final Map<Long, Long> stock = new ConcurrentHashMap<>();
+    final AtomicInteger conflicts = new AtomicInteger();
+    /** 남은 횟수만큼 batchUpdate 실패 */
+    final AtomicInteger failures = new AtomicInteger();
+    volatile boolean alwaysConflict;
+    volatile CountDownLatch gate;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+      return (T) stock.get((Long) args[0]);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+      CountDownLatch latch = gate;
+      if (latch != null) {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        throw new DataAccessResourceFailureException("db down");
+      }
+      int[] updated = new int[batchArgs.size()];
+      for (int i = 0; i < batchArgs.size(); i++) {
+        Object[] row = batchArgs.get(i);
+        Long productId = (Long) row[2];
+        boolean applied = !alwaysConflict && stock.replace(productId, (Long) row[3], (Long) row[0]);
+        if (!applied) {
+          conflicts.incrementAndGet();
+        }
+        updated[i] = applied ? 1 : 0;
+      }
+      return updated;
+    }
+
+    @Override
+    public int update(String sql, Object... args) {
+      stock.merge((Long) args[2], ((Integer) args[0]).longValue(), Long::sum);
+      return 1;
+    }
+  }
+}
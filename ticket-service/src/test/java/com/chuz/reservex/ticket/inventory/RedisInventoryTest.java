@@ -0,0 +1,261 @@
+package com.chuz.reservex.ticket.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.chuz.reservex.common.test.RedisTestSupport;
+import com.chuz.reservex.ticket.product.Product;
+import com.chuz.reservex.ticket.reservation.ReservationRepository;
+
+/**
+ * reserve.lua / restore.lua / StockReconciler (Redis: RedisTestSupport)
+ * ./gradlew :ticket-service:test [-Ptest.redis.port=6380]
+ */
+class RedisInventoryTest {
+
+  private LettuceConnectionFactory factory;
+  private StringRedisTemplate redis;
+  private final ReservationRepository reservations = mock(ReservationRepository.class);
+  private final StockRestores restores = new StockRestores();
+  private RedisInventory inventory;
+  private Long productId;
+
+  @BeforeEach
+  void setUp() {
+    factory = RedisTestSupport.connect();
+    redis = spy(new StringRedisTemplate(factory));
+    productId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    redis.delete("stock:reconciler");
+    inventory = new RedisInventory(redis, reservations, restores.repository, mock(PlatformTransactionManager.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    redis.delete(redis.keys(RedisInventory.stockKey(productId) + "*"));
+    redis.opsForSet().remove(RedisInventory.PRODUCTS_KEY, productId.toString());
+    redis.delete("stock:reconciler");
+    factory.destroy();
+  }
+
+  @Test
+  void loadFromDbAndNeverOversell() throws Exception {
+    when(reservations.sumActiveQuantityByProductId(productId)).thenReturn(2L);
+    Product product = product(12);
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      results.add(pool.submit(() -> {
+        try {
+          inventory.reserve(product, 1);
+          return true;
+        } catch (IllegalStateException e) {
+          return false;
+        }
+      }));
+    }
+    int reserved = 0;
+    for (Future<Boolean> result : results) {
+      reserved += result.get() ? 1 : 0;
+    }
+    pool.shutdown();
+
+    assertThat(reserved).isEqualTo(10);
+    assertThat(stock()).isZero();
+    assertThatThrownBy(() -> inventory.reserve(product, 1)).hasMessage("재고가 부족합니다.");
+  }
+
+  @Test
+  void restoreOnceAndDeleteRecord() {
+    setStock(5);
+
+    inventory.restore(product(10), 2);
+
+    assertThat(stock()).isEqualTo(7);
+    assertThat(restores.rows).isEmpty();
+  }
+
+  @Test
+  void retryRestoreAfterRedisFailure() {
+    setStock(5);
+    failRestoreScriptOnce();
+
+    inventory.restore(product(10), 2);
+    assertThat(stock()).isEqualTo(5);
+    assertThat(restores.rows).hasSize(1);
+
+    assertThat(inventory.retryPending(100)).isEqualTo(1);
+    assertThat(stock()).isEqualTo(7);
+    assertThat(restores.rows).isEmpty();
+  }
+
+  @Test
+  void neverApplyRecordTwice() {
+    setStock(5);
+    StockRestore pending = restores.repository.save(StockRestore.create(productId, 2));
+    restores.failDelete = true;
+
+    assertThat(inventory.retryPending(100)).isEqualTo(1);
+    assertThat(inventory.retryPending(100)).isEqualTo(1);
+
+    assertThat(stock()).isEqualTo(7);
+    assertThat(redis.hasKey(RedisInventory.restoredKey(productId, pending.getId()))).isTrue();
+  }
+
+  @Test
+  void neverApplyRestoreAlreadyIncludedInLoad() {
+    // 복구 기록 커밋 후 Redis 반영 전에 키 유실 → DB 기준 적재 값에 이미 포함된 복구
+    restores.repository.save(StockRestore.create(productId, 2));
+    when(reservations.sumActiveQuantityByProductId(productId)).thenReturn(3L);
+
+    inventory.reserve(product(10), 1);
+    assertThat(stock()).isEqualTo(6);
+
+    assertThat(inventory.retryPending(100)).isEqualTo(1);
+    assertThat(stock()).isEqualTo(6);
+    assertThat(restores.rows).isEmpty();
+  }
+
+  @Test
+  void skipRestoreWhenStockNotLoaded() {
+    inventory.restore(product(10), 2);
+
+    assertThat(redis.hasKey(RedisInventory.stockKey(productId))).isFalse();
+    assertThat(restores.rows).isEmpty();
+  }
+
+  @Test
+  void recordRollbackRestoreWhenRedisFails() {
+    setStock(5);
+    Product product = product(10);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      inventory.reserve(product, 2);
+      assertThat(stock()).isEqualTo(3);
+
+      failRestoreScriptOnce();
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(stock()).isEqualTo(3);
+    assertThat(restores.rows).hasSize(1);
+
+    inventory.retryPending(100);
+    assertThat(stock()).isEqualTo(5);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void onlyLeaderRetriesRestoresAndWritesBackChangedStock() {
+    setStock(5);
+    redis.opsForSet().add(RedisInventory.PRODUCTS_KEY, productId.toString());
+    restores.repository.save(StockRestore.create(productId, 2));
+    JdbcTemplate leaderJdbc = mock(JdbcTemplate.class);
+    JdbcTemplate followerJdbc = mock(JdbcTemplate.class);
+    StockReconciler leader = new StockReconciler(redis, leaderJdbc, inventory);
+    StockReconciler follower = new StockReconciler(redis, followerJdbc, inventory);
+
+    leader.reconcile();
+    follower.reconcile();
+    leader.reconcile();
+
+    ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+    verify(leaderJdbc).batchUpdate(eq("UPDATE products SET available_stock = ?, updated_at = ? WHERE id = ?"),
+        rows.capture());
+    assertThat(rows.getValue()).anySatisfy(row -> assertThat(row).containsSequence(7L, row[1], productId));
+    assertThat(restores.rows).isEmpty();
+    verifyNoInteractions(followerJdbc);
+  }
+
+  private void failRestoreScriptOnce() {
+    doThrow(new RedisConnectionFailureException("down")).doCallRealMethod().when(redis)
+        .execute(any(RedisScript.class), anyList(), any(), any());
+  }
+
+  private Product product(int totalStock) {
+    Product product = mock(Product.class);
+    when(product.getId()).thenReturn(productId);
+    when(product.getTotalStock()).thenReturn(totalStock);
+    return product;
+  }
+
+  private void setStock(long stock) {
+    redis.opsForValue().set(RedisInventory.stockKey(productId), Long.toString(stock));
+  }
+
+  private long stock() {
+    return Long.parseLong(redis.opsForValue().get(RedisInventory.stockKey(productId)));
+  }
+
+  /**
+   * stock_restores 테이블 대역
+   */
+  private static final class StockRestores {
+    final Map<Long, StockRestore> rows = new ConcurrentSkipListMap<>();
+    final AtomicLong ids = new AtomicLong();
+    final StockRestoreRepository repository = mock(StockRestoreRepository.class);
+    volatile boolean failDelete;
+
+    StockRestores() {
+      when(repository.save(any(StockRestore.class))).thenAnswer(invocation -> {
+        StockRestore restore = invocation.getArgument(0);
+        ReflectionTestUtils.setField(restore, "id", ids.incrementAndGet());
+        rows.put(restore.getId(), restore);
+        return restore;
+      });
+      when(repository.findByOrderByIdAsc(any(Limit.class)))
+          .thenAnswer(invocation -> rows.values().stream()
+              .limit(invocation.<Limit>getArgument(0).max())
+              .toList());
+      when(repository.findByProductId(anyLong()))
+          .thenAnswer(invocation -> rows.values().stream()
+              .filter(restore -> restore.getProductId().equals(invocation.getArgument(0)))
+              .toList());
+      doAnswer(invocation -> {
+        if (failDelete) {
+          throw new IllegalStateException("db down");
+        }
+        rows.remove(invocation.<Long>getArgument(0));
+        return null;
+      }).when(repository).deleteById(anyLong());
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.chuz.reservex.ticket.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.chuz.reservex.ticket.inventory.StockBucketRepository.Available;
+import com.chuz.reservex.ticket.product.Product;
+import com.chuz.reservex.ticket.reservation.ReservationRepository;
+
+class ShardedInventoryTest {
+
+  private static final Long PRODUCT_ID = 1L;
+  private static final int BUCKETS = 4;
+
+  /** stock_buckets 대역 (null이면 버킷 미생성) */
+  private int[] available;
+  /** 버킷을 읽은 뒤 다음 decrease 직전에 다른 예매가 해당 버킷에서 차감할 수량 */
+  private int[] stolen = new int[BUCKETS];
+  private boolean read;
+  /** 취소되지 않은 예매 수량 합 */
+  private long reserved;
+  /** 차감에 성공한 버킷 번호 (순서대로) */
+  private final List<Integer> decreased = new ArrayList<>();
+  private StockBucketRepository repository;
+  private ShardedInventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(StockBucketRepository.class);
+    when(repository.findAvailable(PRODUCT_ID)).thenAnswer(invocation -> {
+      read = true;
+      List<Available> rows = new ArrayList<>();
+      for (int i = 0; available != null && i < BUCKETS; i++) {
+        rows.add(row(i, available[i]));
+      }
+      return rows;
+    });
+    when(repository.decrease(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+      int bucketNo = invocation.getArgument(1);
+      int quantity = invocation.getArgument(2);
+      if (available == null) {
+        return 0;
+      }
+      if (read) {
+        available[bucketNo] -= stolen[bucketNo];
+        stolen[bucketNo] = 0;
+      }
+      if (available[bucketNo] < quantity) {
+        return 0;
+      }
+      available[bucketNo] -= quantity;
+      decreased.add(bucketNo);
+      return 1;
+    });
+    when(repository.increase(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+      if (available == null) {
+        return 0;
+      }
+      available[invocation.<Integer>getArgument(1)] += invocation.<Integer>getArgument(2);
+      return 1;
+    });
+    when(repository.createIfAbsent(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+      if (available == null) {
+        available = new int[BUCKETS];
+      }
+      available[invocation.<Integer>getArgument(1)] = invocation.getArgument(2);
+      return 1;
+    });
+    ReservationRepository reservations = mock(ReservationRepository.class);
+    when(reservations.sumActiveQuantityByProductId(PRODUCT_ID)).thenAnswer(invocation -> reserved);
+    inventory = new ShardedInventory(repository, reservations, BUCKETS);
+  }
+
+  @Test
+  void createBucketsFromTotalStockMinusActiveReservations() {
+    // available_stock(10)은 집계 전 값 → 전체 재고 10 - 예매 3 = 7로 생성
+    reserved = 3;
+
+    inventory.reserve(product(10), 1);
+
+    assertThat(Arrays.stream(available).sum()).isEqualTo(6);
+  }
+
+  @Test
+  void restoreIntoNewBucketsIsNotCountedTwice() {
+    // 취소가 이미 반영된 예매 합계로 버킷을 생성했으므로 복구분을 다시 더하지 않음
+    reserved = 2;
+
+    inventory.restore(product(10), 3);
+
+    assertThat(Arrays.stream(available).sum()).isEqualTo(8);
+  }
+
+  @Test
+  void splitAcrossBucketsWhenNoSingleBucketIsEnough() {
+    available = new int[] { 2, 2, 2, 2 };
+
+    inventory.reserve(product(8), 7);
+
+    assertThat(Arrays.stream(available).sum()).isEqualTo(1);
+    assertThat(decreased).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  void rereadBucketsThatLostARace() {
+    available = new int[] { 3, 3, 3, 0 };
+    // 읽은 뒤 다른 예매가 버킷 0, 1에서 1개씩 차감 → 남은 합계 7로 6개는 여전히 가능
+    // 진 버킷은 다시 읽어 같은 버킷부터 재시도하므로 잠금은 버킷 번호 오름차순
+    stolen = new int[] { 1, 1, 0, 0 };
+
+    inventory.reserve(product(9), 6);
+
+    assertThat(available).containsExactly(0, 0, 1, 0);
+    assertThat(decreased).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  void giveUpAfterMaxRereads() {
+    available = new int[] { 2, 2, 2, 2 };
+    // 읽은 값은 남아 있지만 차감은 매번 경쟁에서 짐
+    when(repository.decrease(anyLong(), anyInt(), anyInt())).thenReturn(0);
+
+    assertThatThrownBy(() -> inventory.reserve(product(8), 5)).hasMessage("재고 변경 충돌이 반복되었습니다.");
+    verify(repository, times(ShardedInventory.MAX_REREADS + 1)).findAvailable(PRODUCT_ID);
+  }
+
+  @Test
+  void failOnlyWhenTotalIsShort() {
+    available = new int[] { 2, 2, 2, 0 };
+    stolen = new int[] { 0, 0, 2, 0 };
+
+    assertThatThrownBy(() -> inventory.reserve(product(6), 5)).hasMessage("재고가 부족합니다.");
+  }
+
+  @Test
+  void restoreToAnyBucket() {
+    available = new int[] { 0, 0, 0, 0 };
+
+    inventory.restore(product(0), 3);
+
+    assertThat(Arrays.stream(available).sum()).isEqualTo(3);
+  }
+
+  private static Product product(int totalStock) {
+    Product product = mock(Product.class);
+    when(product.getId()).thenReturn(PRODUCT_ID);
+    when(product.getTotalStock()).thenReturn(totalStock);
+    return product;
+  }
+
+  private static Available row(int bucketNo, int available) {
+    return new Available() {
+      @Override
+      public int getBucketNo() {
+        return bucketNo;
+      }
+
+      @Override
+      public int getAvailable() {
+        return available;
+      }
+    };
+  }
+}
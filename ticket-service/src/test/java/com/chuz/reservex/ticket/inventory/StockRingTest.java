@@ -0,0 +1,80 @@
+package com.chuz.reservex.ticket.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class StockRingTest {
+
+  @Test
+  void rejectCapacityNotPowerOfTwo() {
+    assertThatThrownBy(() -> new StockRing<Integer>(6)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectOfferWhenFullAndReuseDrainedSlots() {
+    StockRing<Integer> ring = new StockRing<>(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(ring.offer(i)).isTrue();
+    }
+    assertThat(ring.offer(4)).isFalse();
+
+    List<Integer> out = new ArrayList<>();
+    assertThat(ring.drainTo(out, 3)).isEqualTo(3);
+    assertThat(out).containsExactly(0, 1, 2);
+    assertThat(ring.offer(4)).isTrue();
+
+    out.clear();
+    assertThat(ring.drainTo(out, 10)).isEqualTo(2);
+    assertThat(out).containsExactly(3, 4);
+    assertThat(ring.isEmpty()).isTrue();
+  }
+
+  @Test
+  void deliverEveryItemOnceFromManyProducers() throws Exception {
+    StockRing<Integer> ring = new StockRing<>(64);
+    int producers = 4;
+    int perProducer = 10_000;
+    ExecutorService pool = Executors.newFixedThreadPool(producers);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int p = 0; p < producers; p++) {
+      int base = p * perProducer;
+      pool.submit(() -> {
+        start.await();
+        for (int i = 0; i < perProducer; i++) {
+          while (!ring.offer(base + i)) {
+            Thread.onSpinWait();
+          }
+        }
+        return null;
+      });
+    }
+    start.countDown();
+
+    boolean[] seen = new boolean[producers * perProducer];
+    List<Integer> out = new ArrayList<>();
+    int received = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (received < seen.length && System.nanoTime() < deadline) {
+      out.clear();
+      ring.drainTo(out, 32);
+      for (int item : out) {
+        assertThat(seen[item]).isFalse();
+        seen[item] = true;
+      }
+      received += out.size();
+    }
+    pool.shutdown();
+
+    assertThat(received).isEqualTo(seen.length);
+    assertThat(ring.isEmpty()).isTrue();
+  }
+}
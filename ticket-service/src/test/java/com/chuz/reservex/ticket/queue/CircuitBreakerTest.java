@@ -0,0 +1,89 @@
+package com.chuz.reservex.ticket.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.chuz.reservex.ticket.queue.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+  /** window 10, 실패율 50%, 최소 4회, 1초 차단, 시험 호출 2회 */
+  private final CircuitBreaker breaker = new CircuitBreaker(10, 50, 4, 1000, 2);
+
+  @Test
+  void openOnlyAfterMinCalls() {
+    fail(3, 0);
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+    fail(1, 0);
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire(999)).isFalse();
+  }
+
+  @Test
+  void stayClosedBelowFailureRate() {
+    succeed(6);
+    fail(4, 0);
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void oldResultsLeaveTheWindow() {
+    fail(3, 0);
+    succeed(10);
+    fail(3, 0);
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void closeAfterAllProbesSucceed() {
+    fail(4, 0);
+
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+    assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+    assertThat(breaker.tryAcquire(1000)).isFalse();
+
+    breaker.onSuccess();
+    breaker.onSuccess();
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void reopenWhenProbeFails() {
+    fail(4, 0);
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+
+    breaker.onFailure(1000);
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire(1999)).isFalse();
+    assertThat(breaker.tryAcquire(2000)).isTrue();
+  }
+
+  @Test
+  void releaseReturnsProbeSlot() {
+    fail(4, 0);
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+    assertThat(breaker.tryAcquire(1000)).isFalse();
+
+    breaker.release();
+    assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    assertThat(breaker.tryAcquire(1000)).isTrue();
+  }
+
+  private void fail(int n, long now) {
+    for (int i = 0; i < n; i++) {
+      assertThat(breaker.tryAcquire(now)).isTrue();
+      breaker.onFailure(now);
+    }
+  }
+
+  private void succeed(int n) {
+    for (int i = 0; i < n; i++) {
+      assertThat(breaker.tryAcquire(0)).isTrue();
+      breaker.onSuccess();
+    }
+  }
+}
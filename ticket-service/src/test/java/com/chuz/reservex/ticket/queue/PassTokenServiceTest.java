@@ -0,0 +1,131 @@
+package com.chuz.reservex.ticket.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.chuz.reservex.common.security.PassToken;
+import com.chuz.reservex.common.security.PassTokenCodec;
+
+class PassTokenServiceTest {
+
+  private static final long EVENT_ID = 1L;
+  private static final long USER_ID = 42L;
+
+  private final PassTokenCodec codec = new PassTokenCodec("test-pass-token-secret-0123456789abcdef");
+  /** consume_pass.lua와 같은 규칙으로 동작하는 Redis 대역 */
+  private final Map<String, String> keys = new HashMap<>();
+  private StringRedisTemplate redis;
+  private PassTokenService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redis = mock(StringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenAnswer(invocation -> {
+      List<String> k = invocation.getArgument(1);
+      if (!invocation.getArgument(2).equals(keys.get(k.get(0)))) {
+        return 0L;
+      }
+      return keys.putIfAbsent(k.get(1), invocation.getArgument(3)) == null ? 1L : -1L;
+    });
+    service = new PassTokenService(mock(QueueServiceClient.class), codec, redis);
+  }
+
+  @Test
+  void consumeOnce() {
+    String token = issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+
+    assertThat(service.consumeLocally(EVENT_ID, "42", token)).isTrue();
+    assertThat(service.consumeLocally(EVENT_ID, "42", token)).isFalse();
+    assertThat(keys).containsKey("q:{1}:used:42");
+  }
+
+  @Test
+  void useShardTagOfToken() {
+    String token = issue(new PassToken(EVENT_ID, USER_ID, 3, future(), 7));
+
+    assertThat(service.consumeLocally(EVENT_ID, "42", token)).isTrue();
+    assertThat(keys).containsKeys("q:{1.3}:pass:42", "q:{1.3}:used:42");
+  }
+
+  @Test
+  void rejectReleasedPass() {
+    PassToken pass = new PassToken(EVENT_ID, USER_ID, -1, future(), 7);
+    String token = issue(pass);
+    keys.remove(pass.passKey());
+
+    assertThat(service.consumeLocally(EVENT_ID, "42", token)).isFalse();
+    assertThat(keys).doesNotContainKey(pass.usedKey());
+  }
+
+  @Test
+  void rejectTokenReplacedByReentry() {
+    String old = issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+    issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 8));
+
+    assertThat(service.consumeLocally(EVENT_ID, "42", old)).isFalse();
+  }
+
+  @Test
+  void rejectOtherUserEventOrExpiredWithoutRedis() {
+    String token = issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+    String expired = issue(new PassToken(EVENT_ID, 43L, -1, System.currentTimeMillis() - 1, 7));
+
+    assertThat(service.consumeLocally(EVENT_ID, "43", token)).isFalse();
+    assertThat(service.consumeLocally(2L, "42", token)).isFalse();
+    assertThat(service.consumeLocally(EVENT_ID, "43", expired)).isFalse();
+    verify(redis, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+  }
+
+  @Test
+  void rejectTamperedOrForeignTokens() {
+    String token = issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+    char last = token.charAt(token.length() - 1);
+    String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    String foreign = new PassTokenCodec("another-pass-token-secret-0123456789abcdef")
+        .encode(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+
+    assertThat(codec.decode(tampered)).isNull();
+    assertThat(codec.decode(foreign)).isNull();
+    assertThat(codec.decode("v0.garbage")).isNull();
+    assertThat(service.consumeLocally(EVENT_ID, "42", tampered)).isFalse();
+    assertThat(service.consumeLocally(EVENT_ID, "42", foreign)).isFalse();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void redisFailureIsUnavailableNotInvalid() {
+    String token = issue(new PassToken(EVENT_ID, USER_ID, -1, future(), 7));
+    when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    assertThatThrownBy(() -> service.consumeLocally(EVENT_ID, "42", token))
+        .isInstanceOf(QueueUnavailableException.class);
+  }
+
+  /** 입장 펌프처럼 Pass Token 키에 nonce를 저장하고 서명 토큰 반환 */
+  private String issue(PassToken pass) {
+    keys.put(pass.passKey(), pass.raw());
+    return codec.encode(pass);
+  }
+
+  private static long future() {
+    return System.currentTimeMillis() + 300_000;
+  }
+}